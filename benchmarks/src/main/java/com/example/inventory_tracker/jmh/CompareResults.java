@@ -0,0 +1,73 @@
+package com.example.inventory_tracker.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Compares two JMH JSON result files benchmark by benchmark and exits non-zero when any score got worse by more
+// than the threshold (a fraction: 0.10 is 10%). Lower is better for time modes, higher for throughput.
+public final class CompareResults {
+	private CompareResults() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("usage: CompareResults <baseline.json> <candidate.json> [threshold]");
+			System.exit(2);
+		}
+		double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+		Map<String, JsonNode> baseline = read(args[0]);
+		Map<String, JsonNode> candidate = read(args[1]);
+		int regressions = 0;
+		System.out.printf("%-70s %14s %14s %9s%n", "benchmark", "baseline", "candidate", "change");
+		for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+			JsonNode before = baseline.get(entry.getKey());
+			JsonNode metric = entry.getValue().path("primaryMetric");
+			String unit = metric.path("scoreUnit").asText();
+			double score = metric.path("score").asDouble();
+			if (before == null) {
+				System.out.printf("%-70s %14s %14.3f %9s  %s (new)%n", entry.getKey(), "-", score, "-", unit);
+				continue;
+			}
+			double previous = before.path("primaryMetric").path("score").asDouble();
+			double change = (score - previous) / previous;
+			boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+			boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+			if (regressed) {
+				regressions++;
+			}
+			System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), previous, score, change * 100, unit,
+					regressed ? "  REGRESSION" : "");
+		}
+		for (String missing : baseline.keySet()) {
+			if (!candidate.containsKey(missing)) {
+				System.out.printf("%-70s (not in candidate)%n", missing);
+			}
+		}
+		if (regressions > 0) {
+			System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold * 100);
+			System.exit(1);
+		}
+	}
+
+	// Keyed by benchmark, mode, thread count and parameters, so runs with different @Param values line up
+	private static Map<String, JsonNode> read(String path) throws IOException {
+		Map<String, JsonNode> results = new LinkedHashMap<>();
+		for (JsonNode result : new ObjectMapper().readTree(new File(path))) {
+			String benchmark = result.path("benchmark").asText();
+			StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1))
+					.append(" [").append(result.path("mode").asText())
+					.append(", threads=").append(result.path("threads").asInt());
+			Map<String, String> params = new TreeMap<>();
+			result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+			params.forEach((name, value) -> key.append(", ").append(name).append('=').append(value));
+			results.put(key.append(']').toString(), result);
+		}
+		return results;
+	}
+}
@@ -0,0 +1,115 @@
+package com.example.inventory_tracker.jmh;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.example.inventory_tracker.InventoryTrackerApplication;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.Transaction;
+import com.example.inventory_tracker.service.DashboardService;
+import com.example.inventory_tracker.service.LowStockTracker;
+import com.example.inventory_tracker.service.ProductSearchIndex;
+import com.example.inventory_tracker.service.ProductService;
+import com.example.inventory_tracker.service.TransactionService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+
+// The application without its web layer, on a seeded catalog. The application connects to localhost:27017, so
+// by default an in-memory Mongo stand-in is bound there for the fork; -Dbench.mongo=local uses a running mongod
+// instead. Seeded products are removed again on teardown either way.
+@State(Scope.Benchmark)
+public class InventoryApplication {
+	static final String SKU_PREFIX = "JMH-";
+	private static final String CONNECTION_STRING = "mongodb://localhost:27017";
+	private static final String DATABASE = "inventory_db";
+	private static final long READY_TIMEOUT_MS = 300_000;
+
+	@Param({"10000"})
+	private int catalog;
+
+	private MongoServer standIn;
+	private ConfigurableApplicationContext context;
+	private final List<String> productIds = new ArrayList<>();
+	private final List<String> skus = new ArrayList<>();
+
+	ProductService productService;
+	TransactionService transactionService;
+
+	@Setup(Level.Trial)
+	public void start() throws InterruptedException {
+		if (!"local".equals(System.getProperty("bench.mongo"))) {
+			standIn = new MongoServer(new MemoryBackend());
+			standIn.bind("127.0.0.1", 27017);
+		}
+		// Seeded before startup, so the search index and low-stock tracker load the whole catalog
+		try (MongoClient client = MongoClients.create(CONNECTION_STRING)) {
+			List<Product> products = SampleData.products(catalog, false);
+			for (Product product : products) {
+				product.setSku(SKU_PREFIX + product.getSku());
+			}
+			for (Product product : new MongoTemplate(client, DATABASE).insertAll(products)) {
+				productIds.add(product.getId());
+				skus.add(product.getSku());
+			}
+		}
+		context = new SpringApplicationBuilder(InventoryTrackerApplication.class)
+				.web(WebApplicationType.NONE)
+				.logStartupInfo(false)
+				.run();
+		productService = context.getBean(ProductService.class);
+		transactionService = context.getBean(TransactionService.class);
+		ProductSearchIndex searchIndex = context.getBean(ProductSearchIndex.class);
+		LowStockTracker lowStockTracker = context.getBean(LowStockTracker.class);
+		long deadline = System.currentTimeMillis() + READY_TIMEOUT_MS;
+		while (!searchIndex.isReady() || !lowStockTracker.isReady()) {
+			if (System.currentTimeMillis() > deadline) {
+				throw new IllegalStateException("Search index and low-stock tracker did not load the catalog");
+			}
+			Thread.sleep(100);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		try {
+			MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+			mongoTemplate.remove(query(where("productId").in(productIds)), Transaction.class);
+			mongoTemplate.remove(query(where("sku").regex("^" + SKU_PREFIX)), Product.class);
+			context.getBean(DashboardService.class).reconcile();
+		} finally {
+			context.close();
+			if (standIn != null) {
+				standIn.shutdownNow();
+			}
+		}
+	}
+
+	String productId(int index) {
+		return productIds.get(index % productIds.size());
+	}
+
+	String sku(int index) {
+		return skus.get(index % skus.size());
+	}
+
+	int size() {
+		return productIds.size();
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.inventory_tracker.jmh;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.Transaction;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Large list responses as the controllers produce them: Product and Transaction lists to and from JSON bytes,
+// with the ObjectMapper configured as Spring Boot configures it (java.time as ISO strings)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+	@Param({"1000", "100000"})
+	private int size;
+
+	private ObjectWriter productWriter;
+	private ObjectReader productReader;
+	private ObjectWriter transactionWriter;
+	private ObjectReader transactionReader;
+	private List<Product> products;
+	private List<Transaction> transactions;
+	private byte[] productJson;
+	private byte[] transactionJson;
+	private ByteArrayOutputStream out;
+
+	@Setup
+	public void setUp() throws IOException {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+		productWriter = objectMapper.writerFor(new TypeReference<List<Product>>() { });
+		productReader = objectMapper.readerFor(new TypeReference<List<Product>>() { });
+		transactionWriter = objectMapper.writerFor(new TypeReference<List<Transaction>>() { });
+		transactionReader = objectMapper.readerFor(new TypeReference<List<Transaction>>() { });
+		products = SampleData.products(size, true);
+		transactions = SampleData.transactions(size);
+		productJson = productWriter.writeValueAsBytes(products);
+		transactionJson = transactionWriter.writeValueAsBytes(transactions);
+		out = new ByteArrayOutputStream(Math.max(productJson.length, transactionJson.length));
+	}
+
+	@Benchmark
+	public int writeProducts() throws IOException {
+		out.reset();
+		productWriter.writeValue(out, products);
+		return out.size();
+	}
+
+	@Benchmark
+	public List<Product> readProducts() throws IOException {
+		return productReader.readValue(productJson);
+	}
+
+	@Benchmark
+	public int writeTransactions() throws IOException {
+		out.reset();
+		transactionWriter.writeValue(out, transactions);
+		return out.size();
+	}
+
+	@Benchmark
+	public List<Transaction> readTransactions() throws IOException {
+		return transactionReader.readValue(transactionJson);
+	}
+}
@@ -0,0 +1,78 @@
+package com.example.inventory_tracker.jmh;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.example.inventory_tracker.model.Product;
+
+// Spring Data's entity mapping of Product documents, the per-row cost under every repository and template read
+// and write, measured without a server
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductMappingBenchmark {
+	private static final int BATCH = 1000;
+
+	private MappingMongoConverter converter;
+	private List<Product> products;
+	private Document[] documents;
+
+	@Setup
+	public void setUp() {
+		MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+		MongoMappingContext mappingContext = new MongoMappingContext();
+		mappingContext.setInitialEntitySet(Set.of(Product.class));
+		mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+		mappingContext.afterPropertiesSet();
+		converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+
+		products = SampleData.products(BATCH, true);
+		documents = new Document[BATCH];
+		for (int i = 0; i < BATCH; i++) {
+			documents[i] = new Document();
+			converter.write(products.get(i), documents[i]);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void readProduct(Blackhole blackhole) {
+		for (Document document : documents) {
+			blackhole.consume(converter.read(Product.class, document));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void writeProduct(Blackhole blackhole) {
+		for (Product product : products) {
+			Document document = new Document();
+			converter.write(product, document);
+			blackhole.consume(document);
+		}
+	}
+}
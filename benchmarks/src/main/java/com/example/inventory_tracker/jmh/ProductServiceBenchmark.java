@@ -0,0 +1,61 @@
+package com.example.inventory_tracker.jmh;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.inventory_tracker.dto.CursorPage;
+import com.example.inventory_tracker.dto.FieldSelection;
+import com.example.inventory_tracker.model.Product;
+
+// ProductService's read paths on a seeded catalog: ranked search, the low-stock views, SKU lookups through the
+// product cache and the first keyset page
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+	@Benchmark
+	public List<Product> searchByName(InventoryApplication app) {
+		String[] words = SampleData.WORDS;
+		return app.productService.searchByName(words[ThreadLocalRandom.current().nextInt(words.length)], 50,
+				FieldSelection.ALL);
+	}
+
+	@Benchmark
+	public List<Product> searchByNamePrefix(InventoryApplication app) {
+		String word = SampleData.WORDS[ThreadLocalRandom.current().nextInt(SampleData.WORDS.length)];
+		return app.productService.searchByName(word.substring(0, 3), 50, FieldSelection.ALL);
+	}
+
+	@Benchmark
+	public List<Product> findLowStock(InventoryApplication app) {
+		return app.productService.findLowStock(10, FieldSelection.ALL);
+	}
+
+	@Benchmark
+	public List<Product> mostCriticalLowStock(InventoryApplication app) {
+		return app.productService.getMostCriticalLowStock(50, FieldSelection.ALL);
+	}
+
+	@Benchmark
+	public Optional<Product> getProductBySku(InventoryApplication app) {
+		return app.productService.getProductBySku(app.sku(ThreadLocalRandom.current().nextInt(app.size())));
+	}
+
+	@Benchmark
+	public CursorPage<Product> firstPage(InventoryApplication app) {
+		return app.productService.getProductsPage(null, 100, FieldSelection.ALL);
+	}
+}
@@ -0,0 +1,66 @@
+package com.example.inventory_tracker.jmh;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.bson.types.ObjectId;
+
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.Transaction;
+
+// Deterministic catalog and ledger rows, so every run and every commit measures the same data
+final class SampleData {
+	static final String[] WORDS = {"bolt", "nut", "washer", "drill", "saw", "hammer", "wrench", "socket", "clamp",
+			"hinge", "screw", "anchor", "bracket", "cable", "tape", "glue", "brush", "roller", "ladder", "bucket"};
+	static final String[] CATEGORIES = {"Tools", "Fasteners", "Hardware", "Paint", "Electrical", "Plumbing"};
+
+	private SampleData() {
+	}
+
+	static List<Product> products(int count, boolean withIds) {
+		SplittableRandom random = new SplittableRandom(42);
+		List<Product> products = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Product product = new Product();
+			if (withIds) {
+				product.setId(new ObjectId(new Date(1_700_000_000_000L + i * 1000L), i).toHexString());
+			}
+			String word = WORDS[random.nextInt(WORDS.length)];
+			product.setSku("SKU-" + i);
+			product.setName(capitalize(word) + " " + WORDS[random.nextInt(WORDS.length)] + " " + (i % 97));
+			product.setDescription("Sample " + word + " for benchmarks, batch " + (i % 13));
+			product.setPrice(1 + random.nextInt(99_999) / 100.0);
+			product.setQuantity(random.nextInt(500));
+			product.setLocationId("loc-" + (i % 20));
+			product.setCategory(CATEGORIES[i % CATEGORIES.length]);
+			product.setThreshold(random.nextInt(40));
+			products.add(product);
+		}
+		return products;
+	}
+
+	static List<Transaction> transactions(int count) {
+		SplittableRandom random = new SplittableRandom(7);
+		List<Transaction> transactions = new ArrayList<>(count);
+		Instant start = Instant.parse("2024-01-01T00:00:00Z");
+		for (int i = 0; i < count; i++) {
+			Transaction transaction = new Transaction();
+			transaction.setId(new ObjectId().toHexString());
+			transaction.setProductId(new ObjectId().toHexString());
+			transaction.setType(random.nextInt(3) == 0 ? Transaction.TransactionType.OUT : Transaction.TransactionType.IN);
+			transaction.setQuantity(1 + random.nextInt(50));
+			transaction.setTimestamp(start.plusSeconds(i * 17L));
+			transaction.setUserId("user-" + random.nextInt(200));
+			transaction.setNotes(random.nextInt(4) == 0 ? "Cycle count adjustment" : null);
+			transactions.add(transaction);
+		}
+		return transactions;
+	}
+
+	private static String capitalize(String word) {
+		return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+	}
+}
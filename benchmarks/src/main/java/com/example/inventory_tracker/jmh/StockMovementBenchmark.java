@@ -0,0 +1,45 @@
+package com.example.inventory_tracker.jmh;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.inventory_tracker.model.Transaction;
+
+// TransactionService.createTransaction end to end: the conditional $inc, the ledger insert and the derived-state
+// fan-out (cache, search, low-stock, dashboard, rollups, stock stream). Receipts only, so stock never runs out.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StockMovementBenchmark {
+
+	@Benchmark
+	public Transaction receipt(InventoryApplication app) {
+		return app.transactionService.createTransaction(movement(app));
+	}
+
+	@Benchmark
+	@Threads(8)
+	public Transaction receiptContended(InventoryApplication app) {
+		return app.transactionService.createTransaction(movement(app));
+	}
+
+	private static Transaction movement(InventoryApplication app) {
+		Transaction transaction = new Transaction();
+		transaction.setProductId(app.productId(ThreadLocalRandom.current().nextInt(app.size())));
+		transaction.setType(Transaction.TransactionType.IN);
+		transaction.setQuantity(1);
+		transaction.setUserId("jmh");
+		return transaction;
+	}
+}
@@ -0,0 +1,187 @@
+package com.example.inventory_tracker.loadtest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertManyOptions;
+
+// Writes a catalog and ledger straight through the driver in unordered bulk inserts, in the documents' stored
+// shape. Product ids are derived from their index, so the ledger can reference any product without holding the
+// catalog in memory, and movements are skewed so a fifth of the catalog takes most of the traffic. Seed before
+// starting the application: its dashboard counters, search index and low-stock set are loaded at startup.
+final class DataSeeder {
+	static final String SKU_FORMAT = "LT-%08d";
+	static final String[] ADJECTIVES = {"Heavy", "Compact", "Steel", "Brass", "Cordless", "Galvanized", "Mini",
+			"Industrial", "Adjustable", "Folding", "Magnetic", "Insulated", "Stainless", "Quick", "Precision"};
+	static final String[] NOUNS = {"bolt", "nut", "washer", "drill", "saw", "hammer", "wrench", "socket", "clamp",
+			"hinge", "screw", "anchor", "bracket", "cable", "tape", "glue", "brush", "roller", "ladder", "bucket",
+			"pliers", "chisel", "level", "sander", "grinder", "valve", "fitting", "pipe", "switch", "outlet"};
+	private static final String[] CATEGORIES = {"Tools", "Fasteners", "Hardware", "Paint", "Electrical",
+			"Plumbing", "Garden", "Safety", "Storage", "Lighting", "Adhesives", "Abrasives"};
+	private static final int PRODUCT_ID_EPOCH = (int) Instant.parse("2024-01-01T00:00:00Z").getEpochSecond();
+	private static final int MAX_PRODUCTS = 0xFFFFFF;
+	private static final int BATCH = 10_000;
+	private static final int LOCATIONS = 20;
+	private static final int USERS = 200;
+
+	private final String connectionString;
+	private final String database;
+	private final int products;
+	private final long transactions;
+	private final int days;
+	private final int threads;
+
+	DataSeeder(String connectionString, String database, int products, long transactions, int days, int threads) {
+		if (products < 1 || products > MAX_PRODUCTS) {
+			throw new IllegalArgumentException("products must be between 1 and " + MAX_PRODUCTS);
+		}
+		this.connectionString = connectionString;
+		this.database = database;
+		this.products = products;
+		this.transactions = transactions;
+		this.days = days;
+		this.threads = threads;
+	}
+
+	static String productId(int index) {
+		return new ObjectId(PRODUCT_ID_EPOCH, index).toHexString();
+	}
+
+	void seed() throws Exception {
+		try (MongoClient client = MongoClients.create(connectionString)) {
+			MongoDatabase db = client.getDatabase(database);
+			List<ObjectId> locationIds = seedLocations(db.getCollection("locations"));
+			List<String> userIds = seedUsers(db.getCollection("users"));
+			parallel("products", products, db.getCollection("products"),
+					(random, index) -> product(random, (int) index, locationIds));
+			Instant end = Instant.now();
+			long windowMillis = Duration.ofDays(days).toMillis();
+			parallel("transactions", transactions, db.getCollection("transactions"),
+					(random, index) -> transaction(random, end, windowMillis, userIds));
+		}
+	}
+
+	private interface RowFactory {
+		Document create(SplittableRandom random, long index);
+	}
+
+	// Each writer owns a contiguous index range and its own random stream, so a seed is reproducible per thread count
+	private void parallel(String name, long count, MongoCollection<Document> collection, RowFactory factory)
+			throws Exception {
+		if (count == 0) {
+			return;
+		}
+		ExecutorService writers = Executors.newFixedThreadPool(threads);
+		AtomicLong written = new AtomicLong();
+		long started = System.nanoTime();
+		long perThread = (count + threads - 1) / threads;
+		long reportEvery = Math.max(BATCH, count / 20);
+		try {
+			List<Future<?>> running = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				long from = t * perThread;
+				long to = Math.min(count, from + perThread);
+				SplittableRandom random = new SplittableRandom(name.hashCode() * 31L + t);
+				running.add(writers.submit(() -> {
+					List<Document> batch = new ArrayList<>(BATCH);
+					for (long index = from; index < to; index++) {
+						batch.add(factory.create(random, index));
+						if (batch.size() == BATCH || index == to - 1) {
+							collection.insertMany(batch, new InsertManyOptions().ordered(false));
+							long total = written.addAndGet(batch.size());
+							if (total / reportEvery != (total - batch.size()) / reportEvery) {
+								System.out.printf("%s: %,d of %,d (%.0f/s)%n", name, total, count,
+										total / ((System.nanoTime() - started) / 1e9));
+							}
+							batch.clear();
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : running) {
+				future.get();
+			}
+		} finally {
+			writers.shutdownNow();
+		}
+		System.out.printf("%s: %,d written in %.1f s%n", name, written.get(), (System.nanoTime() - started) / 1e9);
+	}
+
+	private static List<ObjectId> seedLocations(MongoCollection<Document> collection) {
+		List<ObjectId> ids = new ArrayList<>();
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < LOCATIONS; i++) {
+			ObjectId id = new ObjectId();
+			ids.add(id);
+			documents.add(new Document("_id", id)
+					.append("name", (i < 4 ? "Warehouse " : "Store ") + (i + 1))
+					.append("address", (100 + i) + " Load Test Road")
+					.append("type", i < 4 ? "warehouse" : "store")
+					.append("contactInfo", "loadtest-" + i + "@example.com"));
+		}
+		collection.insertMany(documents);
+		return ids;
+	}
+
+	private static List<String> seedUsers(MongoCollection<Document> collection) {
+		List<String> ids = new ArrayList<>();
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < USERS; i++) {
+			ObjectId id = new ObjectId();
+			ids.add(id.toHexString());
+			documents.add(new Document("_id", id)
+					.append("username", "loadtest-user-" + id.toHexString())
+					.append("role", i < 10 ? "ADMIN" : "STAFF")
+					.append("email", "loadtest-" + id.toHexString() + "@example.com")
+					.append("createdAt", new Date()));
+		}
+		collection.insertMany(documents);
+		return ids;
+	}
+
+	// One in twenty products starts below its threshold, so the low-stock views have work to do
+	private static Document product(SplittableRandom random, int index, List<ObjectId> locationIds) {
+		String noun = NOUNS[random.nextInt(NOUNS.length)];
+		int threshold = 5 + random.nextInt(45);
+		int quantity = random.nextInt(20) == 0 ? random.nextInt(threshold) : 200 + random.nextInt(1800);
+		return new Document("_id", new ObjectId(productId(index)))
+				.append("name", ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + noun + " " + (index % 500))
+				.append("sku", String.format(SKU_FORMAT, index))
+				.append("description", "Seeded " + noun + " for load tests")
+				.append("price", (100 + random.nextInt(99_900)) / 100.0)
+				.append("quantity", quantity)
+				.append("locationId", locationIds.get(index % locationIds.size()).toHexString())
+				.append("category", CATEGORIES[index % CATEGORIES.length])
+				.append("threshold", threshold);
+	}
+
+	private Document transaction(SplittableRandom random, Instant end, long windowMillis, List<String> userIds) {
+		// Cubing a uniform draw sends about 58% of movements to the first fifth of the catalog
+		double skew = random.nextDouble();
+		int product = (int) (products * skew * skew * skew);
+		Date timestamp = new Date(end.toEpochMilli() - random.nextLong(windowMillis));
+		return new Document("_id", new ObjectId(timestamp))
+				.append("productId", productId(product))
+				.append("type", random.nextInt(5) < 3 ? "OUT" : "IN")
+				.append("quantity", 1 + random.nextInt(random.nextInt(10) == 0 ? 200 : 10))
+				.append("timestamp", timestamp)
+				.append("userId", userIds.get(random.nextInt(userIds.size())))
+				.append("notes", random.nextInt(8) == 0 ? "Cycle count" : null);
+	}
+}
@@ -0,0 +1,228 @@
+package com.example.inventory_tracker.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.inventory_tracker.InventoryTrackerApplication;
+import com.example.inventory_tracker.service.LowStockTracker;
+import com.example.inventory_tracker.service.ProductSearchIndex;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+
+// Entry point: "seed" fills a database with generated data, "run" replays a traffic mix against a running
+// application (or one started in this JVM) and exits 1 when an SLO is missed.
+public final class LoadTest {
+	private static final String USAGE = """
+			usage: LoadTest seed [options] | run [options]
+
+			seed  writes locations, users, products and transactions through the driver
+			  --mongo <uri>            default mongodb://localhost:27017
+			  --database <name>        default inventory_db
+			  --products <n>           default 1000000
+			  --transactions <n>       default 50000000
+			  --days <n>               ledger spread over the last n days, default 365
+			  --threads <n>            writer threads, default 4
+
+			run   open-loop traffic: scanner SKU lookups, searches, movements with periodic bursts, batches,
+			      dashboard, low-stock and location loads
+			  --target <url>           running application, default http://localhost:8080
+			  --embedded               start the application in this JVM instead (it connects to localhost:27017)
+			  --mongo standin|local    for embedded runs: in-memory stand-in bound to 27017 (default) or a local mongod
+			  --products <n>           for embedded runs: products to seed first, default 20000 (0 skips seeding)
+			  --transactions <n>       for embedded runs: transactions to seed first, default 200000
+			  --duration <s>           measured seconds, default 60
+			  --warmup <s>             unmeasured seconds first, default 10
+			  --scale <f>              multiplies every rate, default 1
+			  --rate-<scenario> <r>    requests per second for one scenario
+			  --max-in-flight <n>      requests beyond this are shed and count as errors, default 2000
+			  --timeout-ms <n>         per request, default 10000
+			  --sample <n>             products read from the target to drive requests, default 20000
+			  --slo <file>             SLO properties, default the bundled slo.properties
+			  --out <dir>              .hgrm/.hlog files and summary.txt, default target/loadtest
+			""";
+
+	private LoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length == 0 || !(args[0].equals("seed") || args[0].equals("run"))) {
+			System.err.print(USAGE);
+			System.exit(2);
+		}
+		Map<String, String> options = parse(args);
+		if (args[0].equals("seed")) {
+			new DataSeeder(options.getOrDefault("mongo", "mongodb://localhost:27017"),
+					options.getOrDefault("database", "inventory_db"),
+					Integer.parseInt(options.getOrDefault("products", "1000000")),
+					Long.parseLong(options.getOrDefault("transactions", "50000000")),
+					Integer.parseInt(options.getOrDefault("days", "365")),
+					Integer.parseInt(options.getOrDefault("threads", "4"))).seed();
+			return;
+		}
+		System.exit(run(options) ? 0 : 1);
+	}
+
+	private static boolean run(Map<String, String> options) throws Exception {
+		MongoServer standIn = null;
+		ConfigurableApplicationContext application = null;
+		try {
+			String target = options.getOrDefault("target", "http://localhost:8080");
+			if (options.containsKey("embedded")) {
+				if (!"local".equals(options.get("mongo"))) {
+					standIn = new MongoServer(new MemoryBackend());
+					standIn.bind("127.0.0.1", 27017);
+				}
+				int products = Integer.parseInt(options.getOrDefault("products", "20000"));
+				if (products > 0) {
+					new DataSeeder("mongodb://localhost:27017", "inventory_db", products,
+							Long.parseLong(options.getOrDefault("transactions", "200000")), 365, 4).seed();
+				}
+				application = startApplication();
+				target = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+			}
+
+			Duration timeout = Duration.ofMillis(Long.parseLong(options.getOrDefault("timeout-ms", "10000")));
+			HttpClient client = HttpClient.newBuilder()
+					.version(HttpClient.Version.HTTP_1_1)
+					.connectTimeout(timeout)
+					.build();
+			TargetSample sample = TargetSample.load(client, target,
+					Integer.parseInt(options.getOrDefault("sample", "20000")));
+			System.out.printf("Sampled %d products and %d search words from %s%n", sample.productIds.size(),
+					sample.words.size(), target);
+
+			List<Scenario> scenarios = scenarios(target, sample, timeout, options);
+			Path out = Path.of(options.getOrDefault("out", "target/loadtest"));
+			Files.createDirectories(out);
+			int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+			int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+			System.out.printf("Running %d s (+%d s warm-up) against %s%n", duration, warmup, target);
+			Map<String, TrafficDriver.Result> results = new TrafficDriver(client,
+					Integer.parseInt(options.getOrDefault("max-in-flight", "2000")), out).run(scenarios, warmup, duration);
+
+			String slo = options.get("slo");
+			List<String> violations = SloReport.load(slo == null ? null : Path.of(slo)).report(results, out, System.out);
+			System.out.println("Histograms written to " + out.toAbsolutePath());
+			if (violations.isEmpty()) {
+				System.out.println("All SLOs met");
+				return true;
+			}
+			System.out.println("SLOs missed:");
+			violations.forEach(violation -> System.out.println("  " + violation));
+			return false;
+		} finally {
+			if (application != null) {
+				application.close();
+			}
+			if (standIn != null) {
+				standIn.shutdownNow();
+			}
+		}
+	}
+
+	private static ConfigurableApplicationContext startApplication() throws InterruptedException {
+		ConfigurableApplicationContext application = new SpringApplicationBuilder(InventoryTrackerApplication.class)
+				// An argument, so it wins over application.properties
+				.run("--server.port=0");
+		// Searches and low-stock views fall back to Mongo until these have loaded; don't measure that
+		ProductSearchIndex searchIndex = application.getBean(ProductSearchIndex.class);
+		LowStockTracker lowStockTracker = application.getBean(LowStockTracker.class);
+		long deadline = System.currentTimeMillis() + Duration.ofMinutes(10).toMillis();
+		while ((!searchIndex.isReady() || !lowStockTracker.isReady()) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(200);
+		}
+		return application;
+	}
+
+	// The default mix, per second: a busy store's scanners, typeahead, a steady trickle of movements with a
+	// receiving-dock burst every half minute, bulk postings, and the back office's dashboards and views
+	private static List<Scenario> scenarios(String target, TargetSample sample, Duration timeout,
+											Map<String, String> options) {
+		String api = target + "/api";
+		List<Scenario> scenarios = new ArrayList<>();
+		scenarios.add(Scenario.steady("scanner", 300, random -> get(api + "/products/by-sku/"
+				// One scan in a hundred is a misread label
+				+ (random.nextInt(100) == 0 ? "UNKNOWN-" + random.nextInt(1_000_000) : pick(random, sample.skus)), timeout)));
+		scenarios.add(Scenario.steady("search", 40, random -> {
+			String word = pick(random, sample.words);
+			String typed = word.substring(0, Math.min(word.length(), 3 + random.nextInt(4)));
+			return get(api + "/products/search?limit=20&name=" + URLEncoder.encode(typed, StandardCharsets.UTF_8), timeout);
+		}));
+		scenarios.add(new Scenario("movement", 60, 8, 30, 3, random -> post(api + "/transactions",
+				movement(random, sample), timeout)));
+		scenarios.add(Scenario.steady("batch", 2, random -> {
+			StringBuilder body = new StringBuilder("[");
+			for (int i = 0; i < 25; i++) {
+				body.append(i == 0 ? "" : ",").append(movement(random, sample));
+			}
+			return post(api + "/transactions/batch", body.append(']').toString(), timeout);
+		}));
+		scenarios.add(Scenario.steady("dashboard", 5, random -> get(api + "/dashboard/summary", timeout)));
+		scenarios.add(Scenario.steady("low-stock", 2, random -> get(api + "/products/low-stock?limit=50", timeout)));
+		scenarios.add(Scenario.steady("locations", 2, random -> get(api + "/locations", timeout)));
+
+		double scale = Double.parseDouble(options.getOrDefault("scale", "1"));
+		List<Scenario> configured = new ArrayList<>();
+		for (Scenario scenario : scenarios) {
+			String rate = options.get("rate-" + scenario.name());
+			configured.add(scenario.withRate(rate != null ? Double.parseDouble(rate) : scenario.rate() * scale));
+		}
+		configured.removeIf(scenario -> scenario.rate() <= 0);
+		return configured;
+	}
+
+	// Receipts and picks in equal measure, so stock neither drains nor grows over a long run
+	private static String movement(SplittableRandom random, TargetSample sample) {
+		boolean receipt = random.nextBoolean();
+		return "{\"productId\":\"" + pick(random, sample.productIds) + "\",\"type\":\"" + (receipt ? "IN" : "OUT")
+				+ "\",\"quantity\":" + (1 + random.nextInt(receipt ? 5 : 3)) + ",\"userId\":\"loadtest\"}";
+	}
+
+	private static <T> T pick(SplittableRandom random, List<T> values) {
+		return values.get(random.nextInt(values.size()));
+	}
+
+	private static HttpRequest get(String uri, Duration timeout) {
+		return HttpRequest.newBuilder(URI.create(uri)).timeout(timeout).GET().build();
+	}
+
+	private static HttpRequest post(String uri, String json, Duration timeout) {
+		return HttpRequest.newBuilder(URI.create(uri))
+				.timeout(timeout)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json))
+				.build();
+	}
+
+	// --name value pairs; a flag followed by another option or nothing is true
+	private static Map<String, String> parse(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (int i = 1; i < args.length; i++) {
+			if (!args[i].startsWith("--")) {
+				throw new IllegalArgumentException("Unexpected argument " + args[i] + "\n" + USAGE);
+			}
+			String name = args[i].substring(2);
+			if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+				options.put(name, args[++i]);
+			} else {
+				options.put(name, "true");
+			}
+		}
+		return options;
+	}
+}
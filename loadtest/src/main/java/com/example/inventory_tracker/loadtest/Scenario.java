@@ -0,0 +1,29 @@
+package com.example.inventory_tracker.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+
+// One kind of traffic: its request shape and an open-loop arrival rate, optionally raised to rate * burstFactor
+// for burstSeconds out of every burstEverySeconds
+record Scenario(String name, double rate, double burstFactor, int burstEverySeconds, int burstSeconds,
+				RequestFactory requests) {
+
+	interface RequestFactory {
+		HttpRequest create(SplittableRandom random);
+	}
+
+	static Scenario steady(String name, double rate, RequestFactory requests) {
+		return new Scenario(name, rate, 1, 0, 0, requests);
+	}
+
+	Scenario withRate(double newRate) {
+		return new Scenario(name, newRate, burstFactor, burstEverySeconds, burstSeconds, requests);
+	}
+
+	double rateAt(long elapsedNanos) {
+		if (burstEverySeconds > 0 && (elapsedNanos / 1_000_000_000L) % burstEverySeconds >= burstEverySeconds - burstSeconds) {
+			return rate * burstFactor;
+		}
+		return rate;
+	}
+}
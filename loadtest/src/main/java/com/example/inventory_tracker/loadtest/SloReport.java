@@ -0,0 +1,76 @@
+package com.example.inventory_tracker.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.HdrHistogram.Histogram;
+
+// Per-scenario summary and SLO verdict. Limits are read as <scenario>.p50-ms, .p99-ms, .p999-ms and
+// .max-error-rate, with default.* applying to scenarios that set none; errors are 5xx, transport failures,
+// timeouts and requests shed at the in-flight cap. 4xx answers (unknown SKU, insufficient stock) are reported
+// as rejected and do not count against the error rate.
+final class SloReport {
+	private final Properties limits;
+
+	private SloReport(Properties limits) {
+		this.limits = limits;
+	}
+
+	static SloReport load(Path file) throws IOException {
+		Properties limits = new Properties();
+		if (file == null) {
+			try (InputStream defaults = SloReport.class.getResourceAsStream("/slo.properties")) {
+				limits.load(defaults);
+			}
+		} else {
+			try (InputStream in = Files.newInputStream(file)) {
+				limits.load(in);
+			}
+		}
+		return new SloReport(limits);
+	}
+
+	// Prints the summary and writes <scenario>.hgrm percentile distributions; returns the missed SLOs
+	List<String> report(Map<String, TrafficDriver.Result> results, Path out, PrintStream console) throws IOException {
+		List<String> violations = new ArrayList<>();
+		StringBuilder summary = new StringBuilder(String.format("%-12s %9s %9s %8s %8s %8s %10s %10s %10s %10s%n",
+				"scenario", "requests", "req/s", "rejected", "errors", "shed", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+		for (Map.Entry<String, TrafficDriver.Result> entry : results.entrySet()) {
+			String name = entry.getKey();
+			TrafficDriver.Result result = entry.getValue();
+			Histogram histogram = result.histogram;
+			TrafficDriver.writeDistribution(out.resolve(name + ".hgrm"), histogram);
+			double p50 = millis(histogram, 50);
+			double p99 = millis(histogram, 99);
+			double p999 = millis(histogram, 99.9);
+			summary.append(String.format("%-12s %9d %9.1f %8d %8d %8d %10.2f %10.2f %10.2f %10.2f%n", name,
+					result.attempts(), result.attempts() / (result.measuredNanos / 1e9), result.rejected.get(),
+					result.errors.get(), result.overloaded.get(), p50, p99, p999, histogram.getMaxValue() / 1000.0));
+			check(violations, name, "p50-ms", p50);
+			check(violations, name, "p99-ms", p99);
+			check(violations, name, "p999-ms", p999);
+			check(violations, name, "max-error-rate", result.errorRate());
+		}
+		Files.writeString(out.resolve("summary.txt"), summary);
+		console.print(summary);
+		return violations;
+	}
+
+	private void check(List<String> violations, String scenario, String limit, double actual) {
+		String value = limits.getProperty(scenario + "." + limit, limits.getProperty("default." + limit));
+		if (value != null && actual > Double.parseDouble(value.trim())) {
+			violations.add(String.format("%s %s: %.4f > %s", scenario, limit, actual, value.trim()));
+		}
+	}
+
+	private static double millis(Histogram histogram, double percentile) {
+		return histogram.getValueAtPercentile(percentile) / 1000.0;
+	}
+}
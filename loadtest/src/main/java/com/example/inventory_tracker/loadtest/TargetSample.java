@@ -0,0 +1,67 @@
+package com.example.inventory_tracker.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Product ids, SKUs and name words read from the target through its own paged listing, so the traffic hits
+// real catalog entries whether the data came from the seeder or elsewhere
+final class TargetSample {
+	private static final int PAGE_SIZE = 1000;
+
+	final List<String> productIds = new ArrayList<>();
+	final List<String> skus = new ArrayList<>();
+	final List<String> words;
+
+	private TargetSample(List<String> words) {
+		this.words = words;
+	}
+
+	static TargetSample load(HttpClient client, String base, int size) throws Exception {
+		ObjectMapper objectMapper = new ObjectMapper();
+		Set<String> words = new LinkedHashSet<>();
+		TargetSample sample = new TargetSample(new ArrayList<>());
+		String after = null;
+		while (sample.productIds.size() < size) {
+			String uri = base + "/api/products?limit=" + PAGE_SIZE + "&fields=sku,name"
+					+ (after == null ? "" : "&after=" + URLEncoder.encode(after, StandardCharsets.UTF_8));
+			HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(uri)).GET().build(),
+					HttpResponse.BodyHandlers.ofString());
+			if (response.statusCode() != 200) {
+				throw new IllegalStateException("GET " + uri + " answered " + response.statusCode());
+			}
+			JsonNode page = objectMapper.readTree(response.body());
+			for (JsonNode product : page.path("items")) {
+				sample.productIds.add(product.path("id").asText());
+				if (product.hasNonNull("sku")) {
+					sample.skus.add(product.path("sku").asText());
+				}
+				for (String word : product.path("name").asText().toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+					if (word.length() >= 3 && !Character.isDigit(word.charAt(0))) {
+						words.add(word);
+					}
+				}
+			}
+			after = page.path("nextCursor").isNull() ? null : page.path("nextCursor").asText();
+			if (after == null) {
+				break;
+			}
+		}
+		if (sample.productIds.isEmpty() || sample.skus.isEmpty()) {
+			throw new IllegalStateException("The target has no products with SKUs; seed it first");
+		}
+		sample.words.addAll(words);
+		return sample;
+	}
+}
@@ -0,0 +1,161 @@
+package com.example.inventory_tracker.loadtest;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+// Open-loop load: each scenario's pacer sends on a fixed schedule whatever the responses do, and latency is
+// measured from when a request was due rather than when it went out, so a stalled server is charged for the
+// requests it delayed (no coordinated omission). Latencies are recorded in microseconds, logged per second to
+// <out>/<scenario>.hlog and summed; requests due during the warm-up are sent but not recorded.
+final class TrafficDriver {
+	private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	static final class Result {
+		final Histogram histogram = new Histogram(3);
+		final AtomicLong ok = new AtomicLong();
+		final AtomicLong rejected = new AtomicLong();
+		final AtomicLong errors = new AtomicLong();
+		final AtomicLong overloaded = new AtomicLong();
+		long measuredNanos;
+
+		long attempts() {
+			return ok.get() + rejected.get() + errors.get() + overloaded.get();
+		}
+
+		double errorRate() {
+			long attempts = attempts();
+			return attempts == 0 ? 0 : (errors.get() + overloaded.get()) / (double) attempts;
+		}
+	}
+
+	private final HttpClient client;
+	private final int maxInFlight;
+	private final Path out;
+
+	TrafficDriver(HttpClient client, int maxInFlight, Path out) {
+		this.client = client;
+		this.maxInFlight = maxInFlight;
+		this.out = out;
+	}
+
+	Map<String, Result> run(List<Scenario> scenarios, int warmupSeconds, int durationSeconds) throws Exception {
+		Semaphore inFlight = new Semaphore(maxInFlight);
+		Map<String, Result> results = new LinkedHashMap<>();
+		Map<String, Recorder> recorders = new LinkedHashMap<>();
+		for (Scenario scenario : scenarios) {
+			results.put(scenario.name(), new Result());
+			recorders.put(scenario.name(), new Recorder(3));
+		}
+		long started = System.nanoTime();
+		long measureFrom = started + TimeUnit.SECONDS.toNanos(warmupSeconds);
+		long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+		List<Thread> pacers = new ArrayList<>();
+		for (Scenario scenario : scenarios) {
+			Thread pacer = new Thread(() -> pace(scenario, recorders.get(scenario.name()), results.get(scenario.name()),
+					inFlight, started, measureFrom, end), "pacer-" + scenario.name());
+			pacer.start();
+			pacers.add(pacer);
+		}
+
+		Map<String, HistogramLogWriter> logs = new LinkedHashMap<>();
+		List<PrintStream> streams = new ArrayList<>();
+		try {
+			for (String name : recorders.keySet()) {
+				PrintStream stream = new PrintStream(new FileOutputStream(out.resolve(name + ".hlog").toFile()));
+				streams.add(stream);
+				HistogramLogWriter log = new HistogramLogWriter(stream);
+				log.outputLogFormatVersion();
+				log.outputStartTime(System.currentTimeMillis());
+				log.outputLegend();
+				logs.put(name, log);
+			}
+			// Requests due during the warm-up are not recorded; the rest are drained into the log once a second
+			long nextTick = started + TICK_NANOS;
+			while (true) {
+				LockSupport.parkNanos(nextTick - System.nanoTime());
+				boolean pacing = pacers.stream().anyMatch(Thread::isAlive);
+				boolean done = !pacing && inFlight.availablePermits() == maxInFlight;
+				for (Map.Entry<String, Recorder> entry : recorders.entrySet()) {
+					Histogram interval = entry.getValue().getIntervalHistogram();
+					logs.get(entry.getKey()).outputIntervalHistogram(interval);
+					results.get(entry.getKey()).histogram.add(interval);
+				}
+				if (done) {
+					break;
+				}
+				nextTick += TICK_NANOS;
+			}
+		} finally {
+			for (PrintStream stream : streams) {
+				stream.close();
+			}
+		}
+		for (Result result : results.values()) {
+			result.measuredNanos = end - measureFrom;
+		}
+		return results;
+	}
+
+	private void pace(Scenario scenario, Recorder recorder, Result result, Semaphore inFlight, long started,
+					  long measureFrom, long end) {
+		SplittableRandom random = new SplittableRandom(scenario.name().hashCode());
+		long due = started;
+		while (due < end) {
+			long wait = due - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			long intended = due;
+			boolean counted = intended >= measureFrom;
+			due += (long) (TICK_NANOS / scenario.rateAt(due - started));
+			if (!inFlight.tryAcquire()) {
+				if (counted) {
+					result.overloaded.incrementAndGet();
+				}
+				continue;
+			}
+			client.sendAsync(scenario.requests().create(random), HttpResponse.BodyHandlers.discarding())
+					.whenComplete((response, error) -> {
+						try {
+							if (!counted) {
+								return;
+							}
+							recorder.recordValue(Math.max(1, (System.nanoTime() - intended) / 1000));
+							if (error != null || response.statusCode() >= 500) {
+								result.errors.incrementAndGet();
+							} else if (response.statusCode() >= 400) {
+								result.rejected.incrementAndGet();
+							} else {
+								result.ok.incrementAndGet();
+							}
+						} finally {
+							inFlight.release();
+						}
+					});
+		}
+	}
+
+	static void writeDistribution(Path file, Histogram histogram) throws IOException {
+		try (PrintStream stream = new PrintStream(new FileOutputStream(file.toFile()))) {
+			histogram.outputPercentileDistribution(stream, 1000.0);
+		}
+	}
+}
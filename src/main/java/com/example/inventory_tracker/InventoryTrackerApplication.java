@@ -2,8 +2,10 @@ package com.example.inventory_tracker;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class InventoryTrackerApplication {
     public static void main(String[] args) {
         SpringApplication.run(InventoryTrackerApplication.class, args);
@@ -0,0 +1,182 @@
+// src/main/java/com/example/inventory_tracker/archive/ColdLedger.java
+package com.example.inventory_tracker.archive;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.inventory_tracker.model.Transaction;
+
+import jakarta.annotation.PostConstruct;
+
+// Archived ledger months as segment files on local disk (<yyyy-MM>-<sequence>.seg). Months never overlap in
+// time, so newest-first reads walk months from the top and stop as soon as a page is full.
+@Component
+public class ColdLedger {
+    private static final Logger log = LoggerFactory.getLogger(ColdLedger.class);
+
+    // Ledger order, newest first, as TransactionService sorts hot rows
+    public static final Comparator<Transaction> NEWEST_FIRST = Comparator
+            .comparing(Transaction::getTimestamp, Comparator.nullsFirst(Comparator.<Instant>naturalOrder()))
+            .thenComparing(Transaction::getId)
+            .reversed();
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("(\\d{4}-\\d{2})-(\\d+)\\.seg");
+
+    @Value("${inventory.archive.directory:data/archive}")
+    private Path directory;
+
+    private final NavigableMap<YearMonth, List<TransactionSegment>> months = new ConcurrentSkipListMap<>();
+
+    @PostConstruct
+    void load() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.delete(file); // left behind by an archive run that never finished
+                    continue;
+                }
+                Matcher matcher = SEGMENT_NAME.matcher(name);
+                if (!matcher.matches()) {
+                    continue;
+                }
+                try {
+                    register(YearMonth.parse(matcher.group(1)), TransactionSegment.open(file));
+                } catch (IOException | RuntimeException e) {
+                    log.error("Skipping unreadable transaction segment {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        log.info("Cold ledger holds {} archived transactions in {} months", rowCount(), months.size());
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    public boolean isEmpty() {
+        return months.isEmpty();
+    }
+
+    public long rowCount() {
+        long rows = 0;
+        for (List<TransactionSegment> segments : months.values()) {
+            for (TransactionSegment segment : segments) {
+                rows += segment.rowCount();
+            }
+        }
+        return rows;
+    }
+
+    public static YearMonth monthOf(Instant instant) {
+        return YearMonth.from(instant.atOffset(ZoneOffset.UTC));
+    }
+
+    public static Instant startOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+
+    public Path nextSegmentPath(YearMonth month) {
+        return directory.resolve(month + "-" + months.getOrDefault(month, List.of()).size() + ".seg");
+    }
+
+    public void register(YearMonth month, TransactionSegment segment) {
+        months.computeIfAbsent(month, key -> new CopyOnWriteArrayList<>()).add(segment);
+    }
+
+    public Set<ObjectId> ids(YearMonth month, Instant from, Instant to) {
+        Set<ObjectId> ids = new HashSet<>();
+        for (TransactionSegment segment : months.getOrDefault(month, List.of())) {
+            segment.forEachId(from, to, ids::add);
+        }
+        return ids;
+    }
+
+    public List<Transaction> find(LedgerFilter filter, Instant from, Instant to, LedgerKeyset after, int limit) {
+        List<Transaction> found = new ArrayList<>();
+        for (Map.Entry<YearMonth, List<TransactionSegment>> month : window(from, to).descendingMap().entrySet()) {
+            int wanted = limit - found.size();
+            if (wanted <= 0) {
+                break;
+            }
+            List<Transaction> monthRows = new ArrayList<>();
+            for (TransactionSegment segment : month.getValue()) {
+                monthRows.addAll(segment.newestFirst(filter, from, to, after, wanted));
+            }
+            if (month.getValue().size() > 1) {
+                monthRows.sort(NEWEST_FIRST);
+            }
+            found.addAll(monthRows.subList(0, Math.min(wanted, monthRows.size())));
+        }
+        return found;
+    }
+
+    public Stream<Transaction> stream(LedgerFilter filter, Instant from, Instant to) {
+        return window(from, to).values().stream()
+                .flatMap(List::stream)
+                .flatMap(segment -> segment.stream(filter, from, to));
+    }
+
+    public void sumByProduct(LedgerFilter filter, Instant from, Instant to, Map<String, long[]> net) {
+        for (List<TransactionSegment> segments : window(from, to).values()) {
+            for (TransactionSegment segment : segments) {
+                segment.sumByProduct(filter, from, to, net);
+            }
+        }
+    }
+
+    public Optional<Transaction> findById(String id) {
+        if (months.isEmpty() || !ObjectId.isValid(id)) {
+            return Optional.empty();
+        }
+        ObjectId objectId = new ObjectId(id);
+        for (List<TransactionSegment> segments : months.values()) {
+            for (TransactionSegment segment : segments) {
+                Optional<Transaction> found = segment.findById(objectId);
+                if (found.isPresent()) {
+                    return found;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private NavigableMap<YearMonth, List<TransactionSegment>> window(Instant from, Instant to) {
+        if (months.isEmpty()) {
+            return months;
+        }
+        YearMonth first = from == null ? months.firstKey() : monthOf(from);
+        YearMonth last = to == null ? months.lastKey() : monthOf(to.minusMillis(1));
+        if (first.isAfter(last)) {
+            return new ConcurrentSkipListMap<>();
+        }
+        return months.subMap(first, true, last, true);
+    }
+}
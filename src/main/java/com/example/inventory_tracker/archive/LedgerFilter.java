@@ -0,0 +1,31 @@
+// src/main/java/com/example/inventory_tracker/archive/LedgerFilter.java
+package com.example.inventory_tracker.archive;
+
+// The single-field equality filters the ledger listings support, shared by the Mongo and segment readers
+public record LedgerFilter(Field field, String value) {
+    public enum Field {
+        PRODUCT("productId"), USER("userId"), TYPE("type");
+
+        private final String property;
+
+        Field(String property) {
+            this.property = property;
+        }
+
+        public String property() {
+            return property;
+        }
+    }
+
+    public static LedgerFilter product(String productId) {
+        return new LedgerFilter(Field.PRODUCT, productId);
+    }
+
+    public static LedgerFilter user(String userId) {
+        return new LedgerFilter(Field.USER, userId);
+    }
+
+    public static LedgerFilter type(String type) {
+        return new LedgerFilter(Field.TYPE, type);
+    }
+}
@@ -0,0 +1,9 @@
+// src/main/java/com/example/inventory_tracker/archive/LedgerKeyset.java
+package com.example.inventory_tracker.archive;
+
+import java.time.Instant;
+
+// Position of the last row of a page in ledger order (newest first); timestamp is null for legacy rows,
+// which sort after every timestamped one
+public record LedgerKeyset(Instant timestamp, String id) {
+}
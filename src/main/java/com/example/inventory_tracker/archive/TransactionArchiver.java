@@ -0,0 +1,174 @@
+// src/main/java/com/example/inventory_tracker/archive/TransactionArchiver.java
+package com.example.inventory_tracker.archive;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.inventory_tracker.model.RollupBackfillState;
+import com.example.inventory_tracker.model.Transaction;
+
+// Moves one whole UTC month of old ledger rows per run into a segment file. The segment is synced and registered
+// before the rows are deleted, and rows already in an earlier segment of the month are only deleted, so an
+// interrupted run is finished by the next without losing or duplicating rows. Legacy rows without an ObjectId
+// id stay in Mongo.
+@Component
+public class TransactionArchiver {
+    private static final Logger log = LoggerFactory.getLogger(TransactionArchiver.class);
+    private static final int BATCH_SIZE = 1000;
+    private static final int OBJECT_ID_TYPE = 7;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ColdLedger coldLedger;
+
+    @Value("${inventory.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.archive.min-age-days:365}")
+    private long minAgeDays;
+
+    @Scheduled(initialDelayString = "${inventory.archive.interval-ms:60000}",
+            fixedDelayString = "${inventory.archive.interval-ms:60000}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archiveOldestMonth();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Transaction archiving failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private void archiveOldestMonth() throws IOException {
+        // The rollup backfill reads pre-existing rows from Mongo, so they stay there until it has run
+        RollupBackfillState rollups = mongoTemplate.findById(RollupBackfillState.TRANSACTIONS_ID,
+                RollupBackfillState.class);
+        if (rollups == null || !rollups.isComplete()) {
+            return;
+        }
+        Query oldestQuery = query(where("timestamp").ne(null).and("id").type(OBJECT_ID_TYPE)).with(Sort.by(Sort.Direction.ASC, "timestamp")).limit(1);
+        oldestQuery.fields().include("timestamp");
+        Transaction oldest = mongoTemplate.findOne(oldestQuery, Transaction.class);
+        if (oldest == null) {
+            return;
+        }
+        YearMonth month = ColdLedger.monthOf(oldest.getTimestamp());
+        Instant start = ColdLedger.startOf(month);
+        Instant end = ColdLedger.startOf(month.plusMonths(1));
+        if (end.isAfter(Instant.now().minus(Duration.ofDays(minAgeDays)))) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        long legacy = mongoTemplate.count(query(where("timestamp").gte(start).lt(end)
+                .and("id").not().type(OBJECT_ID_TYPE)), Transaction.class);
+        if (legacy > 0) {
+            log.warn("{} transactions from {} have non-ObjectId ids and stay in Mongo", legacy, month);
+        }
+        Criteria archivable = where("timestamp").gte(start).lt(end).and("id").type(OBJECT_ID_TYPE);
+
+        Path target = coldLedger.nextSegmentPath(month);
+        long written = 0;
+        try (TransactionSegmentWriter writer = TransactionSegmentWriter.create(target)) {
+            List<Transaction> batch = new ArrayList<>(BATCH_SIZE);
+            try (Stream<Transaction> stream = mongoTemplate.stream(monthRows(archivable), Transaction.class)) {
+                for (Transaction transaction : (Iterable<Transaction>) stream::iterator) {
+                    batch.add(transaction);
+                    if (batch.size() == BATCH_SIZE) {
+                        appendUnarchived(writer, month, batch);
+                        batch.clear();
+                    }
+                }
+            }
+            appendUnarchived(writer, month, batch);
+            written = writer.rowCount();
+            if (written > 0) {
+                writer.finish();
+                coldLedger.register(month, TransactionSegment.open(target));
+            }
+        }
+
+        // Only rows now in a synced segment are deleted, so one back-dated into the month meanwhile stays
+        Query ids = monthRows(archivable);
+        ids.fields().include("timestamp");
+        long deleted = 0;
+        try (Stream<Transaction> stream = mongoTemplate.stream(ids, Transaction.class)) {
+            List<Transaction> batch = new ArrayList<>(BATCH_SIZE);
+            for (Transaction transaction : (Iterable<Transaction>) stream::iterator) {
+                batch.add(transaction);
+                if (batch.size() == BATCH_SIZE) {
+                    deleted += deleteArchived(month, batch);
+                    batch.clear();
+                }
+            }
+            deleted += deleteArchived(month, batch);
+        }
+        log.info("Archived {} transactions from {} to {} and deleted {} from Mongo in {} ms", written, month,
+                target.getFileName(), deleted, System.currentTimeMillis() - started);
+    }
+
+    private static Query monthRows(Criteria archivable) {
+        return query(archivable).with(Sort.by(Sort.Direction.ASC, "timestamp", "id")).cursorBatchSize(BATCH_SIZE);
+    }
+
+    // Rows come in timestamp order, so the batch's first and last timestamps bound the archived ids to check
+    private void appendUnarchived(TransactionSegmentWriter writer, YearMonth month, List<Transaction> batch)
+            throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<ObjectId> archived = archivedIds(month, batch);
+        for (Transaction transaction : batch) {
+            if (!archived.contains(new ObjectId(transaction.getId()))) {
+                writer.append(transaction);
+            }
+        }
+    }
+
+    private long deleteArchived(YearMonth month, List<Transaction> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Set<ObjectId> archived = archivedIds(month, batch);
+        List<ObjectId> ids = new ArrayList<>(batch.size());
+        for (Transaction transaction : batch) {
+            ObjectId id = new ObjectId(transaction.getId());
+            if (archived.contains(id)) {
+                ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.remove(query(where("id").in(ids)), Transaction.class).getDeletedCount();
+    }
+
+    private Set<ObjectId> archivedIds(YearMonth month, List<Transaction> batch) {
+        return coldLedger.ids(month, batch.get(0).getTimestamp(), batch.get(batch.size() - 1).getTimestamp());
+    }
+}
@@ -0,0 +1,460 @@
+// src/main/java/com/example/inventory_tracker/archive/TransactionSegment.java
+package com.example.inventory_tracker.archive;
+
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.COLUMNS;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.DICTIONARIES;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.ID;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.ID_BYTES;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.LEGACY_COLUMNS;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.LEGACY_DICTIONARIES;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.LEGACY_MAGIC;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.LOCATION;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.LOCATION_DICTIONARY;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.MAGIC;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.NOTES;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.NOTES_DICTIONARY;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.PRODUCT;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.PRODUCT_DICTIONARY;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.QUANTITY;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.TIMESTAMP;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.TO_LOCATION;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.TRAILER_LENGTH;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.TYPE;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.TYPE_IN;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.TYPE_OUT;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.TYPE_TRANSFER;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.USER;
+import static com.example.inventory_tracker.archive.TransactionSegmentWriter.USER_DICTIONARY;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.bson.types.ObjectId;
+
+import com.example.inventory_tracker.model.Transaction;
+
+// A memory-mapped segment file. Queries skip row groups outside the window and decode the remaining columns
+// only for groups where the filter column matches.
+public final class TransactionSegment {
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final long rowCount;
+    private final Group[] groups;
+    private final String[][] dictionaries = new String[DICTIONARIES][];
+    private final List<Map<String, Integer>> codes = new ArrayList<>();
+
+    private TransactionSegment(Path path, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        int size = buffer.capacity();
+        if (size < MAGIC.length + TRAILER_LENGTH) {
+            throw new IOException("Not a transaction segment: " + path);
+        }
+        boolean legacy = hasMagic(0, LEGACY_MAGIC) && hasMagic(size - MAGIC.length, LEGACY_MAGIC);
+        if (!legacy && (!hasMagic(0, MAGIC) || !hasMagic(size - MAGIC.length, MAGIC))) {
+            throw new IOException("Not a transaction segment: " + path);
+        }
+        int columns = legacy ? LEGACY_COLUMNS : COLUMNS;
+        int footerOffset = (int) buffer.getLong(size - TRAILER_LENGTH);
+        ByteBuffer footer = buffer.slice(footerOffset, buffer.getInt(size - TRAILER_LENGTH + 8));
+        int groupCount = footer.getInt();
+        rowCount = footer.getLong();
+        groups = new Group[groupCount];
+        for (int g = 0; g < groupCount; g++) {
+            int rows = footer.getInt();
+            long minTimestamp = footer.getLong();
+            long maxTimestamp = footer.getLong();
+            Block[] blocks = new Block[COLUMNS];
+            for (int c = 0; c < columns; c++) {
+                blocks[c] = Block.read(footer);
+            }
+            groups[g] = new Group(rows, minTimestamp, maxTimestamp, blocks);
+        }
+        for (int d = 0; d < DICTIONARIES; d++) {
+            if (legacy && d >= LEGACY_DICTIONARIES) {
+                dictionaries[d] = new String[0];
+                codes.add(Map.of());
+                continue;
+            }
+            Decoder decoder = new Decoder(inflate(Block.read(footer)));
+            String[] values = new String[(int) decoder.readVarLong()];
+            Map<String, Integer> byValue = new HashMap<>(values.length * 2);
+            for (int i = 0; i < values.length; i++) {
+                values[i] = decoder.readString();
+                byValue.put(values[i], i + 1);
+            }
+            dictionaries[d] = values;
+            codes.add(byValue);
+        }
+    }
+
+    public static TransactionSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new TransactionSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    public Instant minTimestamp() {
+        return groups.length == 0 ? null : Instant.ofEpochMilli(groups[0].minTimestamp);
+    }
+
+    public Instant maxTimestamp() {
+        return groups.length == 0 ? null : Instant.ofEpochMilli(groups[groups.length - 1].maxTimestamp);
+    }
+
+    // Matching rows in [from, to) older than the keyset, newest first, at most limit of them
+    public List<Transaction> newestFirst(LedgerFilter filter, Instant from, Instant to, LedgerKeyset after,
+                                         int limit) {
+        List<Transaction> found = new ArrayList<>();
+        int code = filterCode(filter);
+        if (code < 0) {
+            return found;
+        }
+        long lower = from == null ? Long.MIN_VALUE : from.toEpochMilli();
+        long upper = to == null ? Long.MAX_VALUE : to.toEpochMilli();
+        byte[] afterId = null;
+        if (after != null) {
+            if (after.timestamp() == null) {
+                return found; // the keyset is already among rows without a timestamp, which are never archived
+            }
+            upper = Math.min(upper, after.timestamp().toEpochMilli() + 1);
+            afterId = new ObjectId(after.id()).toByteArray();
+        }
+        for (int g = groups.length - 1; g >= 0 && found.size() < limit; g--) {
+            Group group = groups[g];
+            if (group.maxTimestamp < lower || group.minTimestamp >= upper) {
+                continue;
+            }
+            long[] timestamps = timestamps(group);
+            int[] filterCodes = filterColumn(group, filter);
+            byte[] ids = afterId == null ? null : inflate(group.blocks[ID]);
+            Rows decoded = null;
+            for (int i = group.rows - 1; i >= 0 && found.size() < limit; i--) {
+                long timestamp = timestamps[i];
+                if (timestamp >= upper) {
+                    continue;
+                }
+                if (timestamp < lower) {
+                    break;
+                }
+                if (afterId != null && timestamp == after.timestamp().toEpochMilli()
+                        && Arrays.compareUnsigned(ids, i * ID_BYTES, (i + 1) * ID_BYTES, afterId, 0, ID_BYTES) >= 0) {
+                    continue;
+                }
+                if (filterCodes != null && filterCodes[i] != code) {
+                    continue;
+                }
+                if (decoded == null) {
+                    decoded = decode(group, timestamps, ids);
+                }
+                found.add(decoded.transaction(i));
+            }
+        }
+        return found;
+    }
+
+    // Matching rows in [from, to) in ascending ledger order, decoded one row group at a time as the stream is read
+    public Stream<Transaction> stream(LedgerFilter filter, Instant from, Instant to) {
+        int code = filterCode(filter);
+        if (code < 0) {
+            return Stream.empty();
+        }
+        long lower = from == null ? Long.MIN_VALUE : from.toEpochMilli();
+        long upper = to == null ? Long.MAX_VALUE : to.toEpochMilli();
+        return Arrays.stream(groups)
+                .filter(group -> group.maxTimestamp >= lower && group.minTimestamp < upper)
+                .flatMap(group -> {
+                    long[] timestamps = timestamps(group);
+                    int[] filterCodes = filterColumn(group, filter);
+                    List<Transaction> rows = new ArrayList<>();
+                    Rows decoded = null;
+                    for (int i = 0; i < group.rows; i++) {
+                        if (timestamps[i] < lower || timestamps[i] >= upper
+                                || filterCodes != null && filterCodes[i] != code) {
+                            continue;
+                        }
+                        if (decoded == null) {
+                            decoded = decode(group, timestamps, null);
+                        }
+                        rows.add(decoded.transaction(i));
+                    }
+                    return rows.stream();
+                });
+    }
+
+    // Net signed quantity and movement count per product for rows in [from, to), reading only the timestamp,
+    // product, type and quantity columns
+    public void sumByProduct(LedgerFilter filter, Instant from, Instant to, Map<String, long[]> net) {
+        int code = filterCode(filter);
+        if (code < 0) {
+            return;
+        }
+        long lower = from == null ? Long.MIN_VALUE : from.toEpochMilli();
+        long upper = to == null ? Long.MAX_VALUE : to.toEpochMilli();
+        for (Group group : groups) {
+            if (group.maxTimestamp < lower || group.minTimestamp >= upper) {
+                continue;
+            }
+            long[] timestamps = timestamps(group);
+            int[] products = varInts(group.blocks[PRODUCT], group.rows);
+            int[] filterCodes = filter != null && filter.field() == LedgerFilter.Field.PRODUCT
+                    ? products : filterColumn(group, filter);
+            byte[] types = inflate(group.blocks[TYPE]);
+            int[] quantities = zigZag(varInts(group.blocks[QUANTITY], group.rows));
+            for (int i = 0; i < group.rows; i++) {
+                if (timestamps[i] < lower || timestamps[i] >= upper || products[i] == 0
+                        || filterCodes != null && filterCodes[i] != code) {
+                    continue;
+                }
+                long[] sums = net.computeIfAbsent(dictionaries[PRODUCT_DICTIONARY][products[i] - 1],
+                        key -> new long[2]);
+                sums[0] += types[i] == TYPE_IN ? quantities[i] : types[i] == TYPE_OUT ? -quantities[i] : 0;
+                sums[1]++;
+            }
+        }
+    }
+
+    public Optional<Transaction> findById(ObjectId id) {
+        byte[] wanted = id.toByteArray();
+        for (Group group : groups) {
+            byte[] ids = inflate(group.blocks[ID]);
+            for (int i = 0; i < group.rows; i++) {
+                if (Arrays.equals(ids, i * ID_BYTES, (i + 1) * ID_BYTES, wanted, 0, ID_BYTES)) {
+                    return Optional.of(decode(group, timestamps(group), ids).transaction(i));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Ids of the rows stamped in [from, to], both inclusive; only groups overlapping that range are read
+    public void forEachId(Instant from, Instant to, Consumer<ObjectId> action) {
+        long lower = from.toEpochMilli();
+        long upper = to.toEpochMilli();
+        for (Group group : groups) {
+            if (group.maxTimestamp < lower || group.minTimestamp > upper) {
+                continue;
+            }
+            long[] timestamps = timestamps(group);
+            byte[] ids = inflate(group.blocks[ID]);
+            for (int i = 0; i < group.rows; i++) {
+                if (timestamps[i] >= lower && timestamps[i] <= upper) {
+                    action.accept(new ObjectId(ByteBuffer.wrap(ids, i * ID_BYTES, ID_BYTES)));
+                }
+            }
+        }
+    }
+
+    // 0 for no filter, -1 when the value never occurs in this segment
+    private int filterCode(LedgerFilter filter) {
+        if (filter == null) {
+            return 0;
+        }
+        return switch (filter.field()) {
+            case PRODUCT -> codes.get(PRODUCT_DICTIONARY).getOrDefault(filter.value(), -1);
+            case USER -> codes.get(USER_DICTIONARY).getOrDefault(filter.value(), -1);
+            case TYPE -> Arrays.stream(Transaction.TransactionType.values())
+                    .filter(type -> type.name().equals(filter.value()))
+                    .mapToInt(TransactionSegmentWriter::typeCode)
+                    .findFirst().orElse(-1);
+        };
+    }
+
+    private int[] filterColumn(Group group, LedgerFilter filter) {
+        if (filter == null) {
+            return null;
+        }
+        return switch (filter.field()) {
+            case PRODUCT -> varInts(group.blocks[PRODUCT], group.rows);
+            case USER -> varInts(group.blocks[USER], group.rows);
+            case TYPE -> {
+                byte[] types = inflate(group.blocks[TYPE]);
+                int[] values = new int[group.rows];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = types[i];
+                }
+                yield values;
+            }
+        };
+    }
+
+    private Rows decode(Group group, long[] timestamps, byte[] ids) {
+        return new Rows(timestamps,
+                ids != null ? ids : inflate(group.blocks[ID]),
+                varInts(group.blocks[PRODUCT], group.rows),
+                inflate(group.blocks[TYPE]),
+                zigZag(varInts(group.blocks[QUANTITY], group.rows)),
+                varInts(group.blocks[USER], group.rows),
+                varInts(group.blocks[NOTES], group.rows),
+                group.blocks[LOCATION] == null ? new int[group.rows] : varInts(group.blocks[LOCATION], group.rows),
+                group.blocks[TO_LOCATION] == null ? new int[group.rows]
+                        : varInts(group.blocks[TO_LOCATION], group.rows));
+    }
+
+    private long[] timestamps(Group group) {
+        Decoder decoder = new Decoder(inflate(group.blocks[TIMESTAMP]));
+        long[] timestamps = new long[group.rows];
+        timestamps[0] = decoder.readLong();
+        for (int i = 1; i < timestamps.length; i++) {
+            timestamps[i] = timestamps[i - 1] + decoder.readVarLong();
+        }
+        return timestamps;
+    }
+
+    private int[] varInts(Block block, int rows) {
+        Decoder decoder = new Decoder(inflate(block));
+        int[] values = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = (int) decoder.readVarLong();
+        }
+        return values;
+    }
+
+    private static int[] zigZag(int[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (values[i] >>> 1) ^ -(values[i] & 1);
+        }
+        return values;
+    }
+
+    private byte[] inflate(Block block) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice((int) block.offset, block.length));
+            byte[] raw = new byte[block.rawLength];
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt block in segment " + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private boolean hasMagic(int offset, byte[] magic) {
+        for (int i = 0; i < magic.length; i++) {
+            if (buffer.get(offset + i) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Block(long offset, int length, int rawLength) {
+        static Block read(ByteBuffer footer) {
+            return new Block(footer.getLong(), footer.getInt(), footer.getInt());
+        }
+    }
+
+    private record Group(int rows, long minTimestamp, long maxTimestamp, Block[] blocks) {
+    }
+
+    private final class Rows {
+        final long[] timestamps;
+        final byte[] ids;
+        final int[] products;
+        final byte[] types;
+        final int[] quantities;
+        final int[] users;
+        final int[] notes;
+        final int[] locations;
+        final int[] toLocations;
+
+        Rows(long[] timestamps, byte[] ids, int[] products, byte[] types, int[] quantities, int[] users,
+             int[] notes, int[] locations, int[] toLocations) {
+            this.timestamps = timestamps;
+            this.ids = ids;
+            this.products = products;
+            this.types = types;
+            this.quantities = quantities;
+            this.users = users;
+            this.notes = notes;
+            this.locations = locations;
+            this.toLocations = toLocations;
+        }
+
+        Transaction transaction(int i) {
+            Transaction transaction = new Transaction();
+            transaction.setId(new ObjectId(ByteBuffer.wrap(ids, i * ID_BYTES, ID_BYTES)).toHexString());
+            transaction.setTimestamp(Instant.ofEpochMilli(timestamps[i]));
+            transaction.setProductId(value(PRODUCT_DICTIONARY, products[i]));
+            transaction.setType(types[i] == TYPE_IN ? Transaction.TransactionType.IN
+                    : types[i] == TYPE_OUT ? Transaction.TransactionType.OUT
+                    : types[i] == TYPE_TRANSFER ? Transaction.TransactionType.TRANSFER : null);
+            transaction.setQuantity(quantities[i]);
+            transaction.setUserId(value(USER_DICTIONARY, users[i]));
+            transaction.setNotes(value(NOTES_DICTIONARY, notes[i]));
+            transaction.setLocationId(value(LOCATION_DICTIONARY, locations[i]));
+            transaction.setToLocationId(value(LOCATION_DICTIONARY, toLocations[i]));
+            return transaction;
+        }
+
+        private String value(int dictionary, int code) {
+            return code == 0 ? null : dictionaries[dictionary][code - 1];
+        }
+    }
+
+    private static final class Decoder {
+        private final byte[] bytes;
+        private int position;
+
+        Decoder(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = value << 8 | bytes[position++] & 0xFF;
+            }
+            return value;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
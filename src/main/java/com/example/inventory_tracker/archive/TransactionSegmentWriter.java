@@ -0,0 +1,307 @@
+// src/main/java/com/example/inventory_tracker/archive/TransactionSegmentWriter.java
+package com.example.inventory_tracker.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import org.bson.types.ObjectId;
+
+import com.example.inventory_tracker.model.Transaction;
+
+// Rows in ascending (timestamp, id) order, cut into row groups whose columns are deflated separately. Layout:
+//   "ITXSEG02" | column and dictionary blocks | footer | footer offset (long) | footer length (int) | "ITXSEG02"
+// Segments written before movements carried locations are "ITXSEG01" and lack the location columns and
+// dictionary; readers treat their locations as null.
+// Written under a temporary name and moved into place by finish()
+public final class TransactionSegmentWriter implements Closeable {
+    static final byte[] MAGIC = "ITXSEG02".getBytes(StandardCharsets.US_ASCII);
+    static final byte[] LEGACY_MAGIC = "ITXSEG01".getBytes(StandardCharsets.US_ASCII);
+    static final int TRAILER_LENGTH = 8 + 4 + 8;
+    static final int ROWS_PER_GROUP = 65_536;
+    static final int ID_BYTES = 12;
+
+    // Column order inside a row group
+    static final int TIMESTAMP = 0;
+    static final int ID = 1;
+    static final int PRODUCT = 2;
+    static final int TYPE = 3;
+    static final int QUANTITY = 4;
+    static final int USER = 5;
+    static final int NOTES = 6;
+    static final int LOCATION = 7;
+    static final int TO_LOCATION = 8;
+    static final int COLUMNS = 9;
+    static final int LEGACY_COLUMNS = 7;
+
+    // Dictionary order in the footer; code 0 stands for null, so string i has code i + 1
+    static final int PRODUCT_DICTIONARY = 0;
+    static final int USER_DICTIONARY = 1;
+    static final int NOTES_DICTIONARY = 2;
+    static final int LOCATION_DICTIONARY = 3; // shared by both location columns
+    static final int DICTIONARIES = 4;
+    static final int LEGACY_DICTIONARIES = 3;
+
+    static final int TYPE_NULL = 0;
+    static final int TYPE_IN = 1;
+    static final int TYPE_OUT = 2;
+    static final int TYPE_TRANSFER = 3;
+
+    private final Path target;
+    private final Path temp;
+    private final FileChannel channel;
+    private long position;
+    private boolean finished;
+
+    private final List<Map<String, Integer>> dictionaries = new ArrayList<>();
+    private final List<List<String>> dictionaryValues = new ArrayList<>();
+    private final ByteArrayOutputStream footer = new ByteArrayOutputStream();
+    private int groupCount;
+    private long rowCount;
+
+    private final long[] timestamps = new long[ROWS_PER_GROUP];
+    private final byte[] ids = new byte[ROWS_PER_GROUP * ID_BYTES];
+    private final int[] products = new int[ROWS_PER_GROUP];
+    private final byte[] types = new byte[ROWS_PER_GROUP];
+    private final int[] quantities = new int[ROWS_PER_GROUP];
+    private final int[] users = new int[ROWS_PER_GROUP];
+    private final int[] notes = new int[ROWS_PER_GROUP];
+    private final int[] locations = new int[ROWS_PER_GROUP];
+    private final int[] toLocations = new int[ROWS_PER_GROUP];
+    private int rows;
+    private long lastTimestamp = Long.MIN_VALUE;
+    private ObjectId lastId;
+
+    private TransactionSegmentWriter(Path target) throws IOException {
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        for (int i = 0; i < DICTIONARIES; i++) {
+            dictionaries.add(new HashMap<>());
+            dictionaryValues.add(new ArrayList<>());
+        }
+        write(MAGIC);
+    }
+
+    public static TransactionSegmentWriter create(Path target) throws IOException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        return new TransactionSegmentWriter(target);
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    public void append(Transaction transaction) throws IOException {
+        if (transaction.getTimestamp() == null) {
+            throw new IllegalArgumentException("Only timestamped transactions can be archived: " + transaction.getId());
+        }
+        ObjectId id = new ObjectId(transaction.getId());
+        long timestamp = transaction.getTimestamp().toEpochMilli();
+        if (timestamp < lastTimestamp || timestamp == lastTimestamp && id.compareTo(lastId) <= 0) {
+            throw new IllegalArgumentException("Transactions must be appended in ledger order: " + transaction.getId());
+        }
+        lastTimestamp = timestamp;
+        lastId = id;
+
+        timestamps[rows] = timestamp;
+        id.putToByteBuffer(ByteBuffer.wrap(ids, rows * ID_BYTES, ID_BYTES));
+        products[rows] = code(PRODUCT_DICTIONARY, transaction.getProductId());
+        types[rows] = (byte) typeCode(transaction.getType());
+        quantities[rows] = transaction.getQuantity();
+        users[rows] = code(USER_DICTIONARY, transaction.getUserId());
+        notes[rows] = code(NOTES_DICTIONARY, transaction.getNotes());
+        locations[rows] = code(LOCATION_DICTIONARY, transaction.getLocationId());
+        toLocations[rows] = code(LOCATION_DICTIONARY, transaction.getToLocationId());
+        rows++;
+        rowCount++;
+        if (rows == ROWS_PER_GROUP) {
+            flushGroup();
+        }
+    }
+
+    static int typeCode(Transaction.TransactionType type) {
+        if (type == null) {
+            return TYPE_NULL;
+        }
+        return switch (type) {
+            case IN -> TYPE_IN;
+            case OUT -> TYPE_OUT;
+            case TRANSFER -> TYPE_TRANSFER;
+        };
+    }
+
+    public void finish() throws IOException {
+        if (rows > 0) {
+            flushGroup();
+        }
+        long[][] dictionaryBlocks = new long[DICTIONARIES][];
+        for (int i = 0; i < DICTIONARIES; i++) {
+            Encoder encoder = new Encoder();
+            List<String> values = dictionaryValues.get(i);
+            encoder.writeVarLong(values.size());
+            for (String value : values) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                encoder.writeVarLong(bytes.length);
+                encoder.write(bytes, 0, bytes.length);
+            }
+            dictionaryBlocks[i] = writeBlock(encoder);
+        }
+
+        Encoder trailer = new Encoder();
+        trailer.writeInt(groupCount);
+        trailer.writeLong(rowCount);
+        trailer.write(footer.toByteArray(), 0, footer.size());
+        for (long[] block : dictionaryBlocks) {
+            trailer.writeBlock(block);
+        }
+        long footerOffset = position;
+        write(trailer.toByteArray());
+        ByteBuffer end = ByteBuffer.allocate(TRAILER_LENGTH).putLong(footerOffset).putInt(trailer.size()).put(MAGIC);
+        write(end.array());
+        channel.force(true);
+        channel.close();
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+    }
+
+    // Abandons the segment unless finish() has completed
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            channel.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void flushGroup() throws IOException {
+        long[][] blocks = new long[COLUMNS][];
+        Encoder encoder = new Encoder();
+        encoder.writeLong(timestamps[0]);
+        for (int i = 1; i < rows; i++) {
+            encoder.writeVarLong(timestamps[i] - timestamps[i - 1]);
+        }
+        blocks[TIMESTAMP] = writeBlock(encoder);
+        blocks[ID] = writeBlock(ids, rows * ID_BYTES);
+        blocks[PRODUCT] = writeBlock(varInts(products));
+        blocks[TYPE] = writeBlock(types, rows);
+        encoder = new Encoder();
+        for (int i = 0; i < rows; i++) {
+            encoder.writeVarLong(Integer.toUnsignedLong((quantities[i] << 1) ^ (quantities[i] >> 31)));
+        }
+        blocks[QUANTITY] = writeBlock(encoder);
+        blocks[USER] = writeBlock(varInts(users));
+        blocks[NOTES] = writeBlock(varInts(notes));
+        blocks[LOCATION] = writeBlock(varInts(locations));
+        blocks[TO_LOCATION] = writeBlock(varInts(toLocations));
+
+        Encoder group = new Encoder();
+        group.writeInt(rows);
+        group.writeLong(timestamps[0]);
+        group.writeLong(timestamps[rows - 1]);
+        for (long[] block : blocks) {
+            group.writeBlock(block);
+        }
+        footer.write(group.toByteArray());
+        groupCount++;
+        rows = 0;
+    }
+
+    private Encoder varInts(int[] values) {
+        Encoder encoder = new Encoder();
+        for (int i = 0; i < rows; i++) {
+            encoder.writeVarLong(values[i]);
+        }
+        return encoder;
+    }
+
+    private int code(int dictionary, String value) {
+        if (value == null) {
+            return 0;
+        }
+        return dictionaries.get(dictionary).computeIfAbsent(value, key -> {
+            dictionaryValues.get(dictionary).add(key);
+            return dictionaryValues.get(dictionary).size();
+        });
+    }
+
+    private long[] writeBlock(Encoder encoder) throws IOException {
+        return writeBlock(encoder.buffer(), encoder.size());
+    }
+
+    // Returns {offset, compressed length, raw length}
+    private long[] writeBlock(byte[] raw, int length) throws IOException {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw, 0, length);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, length / 4));
+            byte[] chunk = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                compressed.write(chunk, 0, deflater.deflate(chunk));
+            }
+            long offset = position;
+            write(compressed.toByteArray());
+            return new long[] {offset, compressed.size(), length};
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+    }
+
+    // Big-endian fixed-width fields plus unsigned LEB128 varints
+    private static final class Encoder extends ByteArrayOutputStream {
+        Encoder() {
+            super(1024);
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+
+        void writeInt(int value) {
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                write(value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift));
+            }
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeBlock(long[] block) {
+            writeLong(block[0]);
+            writeInt((int) block[1]);
+            writeInt((int) block[2]);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+// src/main/java/com/example/inventory_tracker/config/MetricsConfig.java
+package com.example.inventory_tracker.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.inventory_tracker.controller.ExportResponses;
+import com.example.inventory_tracker.service.ProductCache;
+import com.example.inventory_tracker.service.StockEventBroadcaster;
+import com.example.inventory_tracker.service.TransactionIngestService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Gauges over the counters the services already keep for their stats endpoints, read only when scraped
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder inventoryMeters(ProductCache productCache, TransactionIngestService ingestService,
+                                       StockEventBroadcaster broadcaster, ExportResponses exportResponses) {
+        return registry -> {
+            Gauge.builder("inventory.product.cache.size", productCache, cache -> cache.getStats().getSize())
+                    .register(registry);
+            FunctionCounter.builder("inventory.product.cache.requests", productCache,
+                            cache -> cache.getStats().getHitCount())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("inventory.product.cache.requests", productCache,
+                            cache -> cache.getStats().getMissCount())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("inventory.product.cache.evictions", productCache,
+                            cache -> cache.getStats().getEvictionCount())
+                    .register(registry);
+
+            Gauge.builder("inventory.ingest.queue.depth", ingestService, service -> service.getStats().getQueueDepth())
+                    .register(registry);
+            Gauge.builder("inventory.ingest.queue.capacity", ingestService,
+                            service -> service.getStats().getQueueCapacity())
+                    .register(registry);
+            FunctionCounter.builder("inventory.ingest.committed", ingestService,
+                            service -> service.getStats().getCommitted())
+                    .register(registry);
+            FunctionCounter.builder("inventory.ingest.refused", ingestService, service -> service.getStats().getRefused())
+                    .register(registry);
+            Gauge.builder("inventory.ingest.commit.latency.last", ingestService,
+                            service -> service.getStats().getLastCommitLatencyMs())
+                    .baseUnit("milliseconds")
+                    .register(registry);
+
+            Gauge.builder("inventory.stream.subscribers", broadcaster, stream -> stream.getStats().getSubscribers())
+                    .register(registry);
+            FunctionCounter.builder("inventory.stream.events", broadcaster, stream -> stream.getStats().getSent())
+                    .tag("outcome", "sent")
+                    .register(registry);
+            FunctionCounter.builder("inventory.stream.events", broadcaster, stream -> stream.getStats().getCoalesced())
+                    .tag("outcome", "coalesced")
+                    .register(registry);
+            FunctionCounter.builder("inventory.stream.dropped.subscribers", broadcaster,
+                            stream -> stream.getStats().getDropped())
+                    .register(registry);
+
+            Gauge.builder("inventory.exports.active", exportResponses, ExportResponses::getActiveExports)
+                    .register(registry);
+        };
+    }
+}
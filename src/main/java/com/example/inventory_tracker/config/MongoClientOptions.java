@@ -0,0 +1,214 @@
+// src/main/java/com/example/inventory_tracker/config/MongoClientOptions.java
+package com.example.inventory_tracker.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.example.inventory_tracker.model.CategoryStats;
+import com.example.inventory_tracker.model.DailyActivity;
+import com.example.inventory_tracker.model.InventoryStats;
+import com.example.inventory_tracker.model.LocationStats;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.RollupBackfillState;
+import com.example.inventory_tracker.model.StockLevel;
+import com.example.inventory_tracker.model.StockSnapshot;
+import com.example.inventory_tracker.model.StockSnapshotRun;
+import com.example.inventory_tracker.model.Transaction;
+import com.example.inventory_tracker.model.TransactionRollup;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsCommandListener;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
+
+import jakarta.annotation.PostConstruct;
+
+// The inventory.mongo.* settings both clients are built from; they take precedence over options in the uri,
+// and an empty value leaves the driver or server default
+@Component
+public class MongoClientOptions {
+    private static final List<Class<?>> LEDGER = List.of(Product.class, Transaction.class);
+    private static final List<Class<?>> DERIVED = List.of(CategoryStats.class, DailyActivity.class,
+            InventoryStats.class, TransactionRollup.class, RollupBackfillState.class, StockSnapshot.class,
+            StockSnapshotRun.class, StockLevel.class, LocationStats.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SlowCommandSampler slowCommandSampler;
+
+    @Value("${inventory.mongo.uri:mongodb://localhost:27017/inventory_db}")
+    private String uri;
+
+    // On virtual threads the pool, not Tomcat's worker count, bounds concurrent requests in Mongo
+    @Value("${inventory.mongo.max-pool-size:100}")
+    private int maxPoolSize;
+
+    @Value("${inventory.mongo.min-pool-size:0}")
+    private int minPoolSize;
+
+    @Value("${inventory.mongo.max-connecting:2}")
+    private int maxConnecting;
+
+    @Value("${inventory.mongo.max-wait-ms:120000}")
+    private long maxWaitMs;
+
+    @Value("${inventory.mongo.max-idle-ms:0}")
+    private long maxIdleMs;
+
+    @Value("${inventory.mongo.max-life-ms:0}")
+    private long maxLifeMs;
+
+    @Value("${inventory.mongo.connect-timeout-ms:10000}")
+    private int connectTimeoutMs;
+
+    @Value("${inventory.mongo.socket-timeout-ms:0}")
+    private int socketTimeoutMs;
+
+    @Value("${inventory.mongo.server-selection-timeout-ms:30000}")
+    private long serverSelectionTimeoutMs;
+
+    @Value("${inventory.mongo.compressors:}")
+    private List<String> compressors;
+
+    @Value("${inventory.mongo.read-preference:}")
+    private String readPreference;
+
+    @Value("${inventory.mongo.read-concern:}")
+    private String readConcern;
+
+    @Value("${inventory.mongo.write-concern:}")
+    private String writeConcern;
+
+    @Value("${inventory.mongo.ledger-write-concern:}")
+    private String ledgerWriteConcern;
+
+    @Value("${inventory.mongo.derived-write-concern:}")
+    private String derivedWriteConcern;
+
+    @Value("${inventory.mongo.export-read-preference:}")
+    private String exportReadPreference;
+
+    @Value("${inventory.mongo.export-read-concern:}")
+    private String exportReadConcern;
+
+    private final Map<String, WriteConcern> writeConcernByCollection = new HashMap<>();
+    private ConnectionString connectionString;
+
+    @PostConstruct
+    void init() {
+        connectionString = new ConnectionString(uri);
+        WriteConcern ledger = writeConcern(ledgerWriteConcern);
+        WriteConcern derived = writeConcern(derivedWriteConcern);
+        for (Class<?> type : LEDGER) {
+            if (ledger != null) {
+                writeConcernByCollection.put(type.getAnnotation(Document.class).collection(), ledger);
+            }
+        }
+        for (Class<?> type : DERIVED) {
+            if (derived != null) {
+                writeConcernByCollection.put(type.getAnnotation(Document.class).collection(), derived);
+            }
+        }
+    }
+
+    public String database() {
+        return connectionString.getDatabase() != null ? connectionString.getDatabase() : "inventory_db";
+    }
+
+    public MongoClientSettings.Builder settings() {
+        MongoClientSettings.Builder builder = MongoClientSettings.builder()
+                .applyConnectionString(connectionString)
+                .applyToConnectionPoolSettings(pool -> pool
+                        .maxSize(maxPoolSize)
+                        .minSize(minPoolSize)
+                        .maxConnecting(maxConnecting)
+                        .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(maxIdleMs, TimeUnit.MILLISECONDS)
+                        .maxConnectionLifeTime(maxLifeMs, TimeUnit.MILLISECONDS)
+                        .addConnectionPoolListener(new MongoMetricsConnectionPoolListener(meterRegistry)))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                        .readTimeout(socketTimeoutMs, TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(cluster -> cluster
+                        .serverSelectionTimeout(serverSelectionTimeoutMs, TimeUnit.MILLISECONDS))
+                // Boot's Mongo metrics only reach clients it builds itself: mongodb.driver.commands timers per
+                // command and collection, mongodb.driver.pool.* gauges per pool, and the slow-command sampler
+                .addCommandListener(new MongoMetricsCommandListener(meterRegistry))
+                .addCommandListener(slowCommandSampler);
+        // Offered in order of preference; the server picks the first it supports, or none
+        if (!compressors.isEmpty()) {
+            List<MongoCompressor> offered = new ArrayList<>();
+            for (String compressor : compressors) {
+                offered.add(compressor(compressor.trim()));
+            }
+            builder.compressorList(offered);
+        }
+        if (!readPreference.isBlank()) {
+            builder.readPreference(ReadPreference.valueOf(readPreference));
+        }
+        if (!readConcern.isBlank()) {
+            builder.readConcern(readConcern(readConcern));
+        }
+        if (!writeConcern.isBlank()) {
+            builder.writeConcern(writeConcern(writeConcern));
+        }
+        return builder;
+    }
+
+    // Null when the collection's writes use the client default
+    public WriteConcern writeConcernFor(String collection) {
+        return writeConcernByCollection.get(collection);
+    }
+
+    public Query forExport(Query query) {
+        if (!exportReadPreference.isBlank()) {
+            query.withReadPreference(ReadPreference.valueOf(exportReadPreference));
+        }
+        if (!exportReadConcern.isBlank()) {
+            query.withReadConcern(readConcern(exportReadConcern));
+        }
+        return query;
+    }
+
+    private static MongoCompressor compressor(String name) {
+        return switch (name) {
+            case "zstd" -> MongoCompressor.createZstdCompressor();
+            case "snappy" -> MongoCompressor.createSnappyCompressor();
+            case "zlib" -> MongoCompressor.createZlibCompressor();
+            default -> throw new IllegalArgumentException("Unknown Mongo compressor: " + name);
+        };
+    }
+
+    private static ReadConcern readConcern(String level) {
+        return new ReadConcern(ReadConcernLevel.fromString(level));
+    }
+
+    // ACKNOWLEDGED, W1, W2, W3, UNACKNOWLEDGED, JOURNALED or MAJORITY; null when blank
+    private static WriteConcern writeConcern(String name) {
+        if (name.isBlank()) {
+            return null;
+        }
+        WriteConcern concern = WriteConcern.valueOf(name);
+        if (concern == null) {
+            throw new IllegalArgumentException("Unknown write concern: " + name);
+        }
+        return concern;
+    }
+}
@@ -1,34 +1,64 @@
 // File: src/main/java/com/yourcompany/inventory/config/MongoConfig.java
 package com.example.inventory_tracker.config;
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
-import com.mongodb.ConnectionString;
-import com.mongodb.MongoClientSettings;
+import com.mongodb.WriteConcern;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
 
 @Configuration
 @EnableMongoRepositories(basePackages = "com.example.inventory_tracker.repository")
 public class MongoConfig extends AbstractMongoClientConfiguration {
+    @Autowired
+    private MongoClientOptions mongoClientOptions;
 
     @Override
     protected String getDatabaseName() {
-        return "inventory_db";
+        return mongoClientOptions.database();
     }
 
     @Override
     public MongoClient mongoClient() {
-        ConnectionString connectionString = new ConnectionString("mongodb://localhost:27017/inventory_db");
-        MongoClientSettings mongoClientSettings = MongoClientSettings.builder()
-                .applyConnectionString(connectionString)
-                .build();
-        return MongoClients.create(mongoClientSettings);
+        return MongoClients.create(mongoClientOptions.settings().build());
+    }
+
+    // Every template operation, bulk writes included, gets its collection here, so per-collection write
+    // concerns apply without touching the services
+    @Bean
+    @Override
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory databaseFactory, MappingMongoConverter converter) {
+        return new MongoTemplate(databaseFactory, converter) {
+            @Override
+            protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+                WriteConcern writeConcern = mongoClientOptions.writeConcernFor(
+                        collection.getNamespace().getCollectionName());
+                MongoCollection<Document> prepared = super.prepareCollection(collection);
+                return writeConcern == null ? prepared : prepared.withWriteConcern(writeConcern);
+            }
+        };
+    }
+
+    // Registers every document class up front so MongoIndexInitializer sees them all
+    @Override
+    protected Collection<String> getMappingBasePackages() {
+        return List.of("com.example.inventory_tracker.model");
     }
 
+    // MongoIndexInitializer builds the indexes once Mongo is reachable, so startup does not wait for it
     @Override
     protected boolean autoIndexCreation() {
-        return true;
+        return false;
     }
 }
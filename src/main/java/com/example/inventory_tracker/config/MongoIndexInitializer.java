@@ -0,0 +1,51 @@
+// src/main/java/com/example/inventory_tracker/config/MongoIndexInitializer.java
+package com.example.inventory_tracker.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Creates the indexes declared on the model classes once Mongo is reachable, retrying until it succeeds
+@Component
+public class MongoIndexInitializer {
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private volatile boolean done;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${inventory.mongo.index-retry-interval-ms:30000}")
+    public void ensureIndexes() {
+        if (done) {
+            return;
+        }
+        var mappingContext = mongoTemplate.getConverter().getMappingContext();
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+        int created = 0;
+        try {
+            for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+                if (!entity.isAnnotationPresent(Document.class)) {
+                    continue;
+                }
+                IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+                for (IndexDefinition index : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                    indexOps.ensureIndex(index);
+                    created++;
+                }
+            }
+            done = true;
+            log.info("Ensured {} MongoDB indexes", created);
+        } catch (RuntimeException e) {
+            log.warn("Could not create MongoDB indexes, will retry: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+// src/main/java/com/example/inventory_tracker/config/ReactiveMongoConfig.java
+package com.example.inventory_tracker.config;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.mongodb.reactivestreams.client.MongoCollection;
+
+// The reactive client next to MongoConfig's blocking one, sharing its mapping converter and MongoClientOptions
+// so documents map the same way and writes get the same concerns
+@Configuration
+@Profile("reactive")
+@EnableReactiveMongoRepositories(basePackages = "com.example.inventory_tracker.repository")
+public class ReactiveMongoConfig {
+    @Autowired
+    private MongoClientOptions mongoClientOptions;
+
+    @Bean
+    public MongoClient reactiveMongoClient() {
+        return MongoClients.create(mongoClientOptions.settings().build());
+    }
+
+    @Bean
+    public ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory(MongoClient reactiveMongoClient) {
+        return new SimpleReactiveMongoDatabaseFactory(reactiveMongoClient, mongoClientOptions.database());
+    }
+
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory,
+                                                       MappingMongoConverter mappingMongoConverter) {
+        return new ReactiveMongoTemplate(reactiveMongoDatabaseFactory, mappingMongoConverter) {
+            @Override
+            protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+                WriteConcern writeConcern = mongoClientOptions.writeConcernFor(
+                        collection.getNamespace().getCollectionName());
+                MongoCollection<Document> prepared = super.prepareCollection(collection);
+                return writeConcern == null ? prepared : prepared.withWriteConcern(writeConcern);
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+// src/main/java/com/example/inventory_tracker/config/ReactiveWebConfig.java
+package com.example.inventory_tracker.config;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+// Handlers returning plain values, Optional or CompletableFuture call blocking services, so WebFlux runs them
+// on a bounded pool instead of the event loop
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    @Value("${inventory.reactive.blocking-threads:64}")
+    private int blockingThreads;
+
+    // Tomcat is on the classpath for the MVC mode and would otherwise be picked first; serve from Netty's event loops
+    @Bean
+    public NettyReactiveWebServerFactory reactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor blockingHandlerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(blockingThreads);
+        executor.setMaxPoolSize(blockingThreads);
+        executor.setThreadNamePrefix("blocking-handler-");
+        return executor;
+    }
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(blockingHandlerExecutor());
+        configurer.setControllerMethodPredicate(
+                method -> !Publisher.class.isAssignableFrom(method.getReturnType().getParameterType()));
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping("/api/**")
+                .allowedOrigins("http://localhost:5173") // Vite default port
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
+                .allowedHeaders("*")
+                .allowCredentials(true);
+    }
+}
@@ -0,0 +1,148 @@
+// src/main/java/com/example/inventory_tracker/config/SlowCommandSampler.java
+package com.example.inventory_tracker.config;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.inventory_tracker.dto.SlowCommandDTO;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Commands slower than the threshold are counted, the most recent listed at /actuator/slowcommands, and at most
+// one per log interval logged. The command body is never rendered.
+@Component
+@Endpoint(id = "slowcommands")
+public class SlowCommandSampler implements CommandListener {
+    private static final Logger log = LoggerFactory.getLogger(SlowCommandSampler.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${inventory.metrics.slow-command-ms:100}")
+    private long slowCommandMs;
+
+    @Value("${inventory.metrics.slow-command-retained:100}")
+    private int retained;
+
+    @Value("${inventory.metrics.slow-command-log-interval-ms:10000}")
+    private long logIntervalMs;
+
+    @Value("${inventory.metrics.in-flight-max-age-ms:600000}")
+    private long inFlightMaxAgeMs;
+
+    // Collection per in-flight request id; the succeeded and failed events don't carry the command. A command
+    // whose completion event never arrives is swept once it is older than the max age.
+    private final Map<Integer, InFlight> collections = new ConcurrentHashMap<>();
+    private final Deque<SlowCommandDTO> recent = new ArrayDeque<>();
+    private final AtomicLong nextLogAt = new AtomicLong();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String collection = collectionOf(event.getCommand(), event.getCommandName());
+        if (collection != null) {
+            collections.put(event.getRequestId(), new InFlight(collection, System.nanoTime()));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        completed(event.getRequestId(), event.getCommandName(), event.getDatabaseName(),
+                event.getConnectionDescription().getServerAddress().toString(),
+                event.getElapsedTime(TimeUnit.NANOSECONDS), false);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        completed(event.getRequestId(), event.getCommandName(), event.getDatabaseName(),
+                event.getConnectionDescription().getServerAddress().toString(),
+                event.getElapsedTime(TimeUnit.NANOSECONDS), true);
+    }
+
+    // Newest first
+    @ReadOperation
+    public List<SlowCommandDTO> slowCommands() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.metrics.in-flight-sweep-interval-ms:60000}")
+    public void evictAbandonedCommands() {
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(inFlightMaxAgeMs);
+        collections.values().removeIf(inFlight -> inFlight.startedAt - cutoff < 0);
+    }
+
+    private void completed(int requestId, String command, String database, String server, long elapsedNanos,
+                           boolean failed) {
+        InFlight inFlight = collections.remove(requestId);
+        String collection = inFlight == null ? null : inFlight.collection;
+        if (elapsedNanos < TimeUnit.MILLISECONDS.toNanos(slowCommandMs)) {
+            return;
+        }
+        SlowCommandDTO slow = new SlowCommandDTO();
+        slow.setCompletedAt(Instant.now());
+        slow.setCommand(command);
+        slow.setDatabase(database);
+        slow.setCollection(collection);
+        slow.setServer(server);
+        slow.setDurationMs(elapsedNanos / 1e6);
+        slow.setFailed(failed);
+        synchronized (recent) {
+            recent.addFirst(slow);
+            while (recent.size() > retained) {
+                recent.removeLast();
+            }
+        }
+        Counter.builder("inventory.mongo.slow.commands")
+                .tag("command", command)
+                .tag("collection", collection == null ? "none" : collection)
+                .register(meterRegistry)
+                .increment();
+        long now = System.currentTimeMillis();
+        long due = nextLogAt.get();
+        if (now >= due && nextLogAt.compareAndSet(due, now + logIntervalMs)) {
+            log.warn("Slow Mongo command: {} on {}.{} took {} ms{}", command, database, collection,
+                    Math.round(slow.getDurationMs()), failed ? " and failed" : "");
+        }
+    }
+
+    // The collection is the value of the command's first key (find, aggregate, insert, update, ...), except for
+    // getMore, which names it separately
+    private static String collectionOf(BsonDocument command, String commandName) {
+        BsonValue value = commandName.equals("getMore") ? command.get("collection") : command.get(commandName);
+        return value != null && value.isString() ? value.asString().getValue() : null;
+    }
+
+    private static final class InFlight {
+        final String collection;
+        final long startedAt;
+
+        InFlight(String collection, long startedAt) {
+            this.collection = collection;
+            this.startedAt = startedAt;
+        }
+    }
+}
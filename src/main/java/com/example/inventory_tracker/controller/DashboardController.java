@@ -0,0 +1,22 @@
+// src/main/java/com/example/inventory_tracker/controller/DashboardController.java
+package com.example.inventory_tracker.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.inventory_tracker.dto.DashboardSummaryDTO;
+import com.example.inventory_tracker.service.DashboardService;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+    @Autowired
+    private DashboardService dashboardService;
+
+    @GetMapping("/summary")
+    public DashboardSummaryDTO getSummary() {
+        return dashboardService.getSummary();
+    }
+}
@@ -0,0 +1,201 @@
+// src/main/java/com/example/inventory_tracker/controller/ExportResponses.java
+package com.example.inventory_tracker.controller;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.annotation.PostConstruct;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+// File downloads written from a Mongo cursor on the MVC async executor. At most max-concurrent run at once;
+// callers over the limit get 503 with Retry-After.
+@Component
+public class ExportResponses {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final MediaType CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final MediaType GZIP = new MediaType("application", "gzip");
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format of(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or ndjson");
+        }
+    }
+
+    public record Column<T>(String name, Function<T, Object> value) {
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${inventory.export.max-concurrent:4}")
+    private int maxConcurrent;
+
+    @Value("${inventory.export.retry-after-seconds:30}")
+    private int retryAfterSeconds;
+
+    private Semaphore permits;
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(maxConcurrent);
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> of(String name, Format format, boolean gzip, List<Column<T>> columns,
+                                                        Supplier<Stream<T>> source) {
+        if (!permits.tryAcquire()) {
+            return busy();
+        }
+        StreamingResponseBody body = out -> {
+            try {
+                write(out, format, gzip, columns, source);
+            } finally {
+                permits.release();
+            }
+        };
+        return ok(name, format, gzip).body(body);
+    }
+
+    // The same writer on the bounded elastic scheduler, published as buffers as the response demands them
+    public <T> ResponseEntity<Flux<DataBuffer>> publish(String name, Format format, boolean gzip, List<Column<T>> columns,
+                                                        Supplier<Stream<T>> source) {
+        if (!permits.tryAcquire()) {
+            return busy();
+        }
+        Flux<DataBuffer> body = Flux.from(DataBufferUtils.outputStreamPublisher(out -> {
+                    try {
+                        write(out, format, gzip, columns, source);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, DefaultDataBufferFactory.sharedInstance, task -> Schedulers.boundedElastic().schedule(task), BUFFER_SIZE))
+                .doFinally(signal -> permits.release());
+        return ok(name, format, gzip).body(body);
+    }
+
+    public int getActiveExports() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    private <T> ResponseEntity<T> busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Integer.toString(retryAfterSeconds))
+                .build();
+    }
+
+    private static ResponseEntity.BodyBuilder ok(String name, Format format, boolean gzip) {
+        String filename = name + (format == Format.CSV ? ".csv" : ".ndjson") + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : format == Format.CSV ? CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+    }
+
+    private <T> void write(OutputStream out, Format format, boolean gzip, List<Column<T>> columns,
+                           Supplier<Stream<T>> source) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+        try (Stream<T> rows = source.get()) {
+            if (format == Format.CSV) {
+                writeCsv(target, columns, rows.iterator());
+            } else {
+                writeNdjson(target, rows.iterator());
+            }
+        }
+        if (target instanceof GZIPOutputStream compressed) {
+            compressed.finish();
+        }
+        out.flush();
+    }
+
+    private static <T> void writeCsv(OutputStream out, List<Column<T>> columns, Iterator<T> rows) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns.get(i).name());
+        }
+        writer.write('\n');
+        while (rows.hasNext()) {
+            T row = rows.next();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvField(writer, columns.get(i).value().apply(row));
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    // RFC 4180: a field holding a comma, quote or line break is quoted, with quotes doubled; null is empty
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof Double number ? BigDecimal.valueOf(number).toPlainString() : value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private <T> void writeNdjson(OutputStream out, Iterator<T> rows) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                writer.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+// src/main/java/com/example/inventory_tracker/controller/FieldSelections.java
+package com.example.inventory_tracker.controller;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.inventory_tracker.dto.FieldSelection;
+
+final class FieldSelections {
+    private FieldSelections() {
+    }
+
+    static FieldSelection parse(String fields, Set<String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return FieldSelection.ALL;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!allowed.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown field '" + name + "', expected any of " + allowed);
+            }
+            selected.add(name);
+        }
+        return FieldSelection.of(selected);
+    }
+}
@@ -7,15 +7,22 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.inventory_tracker.dto.CursorPage;
+import com.example.inventory_tracker.dto.LocationPatchDTO;
 import com.example.inventory_tracker.model.Location;
+import com.example.inventory_tracker.model.LocationStats;
+import com.example.inventory_tracker.model.StockLevel;
 import com.example.inventory_tracker.service.LocationService;
+import com.example.inventory_tracker.service.LocationStockService;
 
 @RestController
 @RequestMapping("/api/locations")
@@ -23,6 +30,9 @@ public class LocationController {
     @Autowired
     private LocationService locationService;
 
+    @Autowired
+    private LocationStockService locationStockService;
+
     @GetMapping
     public List<Location> getAllLocations() {
         return locationService.getAllLocations();
@@ -33,6 +43,19 @@ public class LocationController {
         return locationService.getLocationById(id);
     }
 
+    // Keyset pages of what is held at the location, in productId order; pass the previous nextCursor as after
+    @GetMapping("/{id}/stock")
+    public CursorPage<StockLevel> getStockAtLocation(@PathVariable String id,
+                                                     @RequestParam(defaultValue = "100") int limit,
+                                                     @RequestParam(required = false) String after) {
+        return locationStockService.getLevelsAtLocation(id, after, limit);
+    }
+
+    @GetMapping("/{id}/stats")
+    public LocationStats getLocationStats(@PathVariable String id) {
+        return locationStockService.getLocationStats(id);
+    }
+
     @PostMapping
     public Location createLocation(@RequestBody Location location) {
         return locationService.createLocation(location);
@@ -43,6 +66,11 @@ public class LocationController {
         return locationService.updateLocation(id, location);
     }
 
+    @PatchMapping("/{id}")
+    public Location patchLocation(@PathVariable String id, @RequestBody LocationPatchDTO patch) {
+        return locationService.patchLocation(id, patch);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteLocation(@PathVariable String id) {
         locationService.deleteLocation(id);
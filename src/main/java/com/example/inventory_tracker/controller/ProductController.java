@@ -1,12 +1,16 @@
 // src/main/java/com/example/inventory_tracker/controller/ProductController.java
 package com.example.inventory_tracker.controller;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -14,26 +18,128 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.inventory_tracker.dto.CacheStatsDTO;
+import com.example.inventory_tracker.dto.CursorPage;
+import com.example.inventory_tracker.dto.FieldSelection;
+import com.example.inventory_tracker.dto.ProductImportDTO;
+import com.example.inventory_tracker.dto.ProductPatchDTO;
+import com.example.inventory_tracker.dto.ProductResponseDTO;
+import com.example.inventory_tracker.dto.SkuLookupResponseDTO;
 import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.StockLevel;
+import com.example.inventory_tracker.service.ProductImportService;
 import com.example.inventory_tracker.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/products")
 public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ExportResponses exportResponses;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // The columns the CSV import reads, plus id
+    static final List<ExportResponses.Column<Product>> EXPORT_COLUMNS = List.of(
+            new ExportResponses.Column<>("id", Product::getId),
+            new ExportResponses.Column<>("sku", Product::getSku),
+            new ExportResponses.Column<>("name", Product::getName),
+            new ExportResponses.Column<>("description", Product::getDescription),
+            new ExportResponses.Column<>("price", Product::getPrice),
+            new ExportResponses.Column<>("quantity", Product::getQuantity),
+            new ExportResponses.Column<>("locationId", Product::getLocationId),
+            new ExportResponses.Column<>("category", Product::getCategory),
+            new ExportResponses.Column<>("threshold", Product::getThreshold));
+
     @GetMapping
     public List<Product> getAllProducts() {
         return productService.getAllProducts();
     }
 
+    @GetMapping(params = {"fields", "!limit", "!format"})
+    public List<ProductResponseDTO> getAllProducts(@RequestParam String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, ProductResponseDTO.FIELDS);
+        return toResponses(productService.getAllProducts(selection), selection);
+    }
+
+    @GetMapping(params = {"limit", "format!=ndjson"})
+    public CursorPage<ProductResponseDTO> getProductsPage(@RequestParam int limit,
+                                                          @RequestParam(required = false) String after,
+                                                          @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, ProductResponseDTO.FIELDS);
+        return productService.getProductsPage(after, limit, selection)
+                .map(product -> ProductResponseDTO.from(product, selection));
+    }
+
+    @GetMapping(params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamProducts() {
+        return NdjsonStreams.of(objectMapper, productService::streamAllProducts);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "csv") String format,
+                                                                @RequestParam(defaultValue = "false") boolean gzip,
+                                                                @RequestParam(required = false) String category,
+                                                                @RequestParam(required = false) String locationId) {
+        return exportResponses.of("products", ExportResponses.Format.of(format), gzip, EXPORT_COLUMNS,
+                () -> productService.streamProducts(category, locationId));
+    }
+
+    @GetMapping("/by-sku/{sku}")
+    public ResponseEntity<Product> getProductBySku(@PathVariable String sku) {
+        return ResponseEntity.of(productService.getProductBySku(sku));
+    }
+
+    @PostMapping("/by-sku")
+    public SkuLookupResponseDTO getProductsBySku(@RequestBody List<String> skus) {
+        return productService.getProductsBySku(skus);
+    }
+
+    @GetMapping("/cache/stats")
+    public CacheStatsDTO getCacheStats() {
+        return productService.getCacheStats();
+    }
+
+    @PostMapping(value = "/imports", consumes = "text/csv")
+    public ProductImportDTO importCsv(InputStream body) {
+        return productImportService.importProducts(ProductImportService.Format.CSV, body);
+    }
+
+    @PostMapping(value = "/imports", consumes = "application/x-ndjson")
+    public ProductImportDTO importNdjson(InputStream body) {
+        return productImportService.importProducts(ProductImportService.Format.NDJSON, body);
+    }
+
+    @GetMapping("/imports")
+    public List<ProductImportDTO> getImports() {
+        return productImportService.getImports();
+    }
+
+    @GetMapping("/imports/{importId}")
+    public ResponseEntity<ProductImportDTO> getImport(@PathVariable String importId) {
+        return ResponseEntity.of(productImportService.getImport(importId));
+    }
+
     @GetMapping("/{id}")
     public Optional<Product> getProductById(@PathVariable String id) {
         return productService.getProductById(id);
     }
 
+    @GetMapping("/{id}/stock")
+    public Optional<List<StockLevel>> getStockLevels(@PathVariable String id) {
+        return productService.getStockLevels(id);
+    }
+
     @PostMapping
     public Product createProduct(@RequestBody Product product) {
         return productService.createProduct(product);
@@ -44,18 +150,41 @@ public class ProductController {
         return productService.updateProduct(id, product);
     }
 
+    // Writes only the fields in the body; 409 if version is given and the product has moved past it
+    @PatchMapping("/{id}")
+    public Product patchProduct(@PathVariable String id, @RequestBody ProductPatchDTO patch) {
+        return productService.patchProduct(id, patch);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteProduct(@PathVariable String id) {
         productService.deleteProduct(id);
     }
 
     @GetMapping("/search")
-    public List<Product> searchByName(@RequestParam String name) {
-        return productService.searchByName(name);
+    public List<ProductResponseDTO> searchByName(@RequestParam String name,
+                                                 @RequestParam(defaultValue = "50") int limit,
+                                                 @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, ProductResponseDTO.FIELDS);
+        return toResponses(productService.searchByName(name, limit, selection), selection);
+    }
+
+    @GetMapping(value = "/low-stock", params = "threshold")
+    public List<ProductResponseDTO> findLowStock(@RequestParam int threshold,
+                                                 @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, ProductResponseDTO.FIELDS);
+        return toResponses(productService.findLowStock(threshold, selection), selection);
+    }
+
+    // Without a global threshold: products at or below their own threshold, most critical first
+    @GetMapping(value = "/low-stock", params = "!threshold")
+    public List<ProductResponseDTO> getMostCriticalLowStock(@RequestParam(defaultValue = "50") int limit,
+                                                            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, ProductResponseDTO.FIELDS);
+        return toResponses(productService.getMostCriticalLowStock(limit, selection), selection);
     }
 
-    @GetMapping("/low-stock")
-    public List<Product> findLowStock(@RequestParam int threshold) {
-        return productService.findLowStock(threshold);
+    private static List<ProductResponseDTO> toResponses(List<Product> products, FieldSelection selection) {
+        return products.stream().map(product -> ProductResponseDTO.from(product, selection)).toList();
     }
 }
@@ -0,0 +1,191 @@
+// src/main/java/com/example/inventory_tracker/controller/ReactiveProductController.java
+package com.example.inventory_tracker.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.inventory_tracker.dto.CacheStatsDTO;
+import com.example.inventory_tracker.dto.CursorPage;
+import com.example.inventory_tracker.dto.FieldSelection;
+import com.example.inventory_tracker.dto.ProductImportDTO;
+import com.example.inventory_tracker.dto.ProductPatchDTO;
+import com.example.inventory_tracker.dto.ProductResponseDTO;
+import com.example.inventory_tracker.dto.SkuLookupResponseDTO;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.StockLevel;
+import com.example.inventory_tracker.service.ProductImportService;
+import com.example.inventory_tracker.service.ProductService;
+import com.example.inventory_tracker.service.ReactiveProductService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// ProductController's contract on WebFlux; endpoints returning plain values run on the blocking executor
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/products")
+public class ReactiveProductController {
+    @Autowired
+    private ReactiveProductService reactiveProductService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ExportResponses exportResponses;
+
+    @GetMapping
+    public Flux<Product> getAllProducts() {
+        return reactiveProductService.getAllProducts();
+    }
+
+    @GetMapping(params = {"fields", "!limit", "!format"})
+    public Flux<ProductResponseDTO> getAllProducts(@RequestParam String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, ProductResponseDTO.FIELDS);
+        return reactiveProductService.getAllProducts(selection)
+                .map(product -> ProductResponseDTO.from(product, selection));
+    }
+
+    @GetMapping(params = {"limit", "format!=ndjson"})
+    public Mono<CursorPage<ProductResponseDTO>> getProductsPage(@RequestParam int limit,
+                                                                @RequestParam(required = false) String after,
+                                                                @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, ProductResponseDTO.FIELDS);
+        return reactiveProductService.getProductsPage(after, limit, selection)
+                .map(page -> page.map(product -> ProductResponseDTO.from(product, selection)));
+    }
+
+    @GetMapping(params = "format=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Product> streamProducts() {
+        return reactiveProductService.getAllProducts();
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<Flux<DataBuffer>> exportProducts(@RequestParam(defaultValue = "csv") String format,
+                                                           @RequestParam(defaultValue = "false") boolean gzip,
+                                                           @RequestParam(required = false) String category,
+                                                           @RequestParam(required = false) String locationId) {
+        return exportResponses.publish("products", ExportResponses.Format.of(format), gzip, ProductController.EXPORT_COLUMNS,
+                () -> productService.streamProducts(category, locationId));
+    }
+
+    @GetMapping("/by-sku/{sku}")
+    public Mono<ResponseEntity<Product>> getProductBySku(@PathVariable String sku) {
+        return reactiveProductService.getProductBySku(sku)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/by-sku")
+    public SkuLookupResponseDTO getProductsBySku(@RequestBody List<String> skus) {
+        return productService.getProductsBySku(skus);
+    }
+
+    @GetMapping("/cache/stats")
+    public CacheStatsDTO getCacheStats() {
+        return productService.getCacheStats();
+    }
+
+    // The upload is read as it arrives; the importer consumes it as a stream off the event loop
+    @PostMapping(value = "/imports", consumes = "text/csv")
+    public Mono<ProductImportDTO> importCsv(@RequestBody Flux<DataBuffer> body) {
+        return importProducts(ProductImportService.Format.CSV, body);
+    }
+
+    @PostMapping(value = "/imports", consumes = "application/x-ndjson")
+    public Mono<ProductImportDTO> importNdjson(@RequestBody Flux<DataBuffer> body) {
+        return importProducts(ProductImportService.Format.NDJSON, body);
+    }
+
+    @GetMapping("/imports")
+    public List<ProductImportDTO> getImports() {
+        return productImportService.getImports();
+    }
+
+    @GetMapping("/imports/{importId}")
+    public ResponseEntity<ProductImportDTO> getImport(@PathVariable String importId) {
+        return ResponseEntity.of(productImportService.getImport(importId));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Product> getProductById(@PathVariable String id) {
+        return reactiveProductService.getProductById(id);
+    }
+
+    @GetMapping("/{id}/stock")
+    public Mono<List<StockLevel>> getStockLevels(@PathVariable String id) {
+        return reactiveProductService.getStockLevels(id);
+    }
+
+    @PostMapping
+    public Mono<Product> createProduct(@RequestBody Product product) {
+        return reactiveProductService.createProduct(product);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<Product> updateProduct(@PathVariable String id, @RequestBody Product product) {
+        return reactiveProductService.updateProduct(id, product);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<Product> patchProduct(@PathVariable String id, @RequestBody ProductPatchDTO patch) {
+        return reactiveProductService.patchProduct(id, patch);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteProduct(@PathVariable String id) {
+        return reactiveProductService.deleteProduct(id);
+    }
+
+    @GetMapping("/search")
+    public List<ProductResponseDTO> searchByName(@RequestParam String name,
+                                                 @RequestParam(defaultValue = "50") int limit,
+                                                 @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, ProductResponseDTO.FIELDS);
+        return toResponses(productService.searchByName(name, limit, selection), selection);
+    }
+
+    @GetMapping(value = "/low-stock", params = "threshold")
+    public List<ProductResponseDTO> findLowStock(@RequestParam int threshold,
+                                                 @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, ProductResponseDTO.FIELDS);
+        return toResponses(productService.findLowStock(threshold, selection), selection);
+    }
+
+    @GetMapping(value = "/low-stock", params = "!threshold")
+    public List<ProductResponseDTO> getMostCriticalLowStock(@RequestParam(defaultValue = "50") int limit,
+                                                            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, ProductResponseDTO.FIELDS);
+        return toResponses(productService.getMostCriticalLowStock(limit, selection), selection);
+    }
+
+    private static List<ProductResponseDTO> toResponses(List<Product> products, FieldSelection selection) {
+        return products.stream().map(product -> ProductResponseDTO.from(product, selection)).toList();
+    }
+
+    private Mono<ProductImportDTO> importProducts(ProductImportService.Format format, Flux<DataBuffer> body) {
+        return Mono.fromCallable(() -> productImportService.importProducts(format,
+                        DataBufferUtils.subscriberInputStream(body, 4)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,42 @@
+// src/main/java/com/example/inventory_tracker/controller/ReactiveStockStreamController.java
+package com.example.inventory_tracker.controller;
+
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.inventory_tracker.dto.StockStreamStatsDTO;
+import com.example.inventory_tracker.service.StockEventBroadcaster;
+
+import reactor.core.publisher.Flux;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/stock/stream")
+public class ReactiveStockStreamController {
+    @Autowired
+    private StockEventBroadcaster stockEventBroadcaster;
+
+    // Same events and filters as StockStreamController, written by the broadcaster's senders into a bounded sink
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> subscribe(@RequestParam(required = false) Set<String> locationId,
+                                                   @RequestParam(required = false) Set<String> category,
+                                                   @RequestParam(required = false) Set<String> sku) {
+        return stockEventBroadcaster.stream(
+                locationId == null ? Set.of() : locationId,
+                category == null ? Set.of() : category,
+                sku == null ? Set.of() : sku);
+    }
+
+    @GetMapping("/stats")
+    public StockStreamStatsDTO getStats() {
+        return stockEventBroadcaster.getStats();
+    }
+}
@@ -0,0 +1,234 @@
+// src/main/java/com/example/inventory_tracker/controller/ReactiveTransactionController.java
+package com.example.inventory_tracker.controller;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.inventory_tracker.dto.CursorPage;
+import com.example.inventory_tracker.dto.FieldSelection;
+import com.example.inventory_tracker.dto.IngestStatsDTO;
+import com.example.inventory_tracker.dto.IngestTicketDTO;
+import com.example.inventory_tracker.dto.TransactionBatchResponseDTO;
+import com.example.inventory_tracker.dto.TransactionRequestDTO;
+import com.example.inventory_tracker.dto.TransactionResponseDTO;
+import com.example.inventory_tracker.model.Transaction;
+import com.example.inventory_tracker.service.ReactiveTransactionService;
+import com.example.inventory_tracker.service.TransactionIngestService;
+import com.example.inventory_tracker.service.TransactionService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// TransactionController's contract on WebFlux; endpoints returning plain values run on the blocking executor
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/transactions")
+public class ReactiveTransactionController {
+    @Autowired
+    private ReactiveTransactionService reactiveTransactionService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionIngestService transactionIngestService;
+
+    @Autowired
+    private ExportResponses exportResponses;
+
+    @Value("${inventory.ingest.retry-after-seconds:1}")
+    private int ingestRetryAfterSeconds;
+
+    private static final long MAX_INGEST_WAIT_MS = 30_000;
+
+    @GetMapping
+    public Flux<Transaction> getAllTransactions() {
+        return reactiveTransactionService.getAllTransactions(FieldSelection.ALL);
+    }
+
+    @GetMapping(params = {"fields", "!limit", "!format"})
+    public Flux<TransactionResponseDTO> getAllTransactions(@RequestParam String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, TransactionResponseDTO.FIELDS);
+        return reactiveTransactionService.getAllTransactions(selection)
+                .map(transaction -> TransactionResponseDTO.from(transaction, selection));
+    }
+
+    @GetMapping(params = {"limit", "format!=ndjson"})
+    public CursorPage<TransactionResponseDTO> getTransactionsPage(@RequestParam int limit,
+                                                                  @RequestParam(required = false) String after,
+                                                                  @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, TransactionResponseDTO.FIELDS);
+        return transactionService.getTransactionsPage(after, limit, selection)
+                .map(transaction -> TransactionResponseDTO.from(transaction, selection));
+    }
+
+    @GetMapping(params = "format=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Transaction> streamTransactions() {
+        return reactiveTransactionService.getAllTransactions(FieldSelection.ALL);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<Flux<DataBuffer>> exportTransactions(@RequestParam(defaultValue = "csv") String format,
+                                                               @RequestParam(defaultValue = "false") boolean gzip,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to,
+                                                               @RequestParam(required = false) Transaction.TransactionType type,
+                                                               @RequestParam(required = false) String productId) {
+        return exportResponses.publish("transactions", ExportResponses.Format.of(format), gzip, TransactionController.EXPORT_COLUMNS,
+                () -> transactionService.streamForExport(productId, type, from, to));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Transaction> getTransactionById(@PathVariable String id) {
+        return reactiveTransactionService.getTransactionById(id);
+    }
+
+    @PostMapping
+    public Mono<Transaction> createTransaction(@RequestBody Transaction transaction) {
+        return reactiveTransactionService.createTransaction(transaction);
+    }
+
+    @PostMapping("/batch")
+    public TransactionBatchResponseDTO createTransactions(@RequestBody List<TransactionRequestDTO> transactions) {
+        return transactionService.createTransactions(transactions);
+    }
+
+    @PostMapping("/async")
+    public ResponseEntity<IngestTicketDTO> submitTransaction(@RequestBody TransactionRequestDTO transaction) {
+        return transactionIngestService.submit(transaction)
+                .map(ticket -> ResponseEntity.accepted()
+                        .location(URI.create("/api/transactions/ingest/" + ticket.getTicketId()))
+                        .body(ticket))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, Integer.toString(ingestRetryAfterSeconds))
+                        .build());
+    }
+
+    @GetMapping("/ingest/{ticketId}")
+    public CompletableFuture<ResponseEntity<IngestTicketDTO>> getIngestTicket(@PathVariable String ticketId,
+                                                                              @RequestParam(defaultValue = "0") long waitMs) {
+        if (waitMs <= 0) {
+            return CompletableFuture.completedFuture(ResponseEntity.of(transactionIngestService.getTicket(ticketId)));
+        }
+        return transactionIngestService.awaitTicket(ticketId, Math.min(waitMs, MAX_INGEST_WAIT_MS))
+                .map(future -> future.thenApply(ResponseEntity::ok))
+                .orElseGet(() -> CompletableFuture.completedFuture(ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping("/ingest/stats")
+    public IngestStatsDTO getIngestStats() {
+        return transactionIngestService.getStats();
+    }
+
+    @DeleteMapping("/{id}")
+    public void deleteTransaction(@PathVariable String id) {
+        transactionService.deleteTransaction(id);
+    }
+
+    @GetMapping("/by-product/{productId}")
+    public List<Transaction> getTransactionsByProductId(@PathVariable String productId,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to) {
+        return transactionService.getTransactionsByProductId(productId, from, to);
+    }
+
+    @GetMapping(value = "/by-product/{productId}", params = {"limit", "format!=ndjson"})
+    public CursorPage<TransactionResponseDTO> getTransactionsByProductIdPage(@PathVariable String productId,
+                                                                             @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                                             @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to,
+                                                                             @RequestParam int limit,
+                                                                             @RequestParam(required = false) String after,
+                                                                             @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, TransactionResponseDTO.FIELDS);
+        return transactionService.getTransactionsByProductIdPage(productId, from, to, after, limit, selection)
+                .map(transaction -> TransactionResponseDTO.from(transaction, selection));
+    }
+
+    @GetMapping(value = "/by-product/{productId}", params = "format=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Transaction> streamTransactionsByProductId(@PathVariable String productId,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to) {
+        return blockingStream(() -> transactionService.streamTransactionsByProductId(productId, from, to));
+    }
+
+    @GetMapping("/by-user/{userId}")
+    public List<Transaction> getTransactionsByUserId(@PathVariable String userId,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to) {
+        return transactionService.getTransactionsByUserId(userId, from, to);
+    }
+
+    @GetMapping(value = "/by-user/{userId}", params = {"limit", "format!=ndjson"})
+    public CursorPage<TransactionResponseDTO> getTransactionsByUserIdPage(@PathVariable String userId,
+                                                                          @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                                          @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to,
+                                                                          @RequestParam int limit,
+                                                                          @RequestParam(required = false) String after,
+                                                                          @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, TransactionResponseDTO.FIELDS);
+        return transactionService.getTransactionsByUserIdPage(userId, from, to, after, limit, selection)
+                .map(transaction -> TransactionResponseDTO.from(transaction, selection));
+    }
+
+    @GetMapping(value = "/by-user/{userId}", params = "format=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Transaction> streamTransactionsByUserId(@PathVariable String userId,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to) {
+        return blockingStream(() -> transactionService.streamTransactionsByUserId(userId, from, to));
+    }
+
+    @GetMapping("/by-type")
+    public List<Transaction> getTransactionsByType(@RequestParam Transaction.TransactionType type,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to) {
+        return transactionService.getTransactionsByType(type, from, to);
+    }
+
+    @GetMapping(value = "/by-type", params = {"limit", "format!=ndjson"})
+    public CursorPage<TransactionResponseDTO> getTransactionsByTypePage(@RequestParam Transaction.TransactionType type,
+                                                                        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                                        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to,
+                                                                        @RequestParam int limit,
+                                                                        @RequestParam(required = false) String after,
+                                                                        @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, TransactionResponseDTO.FIELDS);
+        return transactionService.getTransactionsByTypePage(type, from, to, after, limit, selection)
+                .map(transaction -> TransactionResponseDTO.from(transaction, selection));
+    }
+
+    @GetMapping(value = "/by-type", params = "format=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Transaction> streamTransactionsByType(@RequestParam Transaction.TransactionType type,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to) {
+        return blockingStream(() -> transactionService.streamTransactionsByType(type, from, to));
+    }
+
+    // Cursor-backed streams that span the hot and cold ledgers, drained on the bounded elastic scheduler
+    private static <T> Flux<T> blockingStream(Supplier<Stream<T>> source) {
+        return Flux.fromStream(source::get).subscribeOn(Schedulers.boundedElastic());
+    }
+}
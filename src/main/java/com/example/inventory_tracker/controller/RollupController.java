@@ -0,0 +1,37 @@
+// src/main/java/com/example/inventory_tracker/controller/RollupController.java
+package com.example.inventory_tracker.controller;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.inventory_tracker.dto.RollupPointDTO;
+import com.example.inventory_tracker.model.TransactionRollup.Dimension;
+import com.example.inventory_tracker.model.TransactionRollup.Granularity;
+import com.example.inventory_tracker.service.RollupService;
+
+@RestController
+@RequestMapping("/api/rollups")
+public class RollupController {
+    @Autowired
+    private RollupService rollupService;
+
+    // e.g. ?dimension=CATEGORY&granularity=DAY&from=... for daily totals per category; key narrows the series
+    @GetMapping
+    public List<RollupPointDTO> getRollups(
+            @RequestParam Dimension dimension,
+            @RequestParam(defaultValue = "DAY") Granularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to,
+            @RequestParam(name = "key", required = false) Set<String> keys) {
+        return rollupService.getRollups(dimension, granularity, from, to, keys);
+    }
+}
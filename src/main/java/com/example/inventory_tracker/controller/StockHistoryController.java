@@ -0,0 +1,62 @@
+// src/main/java/com/example/inventory_tracker/controller/StockHistoryController.java
+package com.example.inventory_tracker.controller;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.inventory_tracker.dto.CursorPage;
+import com.example.inventory_tracker.dto.StockAsOfDTO;
+import com.example.inventory_tracker.model.StockSnapshotRun;
+import com.example.inventory_tracker.service.StockHistoryService;
+
+@RestController
+@RequestMapping("/api/stock")
+public class StockHistoryController {
+    @Autowired
+    private StockHistoryService stockHistoryService;
+
+    // Stock of the given ?productId=... products just before the instant
+    @GetMapping("/as-of")
+    public List<StockAsOfDTO> getStockAsOf(@RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) Instant at,
+                                           @RequestParam(required = false) Set<String> productId) {
+        return stockHistoryService.getStockAsOf(productId == null ? Set.of() : productId, at);
+    }
+
+    @GetMapping(value = "/as-of", params = "limit")
+    public CursorPage<StockAsOfDTO> getStockAsOfPage(@RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) Instant at,
+                                                     @RequestParam int limit,
+                                                     @RequestParam(required = false) String after) {
+        return stockHistoryService.getStockAsOfPage(at, after, limit);
+    }
+
+    @GetMapping("/as-of/{productId}")
+    public ResponseEntity<StockAsOfDTO> getProductStockAsOf(@PathVariable String productId,
+                                                            @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) Instant at) {
+        return ResponseEntity.of(stockHistoryService.getStockAsOf(productId, at));
+    }
+
+    @GetMapping("/snapshots")
+    public List<StockSnapshotRun> getSnapshotRuns(@RequestParam(defaultValue = "50") int limit) {
+        return stockHistoryService.getSnapshotRuns(limit);
+    }
+
+    @PostMapping("/snapshots")
+    @ResponseStatus(HttpStatus.CREATED)
+    public StockSnapshotRun takeSnapshot() {
+        return stockHistoryService.takeSnapshot();
+    }
+}
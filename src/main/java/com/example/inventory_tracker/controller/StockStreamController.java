@@ -0,0 +1,41 @@
+// src/main/java/com/example/inventory_tracker/controller/StockStreamController.java
+package com.example.inventory_tracker.controller;
+
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.inventory_tracker.dto.StockStreamStatsDTO;
+import com.example.inventory_tracker.service.StockEventBroadcaster;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/stock/stream")
+public class StockStreamController {
+    @Autowired
+    private StockEventBroadcaster stockEventBroadcaster;
+
+    // Server-Sent Events, one per product change; repeat a parameter to match any of several values,
+    // e.g. ?locationId=a&locationId=b&category=Tools
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(required = false) Set<String> locationId,
+                                @RequestParam(required = false) Set<String> category,
+                                @RequestParam(required = false) Set<String> sku) {
+        return stockEventBroadcaster.subscribe(
+                locationId == null ? Set.of() : locationId,
+                category == null ? Set.of() : category,
+                sku == null ? Set.of() : sku);
+    }
+
+    @GetMapping("/stats")
+    public StockStreamStatsDTO getStats() {
+        return stockEventBroadcaster.getStats();
+    }
+}
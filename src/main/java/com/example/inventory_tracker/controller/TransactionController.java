@@ -1,10 +1,20 @@
 // src/main/java/com/example/inventory_tracker/controller/TransactionController.java
 package com.example.inventory_tracker.controller;
 
+import java.net.URI;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,19 +23,87 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.inventory_tracker.dto.CursorPage;
+import com.example.inventory_tracker.dto.FieldSelection;
+import com.example.inventory_tracker.dto.IngestStatsDTO;
+import com.example.inventory_tracker.dto.IngestTicketDTO;
+import com.example.inventory_tracker.dto.TransactionBatchResponseDTO;
+import com.example.inventory_tracker.dto.TransactionRequestDTO;
+import com.example.inventory_tracker.dto.TransactionResponseDTO;
 import com.example.inventory_tracker.model.Transaction;
+import com.example.inventory_tracker.service.TransactionIngestService;
 import com.example.inventory_tracker.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/transactions")
 public class TransactionController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private TransactionIngestService transactionIngestService;
+
+    @Autowired
+    private ExportResponses exportResponses;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${inventory.ingest.retry-after-seconds:1}")
+    private int ingestRetryAfterSeconds;
+
+    private static final long MAX_INGEST_WAIT_MS = 30_000;
+
+    static final List<ExportResponses.Column<Transaction>> EXPORT_COLUMNS = List.of(
+            new ExportResponses.Column<>("id", Transaction::getId),
+            new ExportResponses.Column<>("timestamp", Transaction::getTimestamp),
+            new ExportResponses.Column<>("productId", Transaction::getProductId),
+            new ExportResponses.Column<>("type", Transaction::getType),
+            new ExportResponses.Column<>("quantity", Transaction::getQuantity),
+            new ExportResponses.Column<>("userId", Transaction::getUserId),
+            new ExportResponses.Column<>("notes", Transaction::getNotes),
+            new ExportResponses.Column<>("locationId", Transaction::getLocationId),
+            new ExportResponses.Column<>("toLocationId", Transaction::getToLocationId));
+
     @GetMapping
     public List<Transaction> getAllTransactions() {
-        return transactionService.getAllTransactions();
+        return transactionService.getAllTransactions(FieldSelection.ALL);
+    }
+
+    @GetMapping(params = {"fields", "!limit", "!format"})
+    public List<TransactionResponseDTO> getAllTransactions(@RequestParam String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, TransactionResponseDTO.FIELDS);
+        return transactionService.getAllTransactions(selection).stream()
+                .map(transaction -> TransactionResponseDTO.from(transaction, selection)).toList();
+    }
+
+    @GetMapping(params = {"limit", "format!=ndjson"})
+    public CursorPage<TransactionResponseDTO> getTransactionsPage(@RequestParam int limit,
+                                                                  @RequestParam(required = false) String after,
+                                                                  @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, TransactionResponseDTO.FIELDS);
+        return transactionService.getTransactionsPage(after, limit, selection)
+                .map(transaction -> TransactionResponseDTO.from(transaction, selection));
+    }
+
+    @GetMapping(params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamTransactions() {
+        return NdjsonStreams.of(objectMapper, transactionService::streamTransactions);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@RequestParam(defaultValue = "csv") String format,
+                                                                    @RequestParam(defaultValue = "false") boolean gzip,
+                                                                    @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                                    @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to,
+                                                                    @RequestParam(required = false) Transaction.TransactionType type,
+                                                                    @RequestParam(required = false) String productId) {
+        return exportResponses.of("transactions", ExportResponses.Format.of(format), gzip, EXPORT_COLUMNS,
+                () -> transactionService.streamForExport(productId, type, from, to));
     }
 
     @GetMapping("/{id}")
@@ -38,23 +116,119 @@ public class TransactionController {
         return transactionService.createTransaction(transaction);
     }
 
+    @PostMapping("/batch")
+    public TransactionBatchResponseDTO createTransactions(@RequestBody List<TransactionRequestDTO> transactions) {
+        return transactionService.createTransactions(transactions);
+    }
+
+    @PostMapping("/async")
+    public ResponseEntity<IngestTicketDTO> submitTransaction(@RequestBody TransactionRequestDTO transaction) {
+        return transactionIngestService.submit(transaction)
+                .map(ticket -> ResponseEntity.accepted()
+                        .location(URI.create("/api/transactions/ingest/" + ticket.getTicketId()))
+                        .body(ticket))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, Integer.toString(ingestRetryAfterSeconds))
+                        .build());
+    }
+
+    @GetMapping("/ingest/{ticketId}")
+    public CompletableFuture<ResponseEntity<IngestTicketDTO>> getIngestTicket(@PathVariable String ticketId,
+                                                                              @RequestParam(defaultValue = "0") long waitMs) {
+        if (waitMs <= 0) {
+            return CompletableFuture.completedFuture(ResponseEntity.of(transactionIngestService.getTicket(ticketId)));
+        }
+        return transactionIngestService.awaitTicket(ticketId, Math.min(waitMs, MAX_INGEST_WAIT_MS))
+                .map(future -> future.thenApply(ResponseEntity::ok))
+                .orElseGet(() -> CompletableFuture.completedFuture(ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping("/ingest/stats")
+    public IngestStatsDTO getIngestStats() {
+        return transactionIngestService.getStats();
+    }
+
     @DeleteMapping("/{id}")
     public void deleteTransaction(@PathVariable String id) {
         transactionService.deleteTransaction(id);
     }
 
+    // from/to bound the ledger window as ISO-8601 instants, e.g. from=2024-05-01T00:00:00Z; to is exclusive
     @GetMapping("/by-product/{productId}")
-    public List<Transaction> getTransactionsByProductId(@PathVariable String productId) {
-        return transactionService.getTransactionsByProductId(productId);
+    public List<Transaction> getTransactionsByProductId(@PathVariable String productId,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to) {
+        return transactionService.getTransactionsByProductId(productId, from, to);
+    }
+
+    @GetMapping(value = "/by-product/{productId}", params = {"limit", "format!=ndjson"})
+    public CursorPage<TransactionResponseDTO> getTransactionsByProductIdPage(@PathVariable String productId,
+                                                                             @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                                             @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to,
+                                                                             @RequestParam int limit,
+                                                                             @RequestParam(required = false) String after,
+                                                                             @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, TransactionResponseDTO.FIELDS);
+        return transactionService.getTransactionsByProductIdPage(productId, from, to, after, limit, selection)
+                .map(transaction -> TransactionResponseDTO.from(transaction, selection));
+    }
+
+    @GetMapping(value = "/by-product/{productId}", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamTransactionsByProductId(@PathVariable String productId,
+                                                                               @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                                               @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to) {
+        return NdjsonStreams.of(objectMapper, () -> transactionService.streamTransactionsByProductId(productId, from, to));
     }
 
     @GetMapping("/by-user/{userId}")
-    public List<Transaction> getTransactionsByUserId(@PathVariable String userId) {
-        return transactionService.getTransactionsByUserId(userId);
+    public List<Transaction> getTransactionsByUserId(@PathVariable String userId,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to) {
+        return transactionService.getTransactionsByUserId(userId, from, to);
+    }
+
+    @GetMapping(value = "/by-user/{userId}", params = {"limit", "format!=ndjson"})
+    public CursorPage<TransactionResponseDTO> getTransactionsByUserIdPage(@PathVariable String userId,
+                                                                          @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                                          @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to,
+                                                                          @RequestParam int limit,
+                                                                          @RequestParam(required = false) String after,
+                                                                          @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, TransactionResponseDTO.FIELDS);
+        return transactionService.getTransactionsByUserIdPage(userId, from, to, after, limit, selection)
+                .map(transaction -> TransactionResponseDTO.from(transaction, selection));
+    }
+
+    @GetMapping(value = "/by-user/{userId}", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamTransactionsByUserId(@PathVariable String userId,
+                                                                            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                                            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to) {
+        return NdjsonStreams.of(objectMapper, () -> transactionService.streamTransactionsByUserId(userId, from, to));
     }
 
     @GetMapping("/by-type")
-    public List<Transaction> getTransactionsByType(@RequestParam Transaction.TransactionType type) {
-        return transactionService.getTransactionsByType(type);
+    public List<Transaction> getTransactionsByType(@RequestParam Transaction.TransactionType type,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to) {
+        return transactionService.getTransactionsByType(type, from, to);
+    }
+
+    @GetMapping(value = "/by-type", params = {"limit", "format!=ndjson"})
+    public CursorPage<TransactionResponseDTO> getTransactionsByTypePage(@RequestParam Transaction.TransactionType type,
+                                                                        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                                        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to,
+                                                                        @RequestParam int limit,
+                                                                        @RequestParam(required = false) String after,
+                                                                        @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, TransactionResponseDTO.FIELDS);
+        return transactionService.getTransactionsByTypePage(type, from, to, after, limit, selection)
+                .map(transaction -> TransactionResponseDTO.from(transaction, selection));
+    }
+
+    @GetMapping(value = "/by-type", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamTransactionsByType(@RequestParam Transaction.TransactionType type,
+                                                                          @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant from,
+                                                                          @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) Instant to) {
+        return NdjsonStreams.of(objectMapper, () -> transactionService.streamTransactionsByType(type, from, to));
     }
 }
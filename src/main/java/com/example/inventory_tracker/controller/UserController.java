@@ -7,6 +7,7 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -15,6 +16,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.inventory_tracker.dto.FieldSelection;
+import com.example.inventory_tracker.dto.UserPatchDTO;
+import com.example.inventory_tracker.dto.UserResponseDTO;
 import com.example.inventory_tracker.model.User;
 import com.example.inventory_tracker.service.UserService;
 
@@ -25,32 +29,44 @@ public class UserController {
     private UserService userService;
 
     @GetMapping
-    public List<User> getAllUsers() {
-        return userService.getAllUsers();
+    public List<UserResponseDTO> getAllUsers(@RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelections.parse(fields, UserResponseDTO.FIELDS);
+        return userService.getAllUsers(selection).stream()
+                .map(user -> UserResponseDTO.from(user, selection))
+                .toList();
     }
 
     @GetMapping("/{id}")
-    public Optional<User> getUserById(@PathVariable String id) {
-        return userService.getUserById(id);
+    public Optional<UserResponseDTO> getUserById(@PathVariable String id) {
+        return userService.getUserById(id).map(UserController::toResponse);
     }
 
     @GetMapping("/by-username")
-    public Optional<User> getUserByUsername(@RequestParam String username) {
-        return userService.getUserByUsername(username);
+    public Optional<UserResponseDTO> getUserByUsername(@RequestParam String username) {
+        return userService.getUserByUsername(username).map(UserController::toResponse);
     }
 
     @PostMapping
-    public User createUser(@RequestBody User user) {
-        return userService.createUser(user);
+    public UserResponseDTO createUser(@RequestBody User user) {
+        return toResponse(userService.createUser(user));
     }
 
     @PutMapping("/{id}")
-    public User updateUser(@PathVariable String id, @RequestBody User user) {
-        return userService.updateUser(id, user);
+    public UserResponseDTO updateUser(@PathVariable String id, @RequestBody User user) {
+        return toResponse(userService.updateUser(id, user));
+    }
+
+    @PatchMapping("/{id}")
+    public UserResponseDTO patchUser(@PathVariable String id, @RequestBody UserPatchDTO patch) {
+        return toResponse(userService.patchUser(id, patch));
     }
 
     @DeleteMapping("/{id}")
     public void deleteUser(@PathVariable String id) {
         userService.deleteUser(id);
     }
+
+    private static UserResponseDTO toResponse(User user) {
+        return UserResponseDTO.from(user, FieldSelection.ALL);
+    }
 }
@@ -0,0 +1,28 @@
+// src/main/java/com/example/inventory_tracker/dto/CacheStatsDTO.java
+package com.example.inventory_tracker.dto;
+
+public class CacheStatsDTO {
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long loadCount;
+    private long evictionCount;
+    private double averageLoadPenaltyMs;
+
+    // Getters and Setters
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+    public long getHitCount() { return hitCount; }
+    public void setHitCount(long hitCount) { this.hitCount = hitCount; }
+    public long getMissCount() { return missCount; }
+    public void setMissCount(long missCount) { this.missCount = missCount; }
+    public double getHitRate() { return hitRate; }
+    public void setHitRate(double hitRate) { this.hitRate = hitRate; }
+    public long getLoadCount() { return loadCount; }
+    public void setLoadCount(long loadCount) { this.loadCount = loadCount; }
+    public long getEvictionCount() { return evictionCount; }
+    public void setEvictionCount(long evictionCount) { this.evictionCount = evictionCount; }
+    public double getAverageLoadPenaltyMs() { return averageLoadPenaltyMs; }
+    public void setAverageLoadPenaltyMs(double averageLoadPenaltyMs) { this.averageLoadPenaltyMs = averageLoadPenaltyMs; }
+}
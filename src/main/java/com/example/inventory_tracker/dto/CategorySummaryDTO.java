@@ -0,0 +1,16 @@
+// src/main/java/com/example/inventory_tracker/dto/CategorySummaryDTO.java
+package com.example.inventory_tracker.dto;
+
+public class CategorySummaryDTO {
+    private String name;
+    private long count;
+    private double value;
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+    public double getValue() { return value; }
+    public void setValue(double value) { this.value = value; }
+}
@@ -0,0 +1,28 @@
+// src/main/java/com/example/inventory_tracker/dto/CursorPage.java
+package com.example.inventory_tracker.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor; // null once the last page has been returned
+
+    public CursorPage() {
+    }
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,36 @@
+// src/main/java/com/example/inventory_tracker/dto/DashboardSummaryDTO.java
+package com.example.inventory_tracker.dto;
+
+import java.util.List;
+
+public class DashboardSummaryDTO {
+    private long totalProducts;
+    private long lowStockItems;
+    private double totalValue;
+    private long totalLocations;
+    private long totalTransactions;
+    private long totalUsers;
+    private long stockInToday;
+    private long stockOutToday;
+    private List<CategorySummaryDTO> categories;
+
+    // Getters and Setters
+    public long getTotalProducts() { return totalProducts; }
+    public void setTotalProducts(long totalProducts) { this.totalProducts = totalProducts; }
+    public long getLowStockItems() { return lowStockItems; }
+    public void setLowStockItems(long lowStockItems) { this.lowStockItems = lowStockItems; }
+    public double getTotalValue() { return totalValue; }
+    public void setTotalValue(double totalValue) { this.totalValue = totalValue; }
+    public long getTotalLocations() { return totalLocations; }
+    public void setTotalLocations(long totalLocations) { this.totalLocations = totalLocations; }
+    public long getTotalTransactions() { return totalTransactions; }
+    public void setTotalTransactions(long totalTransactions) { this.totalTransactions = totalTransactions; }
+    public long getTotalUsers() { return totalUsers; }
+    public void setTotalUsers(long totalUsers) { this.totalUsers = totalUsers; }
+    public long getStockInToday() { return stockInToday; }
+    public void setStockInToday(long stockInToday) { this.stockInToday = stockInToday; }
+    public long getStockOutToday() { return stockOutToday; }
+    public void setStockOutToday(long stockOutToday) { this.stockOutToday = stockOutToday; }
+    public List<CategorySummaryDTO> getCategories() { return categories; }
+    public void setCategories(List<CategorySummaryDTO> categories) { this.categories = categories; }
+}
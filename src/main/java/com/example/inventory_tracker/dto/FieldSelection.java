@@ -0,0 +1,34 @@
+// src/main/java/com/example/inventory_tracker/dto/FieldSelection.java
+package com.example.inventory_tracker.dto;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// A list endpoint's fields= parameter, e.g. fields=id,sku,quantity; id is always returned
+public final class FieldSelection {
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static FieldSelection of(Set<String> fields) {
+        return new FieldSelection(Collections.unmodifiableSet(new LinkedHashSet<>(fields)));
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean has(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    // Empty when every field is selected
+    public Set<String> fields() {
+        return fields == null ? Set.of() : fields;
+    }
+}
@@ -0,0 +1,37 @@
+// src/main/java/com/example/inventory_tracker/dto/IngestStatsDTO.java
+package com.example.inventory_tracker.dto;
+
+public class IngestStatsDTO {
+    private int queueDepth;
+    private int queueCapacity;
+    private long flushCount;
+    private int lastFlushSize;
+    private long committed;
+    private long rejected;
+    private long refused; // submissions turned away with 429 because the queue was full
+    private double lastCommitLatencyMs;
+    private double maxCommitLatencyMs;
+    private double averageCommitLatencyMs;
+
+    // Getters and Setters
+    public int getQueueDepth() { return queueDepth; }
+    public void setQueueDepth(int queueDepth) { this.queueDepth = queueDepth; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+    public long getFlushCount() { return flushCount; }
+    public void setFlushCount(long flushCount) { this.flushCount = flushCount; }
+    public int getLastFlushSize() { return lastFlushSize; }
+    public void setLastFlushSize(int lastFlushSize) { this.lastFlushSize = lastFlushSize; }
+    public long getCommitted() { return committed; }
+    public void setCommitted(long committed) { this.committed = committed; }
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+    public long getRefused() { return refused; }
+    public void setRefused(long refused) { this.refused = refused; }
+    public double getLastCommitLatencyMs() { return lastCommitLatencyMs; }
+    public void setLastCommitLatencyMs(double lastCommitLatencyMs) { this.lastCommitLatencyMs = lastCommitLatencyMs; }
+    public double getMaxCommitLatencyMs() { return maxCommitLatencyMs; }
+    public void setMaxCommitLatencyMs(double maxCommitLatencyMs) { this.maxCommitLatencyMs = maxCommitLatencyMs; }
+    public double getAverageCommitLatencyMs() { return averageCommitLatencyMs; }
+    public void setAverageCommitLatencyMs(double averageCommitLatencyMs) { this.averageCommitLatencyMs = averageCommitLatencyMs; }
+}
@@ -0,0 +1,27 @@
+// src/main/java/com/example/inventory_tracker/dto/IngestTicketDTO.java
+package com.example.inventory_tracker.dto;
+
+import java.time.Instant;
+
+public class IngestTicketDTO {
+    private String ticketId;
+    private String status; // "QUEUED", "APPLIED", "REJECTED" or "FAILED"
+    private String transactionId;
+    private String error;
+    private Instant acceptedAt;
+    private Instant committedAt;
+
+    // Getters and Setters
+    public String getTicketId() { return ticketId; }
+    public void setTicketId(String ticketId) { this.ticketId = ticketId; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+    public Instant getAcceptedAt() { return acceptedAt; }
+    public void setAcceptedAt(Instant acceptedAt) { this.acceptedAt = acceptedAt; }
+    public Instant getCommittedAt() { return committedAt; }
+    public void setCommittedAt(Instant committedAt) { this.committedAt = committedAt; }
+}
@@ -0,0 +1,22 @@
+// src/main/java/com/example/inventory_tracker/dto/LocationPatchDTO.java
+package com.example.inventory_tracker.dto;
+
+public class LocationPatchDTO {
+    private String name;
+    private String address;
+    private String type; // warehouse/store
+    private String contactInfo;
+    private Long version;
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getAddress() { return address; }
+    public void setAddress(String address) { this.address = address; }
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public String getContactInfo() { return contactInfo; }
+    public void setContactInfo(String contactInfo) { this.contactInfo = contactInfo; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
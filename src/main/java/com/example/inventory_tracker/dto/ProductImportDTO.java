@@ -0,0 +1,49 @@
+// src/main/java/com/example/inventory_tracker/dto/ProductImportDTO.java
+package com.example.inventory_tracker.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class ProductImportDTO {
+    private String importId;
+    private String format; // "CSV" or "NDJSON"
+    private String status; // "RUNNING", "COMPLETED" or "FAILED"
+    private long rowsRead;
+    private long inserted;
+    private long updated;
+    private long unchanged;
+    private long rejected;
+    private String error; // why a FAILED import stopped; rows of earlier batches stay written
+    private List<ProductImportErrorDTO> errors; // the first rejected rows, up to the configured limit
+    private Instant startedAt;
+    private Instant completedAt;
+    private long durationMs;
+
+    // Getters and Setters
+    public String getImportId() { return importId; }
+    public void setImportId(String importId) { this.importId = importId; }
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public long getRowsRead() { return rowsRead; }
+    public void setRowsRead(long rowsRead) { this.rowsRead = rowsRead; }
+    public long getInserted() { return inserted; }
+    public void setInserted(long inserted) { this.inserted = inserted; }
+    public long getUpdated() { return updated; }
+    public void setUpdated(long updated) { this.updated = updated; }
+    public long getUnchanged() { return unchanged; }
+    public void setUnchanged(long unchanged) { this.unchanged = unchanged; }
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+    public List<ProductImportErrorDTO> getErrors() { return errors; }
+    public void setErrors(List<ProductImportErrorDTO> errors) { this.errors = errors; }
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+    public Instant getCompletedAt() { return completedAt; }
+    public void setCompletedAt(Instant completedAt) { this.completedAt = completedAt; }
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+}
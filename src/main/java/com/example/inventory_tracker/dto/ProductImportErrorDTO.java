@@ -0,0 +1,16 @@
+// src/main/java/com/example/inventory_tracker/dto/ProductImportErrorDTO.java
+package com.example.inventory_tracker.dto;
+
+public class ProductImportErrorDTO {
+    private long line; // line of the upload the row starts on, header included
+    private String sku;
+    private String error;
+
+    // Getters and Setters
+    public long getLine() { return line; }
+    public void setLine(long line) { this.line = line; }
+    public String getSku() { return sku; }
+    public void setSku(String sku) { this.sku = sku; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,35 @@
+// src/main/java/com/example/inventory_tracker/dto/ProductPatchDTO.java
+package com.example.inventory_tracker.dto;
+
+// Only the non-null fields are written; with version set, only while the product is at that version
+public class ProductPatchDTO {
+    private String name;
+    private String sku;
+    private String description;
+    private Double price;
+    private Integer quantity;
+    private String locationId;
+    private String category;
+    private Integer threshold;
+    private Long version;
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getSku() { return sku; }
+    public void setSku(String sku) { this.sku = sku; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public Double getPrice() { return price; }
+    public void setPrice(Double price) { this.price = price; }
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+    public String getLocationId() { return locationId; }
+    public void setLocationId(String locationId) { this.locationId = locationId; }
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    public Integer getThreshold() { return threshold; }
+    public void setThreshold(Integer threshold) { this.threshold = threshold; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
@@ -1,16 +1,59 @@
 // src/main/java/com/example/inventory_tracker/dto/ProductResponseDTO.java
 package com.example.inventory_tracker.dto;
 
+import java.util.Set;
+
+import com.example.inventory_tracker.model.Product;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ProductResponseDTO {
+    public static final Set<String> FIELDS = Set.of("id", "name", "sku", "description", "price", "quantity",
+            "locationId", "category", "threshold", "version");
+
     private String id;
     private String name;
     private String sku;
     private String description;
-    private double price;
-    private int quantity;
+    private Double price;
+    private Integer quantity;
     private String locationId;
     private String category;
-    private int threshold;
+    private Integer threshold;
+    private Long version;
+
+    public static ProductResponseDTO from(Product product, FieldSelection fields) {
+        ProductResponseDTO dto = new ProductResponseDTO();
+        dto.id = product.getId();
+        if (fields.has("name")) {
+            dto.name = product.getName();
+        }
+        if (fields.has("sku")) {
+            dto.sku = product.getSku();
+        }
+        if (fields.has("description")) {
+            dto.description = product.getDescription();
+        }
+        if (fields.has("price")) {
+            dto.price = product.getPrice();
+        }
+        if (fields.has("quantity")) {
+            dto.quantity = product.getQuantity();
+        }
+        if (fields.has("locationId")) {
+            dto.locationId = product.getLocationId();
+        }
+        if (fields.has("category")) {
+            dto.category = product.getCategory();
+        }
+        if (fields.has("threshold")) {
+            dto.threshold = product.getThreshold();
+        }
+        if (fields.has("version")) {
+            dto.version = product.getVersion();
+        }
+        return dto;
+    }
 
     // Getters and Setters
     public String getId() { return id; }
@@ -21,14 +64,16 @@ public class ProductResponseDTO {
     public void setSku(String sku) { this.sku = sku; }
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
-    public double getPrice() { return price; }
-    public void setPrice(double price) { this.price = price; }
-    public int getQuantity() { return quantity; }
-    public void setQuantity(int quantity) { this.quantity = quantity; }
+    public Double getPrice() { return price; }
+    public void setPrice(Double price) { this.price = price; }
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
     public String getLocationId() { return locationId; }
     public void setLocationId(String locationId) { this.locationId = locationId; }
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
-    public int getThreshold() { return threshold; }
-    public void setThreshold(int threshold) { this.threshold = threshold; }
+    public Integer getThreshold() { return threshold; }
+    public void setThreshold(Integer threshold) { this.threshold = threshold; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
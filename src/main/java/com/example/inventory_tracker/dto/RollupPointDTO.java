@@ -0,0 +1,27 @@
+// src/main/java/com/example/inventory_tracker/dto/RollupPointDTO.java
+package com.example.inventory_tracker.dto;
+
+import java.time.Instant;
+
+public class RollupPointDTO {
+    private String key;
+    private Instant bucket;
+    private long inCount;
+    private long inQuantity;
+    private long outCount;
+    private long outQuantity;
+
+    // Getters and Setters
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+    public Instant getBucket() { return bucket; }
+    public void setBucket(Instant bucket) { this.bucket = bucket; }
+    public long getInCount() { return inCount; }
+    public void setInCount(long inCount) { this.inCount = inCount; }
+    public long getInQuantity() { return inQuantity; }
+    public void setInQuantity(long inQuantity) { this.inQuantity = inQuantity; }
+    public long getOutCount() { return outCount; }
+    public void setOutCount(long outCount) { this.outCount = outCount; }
+    public long getOutQuantity() { return outQuantity; }
+    public void setOutQuantity(long outQuantity) { this.outQuantity = outQuantity; }
+}
@@ -0,0 +1,17 @@
+// src/main/java/com/example/inventory_tracker/dto/SkuLookupResponseDTO.java
+package com.example.inventory_tracker.dto;
+
+import java.util.List;
+
+import com.example.inventory_tracker.model.Product;
+
+public class SkuLookupResponseDTO {
+    private List<Product> products;
+    private List<String> missing;
+
+    // Getters and Setters
+    public List<Product> getProducts() { return products; }
+    public void setProducts(List<Product> products) { this.products = products; }
+    public List<String> getMissing() { return missing; }
+    public void setMissing(List<String> missing) { this.missing = missing; }
+}
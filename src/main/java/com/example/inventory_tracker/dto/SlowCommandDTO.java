@@ -0,0 +1,33 @@
+// src/main/java/com/example/inventory_tracker/dto/SlowCommandDTO.java
+package com.example.inventory_tracker.dto;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SlowCommandDTO {
+    private Instant completedAt;
+    private String command;
+    private String database;
+    private String collection;
+    private String server;
+    private double durationMs;
+    private boolean failed;
+
+    // Getters and Setters
+    public Instant getCompletedAt() { return completedAt; }
+    public void setCompletedAt(Instant completedAt) { this.completedAt = completedAt; }
+    public String getCommand() { return command; }
+    public void setCommand(String command) { this.command = command; }
+    public String getDatabase() { return database; }
+    public void setDatabase(String database) { this.database = database; }
+    public String getCollection() { return collection; }
+    public void setCollection(String collection) { this.collection = collection; }
+    public String getServer() { return server; }
+    public void setServer(String server) { this.server = server; }
+    public double getDurationMs() { return durationMs; }
+    public void setDurationMs(double durationMs) { this.durationMs = durationMs; }
+    public boolean isFailed() { return failed; }
+    public void setFailed(boolean failed) { this.failed = failed; }
+}
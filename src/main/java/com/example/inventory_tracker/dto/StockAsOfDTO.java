@@ -0,0 +1,24 @@
+// src/main/java/com/example/inventory_tracker/dto/StockAsOfDTO.java
+package com.example.inventory_tracker.dto;
+
+import java.time.Instant;
+
+public class StockAsOfDTO {
+    private String productId;
+    private int quantity;
+    private Instant asOf;
+    private Instant snapshotAt; // null when no earlier snapshot existed and the whole ledger was replayed
+    private long replayedMovements;
+
+    // Getters and Setters
+    public String getProductId() { return productId; }
+    public void setProductId(String productId) { this.productId = productId; }
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+    public Instant getAsOf() { return asOf; }
+    public void setAsOf(Instant asOf) { this.asOf = asOf; }
+    public Instant getSnapshotAt() { return snapshotAt; }
+    public void setSnapshotAt(Instant snapshotAt) { this.snapshotAt = snapshotAt; }
+    public long getReplayedMovements() { return replayedMovements; }
+    public void setReplayedMovements(long replayedMovements) { this.replayedMovements = replayedMovements; }
+}
@@ -0,0 +1,48 @@
+// src/main/java/com/example/inventory_tracker/dto/StockEventDTO.java
+package com.example.inventory_tracker.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// delta is the net quantity change since the subscriber's previous event for the product; locationDeltas splits
+// it by location, so a transfer shows at both ends even though delta is 0
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockEventDTO {
+    private String type;
+    private String productId;
+    private String sku;
+    private String name;
+    private String category;
+    private String locationId;
+    private Integer quantity;
+    private Integer delta;
+    private Map<String, Integer> locationDeltas;
+    private Boolean lowStock;
+    private Instant timestamp;
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public String getProductId() { return productId; }
+    public void setProductId(String productId) { this.productId = productId; }
+    public String getSku() { return sku; }
+    public void setSku(String sku) { this.sku = sku; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    public String getLocationId() { return locationId; }
+    public void setLocationId(String locationId) { this.locationId = locationId; }
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+    public Integer getDelta() { return delta; }
+    public void setDelta(Integer delta) { this.delta = delta; }
+    public Map<String, Integer> getLocationDeltas() { return locationDeltas; }
+    public void setLocationDeltas(Map<String, Integer> locationDeltas) { this.locationDeltas = locationDeltas; }
+    public Boolean getLowStock() { return lowStock; }
+    public void setLowStock(Boolean lowStock) { this.lowStock = lowStock; }
+    public Instant getTimestamp() { return timestamp; }
+    public void setTimestamp(Instant timestamp) { this.timestamp = timestamp; }
+}
@@ -0,0 +1,22 @@
+// src/main/java/com/example/inventory_tracker/dto/StockStreamStatsDTO.java
+package com.example.inventory_tracker.dto;
+
+public class StockStreamStatsDTO {
+    private int subscribers;
+    private long published;
+    private long sent;
+    private long coalesced;
+    private long dropped;
+
+    // Getters and Setters
+    public int getSubscribers() { return subscribers; }
+    public void setSubscribers(int subscribers) { this.subscribers = subscribers; }
+    public long getPublished() { return published; }
+    public void setPublished(long published) { this.published = published; }
+    public long getSent() { return sent; }
+    public void setSent(long sent) { this.sent = sent; }
+    public long getCoalesced() { return coalesced; }
+    public void setCoalesced(long coalesced) { this.coalesced = coalesced; }
+    public long getDropped() { return dropped; }
+    public void setDropped(long dropped) { this.dropped = dropped; }
+}
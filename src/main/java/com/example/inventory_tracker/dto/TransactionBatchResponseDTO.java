@@ -0,0 +1,18 @@
+// src/main/java/com/example/inventory_tracker/dto/TransactionBatchResponseDTO.java
+package com.example.inventory_tracker.dto;
+
+import java.util.List;
+
+public class TransactionBatchResponseDTO {
+    private int applied;
+    private int rejected;
+    private List<TransactionBatchResultDTO> results;
+
+    // Getters and Setters
+    public int getApplied() { return applied; }
+    public void setApplied(int applied) { this.applied = applied; }
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+    public List<TransactionBatchResultDTO> getResults() { return results; }
+    public void setResults(List<TransactionBatchResultDTO> results) { this.results = results; }
+}
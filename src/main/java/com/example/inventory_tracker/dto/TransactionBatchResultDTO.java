@@ -0,0 +1,22 @@
+// src/main/java/com/example/inventory_tracker/dto/TransactionBatchResultDTO.java
+package com.example.inventory_tracker.dto;
+
+public class TransactionBatchResultDTO {
+    private int index; // position of the item in the request body
+    private String status; // "APPLIED" or "REJECTED"
+    private String transactionId;
+    private String productId;
+    private String error;
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+    public String getProductId() { return productId; }
+    public void setProductId(String productId) { this.productId = productId; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -3,10 +3,12 @@ package com.example.inventory_tracker.dto;
 
 public class TransactionRequestDTO {
     private String productId;
-    private String type; // "IN" or "OUT"
+    private String type; // "IN", "OUT" or "TRANSFER"
     private int quantity;
     private String userId;
     private String notes;
+    private String locationId; // defaults to the product's location
+    private String toLocationId; // TRANSFER only
 
     // Getters and Setters
     public String getProductId() { return productId; }
@@ -19,4 +21,8 @@ public class TransactionRequestDTO {
     public void setUserId(String userId) { this.userId = userId; }
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
+    public String getLocationId() { return locationId; }
+    public void setLocationId(String locationId) { this.locationId = locationId; }
+    public String getToLocationId() { return toLocationId; }
+    public void setToLocationId(String toLocationId) { this.toLocationId = toLocationId; }
 }
@@ -2,15 +2,55 @@
 package com.example.inventory_tracker.dto;
 
 import java.time.Instant;
+import java.util.Set;
 
+import com.example.inventory_tracker.model.Transaction;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class TransactionResponseDTO {
+    public static final Set<String> FIELDS = Set.of("id", "productId", "type", "quantity", "timestamp", "userId",
+            "notes", "locationId", "toLocationId");
+
     private String id;
     private String productId;
     private String type;
-    private int quantity;
+    private Integer quantity;
     private Instant timestamp;
     private String userId;
     private String notes;
+    private String locationId;
+    private String toLocationId;
+
+    public static TransactionResponseDTO from(Transaction transaction, FieldSelection fields) {
+        TransactionResponseDTO dto = new TransactionResponseDTO();
+        dto.id = transaction.getId();
+        if (fields.has("productId")) {
+            dto.productId = transaction.getProductId();
+        }
+        if (fields.has("type") && transaction.getType() != null) {
+            dto.type = transaction.getType().name();
+        }
+        if (fields.has("quantity")) {
+            dto.quantity = transaction.getQuantity();
+        }
+        if (fields.has("timestamp")) {
+            dto.timestamp = transaction.getTimestamp();
+        }
+        if (fields.has("userId")) {
+            dto.userId = transaction.getUserId();
+        }
+        if (fields.has("notes")) {
+            dto.notes = transaction.getNotes();
+        }
+        if (fields.has("locationId")) {
+            dto.locationId = transaction.getLocationId();
+        }
+        if (fields.has("toLocationId")) {
+            dto.toLocationId = transaction.getToLocationId();
+        }
+        return dto;
+    }
 
     // Getters and Setters
     public String getId() { return id; }
@@ -19,12 +59,16 @@ public class TransactionResponseDTO {
     public void setProductId(String productId) { this.productId = productId; }
     public String getType() { return type; }
     public void setType(String type) { this.type = type; }
-    public int getQuantity() { return quantity; }
-    public void setQuantity(int quantity) { this.quantity = quantity; }
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
     public Instant getTimestamp() { return timestamp; }
     public void setTimestamp(Instant timestamp) { this.timestamp = timestamp; }
     public String getUserId() { return userId; }
     public void setUserId(String userId) { this.userId = userId; }
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
+    public String getLocationId() { return locationId; }
+    public void setLocationId(String locationId) { this.locationId = locationId; }
+    public String getToLocationId() { return toLocationId; }
+    public void setToLocationId(String toLocationId) { this.toLocationId = toLocationId; }
 }
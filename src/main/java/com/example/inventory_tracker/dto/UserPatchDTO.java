@@ -0,0 +1,19 @@
+// src/main/java/com/example/inventory_tracker/dto/UserPatchDTO.java
+package com.example.inventory_tracker.dto;
+
+public class UserPatchDTO {
+    private String username;
+    private String role;
+    private String email;
+    private Long version;
+
+    // Getters and Setters
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
@@ -2,13 +2,43 @@
 package com.example.inventory_tracker.dto;
 
 import java.time.Instant;
+import java.util.Set;
 
+import com.example.inventory_tracker.model.User;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Every user response; passwordHash has no field here, so it is never written
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class UserResponseDTO {
+    public static final Set<String> FIELDS = Set.of("id", "username", "role", "email", "createdAt", "version");
+
     private String id;
     private String username;
     private String role;
     private String email;
     private Instant createdAt;
+    private Long version;
+
+    public static UserResponseDTO from(User user, FieldSelection fields) {
+        UserResponseDTO dto = new UserResponseDTO();
+        dto.id = user.getId();
+        if (fields.has("username")) {
+            dto.username = user.getUsername();
+        }
+        if (fields.has("role")) {
+            dto.role = user.getRole();
+        }
+        if (fields.has("email")) {
+            dto.email = user.getEmail();
+        }
+        if (fields.has("createdAt")) {
+            dto.createdAt = user.getCreatedAt();
+        }
+        if (fields.has("version")) {
+            dto.version = user.getVersion();
+        }
+        return dto;
+    }
 
     // Getters and Setters
     public String getId() { return id; }
@@ -21,4 +51,6 @@ public class UserResponseDTO {
     public void setEmail(String email) { this.email = email; }
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -0,0 +1,23 @@
+// src/main/java/com/example/inventory_tracker/model/CategoryStats.java
+package com.example.inventory_tracker.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "category_stats")
+public class CategoryStats {
+    @Id private String id; // category name
+    private long productCount;
+    private double totalValue;
+    private long revision;
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public long getProductCount() { return productCount; }
+    public void setProductCount(long productCount) { this.productCount = productCount; }
+    public double getTotalValue() { return totalValue; }
+    public void setTotalValue(double totalValue) { this.totalValue = totalValue; }
+    public long getRevision() { return revision; }
+    public void setRevision(long revision) { this.revision = revision; }
+}
@@ -0,0 +1,29 @@
+// src/main/java/com/example/inventory_tracker/model/DailyActivity.java
+package com.example.inventory_tracker.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "daily_activity")
+public class DailyActivity {
+    @Id private String id; // ISO date, e.g. 2024-05-31
+    private long inCount;
+    private long outCount;
+    private long inQuantity;
+    private long outQuantity;
+    private long revision;
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public long getInCount() { return inCount; }
+    public void setInCount(long inCount) { this.inCount = inCount; }
+    public long getOutCount() { return outCount; }
+    public void setOutCount(long outCount) { this.outCount = outCount; }
+    public long getInQuantity() { return inQuantity; }
+    public void setInQuantity(long inQuantity) { this.inQuantity = inQuantity; }
+    public long getOutQuantity() { return outQuantity; }
+    public void setOutQuantity(long outQuantity) { this.outQuantity = outQuantity; }
+    public long getRevision() { return revision; }
+    public void setRevision(long revision) { this.revision = revision; }
+}
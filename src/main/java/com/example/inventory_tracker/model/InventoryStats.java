@@ -0,0 +1,35 @@
+// src/main/java/com/example/inventory_tracker/model/InventoryStats.java
+package com.example.inventory_tracker.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "inventory_stats")
+public class InventoryStats {
+    public static final String GLOBAL_ID = "global";
+
+    @Id private String id;
+    private long productCount;
+    private long lowStockCount;
+    private double totalValue;
+    private long transactionCount;
+    // Bumped by every incremental update, so reconcile can tell whether one raced its scan
+    private long productRevision;
+    private long transactionRevision;
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public long getProductCount() { return productCount; }
+    public void setProductCount(long productCount) { this.productCount = productCount; }
+    public long getLowStockCount() { return lowStockCount; }
+    public void setLowStockCount(long lowStockCount) { this.lowStockCount = lowStockCount; }
+    public double getTotalValue() { return totalValue; }
+    public void setTotalValue(double totalValue) { this.totalValue = totalValue; }
+    public long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(long transactionCount) { this.transactionCount = transactionCount; }
+    public long getProductRevision() { return productRevision; }
+    public void setProductRevision(long productRevision) { this.productRevision = productRevision; }
+    public long getTransactionRevision() { return transactionRevision; }
+    public void setTransactionRevision(long transactionRevision) { this.transactionRevision = transactionRevision; }
+}
@@ -1,6 +1,7 @@
 // src/main/java/com/yourcompany/inventory/model/Location.java
 package com.example.inventory_tracker.model;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "locations")
@@ -11,6 +12,8 @@ public class Location {
     private String address;
     private String type; // warehouse/store
     private String contactInfo;
+    @Version
+    private Long version;
 
     // Getters and Setters
     public String getId() { return id; }
@@ -23,4 +26,6 @@ public class Location {
     public void setType(String type) { this.type = type; }
     public String getContactInfo() { return contactInfo; }
     public void setContactInfo(String contactInfo) { this.contactInfo = contactInfo; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
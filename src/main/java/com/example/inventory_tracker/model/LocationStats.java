@@ -0,0 +1,20 @@
+// src/main/java/com/example/inventory_tracker/model/LocationStats.java
+package com.example.inventory_tracker.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "location_stats")
+public class LocationStats {
+    @Id private String id; // location id
+    private long productCount; // products with stock at the location
+    private long totalQuantity;
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public long getProductCount() { return productCount; }
+    public void setProductCount(long productCount) { this.productCount = productCount; }
+    public long getTotalQuantity() { return totalQuantity; }
+    public void setTotalQuantity(long totalQuantity) { this.totalQuantity = totalQuantity; }
+}
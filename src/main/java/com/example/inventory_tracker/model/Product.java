@@ -1,13 +1,18 @@
 // File: src/main/java/com/yourcompany/inventory/model/Product.java
 package com.example.inventory_tracker.model;
 
+import java.util.Map;
+
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "products")
 public class Product {
     @Id private String id;
     private String name;
+    @Indexed(unique = true, sparse = true)
     private String sku;
     private String description;
     private double price;
@@ -15,6 +20,11 @@ public class Product {
     private String locationId;
     private String category;
     private int threshold;
+    // quantity is the total across locations: awayStock holds what sits at locations other than locationId,
+    // awayQuantity is its sum, and the rest is at locationId. Both are absent until stock first moves away.
+    private Map<String, Integer> awayStock;
+    private int awayQuantity;
+    @Version private Long version;
 
     // Getters and Setters
     public String getId() { return id; }
@@ -35,4 +45,10 @@ public class Product {
     public void setCategory(String category) { this.category = category; }
     public int getThreshold() { return threshold; }
     public void setThreshold(int threshold) { this.threshold = threshold; }
+    public Map<String, Integer> getAwayStock() { return awayStock; }
+    public void setAwayStock(Map<String, Integer> awayStock) { this.awayStock = awayStock; }
+    public int getAwayQuantity() { return awayQuantity; }
+    public void setAwayQuantity(int awayQuantity) { this.awayQuantity = awayQuantity; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -0,0 +1,29 @@
+// src/main/java/com/example/inventory_tracker/model/RollupBackfillState.java
+package com.example.inventory_tracker.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Ledger rows whose ObjectId predates liveSince are counted by the backfill, later ones by live updates,
+// so each movement lands in the rollups exactly once
+@Document(collection = "rollup_state")
+public class RollupBackfillState {
+    public static final String TRANSACTIONS_ID = "transactions";
+
+    @Id private String id;
+    private Instant liveSince;
+    private String nextDay; // ISO date of the next ledger day to backfill
+    private boolean complete;
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public Instant getLiveSince() { return liveSince; }
+    public void setLiveSince(Instant liveSince) { this.liveSince = liveSince; }
+    public String getNextDay() { return nextDay; }
+    public void setNextDay(String nextDay) { this.nextDay = nextDay; }
+    public boolean isComplete() { return complete; }
+    public void setComplete(boolean complete) { this.complete = complete; }
+}
@@ -0,0 +1,30 @@
+// src/main/java/com/example/inventory_tracker/model/StockLevel.java
+package com.example.inventory_tracker.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Id is "<productId>:<locationId>", so incremental updates are single-key upserts
+@Document(collection = "stock_levels")
+@CompoundIndexes({
+    @CompoundIndex(name = "product_locations", def = "{'productId': 1, 'locationId': 1}"),
+    @CompoundIndex(name = "location_products", def = "{'locationId': 1, 'productId': 1}")
+})
+public class StockLevel {
+    @Id private String id;
+    private String productId;
+    private String locationId;
+    private int quantity;
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getProductId() { return productId; }
+    public void setProductId(String productId) { this.productId = productId; }
+    public String getLocationId() { return locationId; }
+    public void setLocationId(String locationId) { this.locationId = locationId; }
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+}
@@ -0,0 +1,33 @@
+// src/main/java/com/example/inventory_tracker/model/StockSnapshot.java
+package com.example.inventory_tracker.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// One chunk of a snapshot run: quantities[i] is the stock of productIds[i] at takenAt
+@Document(collection = "stock_snapshots")
+@CompoundIndexes({
+    @CompoundIndex(name = "product_snapshots", def = "{'productIds': 1, 'takenAt': -1}"),
+    @CompoundIndex(name = "run_chunks", def = "{'takenAt': 1}")
+})
+public class StockSnapshot {
+    @Id private String id;
+    private Instant takenAt;
+    private List<String> productIds;
+    private List<Integer> quantities;
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public Instant getTakenAt() { return takenAt; }
+    public void setTakenAt(Instant takenAt) { this.takenAt = takenAt; }
+    public List<String> getProductIds() { return productIds; }
+    public void setProductIds(List<String> productIds) { this.productIds = productIds; }
+    public List<Integer> getQuantities() { return quantities; }
+    public void setQuantities(List<Integer> quantities) { this.quantities = quantities; }
+}
@@ -0,0 +1,34 @@
+// src/main/java/com/example/inventory_tracker/model/StockSnapshotRun.java
+package com.example.inventory_tracker.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Only complete runs are read, so a snapshot interrupted halfway is never mistaken for a full one
+@Document(collection = "stock_snapshot_runs")
+@CompoundIndex(name = "complete_runs", def = "{'complete': 1, 'takenAt': -1}")
+public class StockSnapshotRun {
+    @Id private String id; // takenAt as ISO instant
+    private Instant takenAt;
+    private long productCount;
+    private int chunkCount;
+    private long durationMs;
+    private boolean complete;
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public Instant getTakenAt() { return takenAt; }
+    public void setTakenAt(Instant takenAt) { this.takenAt = takenAt; }
+    public long getProductCount() { return productCount; }
+    public void setProductCount(long productCount) { this.productCount = productCount; }
+    public int getChunkCount() { return chunkCount; }
+    public void setChunkCount(int chunkCount) { this.chunkCount = chunkCount; }
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+    public boolean isComplete() { return complete; }
+    public void setComplete(boolean complete) { this.complete = complete; }
+}
@@ -4,9 +4,18 @@ package com.example.inventory_tracker.model;
 import java.time.Instant;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+// Each index is one filter field followed by the ledger order, so every listing is a single index range scan
 @Document(collection = "transactions")
+@CompoundIndexes({
+    @CompoundIndex(name = "ledger_order", def = "{'timestamp': -1, '_id': -1}"),
+    @CompoundIndex(name = "product_ledger", def = "{'productId': 1, 'timestamp': -1, '_id': -1}"),
+    @CompoundIndex(name = "user_ledger", def = "{'userId': 1, 'timestamp': -1, '_id': -1}"),
+    @CompoundIndex(name = "type_ledger", def = "{'type': 1, 'timestamp': -1, '_id': -1}")
+})
 public class Transaction {
     @Id private String id;
     private String productId;
@@ -15,8 +24,11 @@ public class Transaction {
     private Instant timestamp;
     private String userId;
     private String notes;
+    // Where an IN or OUT happened or a TRANSFER took its stock from, as resolved; toLocationId is where it went
+    private String locationId;
+    private String toLocationId;
 
-    public enum TransactionType { IN, OUT }
+    public enum TransactionType { IN, OUT, TRANSFER }
 
     // Getters and Setters
     public String getId() { return id; }
@@ -33,4 +45,8 @@ public class Transaction {
     public void setUserId(String userId) { this.userId = userId; }
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
+    public String getLocationId() { return locationId; }
+    public void setLocationId(String locationId) { this.locationId = locationId; }
+    public String getToLocationId() { return toLocationId; }
+    public void setToLocationId(String toLocationId) { this.toLocationId = toLocationId; }
 }
@@ -4,6 +4,7 @@ package com.example.inventory_tracker.model;
 import java.time.Instant;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "users")
@@ -15,6 +16,8 @@ public class User {
     private String role;
     private String email;
     private Instant createdAt;
+    @Version
+    private Long version;
 
     // Getters and Setters
     public String getId() { return id; }
@@ -29,4 +32,6 @@ public class User {
     public void setEmail(String email) { this.email = email; }
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
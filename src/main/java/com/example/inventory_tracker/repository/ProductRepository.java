@@ -1,13 +1,17 @@
 // File: src/main/java/com/yourcompany/inventory/repository/ProductRepository.java
 package com.example.inventory_tracker.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import com.example.inventory_tracker.model.Product;
 
 public interface ProductRepository extends MongoRepository<Product, String> {
+    Optional<Product> findBySku(String sku);
+    List<Product> findBySkuIn(Collection<String> skus);
     List<Product> findByNameContaining(String name);
     List<Product> findByCategory(String category);
     List<Product> findByQuantityLessThan(int threshold);
@@ -0,0 +1,12 @@
+// src/main/java/com/example/inventory_tracker/repository/ReactiveProductRepository.java
+package com.example.inventory_tracker.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.example.inventory_tracker.model.Product;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveProductRepository extends ReactiveMongoRepository<Product, String> {
+    Mono<Product> findBySku(String sku);
+}
@@ -0,0 +1,9 @@
+// src/main/java/com/example/inventory_tracker/repository/ReactiveTransactionRepository.java
+package com.example.inventory_tracker.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.example.inventory_tracker.model.Transaction;
+
+public interface ReactiveTransactionRepository extends ReactiveMongoRepository<Transaction, String> {
+}
@@ -0,0 +1,345 @@
+// src/main/java/com/example/inventory_tracker/service/DashboardService.java
+package com.example.inventory_tracker.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.inventory_tracker.archive.ColdLedger;
+import com.example.inventory_tracker.dto.CategorySummaryDTO;
+import com.example.inventory_tracker.dto.DashboardSummaryDTO;
+import com.example.inventory_tracker.model.CategoryStats;
+import com.example.inventory_tracker.model.DailyActivity;
+import com.example.inventory_tracker.model.InventoryStats;
+import com.example.inventory_tracker.model.Location;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.Transaction;
+import com.example.inventory_tracker.model.User;
+import com.mongodb.client.result.UpdateResult;
+
+@Service
+public class DashboardService {
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ColdLedger coldLedger;
+
+    @Value("${inventory.dashboard.zone:#{T(java.time.ZoneId).systemDefault().id}}")
+    private ZoneId zone;
+
+    public DashboardSummaryDTO getSummary() {
+        InventoryStats stats = mongoTemplate.findById(InventoryStats.GLOBAL_ID, InventoryStats.class);
+        DailyActivity today = mongoTemplate.findById(dayKey(Instant.now()), DailyActivity.class);
+        List<CategoryStats> categories = mongoTemplate.find(
+                new Query().with(Sort.by(Sort.Direction.DESC, "totalValue")), CategoryStats.class);
+
+        DashboardSummaryDTO summary = new DashboardSummaryDTO();
+        if (stats != null) {
+            summary.setTotalProducts(stats.getProductCount());
+            summary.setLowStockItems(stats.getLowStockCount());
+            summary.setTotalValue(stats.getTotalValue());
+            summary.setTotalTransactions(stats.getTransactionCount());
+        }
+        if (today != null) {
+            summary.setStockInToday(today.getInCount());
+            summary.setStockOutToday(today.getOutCount());
+        }
+        summary.setTotalLocations(mongoTemplate.estimatedCount(Location.class));
+        summary.setTotalUsers(mongoTemplate.estimatedCount(User.class));
+
+        List<CategorySummaryDTO> categorySummaries = new ArrayList<>();
+        for (CategoryStats category : categories) {
+            if (category.getProductCount() <= 0) {
+                continue;
+            }
+            CategorySummaryDTO dto = new CategorySummaryDTO();
+            dto.setName(category.getId());
+            dto.setCount(category.getProductCount());
+            dto.setValue(category.getTotalValue());
+            categorySummaries.add(dto);
+        }
+        summary.setCategories(categorySummaries);
+        return summary;
+    }
+
+    public void productChanged(Product before, Product after) {
+        productsChanged(Collections.singletonList(before), Collections.singletonList(after));
+    }
+
+    // befores.get(i) and afters.get(i) are one write; either may be null
+    public void productsChanged(List<Product> befores, List<Product> afters) {
+        long countDelta = 0;
+        long lowStockDelta = 0;
+        double valueDelta = 0;
+        Map<String, double[]> categoryDeltas = new HashMap<>();
+
+        for (int i = 0; i < befores.size(); i++) {
+            Product before = befores.get(i);
+            Product after = afters.get(i);
+            if (before != null) {
+                countDelta--;
+                lowStockDelta -= StockLevels.isLowStock(before) ? 1 : 0;
+                valueDelta -= StockLevels.stockValue(before);
+                addCategoryDelta(categoryDeltas, before.getCategory(), -1, -StockLevels.stockValue(before));
+            }
+            if (after != null) {
+                countDelta++;
+                lowStockDelta += StockLevels.isLowStock(after) ? 1 : 0;
+                valueDelta += StockLevels.stockValue(after);
+                addCategoryDelta(categoryDeltas, after.getCategory(), 1, StockLevels.stockValue(after));
+            }
+        }
+
+        if (countDelta != 0 || lowStockDelta != 0 || valueDelta != 0) {
+            mongoTemplate.upsert(query(where("_id").is(InventoryStats.GLOBAL_ID)),
+                    new Update().inc("productCount", countDelta)
+                            .inc("lowStockCount", lowStockDelta)
+                            .inc("totalValue", valueDelta)
+                            .inc("productRevision", 1),
+                    InventoryStats.class);
+        }
+        for (Map.Entry<String, double[]> entry : categoryDeltas.entrySet()) {
+            double[] delta = entry.getValue();
+            if (delta[0] == 0 && delta[1] == 0) {
+                continue;
+            }
+            mongoTemplate.upsert(query(where("_id").is(entry.getKey())),
+                    new Update().inc("productCount", (long) delta[0]).inc("totalValue", delta[1]).inc("revision", 1),
+                    CategoryStats.class);
+        }
+    }
+
+    public void transactionRecorded(Transaction transaction) {
+        transactionsCounted(List.of(transaction), 1);
+    }
+
+    public void transactionsRecorded(Collection<Transaction> transactions) {
+        transactionsCounted(transactions, 1);
+    }
+
+    public void transactionRemoved(Transaction transaction) {
+        transactionsCounted(List.of(transaction), -1);
+    }
+
+    private void transactionsCounted(Collection<Transaction> transactions, int sign) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        mongoTemplate.upsert(query(where("_id").is(InventoryStats.GLOBAL_ID)),
+                new Update().inc("transactionCount", (long) sign * transactions.size()).inc("transactionRevision", 1),
+                InventoryStats.class);
+
+        Map<String, long[]> days = new HashMap<>(); // inCount, inQuantity, outCount, outQuantity
+        for (Transaction transaction : transactions) {
+            String prefix = activityPrefix(transaction.getType() == null ? null : transaction.getType().name());
+            if (transaction.getTimestamp() == null || prefix == null) {
+                continue;
+            }
+            long[] day = days.computeIfAbsent(dayKey(transaction.getTimestamp()), key -> new long[4]);
+            int offset = "in".equals(prefix) ? 0 : 2;
+            day[offset] += sign;
+            day[offset + 1] += (long) sign * transaction.getQuantity();
+        }
+        for (Map.Entry<String, long[]> entry : days.entrySet()) {
+            long[] day = entry.getValue();
+            mongoTemplate.upsert(query(where("_id").is(entry.getKey())),
+                    new Update().inc("inCount", day[0]).inc("inQuantity", day[1])
+                            .inc("outCount", day[2]).inc("outQuantity", day[3]).inc("revision", 1),
+                    DailyActivity.class);
+        }
+    }
+
+    // A counter document is only overwritten if its revision is still the one read before the scan; one an
+    // increment landed on is rescanned, up to RECONCILE_ATTEMPTS times per run
+    @Scheduled(initialDelayString = "${inventory.dashboard.reconcile-initial-delay-ms:0}",
+            fixedDelayString = "${inventory.dashboard.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        boolean products = retried(this::reconcileProducts);
+        boolean ledger = retried(this::reconcileTransactionCount);
+        boolean today = retried(this::reconcileToday);
+        if (products && ledger && today) {
+            log.info("Dashboard counters reconciled in {} ms", System.currentTimeMillis() - started);
+        } else {
+            log.info("Dashboard counters reconciled in {} ms; still changing after {} attempts, left for the next run:"
+                    + "{}{}{}", System.currentTimeMillis() - started, RECONCILE_ATTEMPTS,
+                    products ? "" : " products", ledger ? "" : " transactionCount", today ? "" : " today");
+        }
+    }
+
+    private static boolean retried(BooleanSupplier reconcile) {
+        for (int attempt = 0; attempt < RECONCILE_ATTEMPTS; attempt++) {
+            if (reconcile.getAsBoolean()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean reconcileProducts() {
+        InventoryStats stored = mongoTemplate.findById(InventoryStats.GLOBAL_ID, InventoryStats.class);
+        Map<String, CategoryStats> storedCategories = new HashMap<>();
+        for (CategoryStats category : mongoTemplate.findAll(CategoryStats.class)) {
+            storedCategories.put(category.getId(), category);
+        }
+
+        Document value = new Document("$multiply", Arrays.asList(
+                new Document("$ifNull", Arrays.asList("$price", 0)),
+                new Document("$ifNull", Arrays.asList("$quantity", 0))));
+        Document threshold = new Document("$cond", Arrays.asList(
+                new Document("$gt", Arrays.asList("$threshold", 0)), "$threshold", StockLevels.DEFAULT_THRESHOLD));
+        Document lowStock = new Document("$cond", Arrays.asList(
+                new Document("$lte", Arrays.asList(new Document("$ifNull", Arrays.asList("$quantity", 0)), threshold)),
+                1, 0));
+
+        List<Document> pipeline = List.of(new Document("$group", new Document("_id", "$category")
+                .append("count", new Document("$sum", 1))
+                .append("value", new Document("$sum", value))
+                .append("lowStock", new Document("$sum", lowStock))));
+
+        boolean unchanged = true;
+        long productCount = 0;
+        long lowStockCount = 0;
+        double totalValue = 0;
+        for (Document group : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Product.class))
+                .aggregate(pipeline)) {
+            long count = group.get("count", Number.class).longValue();
+            double groupValue = group.get("value", Number.class).doubleValue();
+            productCount += count;
+            lowStockCount += group.get("lowStock", Number.class).longValue();
+            totalValue += groupValue;
+
+            Object category = group.get("_id");
+            if (category instanceof String name && !name.isBlank()) {
+                CategoryStats current = storedCategories.remove(name);
+                if (current == null || current.getProductCount() != count || current.getTotalValue() != groupValue) {
+                    unchanged &= setIfUnchanged(name, "revision", current == null ? 0 : current.getRevision(),
+                            new Update().set("productCount", count).set("totalValue", groupValue), CategoryStats.class);
+                }
+            }
+        }
+        for (CategoryStats gone : storedCategories.values()) {
+            unchanged &= mongoTemplate.remove(query(where("_id").is(gone.getId()))
+                    .addCriteria(revisionIs("revision", gone.getRevision())), CategoryStats.class).getDeletedCount() > 0;
+        }
+        if (stored == null || stored.getProductCount() != productCount || stored.getLowStockCount() != lowStockCount
+                || stored.getTotalValue() != totalValue) {
+            unchanged &= setIfUnchanged(InventoryStats.GLOBAL_ID, "productRevision",
+                    stored == null ? 0 : stored.getProductRevision(), new Update().set("productCount", productCount)
+                            .set("lowStockCount", lowStockCount).set("totalValue", totalValue),
+                    InventoryStats.class);
+        }
+        return unchanged;
+    }
+
+    private boolean reconcileTransactionCount() {
+        InventoryStats stored = mongoTemplate.findById(InventoryStats.GLOBAL_ID, InventoryStats.class);
+        long transactionCount = mongoTemplate.estimatedCount(Transaction.class) + coldLedger.rowCount();
+        if (stored != null && stored.getTransactionCount() == transactionCount) {
+            return true;
+        }
+        return setIfUnchanged(InventoryStats.GLOBAL_ID, "transactionRevision",
+                stored == null ? 0 : stored.getTransactionRevision(),
+                new Update().set("transactionCount", transactionCount), InventoryStats.class);
+    }
+
+    private boolean reconcileToday() {
+        LocalDate today = LocalDate.now(zone);
+        DailyActivity stored = mongoTemplate.findById(today.toString(), DailyActivity.class);
+        Instant start = today.atStartOfDay(zone).toInstant();
+        Instant end = today.plusDays(1).atStartOfDay(zone).toInstant();
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("timestamp", new Document("$gte", start).append("$lt", end))),
+                new Document("$group", new Document("_id", "$type")
+                        .append("count", new Document("$sum", 1))
+                        .append("quantity", new Document("$sum", "$quantity"))));
+
+        long[] counts = new long[4]; // inCount, inQuantity, outCount, outQuantity
+        for (Document group : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Transaction.class))
+                .aggregate(pipeline)) {
+            String prefix = activityPrefix(group.get("_id"));
+            if (prefix == null) {
+                continue;
+            }
+            int offset = "in".equals(prefix) ? 0 : 2;
+            counts[offset] = group.get("count", Number.class).longValue();
+            counts[offset + 1] = group.get("quantity", Number.class).longValue();
+        }
+        if (stored != null && stored.getInCount() == counts[0] && stored.getInQuantity() == counts[1]
+                && stored.getOutCount() == counts[2] && stored.getOutQuantity() == counts[3]) {
+            return true;
+        }
+        return setIfUnchanged(today.toString(), "revision", stored == null ? 0 : stored.getRevision(),
+                new Update().set("inCount", counts[0]).set("inQuantity", counts[1])
+                        .set("outCount", counts[2]).set("outQuantity", counts[3]),
+                DailyActivity.class);
+    }
+
+    private boolean setIfUnchanged(String id, String revisionField, long revision, Update update, Class<?> type) {
+        try {
+            UpdateResult result = mongoTemplate.upsert(
+                    query(where("_id").is(id)).addCriteria(revisionIs(revisionField, revision)), update, type);
+            return result.getMatchedCount() > 0 || result.getUpsertedId() != null;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    // Documents written before revisions existed have none, which reads back as 0
+    private static Criteria revisionIs(String field, long revision) {
+        return revision == 0 ? new Criteria().orOperator(where(field).is(0L), where(field).exists(false))
+                : where(field).is(revision);
+    }
+
+    private static String activityPrefix(Object type) {
+        if (Transaction.TransactionType.IN.name().equals(type)) {
+            return "in";
+        }
+        if (Transaction.TransactionType.OUT.name().equals(type)) {
+            return "out";
+        }
+        return null;
+    }
+
+    private static void addCategoryDelta(Map<String, double[]> deltas, String category, int count, double value) {
+        if (category == null || category.isBlank()) {
+            return;
+        }
+        double[] delta = deltas.computeIfAbsent(category, key -> new double[2]);
+        delta[0] += count;
+        delta[1] += value;
+    }
+
+    private String dayKey(Instant instant) {
+        return LocalDate.ofInstant(instant, zone).toString();
+    }
+}
@@ -0,0 +1,150 @@
+// src/main/java/com/example/inventory_tracker/service/ImportRecordReader.java
+package com.example.inventory_tracker.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// One RFC 4180 CSV record or NDJSON line at a time; a record longer than maxRecordChars ends the read, so an
+// unterminated quote cannot pull the rest of the file onto the heap
+final class ImportRecordReader {
+    private final Reader reader;
+    private final int maxRecordChars;
+    private final char[] buffer = new char[64 * 1024];
+    private int position;
+    private int limit;
+    private boolean started;
+
+    private final StringBuilder field = new StringBuilder();
+    private int recordChars;
+    private long line = 1;
+    private long recordLine;
+
+    ImportRecordReader(Reader reader, int maxRecordChars) {
+        this.reader = reader;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    // Line on which the record last returned starts
+    long recordLine() {
+        return recordLine;
+    }
+
+    // Null at the end of the input; a trailing CR is dropped
+    String nextLine() throws IOException {
+        startRecord();
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n') {
+            append(c);
+            c = read();
+        }
+        line++;
+        if (field.length() > 0 && field.charAt(field.length() - 1) == '\r') {
+            field.setLength(field.length() - 1);
+        }
+        return field.toString();
+    }
+
+    // Null at the end of the input; blank lines are skipped
+    List<String> nextCsvRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        startRecord();
+        boolean quoted = false;
+        boolean fieldQuoted = false;
+        boolean afterQuote = false;
+        boolean any = false;
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (quoted) {
+                    throw new IOException("Unterminated quoted field in the record starting on line " + recordLine);
+                }
+                if (!any) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    quoted = false;
+                    afterQuote = true;
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    append(c);
+                }
+                continue;
+            }
+            if (c == '"') {
+                if (afterQuote) {
+                    append(c); // "" inside a quoted field
+                    quoted = true;
+                } else if (field.length() == 0 && !fieldQuoted) {
+                    quoted = true;
+                    fieldQuoted = true;
+                } else {
+                    append(c);
+                }
+                afterQuote = false;
+                continue;
+            }
+            afterQuote = false;
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldQuoted = false;
+            } else if (c == '\n') {
+                line++;
+                if (fields.isEmpty() && field.length() == 0 && !fieldQuoted) {
+                    startRecord();
+                    any = false;
+                    continue;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                append(c);
+            }
+        }
+    }
+
+    private void startRecord() {
+        field.setLength(0);
+        recordChars = 0;
+        recordLine = line;
+    }
+
+    private void append(int c) throws IOException {
+        if (++recordChars > maxRecordChars) {
+            throw new IOException("The record starting on line " + recordLine + " is longer than "
+                    + maxRecordChars + " characters");
+        }
+        field.append((char) c);
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+            if (!started) {
+                started = true;
+                if (buffer[0] == '\uFEFF') {
+                    position = 1; // byte order mark written by spreadsheet exports
+                    return read();
+                }
+            }
+        }
+        return buffer[position++];
+    }
+}
@@ -1,12 +1,19 @@
 // src/main/java/com/example/inventory_tracker/service/LocationService.java
 package com.example.inventory_tracker.service;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import com.example.inventory_tracker.dto.LocationPatchDTO;
 import com.example.inventory_tracker.model.Location;
 import com.example.inventory_tracker.repository.LocationRepository;
 
@@ -15,6 +22,9 @@ public class LocationService {
     @Autowired
     private LocationRepository locationRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     public List<Location> getAllLocations() {
         return locationRepository.findAll();
     }
@@ -24,12 +34,44 @@ public class LocationService {
     }
 
     public Location createLocation(Location location) {
+        location.setVersion(null);
         return locationRepository.save(location);
     }
 
     public Location updateLocation(String id, Location location) {
-        location.setId(id);
-        return locationRepository.save(location);
+        Update update = new Update();
+        PartialUpdates.setOrUnset(update, "name", location.getName());
+        PartialUpdates.setOrUnset(update, "address", location.getAddress());
+        PartialUpdates.setOrUnset(update, "type", location.getType());
+        PartialUpdates.setOrUnset(update, "contactInfo", location.getContactInfo());
+        return modify(id, location.getVersion(), update);
+    }
+
+    public Location patchLocation(String id, LocationPatchDTO patch) {
+        Update update = new Update();
+        if (patch.getName() != null) {
+            update.set("name", patch.getName());
+        }
+        if (patch.getAddress() != null) {
+            update.set("address", patch.getAddress());
+        }
+        if (patch.getType() != null) {
+            update.set("type", patch.getType());
+        }
+        if (patch.getContactInfo() != null) {
+            update.set("contactInfo", patch.getContactInfo());
+        }
+        return modify(id, patch.getVersion(), PartialUpdates.checkNotEmpty(update));
+    }
+
+    private Location modify(String id, Long expectedVersion, Update update) {
+        Location after = mongoTemplate.findAndModify(PartialUpdates.target(id, expectedVersion), update,
+                FindAndModifyOptions.options().returnNew(true), Location.class);
+        if (after == null) {
+            throw PartialUpdates.notApplied("Location", id, expectedVersion,
+                    mongoTemplate.exists(query(where("id").is(id)), Location.class));
+        }
+        return after;
     }
 
     public void deleteLocation(String id) {
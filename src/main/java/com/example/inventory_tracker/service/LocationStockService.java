@@ -0,0 +1,187 @@
+// src/main/java/com/example/inventory_tracker/service/LocationStockService.java
+package com.example.inventory_tracker.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.inventory_tracker.dto.CursorPage;
+import com.example.inventory_tracker.model.LocationStats;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.StockLevel;
+
+// Stock per (product, location) and totals per location, derived from the products' stock fields
+@Service
+public class LocationStockService {
+    private static final Logger log = LoggerFactory.getLogger(LocationStockService.class);
+    private static final int RECONCILE_BULK_SIZE = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public CursorPage<StockLevel> getLevelsAtLocation(String locationId, String after, int limit) {
+        Query query = query(where("locationId").is(locationId))
+                .with(Sort.by(Sort.Direction.ASC, "productId"))
+                .limit(Pages.checkLimit(limit) + 1);
+        if (after != null && !after.isEmpty()) {
+            query.addCriteria(where("productId").gt(after));
+        }
+        return Pages.of(mongoTemplate.find(query, StockLevel.class), limit, StockLevel::getProductId);
+    }
+
+    public LocationStats getLocationStats(String locationId) {
+        LocationStats stats = mongoTemplate.findById(locationId, LocationStats.class);
+        if (stats == null) {
+            stats = new LocationStats();
+            stats.setId(locationId);
+        }
+        return stats;
+    }
+
+    public void productChanged(Product before, Product after) {
+        productsChanged(Collections.singletonList(before), Collections.singletonList(after));
+    }
+
+    // A level at a product's own location stays listed at zero; a level elsewhere is dropped once it is emptied
+    public void productsChanged(List<Product> befores, List<Product> afters) {
+        BulkOperations levels = null;
+        List<String> emptied = new ArrayList<>();
+        Map<String, long[]> locationDeltas = new HashMap<>(); // totalQuantity, productCount
+        for (int i = 0; i < befores.size(); i++) {
+            Product before = befores.get(i);
+            Product after = afters.get(i);
+            String productId = after != null ? after.getId() : before.getId();
+            Map<String, Integer> was = StockPlacement.levelsOf(before);
+            Map<String, Integer> is = StockPlacement.levelsOf(after);
+            Set<String> locations = new HashSet<>(was.keySet());
+            locations.addAll(is.keySet());
+            for (String location : locations) {
+                int from = was.getOrDefault(location, 0);
+                int to = is.getOrDefault(location, 0);
+                boolean listed = is.containsKey(location);
+                if (from == to && was.containsKey(location) == listed) {
+                    continue;
+                }
+                if (levels == null) {
+                    levels = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StockLevel.class);
+                }
+                String id = levelId(productId, location);
+                levels.upsert(query(where("_id").is(id)), new Update().inc("quantity", to - from)
+                        .set("productId", productId).set("locationId", location));
+                if (!listed) {
+                    emptied.add(id);
+                }
+                long[] delta = locationDeltas.computeIfAbsent(location, key -> new long[2]);
+                delta[0] += to - from;
+                delta[1] += (to > 0 ? 1 : 0) - (from > 0 ? 1 : 0);
+            }
+        }
+        if (levels == null) {
+            return;
+        }
+        levels.execute();
+        if (!emptied.isEmpty()) {
+            // Only if still at zero, so a level refilled concurrently survives
+            mongoTemplate.remove(query(where("_id").in(emptied).and("quantity").is(0)), StockLevel.class);
+        }
+        for (Map.Entry<String, long[]> entry : locationDeltas.entrySet()) {
+            long[] delta = entry.getValue();
+            if (delta[0] == 0 && delta[1] == 0) {
+                continue;
+            }
+            mongoTemplate.upsert(query(where("_id").is(entry.getKey())),
+                    new Update().inc("totalQuantity", delta[0]).inc("productCount", delta[1]), LocationStats.class);
+        }
+    }
+
+    // Writes only the levels that differ; a movement racing the scan can be overwritten until the next run
+    @Scheduled(initialDelayString = "${inventory.location-stock.reconcile-initial-delay-ms:0}",
+            fixedDelayString = "${inventory.location-stock.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        Map<String, Integer> stored = new HashMap<>();
+        Query existing = new Query().cursorBatchSize(Pages.STREAM_BATCH_SIZE);
+        existing.fields().include("quantity");
+        try (Stream<StockLevel> stream = mongoTemplate.stream(existing, StockLevel.class)) {
+            stream.forEach(level -> stored.put(level.getId(), level.getQuantity()));
+        }
+
+        Query products = new Query().cursorBatchSize(Pages.STREAM_BATCH_SIZE);
+        products.fields().include("quantity", "locationId", StockPlacement.AWAY_STOCK, StockPlacement.AWAY_QUANTITY);
+        Map<String, long[]> totals = new HashMap<>(); // totalQuantity, productCount
+        List<Update> fixes = new ArrayList<>();
+        List<String> fixIds = new ArrayList<>();
+        int[] repaired = new int[1];
+        try (Stream<Product> stream = mongoTemplate.stream(products, Product.class)) {
+            stream.forEach(product -> StockPlacement.levelsOf(product).forEach((location, quantity) -> {
+                String id = levelId(product.getId(), location);
+                Integer current = stored.remove(id);
+                if (!quantity.equals(current)) {
+                    fixIds.add(id);
+                    fixes.add(new Update().set("quantity", quantity)
+                            .set("productId", product.getId()).set("locationId", location));
+                    if (fixes.size() == RECONCILE_BULK_SIZE) {
+                        repaired[0] += writeLevels(fixIds, fixes);
+                    }
+                }
+                long[] total = totals.computeIfAbsent(location, key -> new long[2]);
+                total[0] += quantity;
+                total[1] += quantity > 0 ? 1 : 0;
+            }));
+        }
+        repaired[0] += writeLevels(fixIds, fixes);
+        if (!stored.isEmpty()) {
+            List<String> orphans = new ArrayList<>(stored.keySet());
+            for (int from = 0; from < orphans.size(); from += RECONCILE_BULK_SIZE) {
+                mongoTemplate.remove(query(where("_id").in(
+                        orphans.subList(from, Math.min(orphans.size(), from + RECONCILE_BULK_SIZE)))), StockLevel.class);
+            }
+        }
+
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            mongoTemplate.upsert(query(where("_id").is(entry.getKey())),
+                    new Update().set("totalQuantity", entry.getValue()[0]).set("productCount", entry.getValue()[1]),
+                    LocationStats.class);
+        }
+        mongoTemplate.remove(query(where("_id").nin(totals.keySet())), LocationStats.class);
+        log.info("Location stock reconciled in {} ms: {} levels rewritten, {} removed",
+                System.currentTimeMillis() - started, repaired[0], stored.size());
+    }
+
+    private int writeLevels(List<String> ids, List<Update> updates) {
+        int written = ids.size();
+        if (written > 0) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StockLevel.class);
+            for (int i = 0; i < written; i++) {
+                bulk.upsert(query(where("_id").is(ids.get(i))), updates.get(i));
+            }
+            bulk.execute();
+            ids.clear();
+            updates.clear();
+        }
+        return written;
+    }
+
+    static String levelId(String productId, String locationId) {
+        return productId + ":" + locationId;
+    }
+}
@@ -0,0 +1,155 @@
+// src/main/java/com/example/inventory_tracker/service/LowStockTracker.java
+package com.example.inventory_tracker.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.inventory_tracker.dto.FieldSelection;
+import com.example.inventory_tracker.model.Product;
+
+// Products at or below their own threshold, ordered most critical first (quantity / threshold). Until the
+// first load succeeds, callers fall back to the same rule evaluated by Mongo.
+@Component
+public class LowStockTracker {
+    private static final Logger log = LoggerFactory.getLogger(LowStockTracker.class);
+
+    private static final Comparator<Entry> SEVERITY = Comparator.comparingDouble(Entry::severity)
+            .thenComparingInt(entry -> entry.product().getQuantity())
+            .thenComparing(entry -> entry.product().getId());
+
+    // The StockLevels rule as a filter: quantity <= (threshold > 0 ? threshold : default)
+    private static final Document EFFECTIVE_THRESHOLD = new Document("$cond", Arrays.asList(
+            new Document("$gt", Arrays.asList("$threshold", 0)), "$threshold", StockLevels.DEFAULT_THRESHOLD));
+    private static final Document LOW_STOCK = new Document("$expr", new Document("$lte", Arrays.asList(
+            new Document("$ifNull", Arrays.asList("$quantity", 0)), EFFECTIVE_THRESHOLD)));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final Map<String, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry> bySeverity = new ConcurrentSkipListSet<>(SEVERITY);
+    // Ids changed while the initial load runs; the load must not overwrite their newer state
+    private final Set<String> changedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${inventory.low-stock.load-retry-interval-ms:30000}")
+    public void load() {
+        if (ready) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        changedDuringLoad.clear();
+        loading = true;
+        try (Stream<Product> products = mongoTemplate.stream(lowStockQuery(), Product.class)) {
+            products.forEach(product -> update(product.getId(), product, true));
+            ready = true;
+            log.info("Low-stock tracker loaded {} products in {} ms", byId.size(),
+                    System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.warn("Could not load low-stock products, will retry: {}", e.getMessage());
+        } finally {
+            loading = false;
+            changedDuringLoad.clear();
+        }
+    }
+
+    public void productChanged(Product before, Product after) {
+        if (before != null && (after == null || !before.getId().equals(after.getId()))) {
+            changed(before.getId(), null);
+        }
+        if (after != null) {
+            changed(after.getId(), after);
+        }
+    }
+
+    private void changed(String productId, Product product) {
+        if (loading) {
+            changedDuringLoad.add(productId);
+        }
+        update(productId, product, false);
+    }
+
+    // Per-key compute keeps the map and the ordered set in step for concurrent changes to one product.
+    // Writers mark the id before computing, so a loaded image never replaces a newer one.
+    private void update(String productId, Product product, boolean loaded) {
+        byId.compute(productId, (id, previous) -> {
+            if (loaded && changedDuringLoad.contains(id)) {
+                return previous;
+            }
+            if (previous != null) {
+                bySeverity.remove(previous);
+            }
+            if (product == null || !StockLevels.isLowStock(product)) {
+                return null;
+            }
+            Entry entry = new Entry(ProductService.copyOf(product), severity(product));
+            bySeverity.add(entry);
+            return entry;
+        });
+    }
+
+    public List<Product> mostCritical(int limit, FieldSelection fields) {
+        if (!ready) {
+            return mostCriticalFromMongo(limit, fields);
+        }
+        List<Product> critical = new ArrayList<>(Math.min(limit, byId.size()));
+        for (Entry entry : bySeverity) {
+            if (critical.size() == limit) {
+                break;
+            }
+            critical.add(ProductService.copyOf(entry.product()));
+        }
+        return critical;
+    }
+
+    private List<Product> mostCriticalFromMongo(int limit, FieldSelection fields) {
+        List<Document> pipeline = new ArrayList<>(List.of(
+                new Document("$match", LOW_STOCK),
+                new Document("$addFields", new Document("severity", new Document("$divide", Arrays.asList(
+                        new Document("$ifNull", Arrays.asList("$quantity", 0)), EFFECTIVE_THRESHOLD)))),
+                new Document("$sort", new Document("severity", 1).append("quantity", 1).append("_id", 1)),
+                new Document("$limit", limit)));
+        if (!fields.isAll()) {
+            pipeline.add(Projections.stage(fields));
+        }
+        List<Product> critical = new ArrayList<>();
+        for (Document document : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Product.class))
+                .aggregate(pipeline)) {
+            critical.add(mongoTemplate.getConverter().read(Product.class, document));
+        }
+        return critical;
+    }
+
+    private static double severity(Product product) {
+        return (double) product.getQuantity() / StockLevels.effectiveThreshold(product.getThreshold());
+    }
+
+    private static Query lowStockQuery() {
+        return new BasicQuery(LOW_STOCK).cursorBatchSize(Pages.STREAM_BATCH_SIZE);
+    }
+
+    private record Entry(Product product, double severity) {
+    }
+}
@@ -0,0 +1,39 @@
+// src/main/java/com/example/inventory_tracker/service/Pages.java
+package com.example.inventory_tracker.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.inventory_tracker.dto.CursorPage;
+
+// Keyset pages fetch limit + 1 rows, so the last page is detected without a count
+final class Pages {
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int STREAM_BATCH_SIZE = 1000;
+
+    private Pages() {
+    }
+
+    static int checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return limit;
+    }
+
+    static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, String> cursorOf) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+
+    static ResponseStatusException invalidCursor(String cursor) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+    }
+}
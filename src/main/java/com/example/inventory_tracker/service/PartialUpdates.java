@@ -0,0 +1,49 @@
+// src/main/java/com/example/inventory_tracker/service/PartialUpdates.java
+package com.example.inventory_tracker.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// PUT and PATCH as one findAndModify that $sets the given fields and matches the client's version, if sent
+final class PartialUpdates {
+    private PartialUpdates() {
+    }
+
+    static Query target(String id, Long expectedVersion) {
+        Query target = query(where("id").is(id));
+        if (expectedVersion != null) {
+            target.addCriteria(where("version").is(expectedVersion));
+        }
+        return target;
+    }
+
+    // The modify matched nothing: either the document is gone or someone else wrote it first
+    static ResponseStatusException notApplied(String kind, String id, Long expectedVersion, boolean exists) {
+        if (!exists) {
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, kind + " not found: " + id);
+        }
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                kind + " " + id + " is no longer at version " + expectedVersion + "; re-read it and retry");
+    }
+
+    static Update checkNotEmpty(Update update) {
+        if (update.getUpdateObject().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No fields to update");
+        }
+        return update;
+    }
+
+    // PUT semantics on a $set: a null field is removed, as a whole-document save would have left it out
+    static Update setOrUnset(Update update, String field, Object value) {
+        return value == null ? update.unset(field) : update.set(field, value);
+    }
+
+    static long next(Long version) {
+        return version == null ? 1 : version + 1;
+    }
+}
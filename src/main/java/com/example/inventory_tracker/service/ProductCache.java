@@ -0,0 +1,270 @@
+// src/main/java/com/example/inventory_tracker/service/ProductCache.java
+package com.example.inventory_tracker.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.inventory_tracker.dto.CacheStatsDTO;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import jakarta.annotation.PostConstruct;
+
+// Read-through cache in front of ProductRepository; absent ids are cached too, and a second map resolves SKUs
+// to ids. ProductService invalidates both on every write, so the TTL only bounds staleness from other nodes.
+// Loads run outside Caffeine's map locks, so no monitor is held around Mongo I/O.
+@Component
+public class ProductCache {
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Value("${inventory.product-cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${inventory.product-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${inventory.product-cache.negative-ttl-seconds:30}")
+    private long negativeTtlSeconds;
+
+    private AsyncCache<String, Optional<Product>> products;
+    private AsyncCache<String, Optional<String>> skuIds;
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        long ttl = Duration.ofSeconds(ttlSeconds).toNanos();
+        long negativeTtl = Duration.ofSeconds(negativeTtlSeconds).toNanos();
+        products = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Optional<Product>>() {
+                    @Override
+                    public long expireAfterCreate(String id, Optional<Product> product, long currentTime) {
+                        return product.isPresent() ? ttl : negativeTtl;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String id, Optional<Product> product, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(id, product, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String id, Optional<Product> product, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        skuIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Optional<String>>() {
+                    @Override
+                    public long expireAfterCreate(String sku, Optional<String> id, long currentTime) {
+                        return id.isPresent() ? ttl : negativeTtl;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String sku, Optional<String> id, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(sku, id, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String sku, Optional<String> id, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+    }
+
+    // Cached instances are shared, so hand out copies that callers are free to modify
+    public Optional<Product> get(String id) {
+        return load(products, id, productRepository::findById).map(ProductService::copyOf);
+    }
+
+    public Map<String, Product> getAll(Set<String> ids) {
+        Map<String, Optional<Product>> cached = loadAll(products, ids, missing -> {
+            Map<String, Optional<Product>> loaded = new HashMap<>();
+            for (String id : missing) {
+                loaded.put(id, Optional.empty());
+            }
+            for (Product product : productRepository.findAllById(missing)) {
+                loaded.put(product.getId(), Optional.of(product));
+            }
+            return loaded;
+        });
+        Map<String, Product> found = new HashMap<>();
+        cached.forEach((id, product) -> product.ifPresent(value -> found.put(id, ProductService.copyOf(value))));
+        return found;
+    }
+
+    public Optional<Product> getBySku(String sku) {
+        return load(skuIds, sku, key -> productRepository.findBySku(key).map(Product::getId))
+                .flatMap(this::get).filter(product -> sku.equals(product.getSku()));
+    }
+
+    // Keyed by SKU; unknown SKUs are left out
+    public Map<String, Product> getAllBySku(Collection<String> skus) {
+        Map<String, Optional<String>> cached = loadAll(skuIds, skus, missing -> {
+            Map<String, Optional<String>> loaded = new HashMap<>();
+            for (String sku : missing) {
+                loaded.put(sku, Optional.empty());
+            }
+            for (Product product : productRepository.findBySkuIn(missing)) {
+                loaded.put(product.getSku(), Optional.of(product.getId()));
+            }
+            return loaded;
+        });
+        Map<String, String> ids = new HashMap<>();
+        cached.forEach((sku, id) -> id.ifPresent(value -> ids.put(sku, value)));
+        Map<String, Product> byId = getAll(Set.copyOf(ids.values()));
+        Map<String, Product> found = new HashMap<>();
+        ids.forEach((sku, id) -> {
+            Product product = byId.get(id);
+            if (product != null && sku.equals(product.getSku())) {
+                found.put(sku, product);
+            }
+        });
+        return found;
+    }
+
+    // Non-loading lookups for the reactive read path, which fetches misses itself and reports them back.
+    // Null when nothing is cached or a load is still running; empty when the id or SKU is cached as absent.
+    public Optional<Product> peek(String id) {
+        Optional<Product> cached = completed(products.getIfPresent(id));
+        return cached == null ? null : cached.map(ProductService::copyOf);
+    }
+
+    public Optional<String> peekSkuId(String sku) {
+        return completed(skuIds.getIfPresent(sku));
+    }
+
+    // Taken before a reactive fetch; the result is only kept if nothing was invalidated meanwhile. It is put first
+    // and checked after, so an invalidation landing between the two can't leave it behind.
+    public long generation() {
+        return generation.get();
+    }
+
+    public void loaded(String id, Optional<Product> product, long fetchedAt) {
+        if (generation.get() == fetchedAt) {
+            products.put(id, CompletableFuture.completedFuture(product.map(ProductService::copyOf)));
+            if (generation.get() != fetchedAt) {
+                products.synchronous().invalidate(id);
+            }
+        }
+    }
+
+    public void loadedSku(String sku, Optional<Product> product, long fetchedAt) {
+        if (generation.get() == fetchedAt) {
+            skuIds.put(sku, CompletableFuture.completedFuture(product.map(Product::getId)));
+            if (generation.get() != fetchedAt) {
+                skuIds.synchronous().invalidate(sku);
+                return;
+            }
+            product.ifPresent(value -> loaded(value.getId(), product, fetchedAt));
+        }
+    }
+
+    // Removing an entry whose load is still running drops its future from the cache, so the value that load
+    // read before the write is handed only to the callers already waiting for it
+    public void invalidate(Product product) {
+        generation.incrementAndGet();
+        products.synchronous().invalidate(product.getId());
+        if (product.getSku() != null) {
+            skuIds.synchronous().invalidate(product.getSku());
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        products.synchronous().invalidateAll();
+        skuIds.synchronous().invalidateAll();
+    }
+
+    public CacheStatsDTO getStats() {
+        CacheStats stats = products.synchronous().stats();
+        CacheStatsDTO dto = new CacheStatsDTO();
+        dto.setSize(products.synchronous().estimatedSize());
+        dto.setHitCount(stats.hitCount());
+        dto.setMissCount(stats.missCount());
+        dto.setHitRate(stats.hitRate());
+        dto.setLoadCount(stats.loadCount());
+        dto.setEvictionCount(stats.evictionCount());
+        dto.setAverageLoadPenaltyMs(stats.averageLoadPenalty() / 1e6);
+        return dto;
+    }
+
+    // The mapping function runs inside ConcurrentHashMap.compute, so it only installs an incomplete future; the
+    // caller that installed it loads and completes it with no lock held
+    private static <V> V load(AsyncCache<String, V> cache, String key, Function<String, V> loader) {
+        CompletableFuture<V> placeholder = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (missing, executor) -> placeholder);
+        if (future == placeholder) {
+            try {
+                placeholder.complete(loader.apply(key));
+            } catch (RuntimeException e) {
+                placeholder.completeExceptionally(e); // a failed future is not kept, so the next get retries
+            }
+        }
+        return join(future);
+    }
+
+    // Bulk misses the same way: one placeholder covers every key this caller found missing
+    private static <V> Map<String, V> loadAll(AsyncCache<String, V> cache, Collection<String> keys,
+                                              Function<List<String>, Map<String, V>> loader) {
+        CompletableFuture<Map<String, V>> placeholder = new CompletableFuture<>();
+        List<String> missing = new ArrayList<>();
+        CompletableFuture<Map<String, V>> future = cache.getAll(keys, (absent, executor) -> {
+            missing.addAll(absent);
+            return placeholder;
+        });
+        if (!missing.isEmpty()) {
+            try {
+                placeholder.complete(loader.apply(missing));
+            } catch (RuntimeException e) {
+                placeholder.completeExceptionally(e);
+            }
+        }
+        return join(future);
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static <V> V completed(CompletableFuture<V> future) {
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        return future.join();
+    }
+}
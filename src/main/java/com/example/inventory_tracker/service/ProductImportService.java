@@ -0,0 +1,513 @@
+// src/main/java/com/example/inventory_tracker/service/ProductImportService.java
+package com.example.inventory_tracker.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.inventory_tracker.dto.ProductImportDTO;
+import com.example.inventory_tracker.dto.ProductImportErrorDTO;
+import com.example.inventory_tracker.dto.ProductRequestDTO;
+import com.example.inventory_tracker.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+
+// Rows are upserted by SKU in unordered bulk writes of batch-size rows. Fields missing from a row are left as
+// they are on existing products.
+@Service
+public class ProductImportService {
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+    private static final int DUPLICATE_KEY = 11000;
+
+    private static final List<String> FIELDS = List.of(
+            "sku", "name", "description", "price", "quantity", "locationId", "category", "threshold");
+
+    public enum Format { CSV, NDJSON }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${inventory.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${inventory.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${inventory.import.max-record-chars:1048576}")
+    private int maxRecordChars;
+
+    @Value("${inventory.import.retention-seconds:3600}")
+    private long retentionSeconds;
+
+    private final Map<String, Import> imports = new ConcurrentHashMap<>();
+
+    public ProductImportDTO importProducts(Format format, InputStream body) {
+        ImportRecordReader records = new ImportRecordReader(
+                new InputStreamReader(body, StandardCharsets.UTF_8), maxRecordChars);
+        Import job = new Import(UUID.randomUUID().toString(), format, Instant.now());
+        String[] columns = null;
+        if (format == Format.CSV) {
+            try {
+                columns = readHeader(records);
+            } catch (IOException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unreadable CSV header: " + e.getMessage());
+            }
+        }
+        imports.put(job.id, job);
+        log.info("Product import {} started ({})", job.id, format);
+        List<Row> batch = new ArrayList<>(batchSize);
+        Set<String> batchSkus = new HashSet<>();
+        try {
+            Row row;
+            while ((row = format == Format.CSV ? nextCsvRow(records, columns) : nextNdjsonRow(records)) != null) {
+                job.rowsRead++;
+                String error = row.error != null ? row.error : validate(row.values);
+                if (error != null) {
+                    job.reject(row.line, row.values == null ? null : row.values.getSku(), error, maxReportedErrors);
+                    continue;
+                }
+                // A SKU repeated within a batch would race inside the unordered write, so the batch is cut there
+                if (!batchSkus.add(row.values.getSku())) {
+                    flush(batch, job);
+                    batchSkus.clear();
+                    batchSkus.add(row.values.getSku());
+                }
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    flush(batch, job);
+                    batchSkus.clear();
+                }
+            }
+            flush(batch, job);
+            job.finish("COMPLETED", null);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Product import {} failed after {} rows: {}", job.id, job.rowsRead, e.getMessage());
+            job.finish("FAILED", e.getMessage());
+        }
+        log.info("Product import {} {}: {} rows, {} inserted, {} updated, {} rejected in {} ms", job.id, job.status,
+                job.rowsRead, job.inserted, job.updated, job.rejected, job.toDto().getDurationMs());
+        return job.toDto();
+    }
+
+    public Optional<ProductImportDTO> getImport(String importId) {
+        Import job = imports.get(importId);
+        return job == null ? Optional.empty() : Optional.of(job.toDto());
+    }
+
+    public List<ProductImportDTO> getImports() {
+        return imports.values().stream()
+                .sorted(Comparator.comparing((Import job) -> job.startedAt).reversed())
+                .map(Import::toDto)
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.import.sweep-interval-ms:60000}")
+    public void evictFinishedImports() {
+        Instant cutoff = Instant.now().minusSeconds(retentionSeconds);
+        imports.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(cutoff));
+    }
+
+    private String[] readHeader(ImportRecordReader records) throws IOException {
+        List<String> header = records.nextCsvRecord();
+        if (header == null) {
+            return new String[0];
+        }
+        Map<String, String> known = new HashMap<>();
+        for (String field : FIELDS) {
+            known.put(field.toLowerCase(Locale.ROOT), field);
+        }
+        known.put("id", "id"); // written by the product export; the SKU is the import key, so it is ignored
+        String[] columns = new String[header.size()];
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < columns.length; i++) {
+            String column = known.get(header.get(i).trim().toLowerCase(Locale.ROOT));
+            if (column == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown CSV column '" + header.get(i) + "'; expected some of " + FIELDS);
+            }
+            if (!seen.add(column)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate CSV column '" + column + "'");
+            }
+            columns[i] = column;
+        }
+        if (!seen.contains("sku") || !seen.contains("name")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The CSV header must name sku and name columns");
+        }
+        return columns;
+    }
+
+    private Row nextCsvRow(ImportRecordReader records, String[] columns) throws IOException {
+        List<String> record = records.nextCsvRecord();
+        if (record == null) {
+            return null;
+        }
+        Row row = new Row(records.recordLine());
+        row.values = new ProductRequestDTO();
+        if (record.size() != columns.length) {
+            row.error = "Expected " + columns.length + " fields, found " + record.size();
+            return row;
+        }
+        for (int i = 0; i < columns.length; i++) {
+            String value = record.get(i).trim();
+            String column = columns[i];
+            try {
+                switch (column) {
+                    case "id" -> {
+                        continue;
+                    }
+                    case "sku" -> row.values.setSku(value);
+                    case "name" -> row.values.setName(value);
+                    case "description" -> row.values.setDescription(value.isEmpty() ? null : value);
+                    case "locationId" -> row.values.setLocationId(value.isEmpty() ? null : value);
+                    case "category" -> row.values.setCategory(value.isEmpty() ? null : value);
+                    case "price" -> row.values.setPrice(value.isEmpty() ? 0 : Double.parseDouble(value));
+                    case "quantity" -> row.values.setQuantity(value.isEmpty() ? 0 : Integer.parseInt(value));
+                    case "threshold" -> row.values.setThreshold(value.isEmpty() ? 0 : Integer.parseInt(value));
+                    default -> throw new IllegalStateException(column);
+                }
+            } catch (NumberFormatException e) {
+                row.error = column + " is not a number: " + value;
+                return row;
+            }
+            // An empty numeric cell leaves the stored value alone
+            if (!value.isEmpty() || !isNumeric(column)) {
+                row.present.add(column);
+            }
+        }
+        return row;
+    }
+
+    private Row nextNdjsonRow(ImportRecordReader records) throws IOException {
+        String line;
+        do {
+            line = records.nextLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        Row row = new Row(records.recordLine());
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (!node.isObject()) {
+                row.error = "Expected a JSON object";
+                return row;
+            }
+            row.values = objectMapper.treeToValue(node, ProductRequestDTO.class);
+            for (Iterator<String> names = node.fieldNames(); names.hasNext(); ) {
+                String name = names.next();
+                if (FIELDS.contains(name)) {
+                    row.present.add(name);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            row.error = "Malformed JSON: " + e.getOriginalMessage();
+        }
+        return row;
+    }
+
+    private static boolean isNumeric(String field) {
+        return field.equals("price") || field.equals("quantity") || field.equals("threshold");
+    }
+
+    private static String validate(ProductRequestDTO values) {
+        if (values.getSku() == null || values.getSku().isBlank()) {
+            return "sku is required";
+        }
+        if (values.getName() == null || values.getName().isBlank()) {
+            return "name is required";
+        }
+        if (!(values.getPrice() >= 0) || Double.isInfinite(values.getPrice())) {
+            return "price must be a non-negative number";
+        }
+        if (values.getQuantity() < 0) {
+            return "quantity must not be negative";
+        }
+        if (values.getThreshold() < 0) {
+            return "threshold must not be negative";
+        }
+        return null;
+    }
+
+    private void flush(List<Row> batch, Import job) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<String> skus = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            skus.add(row.values.getSku());
+        }
+        Map<String, Product> current = new HashMap<>();
+        for (Product product : mongoTemplate.find(query(where("sku").in(skus)), Product.class)) {
+            current.put(product.getSku(), product);
+        }
+
+        // Rows that would leave their product as it is are not written, so its version only moves on a change.
+        // Rows that would strand stock held at other locations are rejected, as PUT and PATCH reject them.
+        List<Row> writes = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            Product before = current.get(row.values.getSku());
+            Product after = before == null ? null : apply(before, row, null);
+            String conflict = before == null ? null : StockPlacement.directWriteConflict(before, after);
+            if (before != null && sameContent(before, after)) {
+                job.unchanged++;
+            } else if (conflict != null) {
+                job.reject(row.line, row.values.getSku(), conflict, maxReportedErrors);
+            } else {
+                writes.add(row);
+            }
+        }
+        if (writes.isEmpty()) {
+            batch.clear();
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        for (Row row : writes) {
+            bulk.upsert(query(where("sku").is(row.values.getSku())), toUpdate(row));
+        }
+        BulkWriteResult result;
+        Map<Integer, BulkWriteError> failed = new HashMap<>();
+        try {
+            result = bulk.execute();
+        } catch (BulkOperationException e) {
+            result = e.getResult();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.put(error.getIndex(), error);
+            }
+        }
+        Map<Integer, String> insertedIds = new HashMap<>();
+        for (BulkWriteUpsert upsert : result.getUpserts()) {
+            insertedIds.put(upsert.getIndex(), idOf(upsert.getId()));
+        }
+        job.inserted += result.getUpserts().size();
+        job.updated += result.getModifiedCount();
+        job.unchanged += result.getMatchedCount() - result.getModifiedCount();
+
+        List<Product> befores = new ArrayList<>(writes.size());
+        List<Product> afters = new ArrayList<>(writes.size());
+        for (int i = 0; i < writes.size(); i++) {
+            Row row = writes.get(i);
+            Product before = current.get(row.values.getSku());
+            Product after;
+            BulkWriteError error = failed.get(i);
+            if (error == null) {
+                after = apply(before, row, insertedIds.get(i));
+            } else if (error.getCode() == DUPLICATE_KEY) {
+                // Another writer inserted the SKU between our read and our upsert; it now matches
+                try {
+                    before = mongoTemplate.findAndModify(query(where("sku").is(row.values.getSku())), toUpdate(row),
+                            FindAndModifyOptions.options().upsert(true), Product.class);
+                } catch (DuplicateKeyException retryFailed) {
+                    job.reject(row.line, row.values.getSku(), "SKU is being written concurrently", maxReportedErrors);
+                    continue;
+                }
+                after = before == null
+                        ? mongoTemplate.findOne(query(where("sku").is(row.values.getSku())), Product.class)
+                        : apply(before, row, null);
+                if (before == null) {
+                    job.inserted++;
+                } else {
+                    job.updated++;
+                }
+            } else {
+                job.reject(row.line, row.values.getSku(), error.getMessage(), maxReportedErrors);
+                continue;
+            }
+            if (before == null || !sameContent(before, after)) {
+                befores.add(before);
+                afters.add(after);
+            }
+        }
+        if (!befores.isEmpty()) {
+            productService.productsChanged(befores, afters);
+        }
+        batch.clear();
+    }
+
+    private static Update toUpdate(Row row) {
+        ProductRequestDTO values = row.values;
+        // Bulk upserts don't bump the version the way findAndModify does; an insert starts it at 1
+        Update update = new Update().inc("version", 1);
+        for (String field : row.present) {
+            switch (field) {
+                case "name" -> update.set("name", values.getName());
+                case "description" -> update.set("description", values.getDescription());
+                case "price" -> update.set("price", values.getPrice());
+                case "quantity" -> update.set("quantity", values.getQuantity());
+                case "locationId" -> update.set("locationId", values.getLocationId());
+                case "category" -> update.set("category", values.getCategory());
+                case "threshold" -> update.set("threshold", values.getThreshold());
+                default -> { } // sku comes from the query on insert and never changes on update
+            }
+        }
+        return update;
+    }
+
+    // The document as the upsert left it, without reading it back
+    private static Product apply(Product before, Row row, String insertedId) {
+        Product after;
+        if (before != null) {
+            after = ProductService.copyOf(before);
+        } else {
+            after = new Product();
+            after.setId(insertedId);
+            after.setSku(row.values.getSku());
+        }
+        ProductRequestDTO values = row.values;
+        Set<String> present = row.present;
+        if (present.contains("name")) {
+            after.setName(values.getName());
+        }
+        if (present.contains("description")) {
+            after.setDescription(values.getDescription());
+        }
+        if (present.contains("price")) {
+            after.setPrice(values.getPrice());
+        }
+        if (present.contains("quantity")) {
+            after.setQuantity(values.getQuantity());
+        }
+        if (present.contains("locationId")) {
+            after.setLocationId(values.getLocationId());
+        }
+        if (present.contains("category")) {
+            after.setCategory(values.getCategory());
+        }
+        if (present.contains("threshold")) {
+            after.setThreshold(values.getThreshold());
+        }
+        after.setVersion(before == null || before.getVersion() == null ? 1L : before.getVersion() + 1);
+        return after;
+    }
+
+    private static boolean sameContent(Product a, Product b) {
+        return Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getDescription(), b.getDescription())
+                && Double.compare(a.getPrice(), b.getPrice()) == 0
+                && a.getQuantity() == b.getQuantity()
+                && Objects.equals(a.getLocationId(), b.getLocationId())
+                && Objects.equals(a.getCategory(), b.getCategory())
+                && a.getThreshold() == b.getThreshold();
+    }
+
+    private static String idOf(BsonValue id) {
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.toString();
+    }
+
+    private static final class Row {
+        final long line;
+        final Set<String> present = new HashSet<>();
+        ProductRequestDTO values;
+        String error;
+
+        Row(long line) {
+            this.line = line;
+        }
+    }
+
+    // Counters have a single writer, the importing thread; progress readers see them through volatile reads
+    private static final class Import {
+        final String id;
+        final Format format;
+        final Instant startedAt;
+        final List<ProductImportErrorDTO> errors = new ArrayList<>();
+        volatile String status = "RUNNING";
+        volatile String error;
+        volatile long rowsRead;
+        volatile long inserted;
+        volatile long updated;
+        volatile long unchanged;
+        volatile long rejected;
+        volatile Instant completedAt;
+
+        Import(String id, Format format, Instant startedAt) {
+            this.id = id;
+            this.format = format;
+            this.startedAt = startedAt;
+        }
+
+        void reject(long line, String sku, String reason, int maxReported) {
+            rejected++;
+            synchronized (errors) {
+                if (errors.size() < maxReported) {
+                    ProductImportErrorDTO dto = new ProductImportErrorDTO();
+                    dto.setLine(line);
+                    dto.setSku(sku);
+                    dto.setError(reason);
+                    errors.add(dto);
+                }
+            }
+        }
+
+        void finish(String finalStatus, String reason) {
+            error = reason;
+            completedAt = Instant.now();
+            status = finalStatus;
+        }
+
+        ProductImportDTO toDto() {
+            ProductImportDTO dto = new ProductImportDTO();
+            dto.setImportId(id);
+            dto.setFormat(format.name());
+            dto.setStatus(status);
+            dto.setRowsRead(rowsRead);
+            dto.setInserted(inserted);
+            dto.setUpdated(updated);
+            dto.setUnchanged(unchanged);
+            dto.setRejected(rejected);
+            dto.setError(error);
+            synchronized (errors) {
+                dto.setErrors(new ArrayList<>(errors));
+            }
+            dto.setStartedAt(startedAt);
+            Instant end = completedAt;
+            dto.setCompletedAt(end);
+            dto.setDurationMs((end != null ? end : Instant.now()).toEpochMilli() - startedAt.toEpochMilli());
+            return dto;
+        }
+    }
+}
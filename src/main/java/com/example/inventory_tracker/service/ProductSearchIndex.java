@@ -0,0 +1,452 @@
+// src/main/java/com/example/inventory_tracker/service/ProductSearchIndex.java
+package com.example.inventory_tracker.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.inventory_tracker.model.Product;
+
+// In-process inverted index over product name, SKU and category. Every word contributes its trigrams and its
+// one- and two-character prefixes. Postings are append-only: a changed product gets a new doc id, the old one is
+// marked dead, and compaction rebuilds the index once enough are. Queries matching more than max-candidates
+// products rank only the newest matches.
+@Component
+public class ProductSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    // Edge grams are keyed with a prefix no normalised text can contain, so they never collide with trigrams
+    private static final char EDGE = '\u0001';
+    private static final int SKU = 0;
+    private static final int NAME = 1;
+    private static final int CATEGORY = 2;
+    private static final int[] FIELD_WEIGHTS = {4, 2, 1};
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${inventory.search.compaction-dead-ratio:0.25}")
+    private double compactionDeadRatio;
+
+    @Value("${inventory.search.max-candidates:2048}")
+    private int maxCandidates;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // All guarded by lock. While a rebuild runs, changes are applied to the live segment and also recorded
+    // in pending (null value = removed) so they can be replayed onto the rebuilt one.
+    private Segment segment;
+    private Map<String, Product> pending;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${inventory.search.compaction-interval-ms:60000}")
+    public void maintain() {
+        try {
+            if (!ready) {
+                lock.writeLock().lock();
+                try {
+                    pending = new HashMap<>();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                rebuild(consumer -> {
+                    try (Stream<Product> products = mongoTemplate.stream(
+                            new Query().cursorBatchSize(Pages.STREAM_BATCH_SIZE), Product.class)) {
+                        products.forEach(consumer);
+                    }
+                });
+                return;
+            }
+            List<Product> live = beginCompaction();
+            if (live != null) {
+                rebuild(live::forEach);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Product search index maintenance failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    // Null if not enough docs are dead yet. The copy and pending are taken under one write lock, so a change lands
+    // either in the copy or in pending and never only on the segment about to be replaced.
+    List<Product> beginCompaction() {
+        lock.readLock().lock();
+        try {
+            if (!compactionDue()) {
+                return null;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (!compactionDue()) {
+                return null;
+            }
+            pending = new HashMap<>();
+            return segment.liveProducts();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean compactionDue() {
+        return segment.deadCount >= Math.max(1_000, segment.docs.size() * compactionDeadRatio);
+    }
+
+    // Called with pending already installed, so every change from then on is replayed onto the new segment
+    void rebuild(Consumer<Consumer<Product>> source) {
+        long started = System.currentTimeMillis();
+        Segment rebuilt = new Segment();
+        try {
+            source.accept(rebuilt::put);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<String, Product> change : pending.entrySet()) {
+                if (change.getValue() == null) {
+                    rebuilt.remove(change.getKey());
+                } else {
+                    rebuilt.put(change.getValue());
+                }
+            }
+            pending = null;
+            segment = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product search index built: {} products, {} grams in {} ms",
+                rebuilt.docIds.size(), rebuilt.grams.size(), System.currentTimeMillis() - started);
+    }
+
+    public void productChanged(Product before, Product after) {
+        lock.writeLock().lock();
+        try {
+            if (before != null && (after == null || !before.getId().equals(after.getId()))) {
+                record(before.getId(), null);
+            }
+            if (after != null) {
+                record(after.getId(), ProductService.copyOf(after));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void record(String productId, Product product) {
+        if (pending != null) {
+            pending.put(productId, product);
+        }
+        if (segment != null) {
+            if (product == null) {
+                segment.remove(productId);
+            } else {
+                segment.put(product);
+            }
+        }
+    }
+
+    // Every query word must match a word of the product (prefix for one or two characters, substring otherwise).
+    // Ranked by where the words matched: an exact SKU beats a name prefix, which beats a category substring.
+    public List<Product> search(String text, int limit) {
+        String[] terms = tokens(text);
+        if (terms.length == 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return segment == null ? List.of() : segment.search(terms, normalize(text), limit, maxCandidates);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        int length = normalized.length();
+        return space && length > 0 ? normalized.substring(0, length - 1) : normalized.toString();
+    }
+
+    static String[] tokens(String text) {
+        String normalized = normalize(text);
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    private static void gramsOf(String token, Set<String> grams) {
+        grams.add(EDGE + token.substring(0, 1));
+        if (token.length() >= 2) {
+            grams.add(EDGE + token.substring(0, 2));
+        }
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            grams.add(token.substring(i, i + 3));
+        }
+    }
+
+    private static void queryGramsOf(String term, Set<String> grams) {
+        if (term.length() < 3) {
+            grams.add(EDGE + term);
+            return;
+        }
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            grams.add(term.substring(i, i + 3));
+        }
+    }
+
+    private static final class Doc {
+        final Product product;
+        final String sku;
+        final String[] tokens;
+        final int[] weights;
+
+        Doc(Product product) {
+            this.product = product;
+            this.sku = normalize(product.getSku());
+            String[][] fields = new String[3][];
+            fields[SKU] = tokens(product.getSku());
+            fields[NAME] = tokens(product.getName());
+            fields[CATEGORY] = tokens(product.getCategory());
+            int count = fields[SKU].length + fields[NAME].length + fields[CATEGORY].length;
+            this.tokens = new String[count];
+            this.weights = new int[count];
+            int next = 0;
+            for (int field = 0; field < fields.length; field++) {
+                for (String token : fields[field]) {
+                    tokens[next] = token;
+                    weights[next++] = FIELD_WEIGHTS[field];
+                }
+            }
+        }
+
+        boolean sameTerms(Product other) {
+            return Objects.equals(product.getName(), other.getName())
+                    && Objects.equals(product.getSku(), other.getSku())
+                    && Objects.equals(product.getCategory(), other.getCategory());
+        }
+
+        // 0 when a term does not match any word; otherwise higher for stronger matches
+        int score(String[] terms, String query) {
+            int total = query.equals(sku) ? 100 : 0;
+            for (String term : terms) {
+                int best = 0;
+                for (int i = 0; i < tokens.length; i++) {
+                    String token = tokens[i];
+                    int match = !token.startsWith(term) ? (term.length() >= 3 && token.contains(term) ? 1 : 0)
+                            : token.length() == term.length() ? 3 : 2;
+                    best = Math.max(best, match * weights[i]);
+                }
+                if (best == 0) {
+                    return 0;
+                }
+                total += best;
+            }
+            return total;
+        }
+    }
+
+    // Sorted, append-only list of doc ids
+    static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int docId) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = docId;
+        }
+
+        // Last position at or before from whose id is <= docId, or -1. Gallops back from the previous
+        // position first, since intersection walks every list in the same direction.
+        int seekBack(int from, int docId) {
+            int high = from;
+            int step = 1;
+            while (high >= 0 && ids[high] > docId) {
+                high -= step;
+                step <<= 1;
+            }
+            if (high >= 0 && ids[high] == docId) {
+                return high;
+            }
+            int low = Math.max(high, 0);
+            high = Math.min(from, high + (step >> 1));
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (ids[mid] <= docId) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+    }
+
+    private static final class Segment {
+        final List<Doc> docs = new ArrayList<>();
+        final Map<String, Integer> docIds = new HashMap<>();
+        final Map<String, Postings> grams = new HashMap<>();
+        final BitSet dead = new BitSet();
+        int deadCount;
+
+        void put(Product product) {
+            Integer existing = docIds.get(product.getId());
+            if (existing != null && docs.get(existing).sameTerms(product)) {
+                // Stock movements and price edits do not change what the product is found by
+                docs.set(existing, new Doc(product));
+                return;
+            }
+            remove(product.getId());
+            Doc doc = new Doc(product);
+            int docId = docs.size();
+            docs.add(doc);
+            docIds.put(product.getId(), docId);
+            Set<String> docGrams = new HashSet<>();
+            for (String token : doc.tokens) {
+                gramsOf(token, docGrams);
+            }
+            for (String gram : docGrams) {
+                grams.computeIfAbsent(gram, key -> new Postings()).add(docId);
+            }
+        }
+
+        void remove(String productId) {
+            Integer docId = docIds.remove(productId);
+            if (docId != null) {
+                dead.set(docId);
+                deadCount++;
+            }
+        }
+
+        List<Product> liveProducts() {
+            List<Product> live = new ArrayList<>(docIds.size());
+            for (int docId : docIds.values()) {
+                live.add(docs.get(docId).product);
+            }
+            return live;
+        }
+
+        // Walks the shortest posting list newest first, seeking the others backwards to intersect
+        List<Product> search(String[] terms, String query, int limit, int maxCandidates) {
+            Set<String> queryGrams = new HashSet<>();
+            for (String term : terms) {
+                queryGramsOf(term, queryGrams);
+            }
+            Postings[] lists = new Postings[queryGrams.size()];
+            int n = 0;
+            for (String gram : queryGrams) {
+                Postings postings = grams.get(gram);
+                if (postings == null) {
+                    return List.of();
+                }
+                lists[n++] = postings;
+            }
+            Arrays.sort(lists, Comparator.comparingInt(postings -> postings.size));
+
+            PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1);
+            int[] positions = new int[lists.length];
+            for (int l = 1; l < lists.length; l++) {
+                positions[l] = lists[l].size - 1;
+            }
+            Postings shortest = lists[0];
+            int matched = 0;
+            candidates:
+            for (int i = shortest.size - 1; i >= 0 && matched < maxCandidates; i--) {
+                int docId = shortest.ids[i];
+                if (dead.get(docId)) {
+                    continue;
+                }
+                for (int l = 1; l < lists.length; l++) {
+                    positions[l] = lists[l].seekBack(positions[l], docId);
+                    if (positions[l] < 0) {
+                        break candidates;
+                    }
+                    if (lists[l].ids[positions[l]] != docId) {
+                        continue candidates;
+                    }
+                }
+                Doc doc = docs.get(docId);
+                int score = doc.score(terms, query);
+                if (score == 0) {
+                    continue;
+                }
+                matched++;
+                if (top.size() < limit) {
+                    top.add(new Scored(doc, docId, score));
+                } else if (score >= top.peek().score) {
+                    Scored scored = new Scored(doc, docId, score);
+                    if (scored.compareTo(top.peek()) > 0) {
+                        top.poll();
+                        top.add(scored);
+                    }
+                }
+            }
+
+            Product[] ranked = new Product[top.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = ProductService.copyOf(top.poll().doc.product);
+            }
+            return Arrays.asList(ranked);
+        }
+    }
+
+    // Natural order is worst first: lower score, then longer name, then older doc
+    private record Scored(Doc doc, int docId, int score) implements Comparable<Scored> {
+        @Override
+        public int compareTo(Scored other) {
+            if (score != other.score) {
+                return Integer.compare(score, other.score);
+            }
+            int byLength = Integer.compare(nameLength(other.doc), nameLength(doc));
+            return byLength != 0 ? byLength : Integer.compare(docId, other.docId);
+        }
+
+        private static int nameLength(Doc doc) {
+            return doc.product.getName() == null ? 0 : doc.product.getName().length();
+        }
+    }
+}
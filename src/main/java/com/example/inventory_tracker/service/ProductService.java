@@ -1,46 +1,413 @@
 // src/main/java/com/example/inventory_tracker/service/ProductService.java
 package com.example.inventory_tracker.service;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.example.inventory_tracker.config.MongoClientOptions;
+import com.example.inventory_tracker.dto.CacheStatsDTO;
+import com.example.inventory_tracker.dto.CursorPage;
+import com.example.inventory_tracker.dto.FieldSelection;
+import com.example.inventory_tracker.dto.ProductPatchDTO;
+import com.example.inventory_tracker.dto.SkuLookupResponseDTO;
 import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.StockLevel;
 import com.example.inventory_tracker.repository.ProductRepository;
 
 @Service
 public class ProductService {
+    static final int MAX_SKU_LOOKUP = 1000;
+    static final int MAX_SEARCH_LIMIT = 500;
+    private static final Pattern DUPLICATE_INDEX = Pattern.compile("index: (\\S+) dup key");
+
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private LowStockTracker lowStockTracker;
+
+    @Autowired
+    private StockEventBroadcaster stockEventBroadcaster;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private LocationStockService locationStockService;
+
+    @Autowired
+    private MongoClientOptions mongoClientOptions;
+
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
 
+    public List<Product> getAllProducts(FieldSelection fields) {
+        return mongoTemplate.find(Projections.project(new Query(), fields), Product.class);
+    }
+
+    public CursorPage<Product> getProductsPage(String after, int limit, FieldSelection fields) {
+        Query query = Projections.project(new Query().with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(Pages.checkLimit(limit) + 1), fields);
+        if (after != null && !after.isEmpty()) {
+            if (!ObjectId.isValid(after)) {
+                throw Pages.invalidCursor(after);
+            }
+            query.addCriteria(where("id").gt(after));
+        }
+        return Pages.of(mongoTemplate.find(query, Product.class), limit, Product::getId);
+    }
+
+    public Stream<Product> streamAllProducts() {
+        return mongoTemplate.stream(new Query().cursorBatchSize(Pages.STREAM_BATCH_SIZE), Product.class);
+    }
+
+    public Stream<Product> streamProducts(String category, String locationId) {
+        Criteria match = new Criteria();
+        if (category != null) {
+            match.and("category").is(category);
+        }
+        if (locationId != null) {
+            match.and("locationId").is(locationId);
+        }
+        return mongoTemplate.stream(mongoClientOptions.forExport(query(match))
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .cursorBatchSize(Pages.STREAM_BATCH_SIZE), Product.class);
+    }
+
     public Optional<Product> getProductById(String id) {
-        return productRepository.findById(id);
+        return productCache.get(id);
+    }
+
+    public Optional<Product> getProductBySku(String sku) {
+        return productCache.getBySku(sku);
+    }
+
+    public SkuLookupResponseDTO getProductsBySku(List<String> skus) {
+        if (skus == null || skus.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one SKU is required");
+        }
+        if (skus.size() > MAX_SKU_LOOKUP) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_SKU_LOOKUP + " SKUs can be resolved per request");
+        }
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String sku : skus) {
+            if (sku != null && !sku.isEmpty()) {
+                distinct.add(sku);
+            }
+        }
+        Map<String, Product> found = productCache.getAllBySku(distinct);
+        SkuLookupResponseDTO response = new SkuLookupResponseDTO();
+        List<Product> products = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+        for (String sku : distinct) {
+            Product product = found.get(sku);
+            if (product != null) {
+                products.add(product);
+            } else {
+                missing.add(sku);
+            }
+        }
+        response.setProducts(products);
+        response.setMissing(missing);
+        return response;
+    }
+
+    public Optional<List<StockLevel>> getStockLevels(String id) {
+        return productCache.get(id).map(ProductService::stockLevelsOf);
+    }
+
+    static List<StockLevel> stockLevelsOf(Product product) {
+        List<StockLevel> levels = new ArrayList<>();
+        StockPlacement.levelsOf(product).forEach((locationId, quantity) -> {
+            StockLevel level = new StockLevel();
+            level.setId(LocationStockService.levelId(product.getId(), locationId));
+            level.setProductId(product.getId());
+            level.setLocationId(locationId);
+            level.setQuantity(quantity);
+            levels.add(level);
+        });
+        levels.sort(Comparator.comparing(StockLevel::getLocationId));
+        return levels;
+    }
+
+    public CacheStatsDTO getCacheStats() {
+        return productCache.getStats();
     }
 
     public Product createProduct(Product product) {
-        return productRepository.save(product);
+        product.setVersion(null);
+        product.setAwayStock(null);
+        product.setAwayQuantity(0);
+        Product saved = save(product);
+        productChanged(null, saved);
+        return saved;
     }
 
+    // Stock held at other locations is not part of the body and stays as it is
     public Product updateProduct(String id, Product product) {
         product.setId(id);
-        return productRepository.save(product);
+        return modify(id, product.getVersion(), replacing(product), product.getQuantity(), product.getLocationId(),
+                before -> product);
+    }
+
+    public Product patchProduct(String id, ProductPatchDTO patch) {
+        return modify(id, patch.getVersion(), PartialUpdates.checkNotEmpty(patching(patch)), patch.getQuantity(),
+                patch.getLocationId(), before -> patched(before, patch));
+    }
+
+    // quantity and locationId are the values being set, if any
+    private Product modify(String id, Long expectedVersion, Update update, Integer quantity, String locationId,
+                           UnaryOperator<Product> apply) {
+        Query target = PartialUpdates.target(id, expectedVersion);
+        StockPlacement.guardDirectWrite(target, update, quantity, locationId);
+        Product before;
+        try {
+            before = mongoTemplate.findAndModify(target, update, Product.class);
+        } catch (DuplicateKeyException e) {
+            throw duplicateKey(e, id, update.getUpdateObject().get("$set", Document.class).getString("sku"));
+        }
+        if (before == null) {
+            throw notApplied(id, expectedVersion, mongoTemplate.findById(id, Product.class), apply);
+        }
+        Product after = written(before, apply);
+        productChanged(before, after);
+        return after;
+    }
+
+    // Why a guarded PUT or PATCH matched nothing, given the product as it is now
+    static ResponseStatusException notApplied(String id, Long expectedVersion, Product current,
+                                              UnaryOperator<Product> apply) {
+        if (current == null || expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            return PartialUpdates.notApplied("Product", id, expectedVersion, current != null);
+        }
+        String conflict = StockPlacement.directWriteConflict(current, apply.apply(current));
+        return new ResponseStatusException(HttpStatus.CONFLICT, conflict != null ? conflict
+                : "Product " + id + " changed while it was being written; re-read it and retry");
+    }
+
+    // The post-image of a PUT or PATCH: the body's fields over the pre-image, whose stock elsewhere is untouched
+    static Product written(Product before, UnaryOperator<Product> apply) {
+        Product after = apply.apply(before);
+        after.setAwayStock(before.getAwayStock() == null ? null : new HashMap<>(before.getAwayStock()));
+        if (after.getAwayStock() != null) {
+            after.getAwayStock().remove(after.getLocationId());
+        }
+        after.setAwayQuantity(before.getAwayQuantity());
+        after.setVersion(PartialUpdates.next(before.getVersion()));
+        return after;
+    }
+
+    static Update replacing(Product product) {
+        Update update = new Update()
+                .set("price", product.getPrice())
+                .set("quantity", product.getQuantity())
+                .set("threshold", product.getThreshold());
+        PartialUpdates.setOrUnset(update, "name", product.getName());
+        PartialUpdates.setOrUnset(update, "sku", product.getSku());
+        PartialUpdates.setOrUnset(update, "description", product.getDescription());
+        PartialUpdates.setOrUnset(update, "locationId", product.getLocationId());
+        PartialUpdates.setOrUnset(update, "category", product.getCategory());
+        return update;
+    }
+
+    static Update patching(ProductPatchDTO patch) {
+        Update update = new Update();
+        if (patch.getName() != null) {
+            update.set("name", patch.getName());
+        }
+        if (patch.getSku() != null) {
+            update.set("sku", patch.getSku());
+        }
+        if (patch.getDescription() != null) {
+            update.set("description", patch.getDescription());
+        }
+        if (patch.getPrice() != null) {
+            update.set("price", patch.getPrice());
+        }
+        if (patch.getQuantity() != null) {
+            update.set("quantity", patch.getQuantity());
+        }
+        if (patch.getLocationId() != null) {
+            update.set("locationId", patch.getLocationId());
+        }
+        if (patch.getCategory() != null) {
+            update.set("category", patch.getCategory());
+        }
+        if (patch.getThreshold() != null) {
+            update.set("threshold", patch.getThreshold());
+        }
+        return update;
+    }
+
+    // Products have two unique keys, _id and the sku index; the index the server names tells which was taken
+    static ResponseStatusException duplicateKey(DuplicateKeyException e, String id, String sku) {
+        Matcher index = DUPLICATE_INDEX.matcher(String.valueOf(e.getMessage()));
+        String name = index.find() ? index.group(1) : "";
+        if (name.equals("_id_")) {
+            return new ResponseStatusException(HttpStatus.CONFLICT, "Product already exists: " + id);
+        }
+        if (name.startsWith("sku")) {
+            return new ResponseStatusException(HttpStatus.CONFLICT, "SKU already exists: " + sku);
+        }
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "Duplicate key: " + e.getMostSpecificCause().getMessage());
+    }
+
+    static Product patched(Product before, ProductPatchDTO patch) {
+        Product product = copyOf(before);
+        if (patch.getName() != null) {
+            product.setName(patch.getName());
+        }
+        if (patch.getSku() != null) {
+            product.setSku(patch.getSku());
+        }
+        if (patch.getDescription() != null) {
+            product.setDescription(patch.getDescription());
+        }
+        if (patch.getPrice() != null) {
+            product.setPrice(patch.getPrice());
+        }
+        if (patch.getQuantity() != null) {
+            product.setQuantity(patch.getQuantity());
+        }
+        if (patch.getLocationId() != null) {
+            product.setLocationId(patch.getLocationId());
+        }
+        if (patch.getCategory() != null) {
+            product.setCategory(patch.getCategory());
+        }
+        if (patch.getThreshold() != null) {
+            product.setThreshold(patch.getThreshold());
+        }
+        return product;
+    }
+
+    private Product save(Product product) {
+        try {
+            return productRepository.save(product);
+        } catch (DuplicateKeyException e) {
+            throw duplicateKey(e, product.getId(), product.getSku());
+        }
     }
 
     public void deleteProduct(String id) {
-        productRepository.deleteById(id);
+        Product removed = mongoTemplate.findAndRemove(query(where("id").is(id)), Product.class);
+        if (removed != null) {
+            productChanged(removed, null);
+        }
+    }
+
+    // Served from the in-memory index; until its first build finishes, falls back to a bounded regex query
+    public List<Product> searchByName(String name, int limit, FieldSelection fields) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        if (productSearchIndex.isReady()) {
+            return productSearchIndex.search(name, limit);
+        }
+        String pattern = Pattern.quote(name);
+        Query query = new Query(new Criteria().orOperator(
+                where("name").regex(pattern, "i"),
+                where("sku").regex(pattern, "i"),
+                where("category").regex(pattern, "i")));
+        return mongoTemplate.find(Projections.project(query.limit(limit), fields), Product.class);
+    }
+
+    public List<Product> findLowStock(int threshold, FieldSelection fields) {
+        return mongoTemplate.find(Projections.project(query(where("quantity").lt(threshold)), fields),
+                Product.class);
+    }
+
+    public List<Product> getMostCriticalLowStock(int limit, FieldSelection fields) {
+        return lowStockTracker.mostCritical(Pages.checkLimit(limit), fields);
+    }
+
+    static Product copyOf(Product product) {
+        Product copy = new Product();
+        copy.setId(product.getId());
+        copy.setName(product.getName());
+        copy.setSku(product.getSku());
+        copy.setDescription(product.getDescription());
+        copy.setPrice(product.getPrice());
+        copy.setQuantity(product.getQuantity());
+        copy.setLocationId(product.getLocationId());
+        copy.setCategory(product.getCategory());
+        copy.setThreshold(product.getThreshold());
+        copy.setAwayStock(product.getAwayStock() == null ? null : new HashMap<>(product.getAwayStock()));
+        copy.setAwayQuantity(product.getAwayQuantity());
+        copy.setVersion(product.getVersion());
+        return copy;
     }
 
-    public List<Product> searchByName(String name) {
-        return productRepository.findByNameContaining(name);
+    // Keeps derived state in step with a product write; before is null on create, after is null on delete
+    void productChanged(Product before, Product after) {
+        if (before != null) {
+            productCache.invalidate(before);
+        }
+        if (after != null) {
+            productCache.invalidate(after);
+        }
+        productSearchIndex.productChanged(before, after);
+        lowStockTracker.productChanged(before, after);
+        dashboardService.productChanged(before, after);
+        locationStockService.productChanged(before, after);
+        stockEventBroadcaster.productChanged(before, after);
     }
 
-    public List<Product> findLowStock(int threshold) {
-        return productRepository.findByQuantityLessThan(threshold);
+    // Batch form of productChanged for bulk writes: in-memory state per product, dashboard counters once
+    void productsChanged(List<Product> befores, List<Product> afters) {
+        for (int i = 0; i < befores.size(); i++) {
+            Product before = befores.get(i);
+            Product after = afters.get(i);
+            if (before != null) {
+                productCache.invalidate(before);
+            }
+            if (after != null) {
+                productCache.invalidate(after);
+            }
+            productSearchIndex.productChanged(before, after);
+            lowStockTracker.productChanged(before, after);
+            stockEventBroadcaster.productChanged(before, after);
+        }
+        dashboardService.productsChanged(befores, afters);
+        locationStockService.productsChanged(befores, afters);
     }
 }
@@ -0,0 +1,31 @@
+// src/main/java/com/example/inventory_tracker/service/Projections.java
+package com.example.inventory_tracker.service;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.example.inventory_tracker.dto.FieldSelection;
+
+final class Projections {
+    private Projections() {
+    }
+
+    // required: fields the caller needs itself, such as cursor keys
+    static Query project(Query query, FieldSelection fields, String... required) {
+        if (!fields.isAll()) {
+            Field projection = query.fields();
+            fields.fields().forEach(projection::include);
+            for (String field : required) {
+                projection.include(field);
+            }
+        }
+        return query;
+    }
+
+    static Document stage(FieldSelection fields) {
+        Document projection = new Document();
+        fields.fields().forEach(field -> projection.append(field.equals("id") ? "_id" : field, 1));
+        return new Document("$project", projection);
+    }
+}
@@ -0,0 +1,172 @@
+// src/main/java/com/example/inventory_tracker/service/ReactiveProductService.java
+package com.example.inventory_tracker.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.UnaryOperator;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.inventory_tracker.dto.CursorPage;
+import com.example.inventory_tracker.dto.FieldSelection;
+import com.example.inventory_tracker.dto.ProductPatchDTO;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.StockLevel;
+import com.example.inventory_tracker.repository.ReactiveProductRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// ProductService on the reactive driver. Cache misses are fetched reactively and put back; derived state is
+// still updated through ProductService.productChanged, on the bounded elastic scheduler.
+@Service
+@Profile("reactive")
+public class ReactiveProductService {
+    @Autowired
+    private ReactiveProductRepository productRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductService productService;
+
+    public Flux<Product> getAllProducts() {
+        return productRepository.findAll();
+    }
+
+    public Flux<Product> getAllProducts(FieldSelection fields) {
+        return reactiveMongoTemplate.find(Projections.project(new Query(), fields), Product.class);
+    }
+
+    public Mono<CursorPage<Product>> getProductsPage(String after, int limit, FieldSelection fields) {
+        Query query = Projections.project(new Query().with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(Pages.checkLimit(limit) + 1), fields);
+        if (after != null && !after.isEmpty()) {
+            if (!ObjectId.isValid(after)) {
+                return Mono.error(Pages.invalidCursor(after));
+            }
+            query.addCriteria(where("id").gt(after));
+        }
+        return reactiveMongoTemplate.find(query, Product.class)
+                .collectList()
+                .map(products -> Pages.of(products, limit, Product::getId));
+    }
+
+    public Mono<Product> getProductById(String id) {
+        Optional<Product> cached = productCache.peek(id);
+        if (cached != null) {
+            return Mono.justOrEmpty(cached);
+        }
+        long generation = productCache.generation();
+        return productRepository.findById(id)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(loaded -> productCache.loaded(id, loaded, generation))
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    public Mono<List<StockLevel>> getStockLevels(String id) {
+        return getProductById(id).map(ProductService::stockLevelsOf);
+    }
+
+    public Mono<Product> getProductBySku(String sku) {
+        Optional<String> cachedId = productCache.peekSkuId(sku);
+        if (cachedId != null) {
+            return Mono.justOrEmpty(cachedId)
+                    .flatMap(this::getProductById)
+                    .filter(product -> sku.equals(product.getSku()));
+        }
+        long generation = productCache.generation();
+        return productRepository.findBySku(sku)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(loaded -> productCache.loadedSku(sku, loaded, generation))
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    public Mono<Product> createProduct(Product product) {
+        product.setVersion(null);
+        product.setAwayStock(null);
+        product.setAwayQuantity(0);
+        return save(product).flatMap(saved -> changed(null, saved));
+    }
+
+    public Mono<Product> updateProduct(String id, Product product) {
+        product.setId(id);
+        Update update = ProductService.replacing(product);
+        return modify(id, product.getVersion(), update, product.getQuantity(), product.getLocationId(),
+                before -> product);
+    }
+
+    public Mono<Product> patchProduct(String id, ProductPatchDTO patch) {
+        Update update;
+        try {
+            update = PartialUpdates.checkNotEmpty(ProductService.patching(patch));
+        } catch (ResponseStatusException e) {
+            return Mono.error(e);
+        }
+        return modify(id, patch.getVersion(), update, patch.getQuantity(), patch.getLocationId(),
+                before -> ProductService.patched(before, patch));
+    }
+
+    private Mono<Product> modify(String id, Long expectedVersion, Update update, Integer quantity, String locationId,
+                                 UnaryOperator<Product> apply) {
+        Query target = PartialUpdates.target(id, expectedVersion);
+        try {
+            StockPlacement.guardDirectWrite(target, update, quantity, locationId);
+        } catch (ResponseStatusException e) {
+            return Mono.error(e);
+        }
+        return reactiveMongoTemplate.findAndModify(target, update, Product.class)
+                .onErrorMap(DuplicateKeyException.class, e -> ProductService.duplicateKey(e, id,
+                        update.getUpdateObject().get("$set", Document.class).getString("sku")))
+                .switchIfEmpty(reactiveMongoTemplate.findById(id, Product.class)
+                        .map(Optional::of).defaultIfEmpty(Optional.empty())
+                        .flatMap(current -> Mono.error(
+                                ProductService.notApplied(id, expectedVersion, current.orElse(null), apply))))
+                .flatMap(before -> changed(before, ProductService.written(before, apply)));
+    }
+
+    public Mono<Void> deleteProduct(String id) {
+        return reactiveMongoTemplate.findAndRemove(query(where("id").is(id)), Product.class)
+                .flatMap(removed -> changed(removed, null))
+                .then();
+    }
+
+    private Mono<Product> save(Product product) {
+        return productRepository.save(product)
+                .onErrorMap(DuplicateKeyException.class,
+                        e -> ProductService.duplicateKey(e, product.getId(), product.getSku()));
+    }
+
+    // Emits after (or completes empty on delete) once derived state has caught up, as the blocking path does
+    private Mono<Product> changed(Product before, Product after) {
+        return offload(() -> {
+            productService.productChanged(before, after);
+            return after;
+        });
+    }
+
+    static <T> Mono<T> offload(Callable<T> work) {
+        return Mono.fromCallable(work).subscribeOn(Schedulers.boundedElastic());
+    }
+}
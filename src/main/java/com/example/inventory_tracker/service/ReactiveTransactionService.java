@@ -0,0 +1,112 @@
+// src/main/java/com/example/inventory_tracker/service/ReactiveTransactionService.java
+package com.example.inventory_tracker.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.inventory_tracker.archive.ColdLedger;
+import com.example.inventory_tracker.dto.FieldSelection;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.Transaction;
+import com.example.inventory_tracker.repository.ReactiveTransactionRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// Listing, lookup and single home-location movements on the reactive driver. Archived months, located movements
+// and transfers go through the blocking services off the event loop.
+@Service
+@Profile("reactive")
+public class ReactiveTransactionService {
+    @Autowired
+    private ReactiveTransactionRepository transactionRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private ColdLedger coldLedger;
+
+    public Flux<Transaction> getAllTransactions(FieldSelection fields) {
+        Flux<Transaction> hot = reactiveMongoTemplate.find(Projections.project(new Query(), fields), Transaction.class);
+        if (coldLedger.isEmpty()) {
+            return hot;
+        }
+        return hot.concatWith(Flux.defer(() -> Flux.fromStream(coldLedger.stream(null, null, null)))
+                .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    public Mono<Transaction> getTransactionById(String id) {
+        return transactionRepository.findById(id)
+                .switchIfEmpty(ReactiveProductService.offload(() -> coldLedger.findById(id).orElse(null)));
+    }
+
+    public Mono<Transaction> createTransaction(Transaction transaction) {
+        try {
+            TransactionService.validateMovement(transaction);
+        } catch (ResponseStatusException e) {
+            return Mono.error(e);
+        }
+        if (transaction.getTimestamp() == null) {
+            transaction.setTimestamp(Instant.now());
+        }
+        if (!TransactionService.movesAtHome(transaction)) {
+            return ReactiveProductService.offload(() -> transactionService.createTransaction(transaction));
+        }
+        int delta = TransactionService.quantityDelta(transaction);
+        return applyQuantityDelta(transaction.getProductId(), delta)
+                .doOnNext(after -> transaction.setLocationId(after.getLocationId()))
+                .flatMap(after -> transactionRepository.insert(transaction)
+                        .onErrorResume(e -> reactiveMongoTemplate.updateFirst(query(where("id").is(after.getId())),
+                                new Update().inc("quantity", -delta), Product.class).then(Mono.error(e)))
+                        .flatMap(saved -> ReactiveProductService.offload(() -> {
+                            Product before = ProductService.copyOf(after);
+                            before.setQuantity(after.getQuantity() - delta);
+                            productService.productChanged(before, after);
+                            dashboardService.transactionRecorded(saved);
+                            rollupService.transactionsRecorded(List.of(saved), Map.of(after.getId(), after));
+                            return saved;
+                        })));
+    }
+
+    private Mono<Product> applyQuantityDelta(String productId, int delta) {
+        Query target = query(where("id").is(productId));
+        if (delta < 0) {
+            target.addCriteria(StockPlacement.homeHolds(-delta));
+        }
+        return reactiveMongoTemplate.findAndModify(target, new Update().inc("quantity", delta),
+                        FindAndModifyOptions.options().returnNew(true), Product.class)
+                .switchIfEmpty(reactiveMongoTemplate.exists(query(where("id").is(productId)), Product.class)
+                        .flatMap(exists -> Mono.error(exists
+                                ? new ResponseStatusException(HttpStatus.CONFLICT,
+                                        "Insufficient stock for product " + productId + " to remove " + -delta)
+                                : new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found: " + productId))));
+    }
+}
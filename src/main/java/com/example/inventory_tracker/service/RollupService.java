@@ -0,0 +1,327 @@
+// src/main/java/com/example/inventory_tracker/service/RollupService.java
+package com.example.inventory_tracker.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.inventory_tracker.dto.RollupPointDTO;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.RollupBackfillState;
+import com.example.inventory_tracker.model.Transaction;
+import com.example.inventory_tracker.model.TransactionRollup;
+import com.example.inventory_tracker.model.TransactionRollup.Dimension;
+import com.example.inventory_tracker.model.TransactionRollup.Granularity;
+
+// Hourly and daily IN/OUT totals per product, location and category. Live movements are $inc'd; ledger rows
+// from before rollups went live are summed a day at a time by a scheduled backfill.
+@Service
+public class RollupService {
+    private static final Logger log = LoggerFactory.getLogger(RollupService.class);
+
+    private static final Duration MAX_HOURLY_RANGE = Duration.ofDays(90);
+    private static final Duration MAX_DAILY_RANGE = Duration.ofDays(3660);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Value("${inventory.rollups.zone:#{T(java.time.ZoneId).systemDefault().id}}")
+    private ZoneId zone;
+
+    @Value("${inventory.rollups.backfill-days-per-run:30}")
+    private int backfillDaysPerRun;
+
+    // Ledger ids at or after this ObjectId are counted live, earlier ones by the backfill
+    private volatile ObjectId liveBoundary;
+
+    public void transactionsRecorded(Collection<Transaction> transactions, Map<String, Product> products) {
+        ObjectId boundary = liveBoundary();
+        Map<String, Bucket> buckets = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (ObjectId.isValid(transaction.getId()) && new ObjectId(transaction.getId()).compareTo(boundary) >= 0) {
+                count(buckets, transaction, products.get(transaction.getProductId()), 1);
+            }
+        }
+        write(buckets, false);
+    }
+
+    public void transactionRemoved(Transaction transaction) {
+        if (!ObjectId.isValid(transaction.getId()) || transaction.getTimestamp() == null) {
+            return;
+        }
+        if (new ObjectId(transaction.getId()).compareTo(liveBoundary()) < 0) {
+            // A pre-existing row only needs undoing once its day has been backfilled
+            RollupBackfillState state = mongoTemplate.findById(RollupBackfillState.TRANSACTIONS_ID,
+                    RollupBackfillState.class);
+            if (state == null || !state.isComplete() && (state.getNextDay() == null
+                    || !dayOf(transaction.getTimestamp()).isBefore(LocalDate.parse(state.getNextDay())))) {
+                return;
+            }
+        }
+        Map<String, Bucket> buckets = new HashMap<>();
+        count(buckets, transaction, productCache.get(transaction.getProductId()).orElse(null), -1);
+        write(buckets, false);
+    }
+
+    public List<RollupPointDTO> getRollups(Dimension dimension, Granularity granularity, Instant from, Instant to,
+                                           Collection<String> keys) {
+        if (to == null) {
+            to = Instant.now();
+        }
+        if (from == null) {
+            from = to.minus(granularity == Granularity.HOUR ? Duration.ofDays(7) : Duration.ofDays(90));
+        }
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        Duration maxRange = granularity == Granularity.HOUR ? MAX_HOURLY_RANGE : MAX_DAILY_RANGE;
+        if (Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    granularity + " rollups cover at most " + maxRange.toDays() + " days per query");
+        }
+
+        Criteria filter = where("granularity").is(granularity).and("dimension").is(dimension);
+        if (keys != null && !keys.isEmpty()) {
+            filter.and("key").in(keys);
+        }
+        filter.and("bucket").gte(bucketStart(granularity, from)).lt(to);
+        List<RollupPointDTO> points = new ArrayList<>();
+        for (TransactionRollup rollup : mongoTemplate.find(query(filter).with(Sort.by("key", "bucket")),
+                TransactionRollup.class)) {
+            RollupPointDTO point = new RollupPointDTO();
+            point.setKey(rollup.getKey());
+            point.setBucket(rollup.getBucket());
+            point.setInCount(rollup.getInCount() + rollup.getBackfilledInCount());
+            point.setInQuantity(rollup.getInQuantity() + rollup.getBackfilledInQuantity());
+            point.setOutCount(rollup.getOutCount() + rollup.getBackfilledOutCount());
+            point.setOutQuantity(rollup.getOutQuantity() + rollup.getBackfilledOutQuantity());
+            if (point.getInCount() != 0 || point.getOutCount() != 0) {
+                points.add(point);
+            }
+        }
+        return points;
+    }
+
+    // Each day's buckets are overwritten with $set, so a chunk that fails halfway is simply redone
+    @Scheduled(initialDelay = 0, fixedDelayString = "${inventory.rollups.backfill-interval-ms:1000}")
+    public void backfill() {
+        try {
+            ObjectId boundary = liveBoundary();
+            RollupBackfillState state = mongoTemplate.findById(RollupBackfillState.TRANSACTIONS_ID,
+                    RollupBackfillState.class);
+            if (state == null || state.isComplete()) {
+                return;
+            }
+            LocalDate next = state.getNextDay() == null
+                    ? firstBackfillDay(boundary, null)
+                    : LocalDate.parse(state.getNextDay());
+            for (int i = 0; i < backfillDaysPerRun && next != null; i++) {
+                long started = System.currentTimeMillis();
+                int rows = backfillDay(boundary, next);
+                log.debug("Backfilled {} ledger rows for {} in {} ms", rows, next,
+                        System.currentTimeMillis() - started);
+                next = firstBackfillDay(boundary, next.plusDays(1));
+                if (next != null) {
+                    saveProgress(new Update().set("nextDay", next.toString()));
+                }
+            }
+            if (next == null) {
+                saveProgress(new Update().unset("nextDay").set("complete", true));
+                log.info("Transaction rollup backfill complete");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Transaction rollup backfill failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private void saveProgress(Update progress) {
+        mongoTemplate.updateFirst(query(where("_id").is(RollupBackfillState.TRANSACTIONS_ID)), progress,
+                RollupBackfillState.class);
+    }
+
+    private int backfillDay(ObjectId boundary, LocalDate day) {
+        Query rows = query(where("_id").lt(boundary).and("timestamp")
+                .gte(day.atStartOfDay(zone).toInstant()).lt(day.plusDays(1).atStartOfDay(zone).toInstant()))
+                .cursorBatchSize(Pages.STREAM_BATCH_SIZE);
+        rows.fields().include("productId", "type", "quantity", "timestamp", "locationId", "toLocationId");
+        List<Transaction> transactions = new ArrayList<>();
+        try (Stream<Transaction> stream = mongoTemplate.stream(rows, Transaction.class)) {
+            stream.forEach(transactions::add);
+        }
+        Set<String> productIds = new HashSet<>();
+        for (Transaction transaction : transactions) {
+            productIds.add(transaction.getProductId());
+        }
+        Map<String, Product> products = productCache.getAll(productIds);
+        Map<String, Bucket> buckets = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            count(buckets, transaction, products.get(transaction.getProductId()), 1);
+        }
+        write(buckets, true);
+        return transactions.size();
+    }
+
+    private LocalDate firstBackfillDay(ObjectId boundary, LocalDate onOrAfter) {
+        Criteria filter = where("_id").lt(boundary).and("timestamp");
+        filter = onOrAfter == null ? filter.ne(null) : filter.gte(onOrAfter.atStartOfDay(zone).toInstant());
+        Query first = query(filter).with(Sort.by(Sort.Direction.ASC, "timestamp")).limit(1);
+        first.fields().include("timestamp");
+        Transaction oldest = mongoTemplate.findOne(first, Transaction.class);
+        return oldest == null ? null : dayOf(oldest.getTimestamp());
+    }
+
+    // The boundary is fixed the first time any node asks for it and never moves afterwards
+    private ObjectId liveBoundary() {
+        ObjectId boundary = liveBoundary;
+        if (boundary == null) {
+            RollupBackfillState state = mongoTemplate.findAndModify(
+                    query(where("_id").is(RollupBackfillState.TRANSACTIONS_ID)),
+                    new Update().setOnInsert("liveSince", Instant.now().truncatedTo(ChronoUnit.SECONDS)),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), RollupBackfillState.class);
+            // Smallest ObjectId of that second: timestamp followed by zeroed machine and counter bytes
+            boundary = new ObjectId(String.format("%08x%016x", state.getLiveSince().getEpochSecond(), 0));
+            liveBoundary = boundary;
+        }
+        return boundary;
+    }
+
+    private void count(Map<String, Bucket> buckets, Transaction transaction, Product product, int sign) {
+        Transaction.TransactionType type = transaction.getType();
+        if (type == null || transaction.getTimestamp() == null) {
+            return;
+        }
+        Instant hour = bucketStart(Granularity.HOUR, transaction.getTimestamp());
+        Instant day = bucketStart(Granularity.DAY, transaction.getTimestamp());
+        if (type == Transaction.TransactionType.TRANSFER) {
+            // Product and category totals don't move; the source location counts it out, the destination in
+            add(buckets, Dimension.LOCATION, transaction.getLocationId(), hour, day, false, sign,
+                    transaction.getQuantity());
+            add(buckets, Dimension.LOCATION, transaction.getToLocationId(), hour, day, true, sign,
+                    transaction.getQuantity());
+            return;
+        }
+        boolean in = type == Transaction.TransactionType.IN;
+        // Rows from before per-location stock carry no location; they happened at the product's own
+        String location = transaction.getLocationId() != null ? transaction.getLocationId()
+                : product == null ? null : product.getLocationId();
+        String[] keys = {
+            transaction.getProductId(),
+            location,
+            product == null ? null : product.getCategory()
+        };
+        for (Dimension dimension : Dimension.values()) {
+            add(buckets, dimension, keys[dimension.ordinal()], hour, day, in, sign, transaction.getQuantity());
+        }
+    }
+
+    private static void add(Map<String, Bucket> buckets, Dimension dimension, String key, Instant hour, Instant day,
+                            boolean in, int sign, int quantity) {
+        if (key == null || key.isBlank()) {
+            return;
+        }
+        buckets.computeIfAbsent(rollupId(Granularity.HOUR, dimension, key, hour),
+                id -> new Bucket(Granularity.HOUR, dimension, key, hour)).add(in, sign, quantity);
+        buckets.computeIfAbsent(rollupId(Granularity.DAY, dimension, key, day),
+                id -> new Bucket(Granularity.DAY, dimension, key, day)).add(in, sign, quantity);
+    }
+
+    private void write(Map<String, Bucket> buckets, boolean backfilled) {
+        if (buckets.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TransactionRollup.class);
+        for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            Update update = new Update().setOnInsert("granularity", bucket.granularity)
+                    .setOnInsert("dimension", bucket.dimension)
+                    .setOnInsert("key", bucket.key)
+                    .setOnInsert("bucket", bucket.start);
+            if (backfilled) {
+                update.set("backfilledInCount", bucket.inCount).set("backfilledInQuantity", bucket.inQuantity)
+                        .set("backfilledOutCount", bucket.outCount).set("backfilledOutQuantity", bucket.outQuantity);
+            } else {
+                update.inc("inCount", bucket.inCount).inc("inQuantity", bucket.inQuantity)
+                        .inc("outCount", bucket.outCount).inc("outQuantity", bucket.outQuantity);
+            }
+            bulk.upsert(query(where("_id").is(entry.getKey())), update);
+        }
+        bulk.execute();
+    }
+
+    private Instant bucketStart(Granularity granularity, Instant instant) {
+        if (granularity == Granularity.DAY) {
+            return dayOf(instant).atStartOfDay(zone).toInstant();
+        }
+        return ZonedDateTime.ofInstant(instant, zone).truncatedTo(ChronoUnit.HOURS).toInstant();
+    }
+
+    private LocalDate dayOf(Instant instant) {
+        return LocalDate.ofInstant(instant, zone);
+    }
+
+    private static String rollupId(Granularity granularity, Dimension dimension, String key, Instant bucket) {
+        return granularity + "|" + dimension + "|" + key + "|" + bucket;
+    }
+
+    private static final class Bucket {
+        final Granularity granularity;
+        final Dimension dimension;
+        final String key;
+        final Instant start;
+        long inCount;
+        long inQuantity;
+        long outCount;
+        long outQuantity;
+
+        Bucket(Granularity granularity, Dimension dimension, String key, Instant start) {
+            this.granularity = granularity;
+            this.dimension = dimension;
+            this.key = key;
+            this.start = start;
+        }
+
+        void add(boolean in, int sign, int quantity) {
+            if (in) {
+                inCount += sign;
+                inQuantity += (long) sign * quantity;
+            } else {
+                outCount += sign;
+                outQuantity += (long) sign * quantity;
+            }
+        }
+    }
+}
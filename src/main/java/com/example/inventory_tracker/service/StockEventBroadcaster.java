@@ -0,0 +1,485 @@
+// src/main/java/com/example/inventory_tracker/service/StockEventBroadcaster.java
+package com.example.inventory_tracker.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.inventory_tracker.dto.StockEventDTO;
+import com.example.inventory_tracker.dto.StockStreamStatsDTO;
+import com.example.inventory_tracker.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+// Publishing never touches a socket: it merges the event into each matching subscriber's pending map, one entry
+// per product, and schedules a drain. Each subscriber has at most one drain, and so one write, in flight. One
+// whose write has run longer than slow-client-timeout-ms, or whose pending map overflows, is dropped.
+@Component
+public class StockEventBroadcaster {
+    private static final Logger log = LoggerFactory.getLogger(StockEventBroadcaster.class);
+
+    static final String PRODUCT_CREATED = "PRODUCT_CREATED";
+    static final String PRODUCT_UPDATED = "PRODUCT_UPDATED";
+    static final String PRODUCT_DELETED = "PRODUCT_DELETED";
+    static final String STOCK_CHANGED = "STOCK_CHANGED";
+
+    @Value("${inventory.stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${inventory.stream.writer-threads:64}")
+    private int writerThreads;
+
+    @Value("${inventory.stream.max-pending-per-subscriber:10000}")
+    private int maxPending;
+
+    @Value("${inventory.stream.slow-client-timeout-ms:10000}")
+    private long slowClientTimeoutMs;
+
+    @Value("${inventory.stream.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private ExecutorService senders;
+    private ExecutorService writers;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger senderNumber = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "stock-stream-sender-" + senderNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger writerNumber = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "stock-stream-writer-" + writerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        for (Subscriber subscriber : subscribers.values()) {
+            remove(subscriber);
+        }
+        senders.shutdown();
+        senders.awaitTermination(5, TimeUnit.SECONDS);
+        writers.shutdown();
+        writers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // Empty filter sets match everything; a product matches when its state before or after the change does, or,
+    // for locations, when its stock there changed
+    public SseEmitter subscribe(Set<String> locationIds, Set<String> categories, Set<String> skus) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(UUID.randomUUID().toString(), new EmitterChannel(emitter),
+                new Filter(locationIds, categories, skus));
+        emitter.onCompletion(() -> subscribers.remove(subscriber.id));
+        emitter.onTimeout(() -> subscribers.remove(subscriber.id));
+        emitter.onError(error -> subscribers.remove(subscriber.id));
+        register(subscriber);
+        return emitter;
+    }
+
+    // The same stream for WebFlux. The sink holds at most max-pending events, so a client that stops reading
+    // overflows it and is dropped like a blocked emitter.
+    public Flux<ServerSentEvent<String>> stream(Set<String> locationIds, Set<String> categories, Set<String> skus) {
+        Sinks.Many<ServerSentEvent<String>> sink = Sinks.many().unicast()
+                .onBackpressureBuffer(Queues.<ServerSentEvent<String>>get(maxPending).get());
+        Subscriber subscriber = new Subscriber(UUID.randomUUID().toString(), new SinkChannel(sink),
+                new Filter(locationIds, categories, skus));
+        return sink.asFlux()
+                .doOnSubscribe(subscription -> register(subscriber))
+                .doFinally(signal -> {
+                    subscribers.remove(subscriber.id);
+                    subscriber.pending.clear();
+                })
+                .take(Duration.ofMillis(emitterTimeoutMs));
+    }
+
+    private void register(Subscriber subscriber) {
+        subscribers.put(subscriber.id, subscriber);
+        subscriber.heartbeatDue = true; // flushes headers so clients see the stream open immediately
+        schedule(subscriber);
+    }
+
+    public void productChanged(Product before, Product after) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Outgoing event = new Outgoing(toEvent(before, after));
+        published.incrementAndGet();
+        long now = System.currentTimeMillis();
+        Set<String> changedLocations = event.dto.getLocationDeltas() == null
+                ? Set.of() : event.dto.getLocationDeltas().keySet();
+        for (Subscriber subscriber : subscribers.values()) {
+            if (!subscriber.filter.matches(before, changedLocations)
+                    && !subscriber.filter.matches(after, changedLocations)) {
+                continue;
+            }
+            long sendingSince = subscriber.sendingSince;
+            if (sendingSince != 0 && now - sendingSince > slowClientTimeoutMs) {
+                drop(subscriber, "write blocked for " + (now - sendingSince) + " ms");
+                continue;
+            }
+            if (subscriber.pending.merge(event.dto.getProductId(), event, StockEventBroadcaster::coalesce) != event) {
+                coalesced.incrementAndGet();
+            }
+            if (subscriber.pending.size() > maxPending) {
+                drop(subscriber, subscriber.pending.size() + " products pending");
+                continue;
+            }
+            schedule(subscriber);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers.values()) {
+            long sendingSince = subscriber.sendingSince;
+            if (sendingSince != 0 && now - sendingSince > slowClientTimeoutMs) {
+                drop(subscriber, "write blocked for " + (now - sendingSince) + " ms");
+                continue;
+            }
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    public StockStreamStatsDTO getStats() {
+        StockStreamStatsDTO stats = new StockStreamStatsDTO();
+        stats.setSubscribers(subscribers.size());
+        stats.setPublished(published.get());
+        stats.setSent(sent.get());
+        stats.setCoalesced(coalesced.get());
+        stats.setDropped(dropped.get());
+        return stats;
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                (subscriber.channel.blocking() ? writers : senders).execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false); // shutting down
+            }
+        }
+    }
+
+    // At most one drain per subscriber runs at a time, so its events stay in order and a closed channel is only
+    // completed once its last write has returned
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.closed) {
+                complete(subscriber);
+                return;
+            }
+            // remove(key) rather than iterator removal, so an event merged in meanwhile is never lost
+            List<Outgoing> batch = new ArrayList<>();
+            for (String productId : subscriber.pending.keySet()) {
+                Outgoing event = subscriber.pending.remove(productId);
+                if (event != null) {
+                    batch.add(event);
+                }
+            }
+            if (batch.isEmpty() && !subscriber.heartbeatDue) {
+                return;
+            }
+            subscriber.heartbeatDue = false;
+            subscriber.sendingSince = System.currentTimeMillis();
+            try {
+                send(subscriber, batch);
+            } catch (IOException | IllegalStateException e) {
+                remove(subscriber);
+                return;
+            } finally {
+                subscriber.sendingSince = 0;
+            }
+            sent.addAndGet(batch.size());
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        if (subscriber.closed ? !subscriber.completed
+                : !subscriber.pending.isEmpty() && subscribers.containsKey(subscriber.id)) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, Collection<Outgoing> events) throws IOException {
+        if (events.isEmpty()) {
+            subscriber.channel.heartbeat();
+            return;
+        }
+        for (Outgoing event : events) {
+            subscriber.channel.send(Long.toString(++subscriber.sequence), event.dto.getType(),
+                    event.json(objectMapper));
+        }
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        if (subscribers.remove(subscriber.id) != null) {
+            dropped.incrementAndGet();
+            log.info("Dropping slow stock stream subscriber {}: {}", subscriber.id, reason);
+            subscriber.pending.clear();
+            close(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.remove(subscriber.id);
+        subscriber.pending.clear();
+        close(subscriber);
+    }
+
+    // The channel is completed by the subscriber's next drain, after any write still in flight
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        schedule(subscriber);
+    }
+
+    private static void complete(Subscriber subscriber) {
+        if (subscriber.completed) {
+            return;
+        }
+        subscriber.completed = true;
+        try {
+            subscriber.channel.complete();
+        } catch (RuntimeException e) {
+            // Already completed or the connection is gone
+        }
+    }
+
+    private static StockEventDTO toEvent(Product before, Product after) {
+        Product current = after != null ? after : before;
+        StockEventDTO event = new StockEventDTO();
+        event.setProductId(current.getId());
+        event.setSku(current.getSku());
+        event.setCategory(current.getCategory());
+        event.setLocationId(current.getLocationId());
+        event.setTimestamp(Instant.now());
+        event.setLocationDeltas(locationDeltas(before, after));
+        if (after == null) {
+            event.setType(PRODUCT_DELETED);
+            event.setDelta(-before.getQuantity());
+            return event;
+        }
+        event.setQuantity(after.getQuantity());
+        event.setDelta(after.getQuantity() - (before == null ? 0 : before.getQuantity()));
+        event.setLowStock(StockLevels.isLowStock(after));
+        if (before == null) {
+            event.setType(PRODUCT_CREATED);
+            event.setName(after.getName());
+        } else if (sameExceptQuantity(before, after)) {
+            event.setType(STOCK_CHANGED);
+        } else {
+            event.setType(PRODUCT_UPDATED);
+            event.setName(after.getName());
+        }
+        return event;
+    }
+
+    // Per-location change, only where the level moved; null when none did
+    private static Map<String, Integer> locationDeltas(Product before, Product after) {
+        Map<String, Integer> deltas = new TreeMap<>(StockPlacement.levelsOf(after));
+        StockPlacement.levelsOf(before)
+                .forEach((location, quantity) -> deltas.merge(location, -quantity, Integer::sum));
+        deltas.values().removeIf(delta -> delta == 0);
+        return deltas.isEmpty() ? null : deltas;
+    }
+
+    private static boolean sameExceptQuantity(Product before, Product after) {
+        return Objects.equals(before.getName(), after.getName())
+                && Objects.equals(before.getSku(), after.getSku())
+                && Objects.equals(before.getDescription(), after.getDescription())
+                && before.getPrice() == after.getPrice()
+                && Objects.equals(before.getLocationId(), after.getLocationId())
+                && Objects.equals(before.getCategory(), after.getCategory())
+                && before.getThreshold() == after.getThreshold();
+    }
+
+    // Latest state wins and deltas add up; a create or an edit is not downgraded to a stock change
+    private static Outgoing coalesce(Outgoing olderEvent, Outgoing newerEvent) {
+        StockEventDTO older = olderEvent.dto;
+        StockEventDTO newer = newerEvent.dto;
+        StockEventDTO merged = new StockEventDTO();
+        merged.setProductId(newer.getProductId());
+        merged.setSku(newer.getSku());
+        merged.setCategory(newer.getCategory());
+        merged.setLocationId(newer.getLocationId());
+        merged.setQuantity(newer.getQuantity());
+        merged.setLowStock(newer.getLowStock());
+        merged.setTimestamp(newer.getTimestamp());
+        merged.setDelta(older.getDelta() + newer.getDelta());
+        merged.setLocationDeltas(sum(older.getLocationDeltas(), newer.getLocationDeltas()));
+        merged.setName(newer.getName() != null ? newer.getName() : older.getName());
+        String type = newer.getType();
+        if (!PRODUCT_DELETED.equals(type)
+                && (PRODUCT_CREATED.equals(older.getType()) || PRODUCT_UPDATED.equals(older.getType()))) {
+            type = older.getType();
+        }
+        merged.setType(type);
+        return new Outgoing(merged);
+    }
+
+    private static Map<String, Integer> sum(Map<String, Integer> older, Map<String, Integer> newer) {
+        if (older == null || newer == null) {
+            return older == null ? newer : older;
+        }
+        Map<String, Integer> merged = new TreeMap<>(older);
+        newer.forEach((location, delta) -> merged.merge(location, delta, Integer::sum));
+        merged.values().removeIf(delta -> delta == 0);
+        return merged.isEmpty() ? null : merged;
+    }
+
+    private record Filter(Set<String> locationIds, Set<String> categories, Set<String> skus) {
+        boolean matches(Product product, Set<String> changedLocations) {
+            return product != null
+                    && (locationIds.isEmpty() || locationIds.contains(product.getLocationId())
+                            || changedLocations.stream().anyMatch(locationIds::contains))
+                    && (categories.isEmpty() || categories.contains(product.getCategory()))
+                    && (skus.isEmpty() || skus.contains(product.getSku()));
+        }
+    }
+
+    private static final class Outgoing {
+        final StockEventDTO dto;
+        private volatile String json;
+
+        Outgoing(StockEventDTO dto) {
+            this.dto = dto;
+        }
+
+        String json(ObjectMapper objectMapper) throws JsonProcessingException {
+            String serialised = json;
+            if (serialised == null) {
+                serialised = objectMapper.writeValueAsString(dto);
+                json = serialised;
+            }
+            return serialised;
+        }
+    }
+
+    private interface Channel {
+        void send(String id, String name, String json) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        void complete();
+
+        // Whether send and heartbeat can block on the client's socket
+        boolean blocking();
+    }
+
+    private record EmitterChannel(SseEmitter emitter) implements Channel {
+        @Override
+        public void send(String id, String name, String json) throws IOException {
+            emitter.send(SseEmitter.event().id(id).name(name).data(json, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        public void complete() {
+            emitter.complete();
+        }
+
+        @Override
+        public boolean blocking() {
+            return true;
+        }
+    }
+
+    // Only the subscriber's single active drain emits events; completion may come from any thread, so it retries
+    // until the sink is free
+    private record SinkChannel(Sinks.Many<ServerSentEvent<String>> sink) implements Channel {
+        @Override
+        public void send(String id, String name, String json) throws IOException {
+            emit(ServerSentEvent.builder(json).id(id).event(name).build());
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emit(ServerSentEvent.<String>builder().comment("heartbeat").build());
+        }
+
+        @Override
+        public void complete() {
+            sink.emitComplete(Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+        }
+
+        @Override
+        public boolean blocking() {
+            return false;
+        }
+
+        private void emit(ServerSentEvent<String> event) throws IOException {
+            Sinks.EmitResult result = sink.tryEmitNext(event);
+            if (result.isFailure()) {
+                throw new IOException("Stream subscriber cannot take more events: " + result);
+            }
+        }
+    }
+
+    private static final class Subscriber {
+        final String id;
+        final Channel channel;
+        final Filter filter;
+        final Map<String, Outgoing> pending = new ConcurrentHashMap<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile long sendingSince;
+        volatile boolean heartbeatDue;
+        volatile boolean closed;
+        boolean completed; // only touched by the subscriber's single active drain
+        long sequence; // only touched by the subscriber's single active drain
+
+        Subscriber(String id, Channel channel, Filter filter) {
+            this.id = id;
+            this.channel = channel;
+            this.filter = filter;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+// src/main/java/com/example/inventory_tracker/service/StockHistoryService.java
+package com.example.inventory_tracker.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.inventory_tracker.archive.ColdLedger;
+import com.example.inventory_tracker.archive.LedgerFilter;
+import com.example.inventory_tracker.dto.CursorPage;
+import com.example.inventory_tracker.dto.StockAsOfDTO;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.StockSnapshot;
+import com.example.inventory_tracker.model.StockSnapshotRun;
+import com.example.inventory_tracker.model.Transaction;
+
+// Stock as of a past instant: the newest complete snapshot at or before it plus the ledger movements since.
+// Instants before the first snapshot replay the whole ledger from zero. Quantities set directly (create, PUT,
+// PATCH, import) are not ledger rows, so they only count once a snapshot has read them.
+@Service
+public class StockHistoryService {
+    private static final Logger log = LoggerFactory.getLogger(StockHistoryService.class);
+
+    static final int MAX_AS_OF_PRODUCTS = 1000;
+    private static final int SNAPSHOT_CHUNK_SIZE = 1000;
+
+    // A TRANSFER leaves the product's total as it is
+    private static final Document SIGNED_QUANTITY = new Document("$cond", Arrays.asList(
+            new Document("$eq", Arrays.asList("$type", Transaction.TransactionType.IN.name())),
+            "$quantity", new Document("$cond", Arrays.asList(
+                    new Document("$eq", Arrays.asList("$type", Transaction.TransactionType.OUT.name())),
+                    new Document("$multiply", Arrays.asList("$quantity", -1)), 0))));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ColdLedger coldLedger;
+
+    @Value("${inventory.snapshots.interval-ms:86400000}")
+    private long intervalMs;
+
+    // Movements stamped before takenAt must have reached Product.quantity before the snapshot reads it
+    @Value("${inventory.snapshots.settle-seconds:60}")
+    private long settleSeconds;
+
+    private final AtomicBoolean snapshotting = new AtomicBoolean();
+
+    public Optional<StockAsOfDTO> getStockAsOf(String productId, Instant at) {
+        return getStockAsOf(List.of(productId), at).stream().findFirst();
+    }
+
+    // Products deleted since are only reachable by id
+    public CursorPage<StockAsOfDTO> getStockAsOfPage(Instant at, String after, int limit) {
+        Query products = new Query().with(Sort.by(Sort.Direction.ASC, "id")).limit(Pages.checkLimit(limit) + 1);
+        products.fields().include("id");
+        if (after != null && !after.isEmpty()) {
+            if (!ObjectId.isValid(after)) {
+                throw Pages.invalidCursor(after);
+            }
+            products.addCriteria(where("id").gt(after));
+        }
+        CursorPage<Product> page = Pages.of(mongoTemplate.find(products, Product.class), limit, Product::getId);
+        if (page.getItems().isEmpty()) {
+            checkAt(at);
+            return new CursorPage<>(List.of(), null);
+        }
+        return new CursorPage<>(getStockAsOf(page.getItems().stream().map(Product::getId).toList(), at),
+                page.getNextCursor());
+    }
+
+    public List<StockAsOfDTO> getStockAsOf(Collection<String> productIds, Instant at) {
+        checkAt(at);
+        if (productIds.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "productId is required; page through every product with limit and after");
+        }
+        if (productIds.size() > MAX_AS_OF_PRODUCTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_AS_OF_PRODUCTS + " products can be looked up at once");
+        }
+        Set<String> wanted = new HashSet<>(productIds);
+        StockSnapshotRun run = latestRunAtOrBefore(at);
+        Instant since = run == null ? null : run.getTakenAt();
+        Map<String, StockAsOfDTO> levels = new TreeMap<>();
+
+        if (run != null) {
+            Criteria chunks = where("takenAt").is(run.getTakenAt()).and("productIds").in(wanted);
+            try (Stream<StockSnapshot> stream = mongoTemplate.stream(query(chunks), StockSnapshot.class)) {
+                stream.forEach(chunk -> {
+                    for (int i = 0; i < chunk.getProductIds().size(); i++) {
+                        String productId = chunk.getProductIds().get(i);
+                        if (wanted.contains(productId)) {
+                            level(levels, productId, at, since).setQuantity(chunk.getQuantities().get(i));
+                        }
+                    }
+                });
+            }
+        }
+
+        netMovements(wanted, since, at).forEach((productId, net) -> {
+            StockAsOfDTO level = level(levels, productId, at, since);
+            level.setQuantity((int) (level.getQuantity() + net[0]));
+            level.setReplayedMovements(net[1]);
+        });
+        return new ArrayList<>(levels.values());
+    }
+
+    private static void checkAt(Instant at) {
+        if (at == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "at is required");
+        }
+    }
+
+    // Takes a deleted movement out of the snapshots that already counted it
+    public void movementRemoved(Transaction transaction) {
+        if (transaction.getType() == null || transaction.getTimestamp() == null) {
+            return;
+        }
+        int delta = TransactionService.quantityDelta(transaction);
+        if (delta == 0) {
+            return;
+        }
+        Query chunks = query(where("productIds").is(transaction.getProductId())
+                .and("takenAt").gt(transaction.getTimestamp()));
+        chunks.fields().include("productIds");
+        for (StockSnapshot chunk : mongoTemplate.find(chunks, StockSnapshot.class)) {
+            int index = chunk.getProductIds().indexOf(transaction.getProductId());
+            mongoTemplate.updateFirst(query(where("id").is(chunk.getId())),
+                    new Update().inc("quantities." + index, -delta), StockSnapshot.class);
+        }
+    }
+
+    public List<StockSnapshotRun> getSnapshotRuns(int limit) {
+        return mongoTemplate.find(new Query().with(Sort.by(Sort.Direction.DESC, "takenAt"))
+                .limit(Pages.checkLimit(limit)), StockSnapshotRun.class);
+    }
+
+    // Checks often and snapshots only once the newest complete run is an interval old, so restarts neither
+    // skip nor repeat snapshots
+    @Scheduled(initialDelay = 0, fixedDelayString = "${inventory.snapshots.check-interval-ms:60000}")
+    public void snapshotIfDue() {
+        try {
+            StockSnapshotRun latest = latestRunAtOrBefore(Instant.now());
+            if (latest == null || latest.getTakenAt().isBefore(Instant.now().minusMillis(intervalMs))) {
+                takeSnapshot();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Stock snapshot failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    // Reads every product's quantity a chunk at a time and backs out movements stamped at or after takenAt,
+    // which makes each chunk consistent with takenAt even though products are read over several seconds
+    public StockSnapshotRun takeSnapshot() {
+        if (!snapshotting.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A stock snapshot is already running");
+        }
+        try {
+            long started = System.currentTimeMillis();
+            discardAbandonedRuns();
+            Instant takenAt = Instant.now().minusSeconds(settleSeconds).truncatedTo(ChronoUnit.MILLIS);
+            StockSnapshotRun run = new StockSnapshotRun();
+            run.setId(takenAt.toString());
+            run.setTakenAt(takenAt);
+            mongoTemplate.insert(run);
+
+            Query products = new Query().cursorBatchSize(Pages.STREAM_BATCH_SIZE);
+            products.fields().include("quantity");
+            List<String> ids = new ArrayList<>(SNAPSHOT_CHUNK_SIZE);
+            List<Integer> quantities = new ArrayList<>(SNAPSHOT_CHUNK_SIZE);
+            try (Stream<Product> stream = mongoTemplate.stream(products, Product.class)) {
+                for (Product product : (Iterable<Product>) stream::iterator) {
+                    ids.add(product.getId());
+                    quantities.add(product.getQuantity());
+                    if (ids.size() == SNAPSHOT_CHUNK_SIZE) {
+                        writeChunk(run, ids, quantities);
+                        ids = new ArrayList<>(SNAPSHOT_CHUNK_SIZE);
+                        quantities = new ArrayList<>(SNAPSHOT_CHUNK_SIZE);
+                    }
+                }
+            }
+            if (!ids.isEmpty()) {
+                writeChunk(run, ids, quantities);
+            }
+
+            run.setDurationMs(System.currentTimeMillis() - started);
+            run.setComplete(true);
+            mongoTemplate.save(run);
+            log.info("Stock snapshot at {} covered {} products in {} chunks, {} ms", takenAt,
+                    run.getProductCount(), run.getChunkCount(), run.getDurationMs());
+            return run;
+        } finally {
+            snapshotting.set(false);
+        }
+    }
+
+    private void writeChunk(StockSnapshotRun run, List<String> ids, List<Integer> quantities) {
+        Map<String, long[]> since = netMovements(new HashSet<>(ids), run.getTakenAt(), null);
+        for (int i = 0; i < ids.size(); i++) {
+            long[] net = since.get(ids.get(i));
+            if (net != null) {
+                quantities.set(i, (int) (quantities.get(i) - net[0]));
+            }
+        }
+        StockSnapshot chunk = new StockSnapshot();
+        chunk.setTakenAt(run.getTakenAt());
+        chunk.setProductIds(ids);
+        chunk.setQuantities(quantities);
+        mongoTemplate.insert(chunk);
+        run.setProductCount(run.getProductCount() + ids.size());
+        run.setChunkCount(run.getChunkCount() + 1);
+    }
+
+    // Runs left incomplete by a crash; the age limit keeps another node's run in progress safe
+    private void discardAbandonedRuns() {
+        Instant cutoff = Instant.now().minus(Duration.ofMillis(intervalMs));
+        for (StockSnapshotRun abandoned : mongoTemplate.find(
+                query(where("complete").is(false).and("takenAt").lt(cutoff)), StockSnapshotRun.class)) {
+            mongoTemplate.remove(query(where("takenAt").is(abandoned.getTakenAt())), StockSnapshot.class);
+            mongoTemplate.remove(abandoned);
+        }
+    }
+
+    private StockSnapshotRun latestRunAtOrBefore(Instant at) {
+        return mongoTemplate.findOne(query(where("complete").is(true).and("takenAt").lte(at))
+                .with(Sort.by(Sort.Direction.DESC, "takenAt")), StockSnapshotRun.class);
+    }
+
+    // productId -> {net signed quantity, movement count} over ledger rows in [from, to), hot and archived;
+    // an empty productIds means every product
+    private Map<String, long[]> netMovements(Set<String> productIds, Instant from, Instant to) {
+        Criteria match = where("timestamp");
+        if (from != null) {
+            match.gte(from);
+        }
+        if (to != null) {
+            match.lt(to);
+        }
+        if (!productIds.isEmpty()) {
+            match.and("productId").in(productIds);
+        }
+        Map<String, long[]> net = new HashMap<>();
+        coldLedger.sumByProduct(productIds.size() == 1 ? LedgerFilter.product(productIds.iterator().next()) : null,
+                from, to, net);
+        if (!productIds.isEmpty()) {
+            net.keySet().retainAll(productIds);
+        }
+
+        List<Document> pipeline = List.of(
+                new Document("$match", query(match).getQueryObject()),
+                new Document("$group", new Document("_id", "$productId")
+                        .append("net", new Document("$sum", SIGNED_QUANTITY))
+                        .append("count", new Document("$sum", 1))));
+        for (Document group : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Transaction.class))
+                .aggregate(pipeline)) {
+            if (group.get("_id") instanceof String productId) {
+                long[] sums = net.computeIfAbsent(productId, key -> new long[2]);
+                sums[0] += group.get("net", Number.class).longValue();
+                sums[1] += group.get("count", Number.class).longValue();
+            }
+        }
+        return net;
+    }
+
+    private static StockAsOfDTO level(Map<String, StockAsOfDTO> levels, String productId, Instant at,
+                                      Instant snapshotAt) {
+        return levels.computeIfAbsent(productId, id -> {
+            StockAsOfDTO level = new StockAsOfDTO();
+            level.setProductId(id);
+            level.setAsOf(at);
+            level.setSnapshotAt(snapshotAt);
+            return level;
+        });
+    }
+}
@@ -0,0 +1,27 @@
+// src/main/java/com/example/inventory_tracker/service/StockLevels.java
+package com.example.inventory_tracker.service;
+
+import com.example.inventory_tracker.model.Product;
+
+public final class StockLevels {
+    public static final int DEFAULT_THRESHOLD = 10;
+
+    private StockLevels() {
+    }
+
+    public static int effectiveThreshold(int threshold) {
+        return threshold > 0 ? threshold : DEFAULT_THRESHOLD;
+    }
+
+    public static boolean isLowStock(int quantity, int threshold) {
+        return quantity <= effectiveThreshold(threshold);
+    }
+
+    public static boolean isLowStock(Product product) {
+        return isLowStock(product.getQuantity(), product.getThreshold());
+    }
+
+    public static double stockValue(Product product) {
+        return product.getPrice() * product.getQuantity();
+    }
+}
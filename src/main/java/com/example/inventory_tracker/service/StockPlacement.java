@@ -0,0 +1,192 @@
+// src/main/java/com/example/inventory_tracker/service/StockPlacement.java
+package com.example.inventory_tracker.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.Transaction;
+
+// Per-location stock lives in the product document, so a movement, transfers included, is one conditional
+// update of one document
+final class StockPlacement {
+    static final String AWAY_STOCK = "awayStock";
+    static final String AWAY_QUANTITY = "awayQuantity";
+
+    private StockPlacement() {
+    }
+
+    static int homeQuantity(Product product) {
+        return product.getQuantity() - product.getAwayQuantity();
+    }
+
+    // Quantity per location, the product's own included; a product without a location has only its away entries
+    static Map<String, Integer> levelsOf(Product product) {
+        Map<String, Integer> levels = new HashMap<>();
+        if (product == null) {
+            return levels;
+        }
+        if (product.getAwayStock() != null) {
+            product.getAwayStock().forEach((location, quantity) -> {
+                if (quantity != null && quantity != 0) {
+                    levels.merge(location, quantity, Integer::sum);
+                }
+            });
+        }
+        if (product.getLocationId() != null) {
+            levels.merge(product.getLocationId(), homeQuantity(product), Integer::sum);
+        }
+        return levels;
+    }
+
+    // The guard for taking quantity from the product's own location; legacy documents have no awayQuantity
+    static Criteria homeHolds(int quantity) {
+        return Criteria.expr(() -> new Document("$gte", Arrays.asList(
+                new Document("$subtract", Arrays.asList("$quantity",
+                        new Document("$ifNull", Arrays.asList("$" + AWAY_QUANTITY, 0)))),
+                quantity)));
+    }
+
+    static void checkLocationId(String field, String locationId) {
+        if (locationId != null && (locationId.isEmpty() || locationId.indexOf('.') >= 0 || locationId.startsWith("$"))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + field + ": " + locationId);
+        }
+    }
+
+    // Signed quantity per location; a missing location on the transaction means home
+    static Map<String, Integer> deltas(Transaction transaction, String home) {
+        String location = transaction.getLocationId() != null ? transaction.getLocationId() : home;
+        int quantity = transaction.getQuantity();
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+        switch (transaction.getType()) {
+            case IN -> deltas.put(location, quantity);
+            case OUT -> deltas.put(location, -quantity);
+            case TRANSFER -> {
+                String destination = transaction.getToLocationId() != null ? transaction.getToLocationId() : home;
+                if (Objects.equals(location, destination)) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "A transfer needs two different locations, got " + location + " twice");
+                }
+                deltas.put(location, -quantity);
+                deltas.put(destination, quantity);
+            }
+        }
+        return deltas;
+    }
+
+    static void resolve(Transaction transaction, String home) {
+        if (transaction.getLocationId() == null) {
+            transaction.setLocationId(home);
+        }
+        if (transaction.getType() == Transaction.TransactionType.TRANSFER && transaction.getToLocationId() == null) {
+            transaction.setToLocationId(home);
+        }
+    }
+
+    // Matches only while the product still has the location the deltas were resolved against and every
+    // location being debited holds enough
+    static Query target(String productId, String home, Map<String, Integer> deltas) {
+        Query target = query(where("id").is(productId).and("locationId").is(home));
+        deltas.forEach((location, delta) -> {
+            if (delta < 0) {
+                target.addCriteria(Objects.equals(location, home) ? homeHolds(-delta)
+                        : where(AWAY_STOCK + "." + location).gte(-delta));
+            }
+        });
+        return target;
+    }
+
+    // sign -1 gives the compensating update
+    static Update update(String home, Map<String, Integer> deltas, int sign) {
+        Update update = new Update();
+        int total = 0;
+        int away = 0;
+        for (Map.Entry<String, Integer> entry : deltas.entrySet()) {
+            total += entry.getValue();
+            if (!Objects.equals(entry.getKey(), home)) {
+                update.inc(AWAY_STOCK + "." + entry.getKey(), sign * entry.getValue());
+                away += entry.getValue();
+            }
+        }
+        if (total != 0) {
+            update.inc("quantity", sign * total);
+        }
+        if (away != 0) {
+            update.inc(AWAY_QUANTITY, sign * away);
+        }
+        return update;
+    }
+
+    // The document as update(home, deltas, 1) leaves it, without reading it back
+    static Product moved(Product before, Map<String, Integer> deltas) {
+        Product after = ProductService.copyOf(before);
+        for (Map.Entry<String, Integer> entry : deltas.entrySet()) {
+            after.setQuantity(after.getQuantity() + entry.getValue());
+            if (!Objects.equals(entry.getKey(), before.getLocationId())) {
+                if (after.getAwayStock() == null) {
+                    after.setAwayStock(new HashMap<>());
+                }
+                after.getAwayStock().merge(entry.getKey(), entry.getValue(), Integer::sum);
+                after.setAwayQuantity(after.getAwayQuantity() + entry.getValue());
+            }
+        }
+        return after;
+    }
+
+    static ResponseStatusException insufficientStock(String productId, Map<String, Integer> deltas) {
+        for (Map.Entry<String, Integer> entry : deltas.entrySet()) {
+            if (entry.getValue() < 0) {
+                return new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient stock for product " + productId
+                        + (entry.getKey() == null ? "" : " at location " + entry.getKey()) + " to remove "
+                        + -entry.getValue());
+            }
+        }
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient stock for product " + productId);
+    }
+
+    // Direct writes (PUT, PATCH, import) set the total and the product's own location, never stock held elsewhere.
+    // Returns why the write can't apply to the product as read, or null.
+    static String directWriteConflict(Product before, Product after) {
+        if (before == null || before.getAwayQuantity() == 0) {
+            return null;
+        }
+        if (after.getQuantity() < before.getAwayQuantity()) {
+            return "Product " + before.getId() + " holds " + before.getAwayQuantity()
+                    + " units at other locations; quantity can't go below that, transfer them back first";
+        }
+        Integer atNewHome = before.getAwayStock() == null ? null : before.getAwayStock().get(after.getLocationId());
+        if (!Objects.equals(before.getLocationId(), after.getLocationId()) && atNewHome != null && atNewHome != 0) {
+            return "Product " + before.getId() + " holds stock at location " + after.getLocationId()
+                    + "; transfer it back before moving the product there";
+        }
+        return null;
+    }
+
+    // Filter form of directWriteConflict for a findAndModify that sets quantity and/or locationId. An emptied
+    // entry for the new location is dropped, since awayStock never holds the product's own location.
+    static void guardDirectWrite(Query target, Update update, Integer quantity, String locationId) {
+        if (quantity != null) {
+            target.addCriteria(where(AWAY_QUANTITY).not().gt(quantity));
+        }
+        if (locationId != null) {
+            checkLocationId("locationId", locationId);
+            update.unset(AWAY_STOCK + "." + locationId);
+            target.addCriteria(new Criteria().orOperator(where("locationId").is(locationId),
+                    where(AWAY_STOCK + "." + locationId).exists(false),
+                    where(AWAY_STOCK + "." + locationId).is(0)));
+        }
+    }
+}
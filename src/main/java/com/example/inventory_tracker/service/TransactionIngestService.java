@@ -0,0 +1,300 @@
+// src/main/java/com/example/inventory_tracker/service/TransactionIngestService.java
+package com.example.inventory_tracker.service;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.inventory_tracker.dto.IngestStatsDTO;
+import com.example.inventory_tracker.dto.IngestTicketDTO;
+import com.example.inventory_tracker.dto.TransactionBatchResponseDTO;
+import com.example.inventory_tracker.dto.TransactionBatchResultDTO;
+import com.example.inventory_tracker.dto.TransactionRequestDTO;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Requests are acknowledged once they are in a bounded in-memory queue; a single writer commits them in groups
+// through the bulk path, flushing when a group is full or old enough.
+@Service
+public class TransactionIngestService {
+    private static final Logger log = LoggerFactory.getLogger(TransactionIngestService.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${inventory.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${inventory.ingest.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${inventory.ingest.max-delay-ms:20}")
+    private long maxDelayMs;
+
+    @Value("${inventory.ingest.ticket-retention-seconds:300}")
+    private long ticketRetentionSeconds;
+
+    // Completed tickets beyond this many are dropped oldest first
+    @Value("${inventory.ingest.max-retained-tickets:100000}")
+    private int maxRetainedTickets;
+
+    private BlockingQueue<Ticket> queue;
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final Deque<Ticket> completed = new ArrayDeque<>(); // completion order, guarded by itself
+    private Thread writer;
+    private volatile boolean running;
+    // Submitters hold the read lock while enqueueing; stop() takes the write lock to close admission, so no
+    // ticket can be queued after the writer has seen running = false
+    private final ReadWriteLock admission = new ReentrantReadWriteLock();
+
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong committed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong refused = new AtomicLong();
+    private final AtomicLong totalCommitNanos = new AtomicLong();
+    private volatile int lastFlushSize;
+    private volatile long lastCommitNanos;
+    private volatile long maxCommitNanos;
+    private DistributionSummary flushSize;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        flushSize = DistributionSummary.builder("inventory.ingest.flush.size")
+                .baseUnit("transactions")
+                .register(meterRegistry);
+        running = true;
+        writer = new Thread(this::drain, "transaction-ingest-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Tickets still queued when the writer runs out of time are failed rather than left QUEUED
+    @PreDestroy
+    void stop() throws InterruptedException {
+        admission.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            admission.writeLock().unlock();
+        }
+        writer.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS));
+        List<Ticket> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        if (!abandoned.isEmpty()) {
+            log.error("Shutting down with {} queued transactions not committed after {} s; failing them",
+                    abandoned.size(), SHUTDOWN_TIMEOUT_SECONDS);
+            Instant now = Instant.now();
+            for (Ticket ticket : abandoned) {
+                ticket.fail("Shut down before the transaction was committed", now);
+                retire(ticket);
+            }
+        }
+    }
+
+    // Empty when the queue is full or the service is shutting down
+    public Optional<IngestTicketDTO> submit(TransactionRequestDTO request) {
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), request, Instant.now());
+        admission.readLock().lock();
+        try {
+            if (!running) {
+                refused.incrementAndGet();
+                return Optional.empty();
+            }
+            tickets.put(ticket.id, ticket);
+            if (!queue.offer(ticket)) {
+                tickets.remove(ticket.id);
+                refused.incrementAndGet();
+                return Optional.empty();
+            }
+        } finally {
+            admission.readLock().unlock();
+        }
+        return Optional.of(ticket.toDto());
+    }
+
+    public Optional<IngestTicketDTO> getTicket(String ticketId) {
+        Ticket ticket = tickets.get(ticketId);
+        return ticket == null ? Optional.empty() : Optional.of(ticket.toDto());
+    }
+
+    // Completes when the ticket is committed or rejected, or with its current state once waitMs has passed
+    public Optional<CompletableFuture<IngestTicketDTO>> awaitTicket(String ticketId, long waitMs) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            return Optional.empty();
+        }
+        return Optional.of(ticket.done.thenApply(ignored -> ticket.toDto())
+                .completeOnTimeout(null, waitMs, TimeUnit.MILLISECONDS)
+                .thenApply(dto -> dto != null ? dto : ticket.toDto()));
+    }
+
+    public IngestStatsDTO getStats() {
+        IngestStatsDTO stats = new IngestStatsDTO();
+        stats.setQueueDepth(queue.size());
+        stats.setQueueCapacity(queueCapacity);
+        long flushes = flushCount.get();
+        stats.setFlushCount(flushes);
+        stats.setLastFlushSize(lastFlushSize);
+        stats.setCommitted(committed.get());
+        stats.setRejected(rejected.get());
+        stats.setRefused(refused.get());
+        stats.setLastCommitLatencyMs(lastCommitNanos / 1e6);
+        stats.setMaxCommitLatencyMs(maxCommitNanos / 1e6);
+        stats.setAverageCommitLatencyMs(flushes == 0 ? 0 : totalCommitNanos.get() / 1e6 / flushes);
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.ingest.ticket-sweep-interval-ms:60000}")
+    public void evictCompletedTickets() {
+        Instant cutoff = Instant.now().minusSeconds(ticketRetentionSeconds);
+        synchronized (completed) {
+            while (!completed.isEmpty() && completed.peekFirst().completedAt.isBefore(cutoff)) {
+                tickets.remove(completed.removeFirst().id);
+            }
+        }
+    }
+
+    private void retire(Ticket ticket) {
+        synchronized (completed) {
+            completed.addLast(ticket);
+            while (completed.size() > maxRetainedTickets) {
+                tickets.remove(completed.removeFirst().id);
+            }
+        }
+    }
+
+    private void drain() {
+        List<Ticket> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Ticket first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Ticket next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Ticket> batch) {
+        List<TransactionRequestDTO> requests = new ArrayList<>(batch.size());
+        for (Ticket ticket : batch) {
+            requests.add(ticket.request);
+        }
+        long started = System.nanoTime();
+        try {
+            TransactionBatchResponseDTO response = transactionService.createTransactions(requests);
+            Instant now = Instant.now();
+            for (TransactionBatchResultDTO result : response.getResults()) {
+                batch.get(result.getIndex()).complete(result, now);
+                retire(batch.get(result.getIndex()));
+            }
+            committed.addAndGet(response.getApplied());
+            rejected.addAndGet(response.getRejected());
+        } catch (RuntimeException e) {
+            log.error("Failed to commit {} queued transactions", batch.size(), e);
+            Instant now = Instant.now();
+            for (Ticket ticket : batch) {
+                ticket.fail(e.getMessage(), now);
+                retire(ticket);
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        flushCount.incrementAndGet();
+        lastFlushSize = batch.size();
+        flushSize.record(batch.size());
+        lastCommitNanos = elapsed;
+        maxCommitNanos = Math.max(maxCommitNanos, elapsed);
+        totalCommitNanos.addAndGet(elapsed);
+    }
+
+    private static final class Ticket {
+        final String id;
+        final TransactionRequestDTO request;
+        final Instant acceptedAt;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        volatile String status = "QUEUED";
+        volatile String transactionId;
+        volatile String error;
+        volatile Instant completedAt;
+
+        Ticket(String id, TransactionRequestDTO request, Instant acceptedAt) {
+            this.id = id;
+            this.request = request;
+            this.acceptedAt = acceptedAt;
+        }
+
+        void complete(TransactionBatchResultDTO result, Instant now) {
+            transactionId = result.getTransactionId();
+            error = result.getError();
+            finish(result.getStatus(), now);
+        }
+
+        void fail(String reason, Instant now) {
+            error = reason;
+            finish("FAILED", now);
+        }
+
+        private void finish(String finalStatus, Instant now) {
+            completedAt = now;
+            status = finalStatus;
+            done.complete(null);
+        }
+
+        IngestTicketDTO toDto() {
+            IngestTicketDTO dto = new IngestTicketDTO();
+            dto.setTicketId(id);
+            dto.setStatus(status);
+            dto.setTransactionId(transactionId);
+            dto.setError(error);
+            dto.setAcceptedAt(acceptedAt);
+            dto.setCommittedAt(completedAt);
+            return dto;
+        }
+    }
+}
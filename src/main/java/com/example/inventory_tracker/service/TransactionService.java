@@ -1,45 +1,681 @@
 // src/main/java/com/example/inventory_tracker/service/TransactionService.java
 package com.example.inventory_tracker.service;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.example.inventory_tracker.archive.ColdLedger;
+import com.example.inventory_tracker.archive.LedgerFilter;
+import com.example.inventory_tracker.archive.LedgerKeyset;
+import com.example.inventory_tracker.config.MongoClientOptions;
+import com.example.inventory_tracker.dto.CursorPage;
+import com.example.inventory_tracker.dto.FieldSelection;
+import com.example.inventory_tracker.dto.TransactionBatchResponseDTO;
+import com.example.inventory_tracker.dto.TransactionBatchResultDTO;
+import com.example.inventory_tracker.dto.TransactionRequestDTO;
+import com.example.inventory_tracker.model.Product;
 import com.example.inventory_tracker.model.Transaction;
 import com.example.inventory_tracker.repository.TransactionRepository;
 
 @Service
 public class TransactionService {
+    // Newest first; _id breaks ties between movements recorded in the same millisecond
+    private static final Sort LEDGER_ORDER = Sort.by(Sort.Direction.DESC, "timestamp", "id");
+    static final int MAX_BATCH_SIZE = 10_000;
+    private static final int MAX_CONDITIONAL_ATTEMPTS = 3;
+
     @Autowired
     private TransactionRepository transactionRepository;
 
-    public List<Transaction> getAllTransactions() {
-        return transactionRepository.findAll();
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private StockHistoryService stockHistoryService;
+
+    @Autowired
+    private ColdLedger coldLedger;
+
+    @Autowired
+    private MongoClientOptions mongoClientOptions;
+
+    public List<Transaction> getAllTransactions(FieldSelection fields) {
+        List<Transaction> all = mongoTemplate.find(Projections.project(new Query(), fields), Transaction.class);
+        if (!coldLedger.isEmpty()) {
+            all = new ArrayList<>(all);
+            try (Stream<Transaction> archived = coldLedger.stream(null, null, null)) {
+                archived.forEach(all::add);
+            }
+        }
+        return all;
     }
 
     public Optional<Transaction> getTransactionById(String id) {
-        return transactionRepository.findById(id);
+        Optional<Transaction> transaction = transactionRepository.findById(id);
+        return transaction.isPresent() ? transaction : coldLedger.findById(id);
     }
 
+    // The stock check is part of the update filter, so concurrent movements can never drive a location negative
     public Transaction createTransaction(Transaction transaction) {
-        return transactionRepository.save(transaction);
+        validateMovement(transaction);
+        if (transaction.getTimestamp() == null) {
+            transaction.setTimestamp(Instant.now());
+        }
+        Movement movement = movesAtHome(transaction) ? applyAtHome(transaction) : applyAtLocations(transaction);
+
+        Transaction saved;
+        try {
+            saved = transactionRepository.insert(transaction);
+        } catch (RuntimeException e) {
+            // The ledger write failed after stock moved; undo the increment
+            mongoTemplate.updateFirst(query(where("id").is(movement.after().getId())), movement.undo(), Product.class);
+            throw e;
+        }
+
+        productService.productChanged(movement.before(), movement.after());
+        dashboardService.transactionRecorded(saved);
+        rollupService.transactionsRecorded(List.of(saved), Map.of(movement.after().getId(), movement.after()));
+        return saved;
+    }
+
+    // Movements for the same product are applied in request order. A product with any movement naming a location
+    // or any transfer has all its movements applied one at a time; the rest share one bulk update and one insert.
+    public TransactionBatchResponseDTO createTransactions(List<TransactionRequestDTO> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "A batch may contain at most " + MAX_BATCH_SIZE + " transactions");
+        }
+        Instant now = Instant.now();
+        TransactionBatchResultDTO[] results = new TransactionBatchResultDTO[requests.size()];
+        Transaction[] transactions = new Transaction[requests.size()];
+        Map<String, List<Integer>> itemsByProduct = new LinkedHashMap<>();
+        Set<String> placedProducts = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i) == null) {
+                results[i] = batchResult(i, null, null, "Transaction is required");
+                continue;
+            }
+            try {
+                Transaction transaction = toTransaction(requests.get(i), now);
+                validateMovement(transaction);
+                transactions[i] = transaction;
+                itemsByProduct.computeIfAbsent(transaction.getProductId(), key -> new ArrayList<>()).add(i);
+                if (!movesAtHome(transaction)) {
+                    placedProducts.add(transaction.getProductId());
+                }
+            } catch (ResponseStatusException e) {
+                results[i] = batchResult(i, requests.get(i).getProductId(), null, e.getReason());
+            }
+        }
+
+        int placed = 0;
+        for (String productId : placedProducts) {
+            for (int index : itemsByProduct.remove(productId)) {
+                try {
+                    results[index] = batchResult(index, productId, createTransaction(transactions[index]).getId(), null);
+                    placed++;
+                } catch (ResponseStatusException e) {
+                    results[index] = batchResult(index, productId, null, e.getReason());
+                } catch (RuntimeException e) {
+                    results[index] = batchResult(index, productId, null, "Failed to record transaction");
+                }
+            }
+        }
+
+        Map<String, Product> products = new HashMap<>();
+        for (Product product : mongoTemplate.find(query(where("id").in(itemsByProduct.keySet())), Product.class)) {
+            products.put(product.getId(), product);
+        }
+
+        BulkOperations increments = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        Map<String, GroupPlan> unguarded = new LinkedHashMap<>();
+        Map<String, Integer> netDeltas = new HashMap<>();
+        List<Integer> accepted = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> group : itemsByProduct.entrySet()) {
+            String productId = group.getKey();
+            Product product = products.get(productId);
+            for (int attempt = 1; ; attempt++) {
+                if (product == null) {
+                    rejectAll(group.getValue(), transactions, results, "Product not found: " + productId);
+                    break;
+                }
+                GroupPlan plan = planGroup(StockPlacement.homeQuantity(product), group.getValue(), transactions);
+                if (plan.accepted.isEmpty()) {
+                    rejectAll(plan.rejected, transactions, results, insufficientStock(productId));
+                    break;
+                }
+                if (plan.required == 0) {
+                    // The running balance never dips below the starting quantity, so no stock guard is needed.
+                    // Bulk updates don't bump the version the way findAndModify does, so it is done here.
+                    increments.updateOne(query(where("id").is(productId)),
+                            new Update().inc("quantity", plan.net).inc("version", 1));
+                    unguarded.put(productId, plan);
+                } else {
+                    Product after = mongoTemplate.findAndModify(
+                            query(where("id").is(productId)).addCriteria(StockPlacement.homeHolds(plan.required)),
+                            new Update().inc("quantity", plan.net), FindAndModifyOptions.options().returnNew(true),
+                            Product.class);
+                    if (after == null) {
+                        // Stock moved underneath us; re-plan against the fresh quantity
+                        product = mongoTemplate.findById(productId, Product.class);
+                        if (attempt < MAX_CONDITIONAL_ATTEMPTS) {
+                            continue;
+                        }
+                        rejectAll(group.getValue(), transactions, results,
+                                "Concurrent stock updates on product " + productId + ", retry the movement");
+                        break;
+                    }
+                }
+                rejectAll(plan.rejected, transactions, results, insufficientStock(productId));
+                accepted.addAll(plan.accepted);
+                netDeltas.put(productId, plan.net);
+                break;
+            }
+        }
+        if (!unguarded.isEmpty() && increments.execute().getMatchedCount() < unguarded.size()) {
+            // Products deleted since they were read matched nothing; their movements are rejected
+            Query present = query(where("id").in(unguarded.keySet()));
+            present.fields().include("id");
+            for (Product product : mongoTemplate.find(present, Product.class)) {
+                unguarded.remove(product.getId());
+            }
+            unguarded.forEach((productId, plan) -> {
+                rejectAll(plan.accepted, transactions, results, "Product not found: " + productId);
+                accepted.removeAll(new HashSet<>(plan.accepted));
+                netDeltas.remove(productId);
+            });
+        }
+
+        List<Transaction> ledger = new ArrayList<>(accepted.size());
+        for (int index : accepted) {
+            transactions[index].setId(new ObjectId().toHexString());
+            transactions[index].setLocationId(products.get(transactions[index].getProductId()).getLocationId());
+            ledger.add(transactions[index]);
+        }
+        boolean[] failed = insertLedger(ledger);
+
+        List<Transaction> recorded = new ArrayList<>(ledger.size());
+        Map<String, Integer> reverted = new HashMap<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            int index = accepted.get(i);
+            Transaction transaction = transactions[index];
+            if (failed[i]) {
+                reverted.merge(transaction.getProductId(), -quantityDelta(transaction), Integer::sum);
+                results[index] = batchResult(index, transaction.getProductId(), null, "Failed to record transaction");
+            } else {
+                recorded.add(transaction);
+                results[index] = batchResult(index, transaction.getProductId(), transaction.getId(), null);
+            }
+        }
+        if (!reverted.isEmpty()) {
+            BulkOperations compensation = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+            reverted.forEach((productId, delta) -> {
+                compensation.updateOne(query(where("id").is(productId)),
+                        new Update().inc("quantity", delta).inc("version", 1));
+                netDeltas.merge(productId, delta, Integer::sum);
+            });
+            compensation.execute();
+        }
+
+        if (!netDeltas.isEmpty()) {
+            for (Product after : mongoTemplate.find(query(where("id").in(netDeltas.keySet())), Product.class)) {
+                Product before = ProductService.copyOf(after);
+                before.setQuantity(after.getQuantity() - netDeltas.get(after.getId()));
+                productService.productChanged(before, after);
+            }
+        }
+        dashboardService.transactionsRecorded(recorded);
+        rollupService.transactionsRecorded(recorded, products);
+
+        TransactionBatchResponseDTO response = new TransactionBatchResponseDTO();
+        response.setResults(Arrays.asList(results));
+        response.setApplied(recorded.size() + placed);
+        response.setRejected(results.length - recorded.size() - placed);
+        return response;
     }
 
+    // The stock change is taken back at the locations the row recorded, with the same guards as a new movement;
+    // 409 if that stock has since moved on
     public void deleteTransaction(String id) {
-        transactionRepository.deleteById(id);
+        Transaction transaction = mongoTemplate.findById(id, Transaction.class);
+        if (transaction == null) {
+            if (coldLedger.findById(id).isPresent()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Archived transactions cannot be deleted: " + id);
+            }
+            return;
+        }
+        Movement movement = reverse(transaction);
+        Transaction removed = mongoTemplate.findAndRemove(query(where("id").is(id)), Transaction.class);
+        if (removed == null) {
+            // Deleted concurrently, and that delete took the stock back already
+            if (movement != null) {
+                mongoTemplate.updateFirst(query(where("id").is(movement.after().getId())), movement.undo(),
+                        Product.class);
+            }
+            return;
+        }
+        if (movement != null) {
+            productService.productChanged(movement.before(), movement.after());
+        }
+        dashboardService.transactionRemoved(removed);
+        rollupService.transactionRemoved(removed);
+        stockHistoryService.movementRemoved(removed);
+    }
+
+    public List<Transaction> getTransactionsByProductId(String productId, Instant from, Instant to) {
+        return find(LedgerFilter.product(productId), from, to);
+    }
+
+    public List<Transaction> getTransactionsByUserId(String userId, Instant from, Instant to) {
+        return find(LedgerFilter.user(userId), from, to);
+    }
+
+    public List<Transaction> getTransactionsByType(Transaction.TransactionType type, Instant from, Instant to) {
+        return find(LedgerFilter.type(type.name()), from, to);
+    }
+
+    public CursorPage<Transaction> getTransactionsPage(String after, int limit, FieldSelection fields) {
+        return page(null, null, null, after, limit, fields);
+    }
+
+    public CursorPage<Transaction> getTransactionsByProductIdPage(String productId, Instant from, Instant to,
+                                                                  String after, int limit, FieldSelection fields) {
+        return page(LedgerFilter.product(productId), from, to, after, limit, fields);
+    }
+
+    public CursorPage<Transaction> getTransactionsByUserIdPage(String userId, Instant from, Instant to,
+                                                               String after, int limit, FieldSelection fields) {
+        return page(LedgerFilter.user(userId), from, to, after, limit, fields);
+    }
+
+    public CursorPage<Transaction> getTransactionsByTypePage(Transaction.TransactionType type, Instant from,
+                                                             Instant to, String after, int limit,
+                                                             FieldSelection fields) {
+        return page(LedgerFilter.type(type.name()), from, to, after, limit, fields);
+    }
+
+    public Stream<Transaction> streamTransactions() {
+        return stream(null, null, null);
+    }
+
+    public Stream<Transaction> streamTransactionsByProductId(String productId, Instant from, Instant to) {
+        return stream(LedgerFilter.product(productId), from, to);
+    }
+
+    public Stream<Transaction> streamTransactionsByUserId(String userId, Instant from, Instant to) {
+        return stream(LedgerFilter.user(userId), from, to);
+    }
+
+    public Stream<Transaction> streamTransactionsByType(Transaction.TransactionType type, Instant from, Instant to) {
+        return stream(LedgerFilter.type(type.name()), from, to);
+    }
+
+    // Archived months first, then Mongo rows, each in ascending ledger order
+    public Stream<Transaction> streamForExport(String productId, Transaction.TransactionType type, Instant from,
+                                               Instant to) {
+        LedgerFilter filter = productId != null ? LedgerFilter.product(productId)
+                : type != null ? LedgerFilter.type(type.name()) : null;
+        boolean typeOnTop = productId != null && type != null;
+        Criteria match = inWindow(filter, from, to);
+        if (typeOnTop) {
+            match = new Criteria().andOperator(match, where("type").is(type));
+        }
+        Stream<Transaction> hot = mongoTemplate.stream(mongoClientOptions.forExport(query(match))
+                .with(Sort.by(Sort.Direction.ASC, "timestamp", "id"))
+                .cursorBatchSize(Pages.STREAM_BATCH_SIZE), Transaction.class);
+        if (coldLedger.isEmpty()) {
+            return hot;
+        }
+        Stream<Transaction> cold = coldLedger.stream(filter, from, to);
+        if (typeOnTop) {
+            cold = cold.filter(transaction -> transaction.getType() == type);
+        }
+        return Stream.concat(cold, hot);
+    }
+
+    // IN/OUT at the product's own location needs no read: one $inc guarded by the stock held there
+    private Movement applyAtHome(Transaction transaction) {
+        String productId = transaction.getProductId();
+        int delta = quantityDelta(transaction);
+        Query target = query(where("id").is(productId));
+        if (delta < 0) {
+            target.addCriteria(StockPlacement.homeHolds(-delta));
+        }
+        Product after = mongoTemplate.findAndModify(target, new Update().inc("quantity", delta),
+                FindAndModifyOptions.options().returnNew(true), Product.class);
+        if (after == null) {
+            if (!mongoTemplate.exists(query(where("id").is(productId)), Product.class)) {
+                throw productNotFound(productId);
+            }
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Insufficient stock for product " + productId + " to remove " + -delta);
+        }
+        transaction.setLocationId(after.getLocationId());
+        Product before = ProductService.copyOf(after);
+        before.setQuantity(after.getQuantity() - delta);
+        return new Movement(before, after, new Update().inc("quantity", -delta));
+    }
+
+    // Resolved against the product as last read; the update only matches while its own location is unchanged
+    private Movement applyAtLocations(Transaction transaction) {
+        String productId = transaction.getProductId();
+        Product product = productService.getProductById(productId).orElseThrow(() -> productNotFound(productId));
+        for (int attempt = 1; ; attempt++) {
+            String home = product.getLocationId();
+            Map<String, Integer> deltas = StockPlacement.deltas(transaction, home);
+            Product before = mongoTemplate.findAndModify(StockPlacement.target(productId, home, deltas),
+                    StockPlacement.update(home, deltas, 1), Product.class);
+            if (before != null) {
+                StockPlacement.resolve(transaction, home);
+                Product after = StockPlacement.moved(before, deltas);
+                after.setVersion(PartialUpdates.next(before.getVersion()));
+                return new Movement(before, after, StockPlacement.update(home, deltas, -1));
+            }
+            product = mongoTemplate.findById(productId, Product.class);
+            if (product == null) {
+                throw productNotFound(productId);
+            }
+            if (Objects.equals(product.getLocationId(), home)) {
+                throw StockPlacement.insufficientStock(productId, deltas);
+            }
+            if (attempt == MAX_CONDITIONAL_ATTEMPTS) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Concurrent location changes on product " + productId + ", retry the movement");
+            }
+        }
+    }
+
+    private record Movement(Product before, Product after, Update undo) {
+    }
+
+    // Null if the row is malformed or its product is gone
+    private Movement reverse(Transaction transaction) {
+        if (transaction.getType() == null || transaction.getQuantity() <= 0 || transaction.getProductId() == null) {
+            return null;
+        }
+        Transaction reversal = new Transaction();
+        reversal.setProductId(transaction.getProductId());
+        reversal.setQuantity(transaction.getQuantity());
+        switch (transaction.getType()) {
+            case IN -> {
+                reversal.setType(Transaction.TransactionType.OUT);
+                reversal.setLocationId(transaction.getLocationId());
+            }
+            case OUT -> {
+                reversal.setType(Transaction.TransactionType.IN);
+                reversal.setLocationId(transaction.getLocationId());
+            }
+            case TRANSFER -> {
+                reversal.setType(Transaction.TransactionType.TRANSFER);
+                reversal.setLocationId(transaction.getToLocationId());
+                reversal.setToLocationId(transaction.getLocationId());
+            }
+        }
+        try {
+            return movesAtHome(reversal) ? applyAtHome(reversal) : applyAtLocations(reversal);
+        } catch (ResponseStatusException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+                return null;
+            }
+            throw new ResponseStatusException(e.getStatusCode(),
+                    "Transaction " + transaction.getId() + " cannot be deleted: " + e.getReason());
+        }
+    }
+
+    private static ResponseStatusException productNotFound(String productId) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found: " + productId);
+    }
+
+    // Per ledger row, whether its insert failed; a failure other than a bulk write error fails every row
+    private boolean[] insertLedger(List<Transaction> ledger) {
+        boolean[] failed = new boolean[ledger.size()];
+        if (ledger.isEmpty()) {
+            return failed;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Transaction.class).insert(ledger).execute();
+        } catch (BulkOperationException e) {
+            e.getErrors().forEach(error -> failed[error.getIndex()] = true);
+        } catch (RuntimeException e) {
+            Arrays.fill(failed, true);
+        }
+        return failed;
+    }
+
+    // Replays one product's movements in order from the given quantity. OUT movements that would take the
+    // balance below zero are rejected; required is the smallest starting quantity the accepted ones need.
+    private static GroupPlan planGroup(int quantity, List<Integer> indexes, Transaction[] transactions) {
+        GroupPlan plan = new GroupPlan();
+        int lowestBalance = 0;
+        for (int index : indexes) {
+            int delta = quantityDelta(transactions[index]);
+            if (quantity + plan.net + delta < 0) {
+                plan.rejected.add(index);
+                continue;
+            }
+            plan.accepted.add(index);
+            plan.net += delta;
+            lowestBalance = Math.min(lowestBalance, plan.net);
+        }
+        plan.required = -lowestBalance;
+        return plan;
+    }
+
+    private static final class GroupPlan {
+        final List<Integer> accepted = new ArrayList<>();
+        final List<Integer> rejected = new ArrayList<>();
+        int net;
+        int required;
+    }
+
+    private static void rejectAll(List<Integer> indexes, Transaction[] transactions,
+                                  TransactionBatchResultDTO[] results, String reason) {
+        for (int index : indexes) {
+            results[index] = batchResult(index, transactions[index].getProductId(), null, reason);
+        }
+    }
+
+    private static TransactionBatchResultDTO batchResult(int index, String productId, String transactionId,
+                                                         String error) {
+        TransactionBatchResultDTO result = new TransactionBatchResultDTO();
+        result.setIndex(index);
+        result.setProductId(productId);
+        result.setTransactionId(transactionId);
+        result.setStatus(error == null ? "APPLIED" : "REJECTED");
+        result.setError(error);
+        return result;
+    }
+
+    private static String insufficientStock(String productId) {
+        return "Insufficient stock for product " + productId;
+    }
+
+    private static Transaction toTransaction(TransactionRequestDTO request, Instant timestamp) {
+        Transaction transaction = new Transaction();
+        transaction.setProductId(request.getProductId());
+        transaction.setQuantity(request.getQuantity());
+        transaction.setUserId(request.getUserId());
+        transaction.setNotes(request.getNotes());
+        transaction.setLocationId(request.getLocationId());
+        transaction.setToLocationId(request.getToLocationId());
+        transaction.setTimestamp(timestamp);
+        if (request.getType() != null) {
+            try {
+                transaction.setType(Transaction.TransactionType.valueOf(request.getType().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown transaction type: " + request.getType());
+            }
+        }
+        return transaction;
+    }
+
+    static void validateMovement(Transaction transaction) {
+        if (transaction.getProductId() == null || transaction.getProductId().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "productId is required");
+        }
+        if (transaction.getType() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "type is required");
+        }
+        if (transaction.getQuantity() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "quantity must be positive");
+        }
+        StockPlacement.checkLocationId("locationId", transaction.getLocationId());
+        StockPlacement.checkLocationId("toLocationId", transaction.getToLocationId());
+        if (transaction.getType() == Transaction.TransactionType.TRANSFER) {
+            if (transaction.getLocationId() == null && transaction.getToLocationId() == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "A transfer needs locationId, toLocationId or both");
+            }
+        } else if (transaction.getToLocationId() != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "toLocationId only applies to transfers");
+        }
+    }
+
+    // IN/OUT without a location are applied to the product's own location
+    static boolean movesAtHome(Transaction transaction) {
+        return transaction.getType() != Transaction.TransactionType.TRANSFER && transaction.getLocationId() == null;
+    }
+
+    // Change to the product's total quantity; a transfer leaves it as it is
+    static int quantityDelta(Transaction transaction) {
+        return switch (transaction.getType()) {
+            case IN -> transaction.getQuantity();
+            case OUT -> -transaction.getQuantity();
+            case TRANSFER -> 0;
+        };
+    }
+
+    private List<Transaction> find(LedgerFilter filter, Instant from, Instant to) {
+        List<Transaction> hot = mongoTemplate.find(query(inWindow(filter, from, to)).with(LEDGER_ORDER),
+                Transaction.class);
+        return merge(hot, coldLedger.find(filter, from, to, null, Integer.MAX_VALUE), Integer.MAX_VALUE);
+    }
+
+    // [from, to); either bound may be omitted. Bounded windows exclude legacy rows without a timestamp.
+    private static Criteria inWindow(LedgerFilter filter, Instant from, Instant to) {
+        Criteria match = filter == null ? new Criteria() : where(filter.field().property())
+                .is(filter.field() == LedgerFilter.Field.TYPE
+                        ? Transaction.TransactionType.valueOf(filter.value()) : filter.value());
+        if (from == null && to == null) {
+            return match;
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        Criteria window = where("timestamp");
+        if (from != null) {
+            window.gte(from);
+        }
+        if (to != null) {
+            window.lt(to);
+        }
+        return new Criteria().andOperator(match, window);
+    }
+
+    // Both sides are already in ledger order; rows caught between being archived and deleted are taken once
+    private static List<Transaction> merge(List<Transaction> hot, List<Transaction> cold, int limit) {
+        if (cold.isEmpty()) {
+            return hot;
+        }
+        Set<String> hotIds = new HashSet<>();
+        for (Transaction transaction : hot) {
+            hotIds.add(transaction.getId());
+        }
+        List<Transaction> merged = new ArrayList<>(hot);
+        for (Transaction transaction : cold) {
+            if (!hotIds.contains(transaction.getId())) {
+                merged.add(transaction);
+            }
+        }
+        merged.sort(ColdLedger.NEWEST_FIRST);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    // Archived rows are read whole
+    private CursorPage<Transaction> page(LedgerFilter filter, Instant from, Instant to, String after, int limit,
+                                         FieldSelection fields) {
+        Query query = Projections.project(new Query().with(LEDGER_ORDER).limit(Pages.checkLimit(limit) + 1), fields,
+                "timestamp");
+        LedgerKeyset keyset = after == null || after.isEmpty() ? null : keysetOf(after);
+        Criteria match = inWindow(filter, from, to);
+        query.addCriteria(keyset == null ? match : new Criteria().andOperator(match, keysetAfter(keyset)));
+        List<Transaction> hot = mongoTemplate.find(query, Transaction.class);
+        List<Transaction> cold = coldLedger.find(filter, from, to, keyset, limit + 1);
+        return Pages.of(merge(hot, cold, limit + 1), limit, TransactionService::cursorOf);
+    }
+
+    private Stream<Transaction> stream(LedgerFilter filter, Instant from, Instant to) {
+        Stream<Transaction> hot = mongoTemplate.stream(query(inWindow(filter, from, to))
+                .cursorBatchSize(Pages.STREAM_BATCH_SIZE), Transaction.class);
+        return coldLedger.isEmpty() ? hot : Stream.concat(hot, coldLedger.stream(filter, from, to));
     }
 
-    public List<Transaction> getTransactionsByProductId(String productId) {
-        return transactionRepository.findByProductId(productId);
+    // Cursor is "<epoch millis>_<id>", or "_<id>" for legacy rows without a timestamp (these sort last)
+    static String cursorOf(Transaction transaction) {
+        Instant timestamp = transaction.getTimestamp();
+        return (timestamp == null ? "" : Long.toString(timestamp.toEpochMilli())) + "_" + transaction.getId();
     }
 
-    public List<Transaction> getTransactionsByUserId(String userId) {
-        return transactionRepository.findByUserId(userId);
+    static LedgerKeyset keysetOf(String cursor) {
+        int separator = cursor.indexOf('_');
+        String id = separator < 0 ? null : cursor.substring(separator + 1);
+        if (id == null || !ObjectId.isValid(id)) {
+            throw Pages.invalidCursor(cursor);
+        }
+        if (separator == 0) {
+            return new LedgerKeyset(null, id);
+        }
+        try {
+            return new LedgerKeyset(Instant.ofEpochMilli(Long.parseLong(cursor.substring(0, separator))), id);
+        } catch (NumberFormatException e) {
+            throw Pages.invalidCursor(cursor);
+        }
     }
 
-    public List<Transaction> getTransactionsByType(Transaction.TransactionType type) {
-        return transactionRepository.findByType(type);
+    private static Criteria keysetAfter(LedgerKeyset keyset) {
+        if (keyset.timestamp() == null) {
+            return where("timestamp").is(null).and("id").lt(keyset.id());
+        }
+        return new Criteria().orOperator(
+                where("timestamp").lt(keyset.timestamp()),
+                where("timestamp").is(keyset.timestamp()).and("id").lt(keyset.id()),
+                where("timestamp").is(null));
     }
 }
@@ -1,12 +1,21 @@
 // src/main/java/com/example/inventory_tracker/service/UserService.java
 package com.example.inventory_tracker.service;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import com.example.inventory_tracker.dto.FieldSelection;
+import com.example.inventory_tracker.dto.UserPatchDTO;
 import com.example.inventory_tracker.model.User;
 import com.example.inventory_tracker.repository.UserRepository;
 
@@ -15,8 +24,16 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Password hashes are never read for listings
+    public List<User> getAllUsers(FieldSelection fields) {
+        Query query = Projections.project(new Query(), fields);
+        if (fields.isAll()) {
+            query.fields().exclude("passwordHash");
+        }
+        return mongoTemplate.find(query, User.class);
     }
 
     public Optional<User> getUserById(String id) {
@@ -28,12 +45,47 @@ public class UserService {
     }
 
     public User createUser(User user) {
+        user.setVersion(null);
         return userRepository.save(user);
     }
 
+    // A missing password hash or creation date keeps the stored one; responses never carry the hash
     public User updateUser(String id, User user) {
-        user.setId(id);
-        return userRepository.save(user);
+        Update update = new Update();
+        PartialUpdates.setOrUnset(update, "username", user.getUsername());
+        PartialUpdates.setOrUnset(update, "role", user.getRole());
+        PartialUpdates.setOrUnset(update, "email", user.getEmail());
+        if (user.getPasswordHash() != null) {
+            update.set("passwordHash", user.getPasswordHash());
+        }
+        if (user.getCreatedAt() != null) {
+            update.set("createdAt", user.getCreatedAt());
+        }
+        return modify(id, user.getVersion(), update);
+    }
+
+    public User patchUser(String id, UserPatchDTO patch) {
+        Update update = new Update();
+        if (patch.getUsername() != null) {
+            update.set("username", patch.getUsername());
+        }
+        if (patch.getRole() != null) {
+            update.set("role", patch.getRole());
+        }
+        if (patch.getEmail() != null) {
+            update.set("email", patch.getEmail());
+        }
+        return modify(id, patch.getVersion(), PartialUpdates.checkNotEmpty(update));
+    }
+
+    private User modify(String id, Long expectedVersion, Update update) {
+        User after = mongoTemplate.findAndModify(PartialUpdates.target(id, expectedVersion), update,
+                FindAndModifyOptions.options().returnNew(true), User.class);
+        if (after == null) {
+            throw PartialUpdates.notApplied("User", id, expectedVersion,
+                    mongoTemplate.exists(query(where("id").is(id)), User.class));
+        }
+        return after;
     }
 
     public void deleteUser(String id) {
@@ -0,0 +1,217 @@
+package com.example.inventory_tracker.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.inventory_tracker.model.Transaction;
+import com.example.inventory_tracker.model.Transaction.TransactionType;
+
+class TransactionSegmentTest {
+	// Enough rows for a full row group and a partial one
+	private static final int ROWS = TransactionSegmentWriter.ROWS_PER_GROUP + 100;
+	private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+	@TempDir
+	static Path directory;
+
+	private static final List<Transaction> written = new ArrayList<>();
+	private static TransactionSegment segment;
+
+	@BeforeAll
+	static void write() throws IOException {
+		Path path = directory.resolve("2025-01.seg");
+		try (TransactionSegmentWriter writer = TransactionSegmentWriter.create(path)) {
+			for (int i = 0; i < ROWS; i++) {
+				Transaction transaction = transaction(i);
+				writer.append(transaction);
+				written.add(transaction);
+			}
+			writer.finish();
+		}
+		segment = TransactionSegment.open(path);
+	}
+
+	@Test
+	void roundTripsEveryRowAndColumn() {
+		assertEquals(ROWS, segment.rowCount());
+		assertEquals(START, segment.minTimestamp());
+		assertEquals(written.get(ROWS - 1).getTimestamp(), segment.maxTimestamp());
+		try (Stream<Transaction> rows = segment.stream(null, null, null)) {
+			assertEquals(describe(written), describe(rows.toList()));
+		}
+	}
+
+	@Test
+	void filtersAndPagesNewestFirstAcrossGroups() {
+		Instant to = written.get(TransactionSegmentWriter.ROWS_PER_GROUP + 5).getTimestamp();
+		List<Transaction> page = segment.newestFirst(LedgerFilter.product("p1"), null, to, null, 10);
+		List<Transaction> expected = new ArrayList<>();
+		for (int i = TransactionSegmentWriter.ROWS_PER_GROUP + 4; expected.size() < 10; i--) {
+			if (written.get(i).getProductId().equals("p1")) {
+				expected.add(written.get(i));
+			}
+		}
+		assertEquals(describe(expected), describe(page));
+
+		Transaction last = page.get(4);
+		List<Transaction> next = segment.newestFirst(LedgerFilter.product("p1"), null, to,
+				new LedgerKeyset(last.getTimestamp(), last.getId()), 5);
+		assertEquals(describe(expected.subList(5, 10)), describe(next));
+
+		assertEquals(List.of(), segment.newestFirst(LedgerFilter.product("missing"), null, null, null, 10));
+		List<Transaction> transfers = written.stream()
+				.filter(transaction -> transaction.getType() == TransactionType.TRANSFER).toList();
+		assertEquals(describe(List.of(transfers.get(transfers.size() - 1), transfers.get(transfers.size() - 2))),
+				describe(segment.newestFirst(LedgerFilter.type("TRANSFER"), null, null, null, 2)));
+	}
+
+	@Test
+	void findsByIdAndListsIdsInAnInclusiveRange() {
+		Transaction wanted = written.get(ROWS - 3);
+		assertEquals(describe(List.of(wanted)),
+				describe(List.of(segment.findById(new ObjectId(wanted.getId())).orElseThrow())));
+		assertFalse(segment.findById(new ObjectId()).isPresent());
+
+		int first = TransactionSegmentWriter.ROWS_PER_GROUP - 2;
+		int last = TransactionSegmentWriter.ROWS_PER_GROUP + 2;
+		List<String> ids = new ArrayList<>();
+		segment.forEachId(written.get(first).getTimestamp(), written.get(last).getTimestamp(),
+				id -> ids.add(id.toHexString()));
+		assertEquals(written.subList(first, last + 1).stream().map(Transaction::getId).toList(), ids);
+	}
+
+	@Test
+	void sumsNetQuantityPerProduct() {
+		Instant from = written.get(1000).getTimestamp();
+		Instant to = written.get(ROWS - 50).getTimestamp();
+		Map<String, long[]> expected = new HashMap<>();
+		for (Transaction transaction : written.subList(1000, ROWS - 50)) {
+			long[] sums = expected.computeIfAbsent(transaction.getProductId(), key -> new long[2]);
+			sums[0] += transaction.getType() == TransactionType.IN ? transaction.getQuantity()
+					: transaction.getType() == TransactionType.OUT ? -transaction.getQuantity() : 0;
+			sums[1]++;
+		}
+		Map<String, long[]> net = new HashMap<>();
+		segment.sumByProduct(null, from, to, net);
+
+		assertEquals(expected.keySet(), net.keySet());
+		expected.forEach((product, sums) -> assertEquals(List.of(sums[0], sums[1]),
+				List.of(net.get(product)[0], net.get(product)[1]), product));
+	}
+
+	@Test
+	void readsLegacySegmentsWithoutLocations() throws IOException {
+		Path legacy = directory.resolve("2024-12.seg");
+		Files.write(legacy, toLegacy(Files.readAllBytes(segment.path())));
+		TransactionSegment opened = TransactionSegment.open(legacy);
+
+		List<Transaction> expected = new ArrayList<>();
+		for (Transaction transaction : written) {
+			Transaction copy = new Transaction();
+			copy.setId(transaction.getId());
+			copy.setProductId(transaction.getProductId());
+			copy.setType(transaction.getType());
+			copy.setQuantity(transaction.getQuantity());
+			copy.setTimestamp(transaction.getTimestamp());
+			copy.setUserId(transaction.getUserId());
+			copy.setNotes(transaction.getNotes());
+			copy.setLocationId(null);
+			copy.setToLocationId(null);
+			expected.add(copy);
+		}
+		try (Stream<Transaction> rows = opened.stream(null, null, null)) {
+			assertEquals(describe(expected), describe(rows.toList()));
+		}
+	}
+
+	@Test
+	void rejectsOutOfOrderRowsAndLeavesNoFileUnlessFinished() throws IOException {
+		Path path = directory.resolve("abandoned.seg");
+		try (TransactionSegmentWriter writer = TransactionSegmentWriter.create(path)) {
+			writer.append(transaction(5));
+			assertThrows(IllegalArgumentException.class, () -> writer.append(transaction(4)));
+		}
+		assertFalse(Files.exists(path));
+		try (Stream<Path> files = Files.list(directory)) {
+			assertTrue(files.noneMatch(file -> file.getFileName().toString().startsWith("abandoned")));
+		}
+	}
+
+	// Rewrites a v2 file as v1: same column blocks, but the footer lists only the first seven columns of
+	// each group and the first three dictionaries
+	private static byte[] toLegacy(byte[] file) {
+		ByteBuffer buffer = ByteBuffer.wrap(file);
+		int trailer = file.length - TransactionSegmentWriter.TRAILER_LENGTH;
+		ByteBuffer footer = ByteBuffer.wrap(file, (int) buffer.getLong(trailer), buffer.getInt(trailer + 8));
+		int blockLength = 8 + 4 + 4;
+		ByteBuffer legacyFooter = ByteBuffer.allocate(footer.remaining());
+		int groupCount = footer.getInt();
+		legacyFooter.putInt(groupCount).putLong(footer.getLong());
+		for (int g = 0; g < groupCount; g++) {
+			legacyFooter.putInt(footer.getInt()).putLong(footer.getLong()).putLong(footer.getLong());
+			for (int c = 0; c < TransactionSegmentWriter.COLUMNS; c++) {
+				byte[] block = new byte[blockLength];
+				footer.get(block);
+				if (c < TransactionSegmentWriter.LEGACY_COLUMNS) {
+					legacyFooter.put(block);
+				}
+			}
+		}
+		for (int d = 0; d < TransactionSegmentWriter.LEGACY_DICTIONARIES; d++) {
+			byte[] block = new byte[blockLength];
+			footer.get(block);
+			legacyFooter.put(block);
+		}
+		legacyFooter.flip();
+
+		ByteBuffer legacy = ByteBuffer.allocate(trailer + legacyFooter.remaining()
+				+ TransactionSegmentWriter.TRAILER_LENGTH);
+		legacy.put(file, 0, trailer);
+		legacy.put(0, TransactionSegmentWriter.LEGACY_MAGIC);
+		int footerLength = legacyFooter.remaining();
+		legacy.put(legacyFooter);
+		legacy.putLong(trailer).putInt(footerLength).put(TransactionSegmentWriter.LEGACY_MAGIC);
+		return legacy.array();
+	}
+
+	private static Transaction transaction(int i) {
+		TransactionType[] types = {TransactionType.IN, TransactionType.OUT, TransactionType.TRANSFER, null};
+		Transaction transaction = new Transaction();
+		Instant timestamp = START.plusMillis(i * 1000L + i % 7);
+		transaction.setId(new ObjectId(Date.from(timestamp), i).toHexString());
+		transaction.setProductId("p" + i % 3);
+		transaction.setType(types[i % types.length]);
+		transaction.setQuantity(i % 11 - 5);
+		transaction.setTimestamp(timestamp);
+		transaction.setUserId(i % 5 == 0 ? null : "u" + i % 4);
+		transaction.setNotes(i % 2 == 0 ? null : "note " + i % 13);
+		transaction.setLocationId(i % 6 == 0 ? null : "A");
+		transaction.setToLocationId(transaction.getType() == TransactionType.TRANSFER ? "B" : null);
+		return transaction;
+	}
+
+	private static List<String> describe(List<Transaction> transactions) {
+		return transactions.stream().map(t -> String.join("|", t.getId(), String.valueOf(t.getTimestamp()),
+				t.getProductId(), String.valueOf(t.getType()), String.valueOf(t.getQuantity()), t.getUserId(),
+				t.getNotes(), t.getLocationId(), t.getToLocationId())).toList();
+	}
+}
@@ -0,0 +1,204 @@
+package com.example.inventory_tracker.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+
+import com.example.inventory_tracker.archive.LedgerFilter;
+import com.example.inventory_tracker.archive.TransactionSegment;
+import com.example.inventory_tracker.archive.TransactionSegmentWriter;
+import com.example.inventory_tracker.model.Transaction;
+import com.mongodb.client.MongoCollection;
+
+// One month of ledger held twice, in an indexed Mongo collection and in a segment file: a full-month scan
+// (net quantity per product) and a per-product history page, each run against both.
+// Run with: mvn test -Pbenchmark -Dtest=ArchiveScanBenchmark [-Dbench.archiveRows=2000000]
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArchiveScanBenchmark {
+	private static final String COLLECTION = "archive_benchmark_ledger";
+	private static final int ROWS = Integer.getInteger("bench.archiveRows", 2_000_000);
+	private static final int PRODUCTS = Integer.getInteger("bench.archiveProducts", 10_000);
+	private static final int SCANS = Integer.getInteger("bench.archiveScans", 5);
+	private static final int LOOKUPS = Integer.getInteger("bench.archiveLookups", 500);
+	private static final int PAGE_SIZE = 50;
+	private static final int INSERT_BATCH = 10_000;
+	private static final Instant START = Instant.parse("2024-03-01T00:00:00Z");
+	private static final Instant END = Instant.parse("2024-04-01T00:00:00Z");
+
+	private static final Document SIGNED_QUANTITY = new Document("$cond", Arrays.asList(
+			new Document("$eq", Arrays.asList("$type", "IN")),
+			"$quantity", new Document("$multiply", Arrays.asList("$quantity", -1))));
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	private final List<String> productIds = new ArrayList<>();
+	private Path directory;
+	private TransactionSegment segment;
+
+	@BeforeAll
+	void seed() throws IOException {
+		for (int i = 0; i < PRODUCTS; i++) {
+			productIds.add(new ObjectId().toHexString());
+		}
+		mongoTemplate.dropCollection(COLLECTION);
+		IndexOperations indexOps = mongoTemplate.indexOps(COLLECTION);
+		for (IndexDefinition index : IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+				.resolveIndexFor(Transaction.class)) {
+			indexOps.ensureIndex(index);
+		}
+
+		directory = Files.createTempDirectory("archive-benchmark");
+		Path file = directory.resolve("2024-03-0.seg");
+		MongoCollection<Document> collection = mongoTemplate.getCollection(COLLECTION);
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long[] offsets = new long[ROWS];
+		long spanMillis = Duration.between(START, END).toMillis();
+		for (int i = 0; i < ROWS; i++) {
+			offsets[i] = random.nextLong(spanMillis);
+		}
+		Arrays.sort(offsets);
+		long started = System.nanoTime();
+		List<Document> batch = new ArrayList<>(INSERT_BATCH);
+		try (TransactionSegmentWriter writer = TransactionSegmentWriter.create(file)) {
+			for (long offset : offsets) {
+				Transaction transaction = new Transaction();
+				transaction.setId(new ObjectId().toHexString());
+				transaction.setProductId(productIds.get(random.nextInt(PRODUCTS)));
+				transaction.setType(random.nextInt(10) < 6 ? Transaction.TransactionType.IN : Transaction.TransactionType.OUT);
+				transaction.setQuantity(1 + random.nextInt(20));
+				transaction.setTimestamp(START.plusMillis(offset));
+				transaction.setUserId("bench-user-" + random.nextInt(200));
+				writer.append(transaction);
+				batch.add(new Document("_id", new ObjectId(transaction.getId()))
+						.append("productId", transaction.getProductId())
+						.append("type", transaction.getType().name())
+						.append("quantity", transaction.getQuantity())
+						.append("timestamp", Date.from(transaction.getTimestamp()))
+						.append("userId", transaction.getUserId()));
+				if (batch.size() == INSERT_BATCH) {
+					collection.insertMany(batch);
+					batch.clear();
+				}
+			}
+			if (!batch.isEmpty()) {
+				collection.insertMany(batch);
+			}
+			writer.finish();
+		}
+		segment = TransactionSegment.open(file);
+		System.out.printf("seeded %d rows in %.1f s; segment is %.1f MB%n", ROWS, (System.nanoTime() - started) / 1e9,
+				Files.size(file) / 1e6);
+	}
+
+	@AfterAll
+	void cleanUp() throws IOException {
+		mongoTemplate.dropCollection(COLLECTION);
+		try (var files = Files.list(directory)) {
+			for (Path file : files.toList()) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(directory);
+	}
+
+	@Test
+	void monthScanMongoVersusSegment() {
+		Map<String, long[]> fromMongo = new HashMap<>();
+		LatencyStats mongo = new LatencyStats("month scan, Mongo aggregation", 1, SCANS);
+		long began = System.nanoTime();
+		for (int i = 0; i < SCANS; i++) {
+			long started = System.nanoTime();
+			fromMongo = mongoNetByProduct();
+			mongo.record(0, System.nanoTime() - started);
+		}
+		mongo.print(System.nanoTime() - began);
+
+		Map<String, long[]> fromSegment = new HashMap<>();
+		LatencyStats cold = new LatencyStats("month scan, segment file", 1, SCANS);
+		began = System.nanoTime();
+		for (int i = 0; i < SCANS; i++) {
+			long started = System.nanoTime();
+			fromSegment = new HashMap<>();
+			segment.sumByProduct(null, START, END, fromSegment);
+			cold.record(0, System.nanoTime() - started);
+		}
+		cold.print(System.nanoTime() - began);
+
+		assertEquals(fromMongo.size(), fromSegment.size());
+		for (Map.Entry<String, long[]> entry : fromMongo.entrySet()) {
+			assertEquals(entry.getValue()[0], fromSegment.get(entry.getKey())[0], entry.getKey());
+		}
+	}
+
+	@Test
+	void productHistoryMongoVersusSegment() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		LatencyStats mongo = new LatencyStats("product page, Mongo product_ledger", 1, LOOKUPS);
+		long began = System.nanoTime();
+		for (int i = 0; i < LOOKUPS; i++) {
+			String productId = productIds.get(random.nextInt(PRODUCTS));
+			long started = System.nanoTime();
+			mongoTemplate.getCollection(COLLECTION)
+					.find(new Document("productId", productId))
+					.sort(new Document("timestamp", -1).append("_id", -1))
+					.limit(PAGE_SIZE)
+					.into(new ArrayList<>());
+			mongo.record(0, System.nanoTime() - started);
+		}
+		mongo.print(System.nanoTime() - began);
+
+		LatencyStats cold = new LatencyStats("product page, segment file", 1, LOOKUPS);
+		began = System.nanoTime();
+		for (int i = 0; i < LOOKUPS; i++) {
+			String productId = productIds.get(random.nextInt(PRODUCTS));
+			long started = System.nanoTime();
+			segment.newestFirst(LedgerFilter.product(productId), null, null, null, PAGE_SIZE);
+			cold.record(0, System.nanoTime() - started);
+		}
+		cold.print(System.nanoTime() - began);
+	}
+
+	private Map<String, long[]> mongoNetByProduct() {
+		List<Document> pipeline = List.of(
+				new Document("$match", new Document("timestamp",
+						new Document("$gte", Date.from(START)).append("$lt", Date.from(END)))),
+				new Document("$group", new Document("_id", "$productId")
+						.append("net", new Document("$sum", SIGNED_QUANTITY))
+						.append("count", new Document("$sum", 1))));
+		Map<String, long[]> net = new HashMap<>();
+		for (Document group : mongoTemplate.getCollection(COLLECTION).aggregate(pipeline).allowDiskUse(true)) {
+			net.put(group.getString("_id"), new long[] {
+				group.get("net", Number.class).longValue(), group.get("count", Number.class).longValue()
+			});
+		}
+		return net;
+	}
+}
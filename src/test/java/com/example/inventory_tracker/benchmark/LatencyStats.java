@@ -0,0 +1,57 @@
+package com.example.inventory_tracker.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+// Collects per-operation latencies from many threads and prints a one-line summary for benchmark runs
+final class LatencyStats {
+	private final String name;
+	private final long[][] perThread;
+	private final int[] counts;
+
+	LatencyStats(String name, int threads, int capacityPerThread) {
+		this.name = name;
+		this.perThread = new long[threads][capacityPerThread];
+		this.counts = new int[threads];
+	}
+
+	void record(int thread, long nanos) {
+		perThread[thread][counts[thread]++] = nanos;
+	}
+
+	long count() {
+		long total = 0;
+		for (int count : counts) {
+			total += count;
+		}
+		return total;
+	}
+
+	long[] sorted() {
+		long[] all = new long[(int) count()];
+		int offset = 0;
+		for (int t = 0; t < perThread.length; t++) {
+			System.arraycopy(perThread[t], 0, all, offset, counts[t]);
+			offset += counts[t];
+		}
+		Arrays.sort(all);
+		return all;
+	}
+
+	static double percentileMillis(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile / 100.0 * sorted.length) - 1);
+		return sorted[Math.max(index, 0)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	void print(long elapsedNanos) {
+		long[] sorted = sorted();
+		double seconds = elapsedNanos / 1e9;
+		System.out.printf("%-40s ops=%d throughput=%.0f ops/s p50=%.3f ms p99=%.3f ms p99.9=%.3f ms max=%.3f ms%n",
+				name, sorted.length, sorted.length / seconds,
+				percentileMillis(sorted, 50), percentileMillis(sorted, 99), percentileMillis(sorted, 99.9),
+				percentileMillis(sorted, 100));
+	}
+}
@@ -0,0 +1,132 @@
+package com.example.inventory_tracker.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.example.inventory_tracker.model.Transaction;
+import com.mongodb.client.MongoCollection;
+
+// Product history over a large ledger: collection scan ($natural hint) vs. the declared product_ledger index.
+// Seeds a separate collection with the indexes declared on Transaction, so the real ledger is untouched.
+// Run with: mvn test -Pbenchmark -Dtest=LedgerIndexBenchmark [-Dbench.ledgerRows=10000000 -Dbench.keepLedger=true]
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LedgerIndexBenchmark {
+	private static final String COLLECTION = "ledger_index_benchmark";
+	private static final int ROWS = Integer.getInteger("bench.ledgerRows", 10_000_000);
+	private static final int PRODUCTS = Integer.getInteger("bench.ledgerProducts", 10_000);
+	private static final int USERS = Integer.getInteger("bench.ledgerUsers", 200);
+	private static final int DAYS = Integer.getInteger("bench.ledgerDays", 365);
+	private static final int SCAN_QUERIES = Integer.getInteger("bench.scanQueries", 20);
+	private static final int INDEX_QUERIES = Integer.getInteger("bench.indexQueries", 2000);
+	private static final int PAGE_SIZE = 50;
+	private static final int INSERT_BATCH = 10_000;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	private final List<String> productIds = new ArrayList<>();
+	private Instant end;
+
+	@BeforeAll
+	void seed() {
+		end = Instant.parse("2024-01-01T00:00:00Z").plus(Duration.ofDays(DAYS));
+		boolean reuse = mongoTemplate.estimatedCount(COLLECTION) == ROWS;
+		if (!reuse) {
+			mongoTemplate.dropCollection(COLLECTION);
+		}
+		IndexOperations indexOps = mongoTemplate.indexOps(COLLECTION);
+		for (IndexDefinition index : IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+				.resolveIndexFor(Transaction.class)) {
+			indexOps.ensureIndex(index);
+		}
+		if (reuse) {
+			productIds.addAll(mongoTemplate.getCollection(COLLECTION)
+					.distinct("productId", String.class).into(new ArrayList<>()));
+			System.out.printf("reusing %d seeded ledger rows%n", ROWS);
+			return;
+		}
+		for (int i = 0; i < PRODUCTS; i++) {
+			productIds.add(new ObjectId().toHexString());
+		}
+
+		MongoCollection<Document> collection = mongoTemplate.getCollection(COLLECTION);
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long spanMillis = Duration.ofDays(DAYS).toMillis();
+		long started = System.nanoTime();
+		List<Document> batch = new ArrayList<>(INSERT_BATCH);
+		for (int i = 0; i < ROWS; i++) {
+			batch.add(new Document("productId", productIds.get(random.nextInt(PRODUCTS)))
+					.append("type", random.nextBoolean() ? "IN" : "OUT")
+					.append("quantity", 1 + random.nextInt(20))
+					.append("timestamp", Date.from(end.minusMillis(random.nextLong(spanMillis))))
+					.append("userId", "bench-user-" + random.nextInt(USERS)));
+			if (batch.size() == INSERT_BATCH) {
+				collection.insertMany(batch);
+				batch.clear();
+			}
+		}
+		if (!batch.isEmpty()) {
+			collection.insertMany(batch);
+		}
+		System.out.printf("seeded %d ledger rows in %.1f s%n", ROWS, (System.nanoTime() - started) / 1e9);
+	}
+
+	@AfterAll
+	void cleanUp() {
+		if (!Boolean.getBoolean("bench.keepLedger")) {
+			mongoTemplate.dropCollection(COLLECTION);
+		}
+	}
+
+	@Test
+	void productHistoryScanVersusIndex() {
+		run("product window, collection scan", SCAN_QUERIES, new Document("$natural", 1));
+		run("product window, product_ledger index", INDEX_QUERIES, new Document("productId", 1)
+				.append("timestamp", -1).append("_id", -1));
+	}
+
+	// Newest page of one product's movements within the last 30 days, as GET /by-product/{id}?from=&limit= issues
+	private void run(String name, int queries, Document hint) {
+		LatencyStats stats = new LatencyStats(name, 1, queries);
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Instant from = end.minus(Duration.ofDays(30));
+		long began = System.nanoTime();
+		for (int i = 0; i < queries; i++) {
+			Query query = new Query(where("productId").is(productIds.get(random.nextInt(PRODUCTS)))
+					.and("timestamp").gte(from).lt(end))
+					.with(Sort.by(Sort.Direction.DESC, "timestamp", "id"))
+					.limit(PAGE_SIZE)
+					.withHint(hint);
+			long started = System.nanoTime();
+			List<Transaction> page = mongoTemplate.find(query, Transaction.class, COLLECTION);
+			stats.record(0, System.nanoTime() - started);
+			assertTrue(page.size() <= PAGE_SIZE);
+		}
+		stats.print(System.nanoTime() - began);
+	}
+}
@@ -0,0 +1,223 @@
+package com.example.inventory_tracker.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.inventory_tracker.model.LocationStats;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.StockLevel;
+import com.example.inventory_tracker.model.Transaction;
+import com.example.inventory_tracker.service.DashboardService;
+import com.example.inventory_tracker.service.LocationStockService;
+import com.example.inventory_tracker.service.ProductService;
+import com.example.inventory_tracker.service.TransactionService;
+
+// Transfers, and IN/OUT at named locations, racing on one SKU; then a location's totals read from location_stats
+// against the aggregation over products they replace. Run against a live mongod with:
+// mvn test -Pbenchmark -Dtest=LocationStockBenchmark [-Dbench.threads=32 -Dbench.moves=500]
+@Tag("benchmark")
+@SpringBootTest
+class LocationStockBenchmark {
+	private static final int THREADS = Integer.getInteger("bench.threads", 32);
+	private static final int MOVES_PER_THREAD = Integer.getInteger("bench.moves", 500);
+	private static final int INITIAL_QUANTITY = Integer.getInteger("bench.initialQuantity", 1000);
+	private static final int PRODUCTS = Integer.getInteger("bench.locationProducts", 20_000);
+	private static final int LOOKUPS = Integer.getInteger("bench.locationLookups", 200);
+	private static final String HOME = "bench-home";
+	private static final String[] LOCATIONS = {HOME, "bench-a", "bench-b", "bench-c"};
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private LocationStockService locationStockService;
+
+	@Autowired
+	private DashboardService dashboardService;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	private final List<String> productIds = new ArrayList<>();
+
+	@AfterEach
+	void cleanUp() {
+		mongoTemplate.remove(query(where("productId").in(productIds)), Transaction.class);
+		mongoTemplate.remove(query(where("id").in(productIds)), Product.class);
+		mongoTemplate.remove(query(where("sku").regex("^BENCH-LOC-")), Product.class);
+		// The lookup benchmark's products are inserted behind the services' backs
+		locationStockService.reconcile();
+		dashboardService.reconcile();
+	}
+
+	@Test
+	void transfersConserveStockUnderContention() throws Exception {
+		Product product = new Product();
+		product.setName("Location benchmark");
+		product.setSku("BENCH-transfer-" + System.nanoTime());
+		product.setQuantity(INITIAL_QUANTITY);
+		product.setLocationId(HOME);
+		product.setPrice(1.0);
+		product = productService.createProduct(product);
+		productIds.add(product.getId());
+		String productId = product.getId();
+
+		AtomicLong stockIn = new AtomicLong();
+		AtomicLong stockOut = new AtomicLong();
+		AtomicLong accepted = new AtomicLong();
+		AtomicLong rejected = new AtomicLong();
+		LatencyStats stats = new LatencyStats("transfer / located movement", THREADS, MOVES_PER_THREAD);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			int thread = t;
+			futures.add(executor.submit(() -> {
+				start.await();
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int i = 0; i < MOVES_PER_THREAD; i++) {
+					Transaction transaction = new Transaction();
+					transaction.setProductId(productId);
+					transaction.setQuantity(1 + random.nextInt(5));
+					int from = random.nextInt(LOCATIONS.length);
+					int kind = random.nextInt(100);
+					// Mostly transfers, with enough OUT that locations regularly run dry and the guards are exercised
+					if (kind < 70) {
+						transaction.setType(Transaction.TransactionType.TRANSFER);
+						transaction.setLocationId(LOCATIONS[from]);
+						transaction.setToLocationId(LOCATIONS[(from + 1 + random.nextInt(LOCATIONS.length - 1))
+								% LOCATIONS.length]);
+					} else {
+						transaction.setType(kind < 88 ? Transaction.TransactionType.OUT : Transaction.TransactionType.IN);
+						transaction.setLocationId(from == 0 ? null : LOCATIONS[from]);
+					}
+					long began = System.nanoTime();
+					try {
+						transactionService.createTransaction(transaction);
+						accepted.incrementAndGet();
+						if (transaction.getType() == Transaction.TransactionType.IN) {
+							stockIn.addAndGet(transaction.getQuantity());
+						} else if (transaction.getType() == Transaction.TransactionType.OUT) {
+							stockOut.addAndGet(transaction.getQuantity());
+						}
+					} catch (ResponseStatusException e) {
+						if (e.getStatusCode() != HttpStatus.CONFLICT) {
+							throw e;
+						}
+						rejected.incrementAndGet();
+					}
+					stats.record(thread, System.nanoTime() - began);
+				}
+				return null;
+			}));
+		}
+		long began = System.nanoTime();
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		stats.print(System.nanoTime() - began);
+		executor.shutdown();
+		System.out.printf("accepted=%d rejected=%d (insufficient stock at the source)%n", accepted.get(), rejected.get());
+
+		Product after = mongoTemplate.findById(productId, Product.class);
+		assertEquals(INITIAL_QUANTITY + stockIn.get() - stockOut.get(), after.getQuantity());
+		int away = 0;
+		for (int quantity : after.getAwayStock().values()) {
+			assertTrue(quantity >= 0, "a location went negative: " + after.getAwayStock());
+			away += quantity;
+		}
+		assertEquals(away, after.getAwayQuantity());
+		assertTrue(after.getQuantity() - after.getAwayQuantity() >= 0, "the product's own location went negative");
+
+		Map<String, Integer> levels = new HashMap<>();
+		for (StockLevel level : mongoTemplate.find(query(where("productId").is(productId)), StockLevel.class)) {
+			levels.put(level.getLocationId(), level.getQuantity());
+		}
+		for (String location : LOCATIONS) {
+			int expected = location.equals(HOME) ? after.getQuantity() - after.getAwayQuantity()
+					: after.getAwayStock().getOrDefault(location, 0);
+			assertEquals(expected, levels.getOrDefault(location, 0).intValue(), "stock level at " + location);
+			assertEquals(expected, locationStockService.getLocationStats(location).getTotalQuantity(),
+					"location total at " + location);
+		}
+		assertEquals(accepted.get(), mongoTemplate.count(query(where("productId").is(productId)), Transaction.class));
+	}
+
+	@Test
+	void locationTotalsWithoutScans() {
+		List<Product> products = new ArrayList<>(PRODUCTS);
+		for (int i = 0; i < PRODUCTS; i++) {
+			Product product = new Product();
+			product.setSku("BENCH-LOC-" + i);
+			product.setName("Location lookup item " + i);
+			product.setPrice(1.0);
+			product.setQuantity(10);
+			product.setLocationId(LOCATIONS[i % LOCATIONS.length]);
+			products.add(product);
+		}
+		mongoTemplate.insertAll(products);
+		locationStockService.reconcile();
+
+		LatencyStats stored = new LatencyStats("location_stats lookup", 1, LOOKUPS);
+		LatencyStats scanned = new LatencyStats("aggregation over products", 1, LOOKUPS);
+		List<Document> pipeline = List.of(
+				new Document("$match", new Document("$or", Arrays.asList(
+						new Document("locationId", "bench-a"),
+						new Document("awayStock.bench-a", new Document("$gt", 0))))),
+				new Document("$group", new Document("_id", null)
+						.append("productCount", new Document("$sum", 1))
+						.append("totalQuantity", new Document("$sum", new Document("$cond", Arrays.asList(
+								new Document("$eq", Arrays.asList("$locationId", "bench-a")),
+								new Document("$subtract", Arrays.asList("$quantity",
+										new Document("$ifNull", Arrays.asList("$awayQuantity", 0)))),
+								"$awayStock.bench-a"))))));
+		long storedTotal = 0;
+		long scannedTotal = 0;
+		long began = System.nanoTime();
+		for (int i = 0; i < LOOKUPS; i++) {
+			long started = System.nanoTime();
+			LocationStats stats = locationStockService.getLocationStats("bench-a");
+			stored.record(0, System.nanoTime() - started);
+			storedTotal = stats.getTotalQuantity();
+		}
+		stored.print(System.nanoTime() - began);
+		began = System.nanoTime();
+		for (int i = 0; i < LOOKUPS; i++) {
+			long started = System.nanoTime();
+			Document result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Product.class))
+					.aggregate(pipeline).first();
+			scanned.record(0, System.nanoTime() - started);
+			scannedTotal = result == null ? 0 : result.get("totalQuantity", Number.class).longValue();
+		}
+		scanned.print(System.nanoTime() - began);
+		assertEquals(scannedTotal, storedTotal);
+	}
+}
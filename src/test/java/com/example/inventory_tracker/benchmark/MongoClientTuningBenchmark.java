@@ -0,0 +1,147 @@
+package com.example.inventory_tracker.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.example.inventory_tracker.InventoryTrackerApplication;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.service.DashboardService;
+
+// Throughput and latency of the same HTTP load across Mongo pool sizes and wire compressors, one application
+// start per combination: large product list pages (where compression pays off) and small ledger reads (where
+// the pool is the limit once clients outnumber connections). Compression needs a real mongod; a server that
+// doesn't offer it is talked to uncompressed, so the stand-in shows no difference between compressors.
+// Run with: mvn test -Pbenchmark -Dtest=MongoClientTuningBenchmark [-Dbench.poolSizes=5,20,100]
+//     [-Dbench.compressors=none,snappy,zstd] [-Dbench.tuningClients=64] [-Dbench.tuningRequests=200]
+@Tag("benchmark")
+class MongoClientTuningBenchmark {
+	private static final String POOL_SIZES = System.getProperty("bench.poolSizes", "5,20,100");
+	private static final String COMPRESSORS = System.getProperty("bench.compressors", "none,snappy,zstd");
+	private static final int CLIENTS = Integer.getInteger("bench.tuningClients", 64);
+	private static final int REQUESTS_PER_CLIENT = Integer.getInteger("bench.tuningRequests", 200);
+	private static final int PRODUCTS = Integer.getInteger("bench.tuningProducts", 2_000);
+	private static final int PAGE_SIZE = 500;
+	private static final String SKU_PREFIX = "BENCH-TUNE-";
+
+	@Test
+	void poolSizesAndCompressors() throws Exception {
+		for (String compressor : COMPRESSORS.split(",")) {
+			for (String poolSize : POOL_SIZES.split(",")) {
+				run(Integer.parseInt(poolSize.trim()), compressor.trim());
+			}
+		}
+	}
+
+	private void run(int poolSize, String compressor) throws Exception {
+		// Arguments rather than default properties, so they win over application.properties
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(InventoryTrackerApplication.class)
+				.run("--server.port=0", "--inventory.mongo.max-pool-size=" + poolSize,
+						"--inventory.mongo.compressors=" + (compressor.equals("none") ? "" : compressor));
+		try (context) {
+			MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+			List<String> productIds = seed(mongoTemplate);
+			String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+			HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+			String name = "pool=" + poolSize + " " + compressor;
+			try {
+				load(name + " list", client, i -> HttpRequest.newBuilder(URI.create(base + "/products?limit=" + PAGE_SIZE
+						+ "&after=" + productIds.get(i % Math.max(1, PRODUCTS - PAGE_SIZE)))).GET().build());
+				load(name + " ledger", client, i -> HttpRequest.newBuilder(URI.create(base + "/transactions/by-product/"
+						+ productIds.get(i) + "?limit=20")).GET().build());
+			} finally {
+				mongoTemplate.remove(query(where("sku").regex("^" + SKU_PREFIX)), Product.class);
+				context.getBean(DashboardService.class).reconcile();
+			}
+		}
+	}
+
+	// Long descriptions make list pages a few hundred kilobytes, as a real catalog's would be
+	private static List<String> seed(MongoTemplate mongoTemplate) {
+		String description = "Zinc-plated fastener for general assembly, sold per box. ".repeat(4);
+		List<Product> products = new ArrayList<>();
+		for (int i = 0; i < PRODUCTS; i++) {
+			Product product = new Product();
+			product.setSku(SKU_PREFIX + i);
+			product.setName("Tuning benchmark item " + i);
+			product.setDescription(description + i);
+			product.setPrice(1.0);
+			product.setQuantity(1_000);
+			product.setLocationId("bench-loc");
+			product.setCategory("bench");
+			products.add(product);
+		}
+		List<String> ids = new ArrayList<>();
+		for (Product product : mongoTemplate.insertAll(products)) {
+			ids.add(product.getId());
+		}
+		ids.sort(null);
+		return ids;
+	}
+
+	// Each client sends its requests back to back over the shared connection pool; a warm-up round is discarded
+	private static void load(String name, HttpClient client, IntFunction<HttpRequest> request) throws Exception {
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		try {
+			drive(clients, client, request, Math.max(1, REQUESTS_PER_CLIENT / 10), null);
+			LatencyStats stats = new LatencyStats(name, CLIENTS, REQUESTS_PER_CLIENT);
+			long started = System.nanoTime();
+			long failures = drive(clients, client, request, REQUESTS_PER_CLIENT, stats);
+			stats.print(System.nanoTime() - started);
+			assertEquals(0, failures, name + " failed requests");
+		} finally {
+			clients.shutdownNow();
+		}
+	}
+
+	private static long drive(ExecutorService clients, HttpClient client, IntFunction<HttpRequest> request,
+							  int requests, LatencyStats stats) throws Exception {
+		AtomicLong failures = new AtomicLong();
+		List<Future<?>> running = new ArrayList<>();
+		for (int t = 0; t < CLIENTS; t++) {
+			int thread = t;
+			running.add(clients.submit(() -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int i = 0; i < requests; i++) {
+					long started = System.nanoTime();
+					try {
+						HttpResponse<Void> response = client.send(request.apply(random.nextInt(PRODUCTS)),
+								HttpResponse.BodyHandlers.discarding());
+						if (response.statusCode() != 200) {
+							failures.incrementAndGet();
+						}
+					} catch (Exception e) {
+						failures.incrementAndGet();
+					}
+					if (stats != null) {
+						stats.record(thread, System.nanoTime() - started);
+					}
+				}
+				return null;
+			}));
+		}
+		for (Future<?> future : running) {
+			future.get();
+		}
+		return failures.get();
+	}
+}
@@ -0,0 +1,140 @@
+package com.example.inventory_tracker.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.example.inventory_tracker.dto.ProductImportDTO;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.service.DashboardService;
+import com.example.inventory_tracker.service.ProductImportService;
+
+// A generated supplier catalog streamed through the CSV import twice: the first pass inserts every SKU, the
+// second updates them all. The upload is produced on the fly, so heap growth is the importer's own.
+// Run with: mvn test -Pbenchmark -Dtest=ProductImportBenchmark [-Dbench.importRows=100000]
+@Tag("benchmark")
+@SpringBootTest
+class ProductImportBenchmark {
+	private static final int ROWS = Integer.getInteger("bench.importRows", 100_000);
+	private static final String SKU_PREFIX = "BENCH-IMPORT-";
+
+	@Autowired
+	private ProductImportService productImportService;
+
+	@Autowired
+	private DashboardService dashboardService;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		mongoTemplate.remove(query(where("sku").regex("^" + SKU_PREFIX)), Product.class);
+		dashboardService.reconcile();
+	}
+
+	@Test
+	void insertThenUpdateCatalog() {
+		ProductImportDTO inserted = run("insert pass");
+		assertEquals(ROWS, inserted.getInserted());
+		ProductImportDTO updated = run("update pass");
+		assertEquals(ROWS, updated.getUpdated() + updated.getUnchanged());
+		assertEquals(0, updated.getInserted());
+	}
+
+	private ProductImportDTO run(String label) {
+		System.gc();
+		resetPeakHeap();
+		long heapBefore = usedHeap();
+		long started = System.nanoTime();
+		ProductImportDTO result = productImportService.importProducts(ProductImportService.Format.CSV, new CatalogStream(ROWS));
+		long elapsed = System.nanoTime() - started;
+		System.out.printf("%s: %s, %d rows in %.2f s (%.0f rows/s), inserted=%d updated=%d rejected=%d, "
+						+ "peak heap %.1f MB over %.1f MB at start%n",
+				label, result.getStatus(), result.getRowsRead(), elapsed / 1e9, result.getRowsRead() / (elapsed / 1e9),
+				result.getInserted(), result.getUpdated(), result.getRejected(), peakHeap() / 1e6, heapBefore / 1e6);
+		assertEquals("COMPLETED", result.getStatus());
+		return result;
+	}
+
+	private static void resetPeakHeap() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+			}
+		}
+	}
+
+	private static long peakHeap() {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		return peak;
+	}
+
+	private static long usedHeap() {
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	// CSV produced row by row as it is read
+	private static final class CatalogStream extends InputStream {
+		private final int rows;
+		private int next = -1;
+		private byte[] current = new byte[0];
+		private int position;
+
+		CatalogStream(int rows) {
+			this.rows = rows;
+		}
+
+		@Override
+		public int read() {
+			byte[] one = new byte[1];
+			return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] target, int offset, int length) {
+			if (position == current.length && !advance()) {
+				return -1;
+			}
+			int count = Math.min(length, current.length - position);
+			System.arraycopy(current, position, target, offset, count);
+			position += count;
+			return count;
+		}
+
+		private boolean advance() {
+			if (next >= rows) {
+				return false;
+			}
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			String line = next < 0
+					? "sku,name,description,price,quantity,category,locationId,threshold\n"
+					: SKU_PREFIX + next + ",\"Benchmark item " + next + "\",Imported by the benchmark,"
+							+ (1 + random.nextInt(9999)) / 100.0 + "," + random.nextInt(500) + ",bench-"
+							+ (next % 50) + ",bench-loc," + random.nextInt(20) + "\n";
+			current = line.getBytes(StandardCharsets.UTF_8);
+			position = 0;
+			next++;
+			return true;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.example.inventory_tracker.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.example.inventory_tracker.InventoryTrackerApplication;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.service.DashboardService;
+
+// Full product pages against the same pages restricted with fields=: response size, latency and the bytes
+// the application allocates per request, summed over every thread but the caller's (the HTTP client's selector
+// thread is counted too, alike for both runs). Requests are sent one at a time so allocation is attributed to a
+// single request.
+// Run with: mvn test -Pbenchmark -Dtest=ResponseProjectionBenchmark [-Dbench.projectionRequests=200]
+//     [-Dbench.projectionFields=id,sku,name,quantity]
+@Tag("benchmark")
+class ResponseProjectionBenchmark {
+	private static final int REQUESTS = Integer.getInteger("bench.projectionRequests", 200);
+	private static final int PRODUCTS = Integer.getInteger("bench.projectionProducts", 2_000);
+	private static final String FIELDS = System.getProperty("bench.projectionFields", "id,sku,name,quantity");
+	private static final int PAGE_SIZE = 500;
+	private static final String SKU_PREFIX = "BENCH-PROJ-";
+
+	@Test
+	void fullVersusProjectedPages() throws Exception {
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(InventoryTrackerApplication.class)
+				.run("--server.port=0");
+		try (context) {
+			MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+			List<String> productIds = seed(mongoTemplate);
+			String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+					+ "/api/products?limit=" + PAGE_SIZE;
+			HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+			try {
+				run("full", client, base, productIds);
+				run("fields=" + FIELDS, client, base + "&fields=" + FIELDS, productIds);
+			} finally {
+				mongoTemplate.remove(query(where("sku").regex("^" + SKU_PREFIX)), Product.class);
+				context.getBean(DashboardService.class).reconcile();
+			}
+		}
+	}
+
+	private static void run(String name, HttpClient client, String url, List<String> productIds) throws Exception {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long clientThread = Thread.currentThread().getId();
+		// Warm-up, discarded
+		for (int i = 0; i < Math.max(1, REQUESTS / 10); i++) {
+			send(client, url, productIds, i);
+		}
+		LatencyStats stats = new LatencyStats(name, 1, REQUESTS);
+		long bytes = 0;
+		long allocatedBefore = allocatedExcept(threads, clientThread);
+		long started = System.nanoTime();
+		for (int i = 0; i < REQUESTS; i++) {
+			long requestStarted = System.nanoTime();
+			bytes += send(client, url, productIds, i);
+			stats.record(0, System.nanoTime() - requestStarted);
+		}
+		long elapsed = System.nanoTime() - started;
+		long allocated = allocatedExcept(threads, clientThread) - allocatedBefore;
+		stats.print(elapsed);
+		System.out.printf("%s: %,d response bytes/request, %,d bytes allocated/request%n", name, bytes / REQUESTS,
+				allocated / REQUESTS);
+	}
+
+	private static long send(HttpClient client, String url, List<String> productIds, int i) throws Exception {
+		String after = productIds.get(i * 37 % Math.max(1, PRODUCTS - PAGE_SIZE));
+		HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(url + "&after=" + after)).GET()
+				.build(), HttpResponse.BodyHandlers.ofByteArray());
+		assertEquals(200, response.statusCode(), url);
+		return response.body().length;
+	}
+
+	// Threads that exit during the run take their counts with them; the server's request threads are pooled
+	private static long allocatedExcept(com.sun.management.ThreadMXBean threads, long excluded) {
+		long total = 0;
+		for (long id : threads.getAllThreadIds()) {
+			if (id != excluded) {
+				total += Math.max(0, threads.getThreadAllocatedBytes(id));
+			}
+		}
+		return total;
+	}
+
+	// Long descriptions are what a projection leaves behind
+	private static List<String> seed(MongoTemplate mongoTemplate) {
+		String description = "Zinc-plated fastener for general assembly, sold per box. ".repeat(4);
+		List<Product> products = new ArrayList<>();
+		for (int i = 0; i < PRODUCTS; i++) {
+			Product product = new Product();
+			product.setSku(SKU_PREFIX + i);
+			product.setName("Projection benchmark item " + i);
+			product.setDescription(description + i);
+			product.setPrice(1.0);
+			product.setQuantity(1_000);
+			product.setLocationId("bench-loc");
+			product.setCategory("bench");
+			products.add(product);
+		}
+		List<String> ids = new ArrayList<>();
+		for (Product product : mongoTemplate.insertAll(products)) {
+			ids.add(product.getId());
+		}
+		ids.sort(null);
+		return ids;
+	}
+}
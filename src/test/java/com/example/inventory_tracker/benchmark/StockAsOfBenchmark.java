@@ -0,0 +1,203 @@
+package com.example.inventory_tracker.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+
+import com.example.inventory_tracker.model.StockSnapshot;
+import com.example.inventory_tracker.model.Transaction;
+import com.mongodb.client.MongoCollection;
+
+// One product's stock as of a random instant: replaying its whole ledger vs. the nearest daily snapshot plus the
+// movements since, the way StockHistoryService answers GET /api/stock/as-of. Seeds separate collections with the
+// indexes declared on Transaction and StockSnapshot; every product starts at zero, so both answers must agree.
+// Run with: mvn test -Pbenchmark -Dtest=StockAsOfBenchmark [-Dbench.asOfRows=10000000 -Dbench.keepLedger=true]
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StockAsOfBenchmark {
+	private static final String LEDGER = "as_of_benchmark_ledger";
+	private static final String SNAPSHOTS = "as_of_benchmark_snapshots";
+	private static final int ROWS = Integer.getInteger("bench.asOfRows", 10_000_000);
+	private static final int PRODUCTS = Integer.getInteger("bench.asOfProducts", 10_000);
+	private static final int DAYS = Integer.getInteger("bench.asOfDays", 365);
+	private static final int QUERIES = Integer.getInteger("bench.asOfQueries", 500);
+	private static final int CHUNK_SIZE = 1000;
+	private static final int INSERT_BATCH = 10_000;
+	private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+	private static final Document SIGNED_QUANTITY = new Document("$cond", Arrays.asList(
+			new Document("$eq", Arrays.asList("$type", "IN")),
+			"$quantity", new Document("$multiply", Arrays.asList("$quantity", -1))));
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	private final List<String> productIds = new ArrayList<>();
+
+	@BeforeAll
+	void seed() {
+		for (int i = 0; i < PRODUCTS; i++) {
+			productIds.add(String.format("%024x", i + 1));
+		}
+		boolean reuse = mongoTemplate.estimatedCount(LEDGER) == ROWS;
+		if (!reuse) {
+			mongoTemplate.dropCollection(LEDGER);
+			mongoTemplate.dropCollection(SNAPSHOTS);
+		}
+		ensureIndexes(LEDGER, Transaction.class);
+		ensureIndexes(SNAPSHOTS, StockSnapshot.class);
+		if (reuse) {
+			System.out.printf("reusing %d seeded ledger rows%n", ROWS);
+			return;
+		}
+
+		// Days are generated in order; each day opens with a snapshot of the running quantities
+		MongoCollection<Document> ledger = mongoTemplate.getCollection(LEDGER);
+		MongoCollection<Document> snapshots = mongoTemplate.getCollection(SNAPSHOTS);
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long[] quantities = new long[PRODUCTS];
+		long dayMillis = Duration.ofDays(1).toMillis();
+		long started = System.nanoTime();
+		List<Document> batch = new ArrayList<>(INSERT_BATCH);
+		for (int day = 0; day < DAYS; day++) {
+			Instant dayStart = START.plus(Duration.ofDays(day));
+			writeSnapshot(snapshots, dayStart, quantities);
+			int rows = ROWS / DAYS + (day < ROWS % DAYS ? 1 : 0);
+			long[] offsets = new long[rows];
+			for (int i = 0; i < rows; i++) {
+				offsets[i] = random.nextLong(dayMillis);
+			}
+			Arrays.sort(offsets);
+			for (long offset : offsets) {
+				int product = random.nextInt(PRODUCTS);
+				boolean in = random.nextInt(10) < 6;
+				int quantity = 1 + random.nextInt(20);
+				quantities[product] += in ? quantity : -quantity;
+				batch.add(new Document("productId", productIds.get(product))
+						.append("type", in ? "IN" : "OUT")
+						.append("quantity", quantity)
+						.append("timestamp", Date.from(dayStart.plusMillis(offset))));
+				if (batch.size() == INSERT_BATCH) {
+					ledger.insertMany(batch);
+					batch.clear();
+				}
+			}
+		}
+		if (!batch.isEmpty()) {
+			ledger.insertMany(batch);
+		}
+		System.out.printf("seeded %d ledger rows and %d daily snapshots in %.1f s%n", ROWS, DAYS,
+				(System.nanoTime() - started) / 1e9);
+	}
+
+	@AfterAll
+	void cleanUp() {
+		if (!Boolean.getBoolean("bench.keepLedger")) {
+			mongoTemplate.dropCollection(LEDGER);
+			mongoTemplate.dropCollection(SNAPSHOTS);
+		}
+	}
+
+	@Test
+	void snapshotPlusDeltaVersusFullReplay() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long spanMillis = Duration.ofDays(DAYS).toMillis();
+		String[] products = new String[QUERIES];
+		Instant[] instants = new Instant[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			products[i] = productIds.get(random.nextInt(PRODUCTS));
+			instants[i] = START.plusMillis(random.nextLong(spanMillis));
+		}
+
+		long[] replayed = new long[QUERIES];
+		LatencyStats replay = new LatencyStats("as-of, full ledger replay", 1, QUERIES);
+		long began = System.nanoTime();
+		for (int i = 0; i < QUERIES; i++) {
+			long started = System.nanoTime();
+			replayed[i] = net(products[i], null, instants[i]);
+			replay.record(0, System.nanoTime() - started);
+		}
+		replay.print(System.nanoTime() - began);
+
+		LatencyStats snapshot = new LatencyStats("as-of, snapshot + ledger delta", 1, QUERIES);
+		began = System.nanoTime();
+		for (int i = 0; i < QUERIES; i++) {
+			long started = System.nanoTime();
+			long quantity = fromSnapshot(products[i], instants[i]);
+			snapshot.record(0, System.nanoTime() - started);
+			assertEquals(replayed[i], quantity, "as-of " + instants[i] + " for " + products[i]);
+		}
+		snapshot.print(System.nanoTime() - began);
+	}
+
+	private long fromSnapshot(String productId, Instant at) {
+		Document chunk = mongoTemplate.getCollection(SNAPSHOTS)
+				.find(new Document("productIds", productId).append("takenAt", new Document("$lte", Date.from(at))))
+				.sort(new Document("takenAt", -1))
+				.limit(1)
+				.first();
+		if (chunk == null) {
+			return net(productId, null, at);
+		}
+		int index = chunk.getList("productIds", String.class).indexOf(productId);
+		long base = chunk.getList("quantities", Number.class).get(index).longValue();
+		return base + net(productId, chunk.getDate("takenAt").toInstant(), at);
+	}
+
+	private long net(String productId, Instant from, Instant to) {
+		Document window = new Document("$lt", Date.from(to));
+		if (from != null) {
+			window.append("$gte", Date.from(from));
+		}
+		List<Document> pipeline = List.of(
+				new Document("$match", new Document("productId", productId).append("timestamp", window)),
+				new Document("$group", new Document("_id", null).append("net", new Document("$sum", SIGNED_QUANTITY))));
+		Document result = mongoTemplate.getCollection(LEDGER).aggregate(pipeline).first();
+		return result == null ? 0 : result.get("net", Number.class).longValue();
+	}
+
+	private void writeSnapshot(MongoCollection<Document> snapshots, Instant takenAt, long[] quantities) {
+		List<Document> chunks = new ArrayList<>();
+		for (int from = 0; from < PRODUCTS; from += CHUNK_SIZE) {
+			int to = Math.min(PRODUCTS, from + CHUNK_SIZE);
+			List<Integer> chunk = new ArrayList<>(to - from);
+			for (int i = from; i < to; i++) {
+				chunk.add((int) quantities[i]);
+			}
+			chunks.add(new Document("_id", new ObjectId())
+					.append("takenAt", Date.from(takenAt))
+					.append("productIds", productIds.subList(from, to))
+					.append("quantities", chunk));
+		}
+		snapshots.insertMany(chunks);
+	}
+
+	private void ensureIndexes(String collection, Class<?> entity) {
+		IndexOperations indexOps = mongoTemplate.indexOps(collection);
+		for (IndexDefinition index : IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+				.resolveIndexFor(entity)) {
+			indexOps.ensureIndex(index);
+		}
+	}
+}
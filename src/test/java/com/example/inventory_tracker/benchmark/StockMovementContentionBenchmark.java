@@ -0,0 +1,184 @@
+package com.example.inventory_tracker.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.Transaction;
+import com.example.inventory_tracker.service.ProductService;
+import com.example.inventory_tracker.service.TransactionService;
+
+// Many writers hammering one SKU. Run against a live mongod with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest
+class StockMovementContentionBenchmark {
+	private static final int THREADS = Integer.getInteger("bench.threads", 32);
+	private static final int MOVES_PER_THREAD = Integer.getInteger("bench.moves", 500);
+	private static final int INITIAL_QUANTITY = Integer.getInteger("bench.initialQuantity", 1000);
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	private final List<String> productIds = new ArrayList<>();
+
+	@AfterEach
+	void cleanUp() {
+		mongoTemplate.remove(query(where("productId").in(productIds)), Transaction.class);
+		mongoTemplate.remove(query(where("id").in(productIds)), Product.class);
+	}
+
+	@Test
+	void atomicMovementsStayConsistentUnderContention() throws Exception {
+		Product product = newProduct("atomic");
+		AtomicLong stockIn = new AtomicLong();
+		AtomicLong stockOut = new AtomicLong();
+		AtomicLong accepted = new AtomicLong();
+		AtomicLong rejected = new AtomicLong();
+		LatencyStats stats = new LatencyStats("conditional $inc movement", THREADS, MOVES_PER_THREAD);
+
+		long elapsed = runConcurrently(stats, () -> {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			int quantity = 1 + random.nextInt(5);
+			// Biased towards OUT so the stock regularly hits zero and the guard is exercised
+			Transaction.TransactionType type = random.nextInt(100) < 60
+					? Transaction.TransactionType.OUT
+					: Transaction.TransactionType.IN;
+			Transaction transaction = new Transaction();
+			transaction.setProductId(product.getId());
+			transaction.setType(type);
+			transaction.setQuantity(quantity);
+			try {
+				transactionService.createTransaction(transaction);
+				accepted.incrementAndGet();
+				(type == Transaction.TransactionType.IN ? stockIn : stockOut).addAndGet(quantity);
+			} catch (ResponseStatusException e) {
+				if (e.getStatusCode() != HttpStatus.CONFLICT) {
+					throw e;
+				}
+				rejected.incrementAndGet();
+			}
+		});
+		stats.print(elapsed);
+		System.out.printf("accepted=%d rejected=%d (insufficient stock)%n", accepted.get(), rejected.get());
+
+		int finalQuantity = productService.getProductById(product.getId()).orElseThrow().getQuantity();
+		assertEquals(INITIAL_QUANTITY + stockIn.get() - stockOut.get(), finalQuantity);
+		assertTrue(finalQuantity >= 0);
+		assertEquals(accepted.get(), mongoTemplate.count(query(where("productId").is(product.getId())), Transaction.class));
+	}
+
+	// The old path: read the product, change quantity in memory, write every field back without a version
+	@Test
+	void readModifyWriteBaselineLosesUpdates() throws Exception {
+		Product product = newProduct("read-modify-write");
+		AtomicLong applied = new AtomicLong();
+		LatencyStats stats = new LatencyStats("findById + unversioned PUT (baseline)", THREADS, MOVES_PER_THREAD);
+
+		long elapsed = runConcurrently(stats, () -> {
+			Product current = productService.getProductById(product.getId()).orElseThrow();
+			current.setQuantity(current.getQuantity() + 1);
+			current.setVersion(null);
+			productService.updateProduct(current.getId(), current);
+			applied.incrementAndGet();
+		});
+		stats.print(elapsed);
+
+		int finalQuantity = productService.getProductById(product.getId()).orElseThrow().getQuantity();
+		System.out.printf("increments=%d observed=%d lost updates=%d%n",
+				applied.get(), finalQuantity - INITIAL_QUANTITY, INITIAL_QUANTITY + applied.get() - finalQuantity);
+	}
+
+	// The same read-modify-write with the version read sent back: a stale write gets a 409 and is retried
+	@Test
+	void versionedReadModifyWriteLosesNothing() throws Exception {
+		Product product = newProduct("versioned");
+		AtomicLong applied = new AtomicLong();
+		AtomicLong conflicts = new AtomicLong();
+		LatencyStats stats = new LatencyStats("findById + versioned PUT, retried", THREADS, MOVES_PER_THREAD);
+
+		long elapsed = runConcurrently(stats, () -> {
+			while (true) {
+				Product current = productService.getProductById(product.getId()).orElseThrow();
+				current.setQuantity(current.getQuantity() + 1);
+				try {
+					productService.updateProduct(current.getId(), current);
+					applied.incrementAndGet();
+					return;
+				} catch (ResponseStatusException e) {
+					if (e.getStatusCode() != HttpStatus.CONFLICT) {
+						throw e;
+					}
+					conflicts.incrementAndGet();
+				}
+			}
+		});
+		stats.print(elapsed);
+
+		int finalQuantity = productService.getProductById(product.getId()).orElseThrow().getQuantity();
+		System.out.printf("increments=%d conflicts retried=%d%n", applied.get(), conflicts.get());
+		assertEquals(INITIAL_QUANTITY + applied.get(), finalQuantity);
+	}
+
+	private Product newProduct(String label) {
+		Product product = new Product();
+		product.setName("Contention benchmark " + label);
+		product.setSku("BENCH-" + label + "-" + System.nanoTime());
+		product.setQuantity(INITIAL_QUANTITY);
+		product.setPrice(1.0);
+		Product saved = productService.createProduct(product);
+		productIds.add(saved.getId());
+		return saved;
+	}
+
+	private long runConcurrently(LatencyStats stats, Runnable operation) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			int thread = t;
+			futures.add(executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < MOVES_PER_THREAD; i++) {
+					long began = System.nanoTime();
+					operation.run();
+					stats.record(thread, System.nanoTime() - began);
+				}
+				return null;
+			}));
+		}
+		long began = System.nanoTime();
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		long elapsed = System.nanoTime() - began;
+		executor.shutdown();
+		return elapsed;
+	}
+}
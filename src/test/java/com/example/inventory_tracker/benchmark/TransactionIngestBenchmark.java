@@ -0,0 +1,103 @@
+package com.example.inventory_tracker.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.example.inventory_tracker.dto.TransactionBatchResponseDTO;
+import com.example.inventory_tracker.dto.TransactionRequestDTO;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.Transaction;
+import com.example.inventory_tracker.service.ProductService;
+import com.example.inventory_tracker.service.TransactionService;
+
+// Pallet-style ingest: one call per movement vs. POST /api/transactions/batch. Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest
+class TransactionIngestBenchmark {
+	private static final int MOVEMENTS = Integer.getInteger("bench.movements", 5000);
+	private static final int PRODUCTS = Integer.getInteger("bench.products", 50);
+	private static final int BATCH_SIZE = Integer.getInteger("bench.batchSize", 1000);
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	private final List<String> productIds = new ArrayList<>();
+
+	@AfterEach
+	void cleanUp() {
+		mongoTemplate.remove(query(where("productId").in(productIds)), Transaction.class);
+		mongoTemplate.remove(query(where("id").in(productIds)), Product.class);
+	}
+
+	@Test
+	void singleCallsVersusBatches() {
+		for (int i = 0; i < PRODUCTS; i++) {
+			Product product = new Product();
+			product.setName("Ingest benchmark " + i);
+			product.setSku("BENCH-INGEST-" + i + "-" + System.nanoTime());
+			product.setPrice(1.0);
+			productIds.add(productService.createProduct(product).getId());
+		}
+		List<TransactionRequestDTO> movements = new ArrayList<>(MOVEMENTS);
+		for (int i = 0; i < MOVEMENTS; i++) {
+			TransactionRequestDTO movement = new TransactionRequestDTO();
+			movement.setProductId(productIds.get(ThreadLocalRandom.current().nextInt(PRODUCTS)));
+			movement.setType("IN");
+			movement.setQuantity(1);
+			movements.add(movement);
+		}
+
+		LatencyStats single = new LatencyStats("one createTransaction per movement", 1, MOVEMENTS);
+		long began = System.nanoTime();
+		for (TransactionRequestDTO movement : movements) {
+			long started = System.nanoTime();
+			Transaction transaction = new Transaction();
+			transaction.setProductId(movement.getProductId());
+			transaction.setType(Transaction.TransactionType.IN);
+			transaction.setQuantity(movement.getQuantity());
+			transactionService.createTransaction(transaction);
+			single.record(0, System.nanoTime() - started);
+		}
+		single.print(System.nanoTime() - began);
+
+		int batches = (MOVEMENTS + BATCH_SIZE - 1) / BATCH_SIZE;
+		LatencyStats batched = new LatencyStats("batch of " + BATCH_SIZE + " (per batch)", 1, batches);
+		int applied = 0;
+		began = System.nanoTime();
+		for (int from = 0; from < MOVEMENTS; from += BATCH_SIZE) {
+			long started = System.nanoTime();
+			TransactionBatchResponseDTO response = transactionService.createTransactions(
+					movements.subList(from, Math.min(MOVEMENTS, from + BATCH_SIZE)));
+			applied += response.getApplied();
+			batched.record(0, System.nanoTime() - started);
+		}
+		long elapsed = System.nanoTime() - began;
+		batched.print(elapsed);
+		System.out.printf("batched movements/s=%.0f%n", MOVEMENTS / (elapsed / 1e9));
+
+		assertEquals(MOVEMENTS, applied);
+		long total = 0;
+		for (Product product : mongoTemplate.find(query(where("id").in(productIds)), Product.class)) {
+			total += product.getQuantity();
+		}
+		assertEquals(2L * MOVEMENTS, total);
+	}
+}
@@ -0,0 +1,147 @@
+package com.example.inventory_tracker.benchmark;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.example.inventory_tracker.InventoryTrackerApplication;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.Transaction;
+import com.example.inventory_tracker.service.DashboardService;
+
+// Platform threads (Tomcat's pool) against the virtual-threads profile under 1k to 10k concurrent clients. Every
+// request reaches Mongo: nine in ten read a page of a product's ledger, the rest record a movement. Clients are
+// closed-loop on the async HttpClient, so the load generator itself needs no thread per client. Failed requests
+// (5xx, pool wait timeouts, client timeouts) are counted, not asserted: shedding load is part of the result.
+// Client and server share this JVM, so 10k clients need about 20k file descriptors (ulimit -n).
+// Run with: JAVA_HOME=<jdk21> mvn test -Pbenchmark,java21 -Dtest=VirtualThreadLoadBenchmark
+//     [-Dbench.vtClients=1000,2500,5000,10000] [-Dbench.vtSeconds=20]
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadLoadBenchmark {
+	private static final String CLIENTS = System.getProperty("bench.vtClients", "1000,2500,5000,10000");
+	private static final int SECONDS = Integer.getInteger("bench.vtSeconds", 20);
+	private static final int PRODUCTS = Integer.getInteger("bench.vtProducts", 1_000);
+	private static final int MAX_REQUESTS_PER_CLIENT = 1_000;
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	private static final String SKU_PREFIX = "BENCH-VT-";
+
+	@Test
+	void platformVersusVirtualThreads() throws Exception {
+		run("platform", new SpringApplicationBuilder(InventoryTrackerApplication.class)
+				.properties("server.port=0", "spring.threads.virtual.enabled=false"));
+		run("virtual", new SpringApplicationBuilder(InventoryTrackerApplication.class)
+				.properties("server.port=0")
+				.profiles("virtual-threads"));
+	}
+
+	private void run(String mode, SpringApplicationBuilder builder) throws Exception {
+		try (ConfigurableApplicationContext context = builder.run()) {
+			MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+			List<String> productIds = seed(mongoTemplate);
+			String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+			HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+			try {
+				boolean warmedUp = false;
+				for (String level : CLIENTS.split(",")) {
+					int clients = Integer.parseInt(level.trim());
+					if (!warmedUp) {
+						load(null, client, base, productIds, clients, Math.max(2, SECONDS / 4));
+						warmedUp = true;
+					}
+					load(mode + " clients=" + clients, client, base, productIds, clients, SECONDS);
+				}
+			} finally {
+				mongoTemplate.remove(query(where("productId").in(productIds)), Transaction.class);
+				mongoTemplate.remove(query(where("sku").regex("^" + SKU_PREFIX)), Product.class);
+				context.getBean(DashboardService.class).reconcile();
+			}
+		}
+	}
+
+	private static List<String> seed(MongoTemplate mongoTemplate) {
+		List<Product> products = new ArrayList<>();
+		for (int i = 0; i < PRODUCTS; i++) {
+			Product product = new Product();
+			product.setSku(SKU_PREFIX + i);
+			product.setName("Virtual thread benchmark item " + i);
+			product.setPrice(1.0);
+			product.setQuantity(1_000_000);
+			product.setLocationId("bench-loc");
+			product.setCategory("bench");
+			products.add(product);
+		}
+		List<String> ids = new ArrayList<>();
+		for (Product product : mongoTemplate.insertAll(products)) {
+			ids.add(product.getId());
+		}
+		return ids;
+	}
+
+	// name is null for the discarded warm-up round
+	private static void load(String name, HttpClient client, String base, List<String> productIds, int clients,
+							 int seconds) {
+		LatencyStats stats = new LatencyStats(name, clients, MAX_REQUESTS_PER_CLIENT);
+		AtomicLong failures = new AtomicLong();
+		long started = System.nanoTime();
+		long deadline = started + Duration.ofSeconds(seconds).toNanos();
+		CompletableFuture<?>[] running = new CompletableFuture<?>[clients];
+		for (int c = 0; c < clients; c++) {
+			running[c] = next(client, base, productIds, c, 0, deadline, stats, failures);
+		}
+		CompletableFuture.allOf(running).join();
+		if (name != null) {
+			stats.print(System.nanoTime() - started);
+			System.out.printf("%-40s failed=%d%n", name, failures.get());
+		}
+	}
+
+	// One client's requests, each sent when the previous one completes
+	private static CompletableFuture<Void> next(HttpClient client, String base, List<String> productIds, int clientIndex,
+												int sent, long deadline, LatencyStats stats, AtomicLong failures) {
+		if (sent == MAX_REQUESTS_PER_CLIENT || System.nanoTime() >= deadline) {
+			return CompletableFuture.completedFuture(null);
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		String productId = productIds.get(random.nextInt(productIds.size()));
+		HttpRequest request = random.nextInt(10) == 0
+				? HttpRequest.newBuilder(URI.create(base + "/transactions"))
+						.timeout(REQUEST_TIMEOUT)
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofString("{\"productId\":\"" + productId
+								+ "\",\"type\":\"IN\",\"quantity\":1,\"userId\":\"bench-vt\"}"))
+						.build()
+				: HttpRequest.newBuilder(URI.create(base + "/transactions/by-product/" + productId + "?limit=20"))
+						.timeout(REQUEST_TIMEOUT)
+						.GET()
+						.build();
+		long started = System.nanoTime();
+		return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+				.handle((response, error) -> {
+					if (error != null || response.statusCode() != 200) {
+						failures.incrementAndGet();
+					}
+					stats.record(clientIndex, System.nanoTime() - started);
+					return null;
+				})
+				.thenCompose(ignored -> next(client, base, productIds, clientIndex, sent + 1, deadline, stats, failures));
+	}
+}
@@ -0,0 +1,140 @@
+package com.example.inventory_tracker.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.example.inventory_tracker.InventoryTrackerApplication;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.Transaction;
+import com.example.inventory_tracker.service.DashboardService;
+
+// The same HTTP load against the servlet (MVC) mode and the reactive (WebFlux) mode, one after the other on a
+// random port: product reads by id, then single stock movements. Clients outnumber Tomcat's worker threads by
+// default, so the MVC figures include time queued for a thread.
+// Run with: mvn test -Pbenchmark -Dtest=WebStackLoadBenchmark [-Dbench.webClients=256] [-Dbench.webRequests=200]
+@Tag("benchmark")
+class WebStackLoadBenchmark {
+	private static final int CLIENTS = Integer.getInteger("bench.webClients", 256);
+	private static final int REQUESTS_PER_CLIENT = Integer.getInteger("bench.webRequests", 200);
+	private static final int PRODUCTS = Integer.getInteger("bench.webProducts", 1_000);
+	private static final String SKU_PREFIX = "BENCH-WEB-";
+
+	@Test
+	void mvcVersusReactive() throws Exception {
+		run("mvc");
+		run("reactive");
+	}
+
+	private void run(String mode) throws Exception {
+		SpringApplicationBuilder builder = new SpringApplicationBuilder(InventoryTrackerApplication.class)
+				.properties("server.port=0");
+		if (mode.equals("reactive")) {
+			builder.profiles("reactive");
+		}
+		try (ConfigurableApplicationContext context = builder.run()) {
+			MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+			List<String> productIds = seed(mongoTemplate);
+			String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+			HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+			try {
+				load(mode + " GET /products/{id}", client, i -> HttpRequest.newBuilder(
+						URI.create(base + "/products/" + productIds.get(i))).GET().build());
+				load(mode + " POST /transactions", client, i -> HttpRequest.newBuilder(URI.create(base + "/transactions"))
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofString("{\"productId\":\"" + productIds.get(i)
+								+ "\",\"type\":\"IN\",\"quantity\":1,\"userId\":\"bench-web\"}"))
+						.build());
+			} finally {
+				mongoTemplate.remove(query(where("productId").in(productIds)), Transaction.class);
+				mongoTemplate.remove(query(where("sku").regex("^" + SKU_PREFIX)), Product.class);
+				context.getBean(DashboardService.class).reconcile();
+			}
+		}
+	}
+
+	private static List<String> seed(MongoTemplate mongoTemplate) {
+		List<Product> products = new ArrayList<>();
+		for (int i = 0; i < PRODUCTS; i++) {
+			Product product = new Product();
+			product.setSku(SKU_PREFIX + i);
+			product.setName("Web benchmark item " + i);
+			product.setPrice(1.0);
+			product.setQuantity(1_000);
+			product.setLocationId("bench-loc");
+			product.setCategory("bench");
+			products.add(product);
+		}
+		List<String> ids = new ArrayList<>();
+		for (Product product : mongoTemplate.insertAll(products)) {
+			ids.add(product.getId());
+		}
+		return ids;
+	}
+
+	// Each client sends its requests back to back over the shared connection pool; a warm-up round is discarded
+	private static void load(String name, HttpClient client, IntFunction<HttpRequest> request) throws Exception {
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		try {
+			drive(clients, client, request, Math.max(1, REQUESTS_PER_CLIENT / 10), null);
+			LatencyStats stats = new LatencyStats(name, CLIENTS, REQUESTS_PER_CLIENT);
+			long started = System.nanoTime();
+			long failures = drive(clients, client, request, REQUESTS_PER_CLIENT, stats);
+			stats.print(System.nanoTime() - started);
+			assertEquals(0, failures, name + " failed requests");
+		} finally {
+			clients.shutdownNow();
+		}
+	}
+
+	private static long drive(ExecutorService clients, HttpClient client, IntFunction<HttpRequest> request,
+							  int requests, LatencyStats stats) throws Exception {
+		AtomicLong failures = new AtomicLong();
+		List<Future<?>> running = new ArrayList<>();
+		for (int t = 0; t < CLIENTS; t++) {
+			int thread = t;
+			running.add(clients.submit(() -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int i = 0; i < requests; i++) {
+					long started = System.nanoTime();
+					try {
+						HttpResponse<Void> response = client.send(request.apply(random.nextInt(PRODUCTS)),
+								HttpResponse.BodyHandlers.discarding());
+						if (response.statusCode() != 200) {
+							failures.incrementAndGet();
+						}
+					} catch (Exception e) {
+						failures.incrementAndGet();
+					}
+					if (stats != null) {
+						stats.record(thread, System.nanoTime() - started);
+					}
+				}
+				return null;
+			}));
+		}
+		for (Future<?> future : running) {
+			future.get();
+		}
+		return failures.get();
+	}
+}
@@ -0,0 +1,95 @@
+package com.example.inventory_tracker.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.inventory_tracker.controller.ExportResponses.Column;
+import com.example.inventory_tracker.controller.ExportResponses.Format;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ExportResponsesTest {
+	private static final List<Column<Row>> COLUMNS = List.of(
+			new Column<>("name", Row::name),
+			new Column<>("price", Row::price));
+
+	private ExportResponses exports;
+
+	@BeforeEach
+	void setUp() {
+		exports = new ExportResponses();
+		ReflectionTestUtils.setField(exports, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(exports, "maxConcurrent", 1);
+		ReflectionTestUtils.setField(exports, "retryAfterSeconds", 30);
+		exports.init();
+	}
+
+	@Test
+	void quotesCsvFieldsOnlyWhenNeeded() throws IOException {
+		String csv = body(exports.of("products", Format.CSV, false, COLUMNS, () -> Stream.of(
+				new Row("plain", 1.5),
+				new Row("comma, inside", 2.0),
+				new Row("say \"hi\"", 1e10),
+				new Row("two\nlines", 1e-7),
+				new Row("carriage\rreturn", null),
+				new Row(null, 3.0))), false);
+
+		assertEquals("name,price\n"
+				+ "plain,1.5\n"
+				+ "\"comma, inside\",2.0\n"
+				+ "\"say \"\"hi\"\"\",10000000000\n"
+				+ "\"two\nlines\",0.00000010\n"
+				+ "\"carriage\rreturn\",\n"
+				+ ",3.0\n", csv);
+	}
+
+	@Test
+	void gzipsAndWritesNdjson() throws IOException {
+		ResponseEntity<StreamingResponseBody> response = exports.of("products", Format.NDJSON, true, COLUMNS,
+				() -> Stream.of(new Row("a", 1.0), new Row("b", null)));
+
+		assertEquals("attachment; filename=\"products.ndjson.gz\"",
+				response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+		assertEquals("{\"name\":\"a\",\"price\":1.0}\n{\"name\":\"b\",\"price\":null}\n", body(response, true));
+	}
+
+	@Test
+	void rejectsExportsOverTheLimitUntilOneFinishes() throws IOException {
+		ResponseEntity<StreamingResponseBody> first = exports.of("products", Format.CSV, false, COLUMNS, Stream::empty);
+		ResponseEntity<StreamingResponseBody> busy = exports.of("products", Format.CSV, false, COLUMNS, Stream::empty);
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, busy.getStatusCode());
+		assertEquals("30", busy.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertEquals("name,price\n", body(first, false));
+		assertEquals(0, exports.getActiveExports());
+	}
+
+	private static String body(ResponseEntity<StreamingResponseBody> response, boolean gzip) throws IOException {
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		response.getBody().writeTo(out);
+		if (!gzip) {
+			return out.toString(StandardCharsets.UTF_8);
+		}
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	record Row(String name, Double price) {
+	}
+}
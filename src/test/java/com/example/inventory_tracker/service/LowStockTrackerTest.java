@@ -0,0 +1,93 @@
+package com.example.inventory_tracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.inventory_tracker.dto.FieldSelection;
+import com.example.inventory_tracker.model.Product;
+
+class LowStockTrackerTest {
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private LowStockTracker tracker;
+
+	@BeforeEach
+	void setUp() {
+		tracker = new LowStockTracker();
+		ReflectionTestUtils.setField(tracker, "mongoTemplate", mongoTemplate);
+	}
+
+	@Test
+	void ordersBySeverityThenQuantityThenId() {
+		load(product("empty", 0, 10), product("half", 5, 10), product("halfSmall", 2, 4),
+				product("halfSmallToo", 2, 4), product("nearly", 9, 10), product("defaultThreshold", 10, 0));
+
+		assertEquals(List.of("empty", "halfSmall", "halfSmallToo", "half", "nearly", "defaultThreshold"),
+				ids(tracker.mostCritical(10, FieldSelection.ALL)));
+		assertEquals(List.of("empty", "halfSmall"), ids(tracker.mostCritical(2, FieldSelection.ALL)));
+	}
+
+	@Test
+	void changesMoveRemoveAndAddProducts() {
+		load(product("empty", 0, 10), product("half", 5, 10), product("nearly", 9, 10));
+
+		tracker.productChanged(product("nearly", 9, 10), product("nearly", 1, 10));
+		tracker.productChanged(product("empty", 0, 10), product("empty", 20, 10));
+		tracker.productChanged(product("half", 5, 10), null);
+		tracker.productChanged(null, product("created", 3, 10));
+		tracker.productChanged(null, product("stocked", 11, 0));
+
+		assertEquals(List.of("nearly", "created"), ids(tracker.mostCritical(10, FieldSelection.ALL)));
+	}
+
+	@Test
+	void loadDoesNotOverwriteAChangeMadeWhileItRuns() {
+		when(mongoTemplate.stream(any(Query.class), eq(Product.class))).thenAnswer(invocation -> {
+			tracker.productChanged(product("p1", 4, 10), product("p1", 50, 10));
+			return Stream.of(product("p1", 4, 10), product("p2", 1, 10));
+		});
+		tracker.load();
+
+		assertTrue(tracker.isReady());
+		assertEquals(List.of("p2"), ids(tracker.mostCritical(10, FieldSelection.ALL)));
+	}
+
+	@Test
+	void returnedProductsAreCopies() {
+		load(product("p1", 1, 10));
+
+		tracker.mostCritical(10, FieldSelection.ALL).get(0).setQuantity(100);
+
+		assertEquals(1, tracker.mostCritical(10, FieldSelection.ALL).get(0).getQuantity());
+	}
+
+	private void load(Product... products) {
+		when(mongoTemplate.stream(any(Query.class), eq(Product.class))).thenAnswer(invocation -> Stream.of(products));
+		tracker.load();
+		assertTrue(tracker.isReady());
+	}
+
+	private static List<String> ids(List<Product> products) {
+		return products.stream().map(Product::getId).toList();
+	}
+
+	private static Product product(String id, int quantity, int threshold) {
+		Product product = new Product();
+		product.setId(id);
+		product.setQuantity(quantity);
+		product.setThreshold(threshold);
+		return product;
+	}
+}
@@ -0,0 +1,161 @@
+package com.example.inventory_tracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.repository.ProductRepository;
+
+class ProductCacheTest {
+	private final ProductRepository repository = mock(ProductRepository.class);
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+	private final AtomicInteger stored = new AtomicInteger(1);
+	private ProductCache cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = new ProductCache();
+		ReflectionTestUtils.setField(cache, "productRepository", repository);
+		ReflectionTestUtils.setField(cache, "maxSize", 1000L);
+		ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+		ReflectionTestUtils.setField(cache, "negativeTtlSeconds", 30L);
+		cache.init();
+		when(repository.findById("p1")).thenAnswer(invocation -> Optional.of(product(stored.get())));
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void bulkLoadRacingAWriteIsNotKept() throws Exception {
+		CountDownLatch reading = new CountDownLatch(1);
+		CountDownLatch written = new CountDownLatch(1);
+		when(repository.findAllById(any())).thenAnswer(invocation -> {
+			Product read = product(stored.get());
+			reading.countDown();
+			written.await(5, TimeUnit.SECONDS);
+			return List.of(read);
+		});
+
+		Future<?> bulk = executor.submit(() -> cache.getAll(Set.of("p1")));
+		assertTrue(reading.await(5, TimeUnit.SECONDS));
+		stored.set(2);
+		cache.invalidate(product(2));
+		written.countDown();
+		bulk.get(5, TimeUnit.SECONDS);
+
+		assertEquals(2, cache.get("p1").orElseThrow().getQuantity());
+	}
+
+	@Test
+	void singleLoadRacingAWriteIsNotKept() throws Exception {
+		CountDownLatch reading = new CountDownLatch(1);
+		CountDownLatch written = new CountDownLatch(1);
+		when(repository.findById("p2")).thenAnswer(invocation -> {
+			Product read = product(stored.get());
+			read.setId("p2");
+			reading.countDown();
+			written.await(5, TimeUnit.SECONDS);
+			return Optional.of(read);
+		}).thenAnswer(invocation -> {
+			Product read = product(stored.get());
+			read.setId("p2");
+			return Optional.of(read);
+		});
+
+		Future<?> load = executor.submit(() -> cache.get("p2"));
+		assertTrue(reading.await(5, TimeUnit.SECONDS));
+		stored.set(2);
+		Product write = product(2);
+		write.setId("p2");
+		Thread invalidation = new Thread(() -> cache.invalidate(write));
+		invalidation.start();
+		written.countDown();
+		load.get(5, TimeUnit.SECONDS);
+		invalidation.join(5000);
+
+		assertEquals(2, cache.get("p2").orElseThrow().getQuantity());
+	}
+
+	@Test
+	void loadsRunOutsideTheCacheMapLocks() {
+		AtomicInteger lockedLoads = new AtomicInteger();
+		when(repository.findById("p3")).thenAnswer(invocation -> {
+			lockedLoads.addAndGet(insideCompute());
+			return Optional.empty();
+		});
+		when(repository.findAllById(any())).thenAnswer(invocation -> {
+			lockedLoads.addAndGet(insideCompute());
+			return List.of(product(1));
+		});
+		when(repository.findBySku("SKU-1")).thenAnswer(invocation -> {
+			lockedLoads.addAndGet(insideCompute());
+			return Optional.of(product(1));
+		});
+
+		assertTrue(cache.get("p3").isEmpty());
+		assertEquals(1, cache.getAll(Set.of("p1", "p4")).size());
+		assertEquals(1, cache.getBySku("SKU-1").orElseThrow().getQuantity());
+		assertEquals(0, lockedLoads.get());
+	}
+
+	@Test
+	void failedLoadIsNotCached() {
+		when(repository.findById("p5")).thenThrow(new IllegalStateException("down"))
+				.thenReturn(Optional.of(product(3)));
+
+		assertThrows(IllegalStateException.class, () -> cache.get("p5"));
+		assertEquals(3, cache.get("p5").orElseThrow().getQuantity());
+	}
+
+	@Test
+	void reactiveFetchOlderThanAWriteIsNotKept() {
+		long fetchedAt = cache.generation();
+		Optional<Product> fetched = Optional.of(product(1));
+		stored.set(2);
+		cache.invalidate(product(2));
+		cache.loaded("p1", fetched, fetchedAt);
+
+		assertEquals(2, cache.get("p1").orElseThrow().getQuantity());
+	}
+
+	private static int insideCompute() {
+		for (StackTraceElement frame : Thread.currentThread().getStackTrace()) {
+			if (frame.getClassName().equals(ConcurrentHashMap.class.getName())
+					&& frame.getMethodName().startsWith("compute")) {
+				return 1;
+			}
+		}
+		return 0;
+	}
+
+	private static Product product(int quantity) {
+		Product product = new Product();
+		product.setId("p1");
+		product.setSku("SKU-1");
+		product.setQuantity(quantity);
+		return product;
+	}
+}
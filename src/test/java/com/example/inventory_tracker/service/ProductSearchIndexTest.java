@@ -0,0 +1,191 @@
+package com.example.inventory_tracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.inventory_tracker.model.Product;
+
+class ProductSearchIndexTest {
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private ProductSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new ProductSearchIndex();
+		ReflectionTestUtils.setField(index, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(index, "compactionDeadRatio", 0.25);
+		ReflectionTestUtils.setField(index, "maxCandidates", 2048);
+	}
+
+	@Test
+	void changesAfterTheCompactionCopyAreReplayed() {
+		build();
+		for (int i = 0; i < 2000; i++) {
+			index.productChanged(null, product("p" + i, "Item " + i, "SKU-" + i));
+		}
+		for (int i = 0; i < 1500; i++) {
+			index.productChanged(product("p" + i, "Item " + i, "SKU-" + i), null);
+		}
+		List<Product> live = index.beginCompaction();
+		assertEquals(500, live.size());
+
+		index.productChanged(product("p1500", "Item 1500", "SKU-1500"), null);
+		index.productChanged(product("p1501", "Item 1501", "SKU-1501"), product("p1501", "Renamed", "SKU-1501"));
+		index.productChanged(null, product("p2000", "Item 2000", "SKU-2000"));
+		index.rebuild(live::forEach);
+
+		assertEquals(500, indexedIds().size());
+		assertEquals(List.of(), ids(index.search("sku-1500", 10)));
+		assertEquals(List.of("p1501"), ids(index.search("renamed", 10)));
+		assertEquals(List.of("p2000"), ids(index.search("sku-2000", 10)));
+		assertNull(index.beginCompaction());
+	}
+
+	@Test
+	void compactionKeepsChangesMadeWhileItRuns() throws Exception {
+		build();
+		// Creates and deletes race repeated compactions; a change applied only to a segment that compaction
+		// then replaces would leave a deleted product behind or lose a created one
+		Map<String, Product> live = new HashMap<>();
+		AtomicBoolean writing = new AtomicBoolean(true);
+		AtomicInteger compactions = new AtomicInteger();
+		Thread compactor = new Thread(() -> {
+			while (writing.get()) {
+				Object before = ReflectionTestUtils.getField(index, "segment");
+				index.maintain();
+				if (ReflectionTestUtils.getField(index, "segment") != before) {
+					compactions.incrementAndGet();
+				}
+			}
+		});
+		compactor.start();
+		for (int i = 0; i < 50_000; i++) {
+			Product created = product("p" + i, "Item " + i, "SKU-" + i);
+			index.productChanged(null, created);
+			live.put(created.getId(), created);
+			if (i >= 50) {
+				index.productChanged(live.remove("p" + (i - 50)), null);
+			}
+		}
+		writing.set(false);
+		compactor.join();
+
+		assertEquals(live.keySet(), indexedIds());
+		assertEquals(List.of("p49999"), ids(index.search("sku-49999", 10)));
+		assertTrue(compactions.get() > 0, "no compaction ran while writing");
+	}
+
+	@Test
+	void normalizesToLowercaseWords() {
+		assertEquals("red widget xl", ProductSearchIndex.normalize("  Red-Widget__XL!! "));
+		assertEquals("", ProductSearchIndex.normalize(null));
+		assertArrayEquals(new String[] {"sku", "12"}, ProductSearchIndex.tokens("SKU-12"));
+		assertArrayEquals(new String[0], ProductSearchIndex.tokens(" - "));
+	}
+
+	@Test
+	void shortTermsMatchWordPrefixesAndLongerTermsMatchSubstrings() {
+		build();
+		index.productChanged(null, product("p1", "Lamp", "SKU-1"));
+		index.productChanged(null, product("p2", "Amber light", "SKU-2"));
+
+		assertEquals(List.of("p2"), ids(index.search("am", 10)));
+		assertEquals(List.of("p1"), ids(index.search("amp", 10)));
+		assertEquals(List.of("p2"), ids(index.search("mbe", 10)));
+	}
+
+	@Test
+	void everyTermMustMatch() {
+		build();
+		index.productChanged(null, product("p1", "Lamp shade", "SKU-1"));
+		index.productChanged(null, product("p2", "Lamp base", "SKU-2"));
+
+		assertEquals(List.of("p1"), ids(index.search("lamp shade", 10)));
+		assertEquals(List.of(), ids(index.search("lamp cord", 10)));
+	}
+
+	@Test
+	void ranksExactSkuThenExactWordThenPrefixThenWeakerMatches() {
+		build();
+		index.productChanged(null, product("substring", "Clamps", "SKU-5", null));
+		index.productChanged(null, product("category", "Bulb", "SKU-4", "Floor lamps"));
+		index.productChanged(null, product("prefix", "Lamplighter", "SKU-3", null));
+		index.productChanged(null, product("word", "Lamp shade", "SKU-2", null));
+		index.productChanged(null, product("sku", "Desk light", "LAMP", null));
+
+		assertEquals(List.of("sku", "word", "prefix", "category", "substring"), ids(index.search("lamp", 10)));
+		assertEquals(List.of("sku", "word"), ids(index.search("lamp", 2)));
+	}
+
+	@Test
+	void seekBackFindsTheLastPositionAtOrBelowTheDocId() {
+		Random random = new Random(42);
+		for (int round = 0; round < 200; round++) {
+			ProductSearchIndex.Postings postings = new ProductSearchIndex.Postings();
+			int docId = 0;
+			int size = 1 + random.nextInt(300);
+			for (int i = 0; i < size; i++) {
+				docId += 1 + random.nextInt(5);
+				postings.add(docId);
+			}
+			for (int probe = 0; probe < 50; probe++) {
+				int from = random.nextInt(size);
+				int target = random.nextInt(docId + 2);
+				int expected = from;
+				while (expected >= 0 && postings.ids[expected] > target) {
+					expected--;
+				}
+				assertEquals(expected, postings.seekBack(from, target), "from " + from + " target " + target);
+			}
+		}
+	}
+
+	private void build() {
+		when(mongoTemplate.stream(any(Query.class), eq(Product.class))).thenAnswer(invocation -> Stream.empty());
+		index.maintain();
+	}
+
+	@SuppressWarnings("unchecked")
+	private Set<String> indexedIds() {
+		Object segment = ReflectionTestUtils.getField(index, "segment");
+		return ((Map<String, Integer>) ReflectionTestUtils.getField(segment, "docIds")).keySet();
+	}
+
+	private static List<String> ids(List<Product> products) {
+		return products.stream().map(Product::getId).toList();
+	}
+
+	private static Product product(String id, String name, String sku) {
+		return product(id, name, sku, null);
+	}
+
+	private static Product product(String id, String name, String sku, String category) {
+		Product product = new Product();
+		product.setId(id);
+		product.setName(name);
+		product.setSku(sku);
+		product.setCategory(category);
+		return product;
+	}
+}
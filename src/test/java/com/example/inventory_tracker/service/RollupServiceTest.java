@@ -0,0 +1,122 @@
+package com.example.inventory_tracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.RollupBackfillState;
+import com.example.inventory_tracker.model.Transaction;
+import com.example.inventory_tracker.model.Transaction.TransactionType;
+import com.example.inventory_tracker.model.TransactionRollup;
+
+class RollupServiceTest {
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final BulkOperations bulk = mock(BulkOperations.class);
+	// Rollup id -> the $inc document written for it
+	private final Map<String, Document> increments = new HashMap<>();
+	private RollupService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new RollupService();
+		ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+		// Half-hour offset, so hour buckets start at :30 UTC and days at 18:30 UTC
+		ReflectionTestUtils.setField(service, "zone", ZoneId.of("Asia/Kolkata"));
+		RollupBackfillState state = new RollupBackfillState();
+		state.setLiveSince(Instant.EPOCH);
+		when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+				any(FindAndModifyOptions.class), eq(RollupBackfillState.class))).thenReturn(state);
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TransactionRollup.class)).thenReturn(bulk);
+		when(bulk.upsert(any(Query.class), any(Update.class))).thenAnswer(invocation -> {
+			Query query = invocation.getArgument(0);
+			Update update = invocation.getArgument(1);
+			increments.put(query.getQueryObject().getString("_id"), (Document) update.getUpdateObject().get("$inc"));
+			return bulk;
+		});
+	}
+
+	@Test
+	void bucketsByLocalHourAndDayPerDimension() {
+		Product product = new Product();
+		product.setId("p1");
+		product.setLocationId("A");
+		product.setCategory("tools");
+		service.transactionsRecorded(List.of(
+				transaction(TransactionType.IN, 5, "2025-03-10T18:29:00Z", null, null),
+				transaction(TransactionType.OUT, 2, "2025-03-10T18:31:00Z", "B", null),
+				transaction(TransactionType.TRANSFER, 3, "2025-03-10T18:40:00Z", "A", "B")),
+				Map.of("p1", product));
+
+		String lastHour = "2025-03-10T17:30:00Z";
+		String lastDay = "2025-03-09T18:30:00Z";
+		String nextHour = "2025-03-10T18:30:00Z";
+		String nextDay = "2025-03-10T18:30:00Z";
+		assertEquals(Set.of(
+				"HOUR|PRODUCT|p1|" + lastHour, "DAY|PRODUCT|p1|" + lastDay,
+				"HOUR|LOCATION|A|" + lastHour, "DAY|LOCATION|A|" + lastDay,
+				"HOUR|CATEGORY|tools|" + lastHour, "DAY|CATEGORY|tools|" + lastDay,
+				"HOUR|PRODUCT|p1|" + nextHour, "DAY|PRODUCT|p1|" + nextDay,
+				"HOUR|LOCATION|B|" + nextHour, "DAY|LOCATION|B|" + nextDay,
+				"HOUR|CATEGORY|tools|" + nextHour, "DAY|CATEGORY|tools|" + nextDay,
+				"HOUR|LOCATION|A|" + nextHour, "DAY|LOCATION|A|" + nextDay), increments.keySet());
+
+		// A row without a location counts at the product's own
+		assertCounts("DAY|LOCATION|A|" + lastDay, 1, 5, 0, 0);
+		assertCounts("HOUR|PRODUCT|p1|" + lastHour, 1, 5, 0, 0);
+		// A transfer moves stock between locations only
+		assertCounts("DAY|PRODUCT|p1|" + nextDay, 0, 0, 1, 2);
+		assertCounts("DAY|CATEGORY|tools|" + nextDay, 0, 0, 1, 2);
+		assertCounts("HOUR|LOCATION|A|" + nextHour, 0, 0, 1, 3);
+		assertCounts("HOUR|LOCATION|B|" + nextHour, 1, 3, 1, 2);
+	}
+
+	@Test
+	void rowsWithoutALedgerObjectIdAreLeftToTheBackfill() {
+		Transaction legacy = transaction(TransactionType.IN, 5, "2025-03-10T18:29:00Z", "A", null);
+		legacy.setId("legacy-1");
+		service.transactionsRecorded(List.of(legacy), Map.of());
+
+		assertEquals(Map.of(), increments);
+	}
+
+	private void assertCounts(String rollupId, long inCount, long inQuantity, long outCount, long outQuantity) {
+		Document inc = increments.get(rollupId);
+		assertEquals(List.of(inCount, inQuantity, outCount, outQuantity), List.of(inc.get("inCount"),
+				inc.get("inQuantity"), inc.get("outCount"), inc.get("outQuantity")), rollupId);
+	}
+
+	private static Transaction transaction(TransactionType type, int quantity, String timestamp, String locationId,
+			String toLocationId) {
+		Transaction transaction = new Transaction();
+		transaction.setId(new ObjectId().toHexString());
+		transaction.setProductId("p1");
+		transaction.setType(type);
+		transaction.setQuantity(quantity);
+		transaction.setTimestamp(Instant.parse(timestamp));
+		transaction.setLocationId(locationId);
+		transaction.setToLocationId(toLocationId);
+		return transaction;
+	}
+}
@@ -0,0 +1,65 @@
+package com.example.inventory_tracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.inventory_tracker.archive.LedgerKeyset;
+import com.example.inventory_tracker.dto.CursorPage;
+import com.example.inventory_tracker.model.Transaction;
+
+class TransactionCursorTest {
+	private static final String ID = new ObjectId().toHexString();
+
+	@Test
+	void cursorRoundTripsToTheLastRowsKeyset() {
+		Transaction transaction = new Transaction();
+		transaction.setId(ID);
+		transaction.setTimestamp(Instant.parse("2025-03-10T18:29:00.123Z"));
+
+		String cursor = TransactionService.cursorOf(transaction);
+
+		assertEquals("1741631340123_" + ID, cursor);
+		assertEquals(new LedgerKeyset(transaction.getTimestamp(), ID), TransactionService.keysetOf(cursor));
+	}
+
+	@Test
+	void legacyRowsWithoutATimestampHaveAnIdOnlyCursor() {
+		Transaction transaction = new Transaction();
+		transaction.setId(ID);
+
+		String cursor = TransactionService.cursorOf(transaction);
+
+		assertEquals("_" + ID, cursor);
+		assertEquals(new LedgerKeyset(null, ID), TransactionService.keysetOf(cursor));
+	}
+
+	@Test
+	void malformedCursorsAreBadRequests() {
+		for (String cursor : List.of("", "_", "1741631340123", "1741631340123_", "1741631340123_not-an-id",
+				"yesterday_" + ID, "12.5_" + ID, ID)) {
+			ResponseStatusException e = assertThrows(ResponseStatusException.class,
+					() -> TransactionService.keysetOf(cursor), cursor);
+			assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode(), cursor);
+		}
+	}
+
+	@Test
+	void pageCarriesACursorOnlyWhenMoreRowsWereFetched() {
+		CursorPage<String> last = Pages.of(List.of("a", "b"), 2, row -> "after-" + row);
+		CursorPage<String> more = Pages.of(List.of("a", "b", "c"), 2, row -> "after-" + row);
+
+		assertEquals(List.of("a", "b"), last.getItems());
+		assertNull(last.getNextCursor());
+		assertEquals(List.of("a", "b"), more.getItems());
+		assertEquals("after-b", more.getNextCursor());
+	}
+}
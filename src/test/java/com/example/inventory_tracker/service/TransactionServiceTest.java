@@ -0,0 +1,378 @@
+package com.example.inventory_tracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.inventory_tracker.archive.ColdLedger;
+import com.example.inventory_tracker.dto.TransactionBatchResponseDTO;
+import com.example.inventory_tracker.dto.TransactionBatchResultDTO;
+import com.example.inventory_tracker.dto.TransactionRequestDTO;
+import com.example.inventory_tracker.model.Product;
+import com.example.inventory_tracker.model.Transaction;
+import com.example.inventory_tracker.model.Transaction.TransactionType;
+import com.example.inventory_tracker.repository.TransactionRepository;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+
+// Runs the stock movement engine against an in-memory Mongo server, so the conditional updates are real
+class TransactionServiceTest {
+	private static MongoServer server;
+	private static MongoClient client;
+
+	private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+	private final ProductService productService = mock(ProductService.class);
+	private final ColdLedger coldLedger = mock(ColdLedger.class);
+	private MongoTemplate mongoTemplate;
+	private TransactionService service;
+
+	@BeforeAll
+	static void startServer() {
+		server = new MongoServer(new MemoryBackend());
+		client = MongoClients.create(server.bindAndGetConnectionString());
+	}
+
+	@AfterAll
+	static void stopServer() {
+		client.close();
+		server.shutdownNow();
+	}
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = spy(new MongoTemplate(client, "inventory"));
+		service = new TransactionService();
+		ReflectionTestUtils.setField(service, "transactionRepository", transactionRepository);
+		ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(service, "productService", productService);
+		ReflectionTestUtils.setField(service, "dashboardService", mock(DashboardService.class));
+		ReflectionTestUtils.setField(service, "rollupService", mock(RollupService.class));
+		ReflectionTestUtils.setField(service, "stockHistoryService", mock(StockHistoryService.class));
+		ReflectionTestUtils.setField(service, "coldLedger", coldLedger);
+		when(coldLedger.isEmpty()).thenReturn(true);
+		when(coldLedger.findById(anyString())).thenReturn(Optional.empty());
+		when(productService.getProductById(anyString()))
+				.thenAnswer(invocation -> Optional.ofNullable(mongoTemplate.findById(invocation.getArgument(0), Product.class)));
+		when(transactionRepository.insert(any(Transaction.class)))
+				.thenAnswer(invocation -> mongoTemplate.insert((Transaction) invocation.getArgument(0)));
+	}
+
+	@AfterEach
+	void tearDown() {
+		mongoTemplate.getDb().drop();
+	}
+
+	@Test
+	void insufficientStockIsAConflictAndChangesNothing() {
+		product("p1", 5, null);
+
+		ResponseStatusException e = assertThrows(ResponseStatusException.class,
+				() -> service.createTransaction(movement("p1", TransactionType.OUT, 6)));
+
+		assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+		assertEquals(5, quantity("p1"));
+		assertEquals(0, ledgerRows());
+		service.createTransaction(movement("p1", TransactionType.OUT, 5));
+		assertEquals(0, quantity("p1"));
+	}
+
+	@Test
+	void concurrentOutsNeverTakeStockBelowZero() throws Exception {
+		product("p1", 10, null);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<Boolean>> outs = new ArrayList<>();
+			for (int i = 0; i < 25; i++) {
+				outs.add(() -> {
+					try {
+						service.createTransaction(movement("p1", TransactionType.OUT, 1));
+						return true;
+					} catch (ResponseStatusException e) {
+						return false;
+					}
+				});
+			}
+			int applied = 0;
+			for (Future<Boolean> out : executor.invokeAll(outs)) {
+				applied += out.get() ? 1 : 0;
+			}
+
+			assertEquals(10, applied);
+			assertEquals(0, quantity("p1"));
+			assertEquals(10, ledgerRows());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void failedLedgerInsertRevertsTheMovement() {
+		product("p1", 5, null);
+		when(transactionRepository.insert(any(Transaction.class)))
+				.thenThrow(new DataAccessResourceFailureException("timed out"));
+
+		assertThrows(DataAccessResourceFailureException.class,
+				() -> service.createTransaction(movement("p1", TransactionType.IN, 3)));
+
+		assertEquals(5, quantity("p1"));
+	}
+
+	@Test
+	void deleteTakesTheStockBack() {
+		product("p1", 10, null);
+		Transaction in = service.createTransaction(movement("p1", TransactionType.IN, 5));
+		Transaction out = service.createTransaction(movement("p1", TransactionType.OUT, 3));
+
+		service.deleteTransaction(out.getId());
+		assertEquals(15, quantity("p1"));
+		service.deleteTransaction(in.getId());
+		assertEquals(10, quantity("p1"));
+		assertEquals(0, ledgerRows());
+	}
+
+	@Test
+	void deleteIsRefusedOnceTheStockHasMovedOn() {
+		product("p1", 10, null);
+		Transaction in = service.createTransaction(movement("p1", TransactionType.IN, 5));
+		service.createTransaction(movement("p1", TransactionType.OUT, 12));
+
+		ResponseStatusException e = assertThrows(ResponseStatusException.class,
+				() -> service.deleteTransaction(in.getId()));
+
+		assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+		assertEquals(3, quantity("p1"));
+		assertNotNull(mongoTemplate.findById(in.getId(), Transaction.class));
+	}
+
+	@Test
+	void deletingAMissingTransactionIsANoOp() {
+		service.deleteTransaction("64b000000000000000000000");
+
+		assertNull(mongoTemplate.findById("64b000000000000000000000", Transaction.class));
+	}
+
+	@Test
+	void batchReplaysEachProductInRequestOrder() {
+		product("p1", 0, null);
+		product("p2", 2, null);
+
+		TransactionBatchResponseDTO response = service.createTransactions(List.of(
+				request("p1", "OUT", 1, null, null),
+				request("p1", "IN", 5, null, null),
+				request("p2", "OUT", 2, null, null),
+				request("p1", "OUT", 3, null, null),
+				request("p1", "OUT", 3, null, null),
+				request("p1", "OUT", 2, null, null)));
+
+		assertEquals(List.of("REJECTED", "APPLIED", "APPLIED", "APPLIED", "REJECTED", "APPLIED"), statuses(response));
+		assertEquals(4, response.getApplied());
+		assertEquals(0, quantity("p1"));
+		assertEquals(0, quantity("p2"));
+		assertEquals(4, ledgerRows());
+	}
+
+	@Test
+	void batchKeepsRequestOrderWhenAProductAlsoHasLocatedMovements() {
+		Product product = product("p1", 5, "A");
+		mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(product.getId())),
+				new Update().set("awayStock.B", 5).set("awayQuantity", 5), Product.class);
+
+		TransactionBatchResponseDTO response = service.createTransactions(List.of(
+				request("p1", "OUT", 3, null, null),
+				request("p1", "TRANSFER", 5, "B", null),
+				request("p1", "OUT", 3, null, null)));
+
+		assertEquals(List.of("REJECTED", "APPLIED", "APPLIED"), statuses(response));
+		assertEquals(Map.of("A", 2), StockPlacement.levelsOf(mongoTemplate.findById("p1", Product.class)));
+	}
+
+	@Test
+	void batchRejectsAProductDeletedMidBatch() {
+		product("p1", 1, null);
+		product("p2", 1, null);
+		AtomicBoolean deleted = new AtomicBoolean();
+		doAnswer(invocation -> {
+			Object read = invocation.callRealMethod();
+			if (deleted.compareAndSet(false, true)) {
+				mongoTemplate.remove(Query.query(Criteria.where("id").is("p2")), Product.class);
+			}
+			return read;
+		}).when(mongoTemplate).find(any(Query.class), eq(Product.class));
+
+		TransactionBatchResponseDTO response = service.createTransactions(List.of(
+				request("p1", "IN", 1, null, null),
+				request("p2", "IN", 1, null, null)));
+
+		assertEquals(List.of("APPLIED", "REJECTED"), statuses(response));
+		assertEquals("Product not found: p2", response.getResults().get(1).getError());
+		assertEquals(2, quantity("p1"));
+		assertEquals(List.of("p1"), mongoTemplate.findAll(Transaction.class).stream()
+				.map(Transaction::getProductId).toList());
+	}
+
+	@Test
+	void batchLedgerFailureRevertsTheIncrements() {
+		product("p1", 5, null);
+		product("p2", 5, null);
+		BulkOperations failing = mock(BulkOperations.class);
+		when(failing.insert(anyList())).thenReturn(failing);
+		when(failing.execute()).thenThrow(new DataAccessResourceFailureException("timed out"));
+		doReturn(failing).when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, Transaction.class);
+
+		TransactionBatchResponseDTO response = service.createTransactions(List.of(
+				request("p1", "IN", 3, null, null),
+				request("p1", "OUT", 7, null, null),
+				request("p2", "IN", 1, null, null)));
+
+		assertEquals(List.of("REJECTED", "REJECTED", "REJECTED"), statuses(response));
+		assertEquals("Failed to record transaction", response.getResults().get(0).getError());
+		assertEquals(5, quantity("p1"));
+		assertEquals(5, quantity("p2"));
+	}
+
+	@Test
+	void batchRejectsOnlyTheLocatedItemThatFailed() {
+		product("p1", 5, "A");
+		when(transactionRepository.insert(any(Transaction.class)))
+				.thenThrow(new DataAccessResourceFailureException("timed out"))
+				.thenAnswer(invocation -> mongoTemplate.insert((Transaction) invocation.getArgument(0)));
+
+		TransactionBatchResponseDTO response = service.createTransactions(List.of(
+				request("p1", "TRANSFER", 1, null, "B"),
+				request("p1", "TRANSFER", 1, null, "B")));
+
+		assertEquals(List.of("REJECTED", "APPLIED"), statuses(response));
+		assertEquals(Map.of("A", 4, "B", 1), StockPlacement.levelsOf(mongoTemplate.findById("p1", Product.class)));
+	}
+
+	@Test
+	void transferDebitsOneLocationAndCreditsTheOther() {
+		product("p1", 10, "A");
+
+		Transaction transfer = service.createTransaction(transfer("p1", 4, null, "B"));
+
+		assertEquals("A", transfer.getLocationId());
+		assertEquals("B", transfer.getToLocationId());
+		Product moved = mongoTemplate.findById("p1", Product.class);
+		assertEquals(10, moved.getQuantity());
+		assertEquals(Map.of("A", 6, "B", 4), StockPlacement.levelsOf(moved));
+
+		ResponseStatusException e = assertThrows(ResponseStatusException.class,
+				() -> service.createTransaction(transfer("p1", 5, "B", "C")));
+		assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+
+		service.createTransaction(transfer("p1", 4, "B", "C"));
+		assertEquals(Map.of("A", 6, "C", 4), StockPlacement.levelsOf(mongoTemplate.findById("p1", Product.class)));
+	}
+
+	@Test
+	void outAtANamedLocationOnlyDrawsOnThatLocation() {
+		product("p1", 10, "A");
+		service.createTransaction(transfer("p1", 2, null, "B"));
+		Transaction out = movement("p1", TransactionType.OUT, 3);
+		out.setLocationId("B");
+
+		ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> service.createTransaction(out));
+
+		assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+		assertEquals(Map.of("A", 8, "B", 2), StockPlacement.levelsOf(mongoTemplate.findById("p1", Product.class)));
+	}
+
+	@Test
+	void deletingATransferMovesTheStockBack() {
+		product("p1", 10, "A");
+		Transaction transfer = service.createTransaction(transfer("p1", 4, null, "B"));
+
+		service.deleteTransaction(transfer.getId());
+
+		Product restored = mongoTemplate.findById("p1", Product.class);
+		assertEquals(10, restored.getQuantity());
+		assertEquals(Map.of("A", 10), StockPlacement.levelsOf(restored));
+		assertEquals(0, ledgerRows());
+	}
+
+	private Product product(String id, int quantity, String locationId) {
+		Product product = new Product();
+		product.setId(id);
+		product.setName("Product " + id);
+		product.setQuantity(quantity);
+		product.setLocationId(locationId);
+		return mongoTemplate.insert(product);
+	}
+
+	private int quantity(String productId) {
+		return mongoTemplate.findById(productId, Product.class).getQuantity();
+	}
+
+	private long ledgerRows() {
+		return mongoTemplate.count(new Query(), Transaction.class);
+	}
+
+	private static List<String> statuses(TransactionBatchResponseDTO response) {
+		return response.getResults().stream().map(TransactionBatchResultDTO::getStatus).toList();
+	}
+
+	private static TransactionRequestDTO request(String productId, String type, int quantity, String locationId,
+			String toLocationId) {
+		TransactionRequestDTO request = new TransactionRequestDTO();
+		request.setProductId(productId);
+		request.setType(type);
+		request.setQuantity(quantity);
+		request.setLocationId(locationId);
+		request.setToLocationId(toLocationId);
+		return request;
+	}
+
+	private static Transaction transfer(String productId, int quantity, String from, String to) {
+		Transaction transaction = movement(productId, TransactionType.TRANSFER, quantity);
+		transaction.setLocationId(from);
+		transaction.setToLocationId(to);
+		return transaction;
+	}
+
+	private static Transaction movement(String productId, TransactionType type, int quantity) {
+		Transaction transaction = new Transaction();
+		transaction.setProductId(productId);
+		transaction.setType(type);
+		transaction.setQuantity(quantity);
+		return transaction;
+	}
+}